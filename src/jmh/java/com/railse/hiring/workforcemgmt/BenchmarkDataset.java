@@ -0,0 +1,91 @@
+package com.railse.hiring.workforcemgmt;
+
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.mapper.TaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.repository.ColumnarTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.PartitionedTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.seed.SeedProperties;
+import com.railse.hiring.workforcemgmt.seed.SyntheticDataSeeder;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+
+/**
+ * The store shared by the sized benchmarks, generated by {@link SyntheticDataSeeder} with a fixed
+ * seed: {@code size} tasks spread evenly over one assignee per 50 tasks and one reference per
+ * three tasks, start dates over the last 30 days, and no history. The same size always yields
+ * the same data. The task store is the object store unless a benchmark asks for another layout
+ * ({@code objects}, {@code columnar} or {@code partitioned}, as in {@code workforcemgmt.task-store}).
+ */
+public final class BenchmarkDataset {
+    public static final long DAY_MILLIS = 86_400_000L;
+
+    public final TaskRepository taskRepository;
+    public final InMemoryTaskActivityRepository activityRepository = new InMemoryTaskActivityRepository();
+    public final InMemoryTaskCommentRepository commentRepository = new InMemoryTaskCommentRepository();
+    public final TaskManagementMapperImpl mapper = new TaskManagementMapperImpl();
+    public final TaskManagementServiceImpl service;
+
+    public final int size;
+    public final int assignees;
+    public final int references;
+    public final long now = System.currentTimeMillis();
+
+    private BenchmarkDataset(int size, String store) {
+        this.taskRepository = taskRepository(store);
+        this.service = TaskManagementServiceImpl.builder(taskRepository,
+                ActivityLog.synchronous(activityRepository), commentRepository, mapper).build();
+        this.size = size;
+        this.assignees = Math.max(1, size / 50);
+        this.references = Math.max(1, size / 3);
+    }
+
+    public static BenchmarkDataset load(int size) {
+        return load(size, "objects");
+    }
+
+    public static BenchmarkDataset load(int size, String store) {
+        BenchmarkDataset dataset = new BenchmarkDataset(size, store);
+        SeedProperties plan = new SeedProperties();
+        plan.setRandomSeed(size);
+        plan.setTasks(size);
+        plan.setAssignees(dataset.assignees);
+        plan.setReferences(dataset.references);
+        plan.setAssigneeSkew(0);
+        plan.setReferenceSkew(0);
+        plan.setActivitiesPerTask(0);
+        plan.setCommentsPerTask(0);
+        plan.setAnchorEpochMillis(dataset.now);
+        new SyntheticDataSeeder(dataset.taskRepository, dataset.activityRepository, dataset.commentRepository)
+                .seed(plan);
+        return dataset;
+    }
+
+    public static TaskRepository taskRepository(String store) {
+        return switch (store) {
+            case "objects" -> new InMemoryTaskRepository();
+            case "columnar" -> new ColumnarTaskRepository();
+            case "partitioned" -> new PartitionedTaskRepository();
+            default -> throw new IllegalArgumentException("Unknown task store " + store);
+        };
+    }
+
+    public long assigneeId(int index) {
+        return SyntheticDataSeeder.ASSIGNEE_BASE + index;
+    }
+
+    public long referenceId(int index) {
+        return SyntheticDataSeeder.REFERENCE_BASE + index;
+    }
+
+    public ReferenceType referenceType(int index) {
+        return SyntheticDataSeeder.referenceType(index);
+    }
+
+    public long taskId(int index) {
+        return 1L + index;
+    }
+}
@@ -0,0 +1,128 @@
+package com.railse.hiring.workforcemgmt.activitylog;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.UpdatePriorityRequest;
+import com.railse.hiring.workforcemgmt.mapper.TaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.persistence.FsyncPolicy;
+import com.railse.hiring.workforcemgmt.persistence.PersistenceManager;
+import com.railse.hiring.workforcemgmt.persistence.PersistenceProperties;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Latency of a priority update, which saves the task and logs one activity, with the activity
+ * written by the request itself versus queued for the background writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ActivityLogBenchmark {
+    private static final int TASKS = 10_000;
+
+    @Param({"false", "true"})
+    boolean async;
+
+    // NONE runs without the write-ahead log
+    @Param({"NONE", "ALWAYS"})
+    String fsyncPolicy;
+
+    private ActivityLog activityLog;
+    private TaskManagementServiceImpl service;
+    private PersistenceManager persistence;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        StoreChangePublisher changes = new StoreChangePublisher();
+        InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(changes);
+        InMemoryTaskActivityRepository activityRepository = new InMemoryTaskActivityRepository(changes);
+        InMemoryTaskCommentRepository commentRepository = new InMemoryTaskCommentRepository(changes);
+        activityLog = async
+                ? new ActivityLog(activityRepository, 65_536, 512, BackpressurePolicy.BLOCK)
+                : ActivityLog.synchronous(activityRepository);
+        activityLog.start();
+        service = TaskManagementServiceImpl.builder(taskRepository, activityLog, commentRepository,
+                new TaskManagementMapperImpl()).build();
+        if (!"NONE".equals(fsyncPolicy)) {
+            directory = Files.createTempDirectory("activity-log-bench");
+            PersistenceProperties properties = new PersistenceProperties();
+            properties.setDirectory(directory.toString());
+            properties.setFsyncPolicy(FsyncPolicy.valueOf(fsyncPolicy));
+            properties.setSnapshotOnShutdown(false);
+            persistence = new PersistenceManager(properties, taskRepository, activityRepository,
+                    commentRepository, changes);
+            persistence.start();
+        }
+
+        List<TaskCreateRequest.RequestItem> items = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+            item.setReferenceId((long) i);
+            item.setReferenceType(ReferenceType.ORDER);
+            item.setTask(Task.CREATE_INVOICE);
+            item.setAssigneeId((long) (i % 500));
+            items.add(item);
+        }
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setRequests(items);
+        service.createTasks(request);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        activityLog.stop();
+        if (persistence != null) {
+            persistence.stop();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public TaskManagementDto updatePriority() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UpdatePriorityRequest request = new UpdatePriorityRequest();
+        request.setTaskId(1L + random.nextInt(TASKS));
+        request.setPriority(Priority.values()[random.nextInt(3)]);
+        request.setUserId(1L);
+        return service.updateTaskPriority(request);
+    }
+}
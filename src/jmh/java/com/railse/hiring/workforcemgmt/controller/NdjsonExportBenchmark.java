@@ -0,0 +1,172 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskInclude;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.mapper.TaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Exporting a large fetch-by-date result as one materialized JSON response (the endpoint before
+ * pagination) versus the NDJSON stream. The *FirstByte variants stop at the first byte that
+ * reaches the output stream, i.e. they measure time to first byte. Run with -prof gc to compare
+ * allocation per export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class NdjsonExportBenchmark {
+
+    @Param({"200"})
+    int assignees;
+
+    @Param({"1000"})
+    int tasksPerAssignee;
+
+    private TaskManagementServiceImpl service;
+    private InMemoryTaskRepository taskRepository;
+    private TaskManagementMapperImpl mapper;
+    private ObjectMapper objectMapper;
+    private NdjsonResponseWriter ndjson;
+    private TaskFetchByDateRequest request;
+
+    @Setup(Level.Trial)
+    public void load() {
+        taskRepository = new InMemoryTaskRepository();
+        mapper = new TaskManagementMapperImpl();
+        service = TaskManagementServiceImpl.builder(taskRepository,
+                ActivityLog.synchronous(new InMemoryTaskActivityRepository()), new InMemoryTaskCommentRepository(),
+                mapper).build();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ndjson = new NdjsonResponseWriter(objectMapper);
+
+        long now = System.currentTimeMillis();
+        for (int a = 0; a < assignees; a++) {
+            List<TaskCreateRequest.RequestItem> items = new ArrayList<>(tasksPerAssignee);
+            for (int i = 0; i < tasksPerAssignee; i++) {
+                TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+                item.setReferenceId((long) i);
+                item.setReferenceType(ReferenceType.ORDER);
+                item.setTask(Task.CREATE_INVOICE);
+                item.setAssigneeId(1000L + a);
+                item.setPriority(Priority.MEDIUM);
+                item.setStartDate(now - i * 60_000L);
+                items.add(item);
+            }
+            TaskCreateRequest create = new TaskCreateRequest();
+            create.setRequests(items);
+            service.createTasks(create);
+        }
+        request = new TaskFetchByDateRequest();
+        request.setAssigneeIds(LongStream.range(0, assignees).map(a -> 1000L + a).boxed().toList());
+        request.setStartDate(now - tasksPerAssignee * 60_000L);
+        request.setEndDate(now);
+    }
+
+    @Benchmark
+    public long materialized() throws IOException {
+        CountingStream out = new CountingStream(false);
+        writeMaterialized(out);
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long streamed() throws IOException {
+        CountingStream out = new CountingStream(false);
+        ndjson.stream(service.streamTasksByDate(request, EnumSet.noneOf(TaskInclude.class))).getBody().writeTo(out);
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long materializedFirstByte() throws IOException {
+        CountingStream out = new CountingStream(true);
+        try {
+            writeMaterialized(out);
+        } catch (FirstByte expected) {
+            // stopped at the first byte
+        }
+        return out.bytes;
+    }
+
+    @Benchmark
+    public long streamedFirstByte() throws IOException {
+        CountingStream out = new CountingStream(true);
+        try {
+            ndjson.stream(service.streamTasksByDate(request, EnumSet.noneOf(TaskInclude.class))).getBody().writeTo(out);
+        } catch (FirstByte expected) {
+            // stopped at the first byte
+        }
+        return out.bytes;
+    }
+
+    // What the endpoint did before pagination: the full list, all DTOs, then serialization
+    private void writeMaterialized(OutputStream out) throws IOException {
+        List<TaskManagementDto> dtos = mapper.modelListToDtoList(taskRepository.findByAssigneeIdInAndDateRange(
+                request.getAssigneeIds(), request.getStartDate(), request.getEndDate()));
+        objectMapper.writeValue(out, new Response<>(dtos));
+    }
+
+    private static class FirstByte extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        FirstByte() {
+            super(null, null);
+        }
+    }
+
+    private static class CountingStream extends OutputStream {
+        private final boolean stopAtFirstByte;
+        long bytes;
+
+        CountingStream(boolean stopAtFirstByte) {
+            this.stopAtFirstByte = stopAtFirstByte;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            bytes += len;
+            if (stopAtFirstByte && len > 0) {
+                throw new FirstByte();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.railse.hiring.workforcemgmt.deadline;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of moving and dropping a deadline with millions pending, as the deadline scheduler does
+ * on every task save.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TimingWheelBenchmark {
+    private static final long TICK_MILLIS = 1000;
+    private static final long MONTH_MILLIS = 30L * 24 * 60 * 60 * 1000;
+
+    @Param({"1000000", "10000000"})
+    int pending;
+
+    private TimingWheel wheel;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void load() {
+        now = System.currentTimeMillis();
+        wheel = new TimingWheel(TICK_MILLIS, now, pending);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int key = 0; key < pending; key++) {
+            wheel.schedule(key, now + TICK_MILLIS + random.nextLong(MONTH_MILLIS));
+        }
+    }
+
+    @Benchmark
+    public void reschedule() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        wheel.schedule(random.nextInt(pending), now + TICK_MILLIS + random.nextLong(MONTH_MILLIS));
+    }
+
+    @Benchmark
+    public void cancelAndSchedule() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int key = random.nextInt(pending);
+        wheel.cancel(key);
+        wheel.schedule(key, now + TICK_MILLIS + random.nextLong(MONTH_MILLIS));
+    }
+}
@@ -0,0 +1,59 @@
+package com.railse.hiring.workforcemgmt.mapper;
+
+import com.railse.hiring.workforcemgmt.BenchmarkDataset;
+import com.railse.hiring.workforcemgmt.dto.TaskInclude;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskSummaryDto;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a whole listing of {@code tasks} models to full DTOs and to summaries.
+ * 10M tasks needs a heap of about 16 GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TaskMapperBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    int tasks;
+
+    private TaskManagementMapperImpl mapper;
+    private List<TaskManagement> models;
+
+    @Setup(Level.Trial)
+    public void load() {
+        BenchmarkDataset dataset = BenchmarkDataset.load(tasks);
+        mapper = dataset.mapper;
+        models = dataset.taskRepository.findAll();
+    }
+
+    @Benchmark
+    public List<TaskManagementDto> modelListToDtoList() {
+        return mapper.modelListToDtoList(models);
+    }
+
+    @Benchmark
+    public List<TaskSummaryDto> modelListToSummaryDtoList() {
+        return mapper.modelListToSummaryDtoList(models, EnumSet.noneOf(TaskInclude.class));
+    }
+}
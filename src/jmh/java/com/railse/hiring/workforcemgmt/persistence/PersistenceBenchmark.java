@@ -0,0 +1,185 @@
+package com.railse.hiring.workforcemgmt.persistence;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Sustained write throughput with the WAL attached, and recovery time from snapshot + WAL.
+ * Both run once per iteration over {@code records} tasks; divide records by the reported
+ * time for records per second.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms16g", "-Xmx16g"})
+public class PersistenceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class WriteState {
+        @Param({"1000000", "10000000", "50000000"})
+        int records;
+
+        @Param({"ALWAYS", "INTERVAL", "NEVER"})
+        FsyncPolicy fsyncPolicy;
+
+        @Param({"8"})
+        int writers;
+
+        Path directory;
+        InMemoryTaskRepository taskRepository;
+        PersistenceManager manager;
+        ExecutorService executor;
+
+        @Setup(Level.Iteration)
+        public void open() throws IOException {
+            directory = Files.createTempDirectory("wal-bench");
+            StoreChangePublisher changes = new StoreChangePublisher();
+            taskRepository = new InMemoryTaskRepository(changes);
+            manager = start(directory, fsyncPolicy, taskRepository, changes);
+            executor = Executors.newFixedThreadPool(writers);
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() throws IOException {
+            executor.shutdownNow();
+            manager.stop();
+            deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RecoveryState {
+        @Param({"1000000", "10000000", "50000000"})
+        int records;
+
+        // Share of the records written after the last snapshot, replayed from the WAL
+        @Param({"0.1"})
+        double walTailFraction;
+
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void populate() throws IOException {
+            directory = Files.createTempDirectory("wal-recovery");
+            StoreChangePublisher changes = new StoreChangePublisher();
+            InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(changes);
+            PersistenceManager manager = start(directory, FsyncPolicy.NEVER, taskRepository, changes);
+            int snapshotted = (int) (records * (1 - walTailFraction));
+            for (int i = 0; i < records; i++) {
+                taskRepository.save(newTask(i));
+                if (i == snapshotted) {
+                    manager.snapshot();
+                }
+            }
+            manager.stop();
+        }
+
+        @TearDown(Level.Trial)
+        public void cleanUp() throws IOException {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    public long sustainedWrites(WriteState state) throws Exception {
+        int perWriter = state.records / state.writers;
+        Future<?>[] futures = new Future<?>[state.writers];
+        for (int w = 0; w < state.writers; w++) {
+            int offset = w * perWriter;
+            futures[w] = state.executor.submit(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    state.taskRepository.save(newTask(offset + i));
+                }
+            });
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return perWriter * (long) state.writers;
+    }
+
+    @Benchmark
+    public PersistenceManager recovery(RecoveryState state) throws IOException {
+        StoreChangePublisher changes = new StoreChangePublisher();
+        InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(changes);
+        PersistenceProperties properties = properties(state.directory, FsyncPolicy.NEVER);
+        properties.setSnapshotOnShutdown(false);
+        PersistenceManager manager = new PersistenceManager(properties, taskRepository,
+                new InMemoryTaskActivityRepository(changes), new InMemoryTaskCommentRepository(changes), changes);
+        manager.start();
+        manager.stop();
+        return manager;
+    }
+
+    private static PersistenceManager start(Path directory, FsyncPolicy policy,
+                                            InMemoryTaskRepository taskRepository,
+                                            StoreChangePublisher changes) throws IOException {
+        PersistenceProperties properties = properties(directory, policy);
+        properties.setSnapshotOnShutdown(false);
+        PersistenceManager manager = new PersistenceManager(properties, taskRepository,
+                new InMemoryTaskActivityRepository(changes), new InMemoryTaskCommentRepository(changes), changes);
+        manager.start();
+        return manager;
+    }
+
+    private static PersistenceProperties properties(Path directory, FsyncPolicy policy) {
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setFsyncPolicy(policy);
+        properties.setSnapshotIntervalSeconds(3600);
+        return properties;
+    }
+
+    private static TaskManagement newTask(int i) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId((long) (i / 3));
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.values()[i % Task.values().length]);
+        task.setAssigneeId((long) (i % 10_000));
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.values()[i % Priority.values().length]);
+        task.setStartDate(1_700_000_000_000L + i * 1000L);
+        task.setDescription("Benchmark task");
+        return task;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
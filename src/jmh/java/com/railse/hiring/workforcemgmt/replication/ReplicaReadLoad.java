@@ -0,0 +1,83 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read throughput of a primary and its followers, over HTTP against running instances. Not a JMH
+ * benchmark: start the primary and followers first (see workforcemgmt.replication.* in
+ * application.properties), then run {@code ./gradlew replicaReadLoad -PreplicaUrls=http://localhost:8080,http://localhost:8081}.
+ *
+ * <p>Runs one round per instance count: the first round reads from the first instance only, the
+ * next from the first two, and so on, with the same number of client threads spread evenly. Reads
+ * are task lookups by id and first pages of a priority listing. The instances need a core of
+ * their own each for the rounds to scale.
+ */
+public final class ReplicaReadLoad {
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private ReplicaReadLoad() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> urls = Arrays.asList(args[0].split(","));
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        long maxTaskId = args.length > 3 ? Long.parseLong(args[3]) : 100_000;
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5)).build();
+        for (int instances = 1; instances <= urls.size(); instances++) {
+            List<String> targets = urls.subList(0, instances);
+            // Warms up the JIT on both sides, then measures
+            run(client, targets, threads, Math.max(1, seconds / 4), maxTaskId);
+            double perSecond = run(client, targets, threads, seconds, maxTaskId);
+            System.out.printf("%d instance(s): %,.0f reads/s%n", instances, perSecond);
+        }
+    }
+
+    private static double run(HttpClient client, List<String> targets, int threads, int seconds, long maxTaskId)
+            throws InterruptedException {
+        LongAdder reads = new LongAdder();
+        LongAdder failures = new LongAdder();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            String base = targets.get(i % targets.size());
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    String path = random.nextInt(4) == 0
+                            ? "/task-mgmt/priority/" + PRIORITIES[random.nextInt(PRIORITIES.length)] + "?page_size=100"
+                            : "/task-mgmt/" + (1 + random.nextLong(maxTaskId));
+                    try {
+                        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(URI.create(base + path)).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        (response.statusCode() < 500 ? reads : failures).increment();
+                    } catch (Exception e) {
+                        failures.increment();
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failures.sum() > 0) {
+            System.out.printf("  %,d failed reads%n", failures.sum());
+        }
+        return reads.sum() / (double) seconds;
+    }
+}
@@ -0,0 +1,131 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.dto.TaskActivityDto;
+import com.railse.hiring.workforcemgmt.mapper.TaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityMessage;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Heap per activity entry in the activity store, against the same entries kept the way they
+ * were before activities were structured: rendered description, old/new value strings and a
+ * LocalDateTime per entry. Entries mix the events the service logs, one timestamp each, as
+ * single-entry appends produce. Run alone with {@code ./gradlew activityFootprint [-PjmhTasks=N]}
+ * (N activities, default 1M).
+ */
+public final class ActivityFootprint {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final int PER_TASK = 4;
+
+    private ActivityFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int activities = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("%,d activities over %,d tasks%n", activities, activities / PER_TASK);
+        report("structured", activities, structured(activities));
+        report("text", activities, text(activities));
+    }
+
+    private static void report(String layout, int activities, long bytes) {
+        System.out.printf("%-10s %,12d bytes  %6.1f bytes/activity%n", layout, bytes, (double) bytes / activities);
+    }
+
+    private static long structured(int activities) {
+        long before = usedHeap();
+        InMemoryTaskActivityRepository repository = new InMemoryTaskActivityRepository();
+        LocalDateTime start = LocalDateTime.now();
+        for (int i = 0; i < activities; i++) {
+            repository.save(activity(i, start));
+        }
+        long size = usedHeap() - before;
+        if (repository.count() != activities) {
+            throw new IllegalStateException("Stored " + repository.count() + " activities");
+        }
+        return size;
+    }
+
+    private static long text(int activities) {
+        TaskManagementMapperImpl mapper = new TaskManagementMapperImpl();
+        long before = usedHeap();
+        PerTaskLog<TextActivity> log = new PerTaskLog<>(
+                Comparator.comparing(TextActivity::timestamp).thenComparing(TextActivity::id));
+        LocalDateTime start = LocalDateTime.now();
+        for (int i = 0; i < activities; i++) {
+            TaskActivityDto rendered = mapper.activityModelToDto(activity(i, start));
+            TextActivity entry = new TextActivity(rendered.getId(), rendered.getTaskId(), rendered.getActivityType(),
+                    rendered.getDescription(), rendered.getUserId(), rendered.getOldValue(), rendered.getNewValue(),
+                    rendered.getTimestamp());
+            log.append(entry.taskId(), entry, e -> { });
+        }
+        long size = usedHeap() - before;
+        if (log.size() != activities) {
+            throw new IllegalStateException("Stored " + log.size() + " activities");
+        }
+        return size;
+    }
+
+    // Creation, a status change, a priority change and a reassignment or comment per task
+    private static TaskActivity activity(int i, LocalDateTime start) {
+        long taskId = 1 + i / PER_TASK;
+        long assignee = 1_000 + taskId % 997;
+        TaskActivity activity = new TaskActivity();
+        activity.setId(i + 1L);
+        activity.setTaskId(taskId);
+        activity.setUserId(1L);
+        activity.setTimestamp(start.plusNanos(i * 1_000L));
+        switch (i % PER_TASK) {
+            case 0 -> {
+                activity.setActivityType(ActivityType.TASK_CREATED);
+                activity.setEvent(ActivityMessage.CREATED_FOR_ASSIGNEE, ActivityMessage.ABSENT,
+                        ActivityMessage.code(TaskStatus.ASSIGNED), assignee);
+            }
+            case 1 -> {
+                activity.setActivityType(ActivityType.TASK_STARTED);
+                activity.setEvent(ActivityMessage.STATUS_CHANGED, ActivityMessage.code(TaskStatus.ASSIGNED),
+                        ActivityMessage.code(TaskStatus.STARTED), ActivityMessage.ABSENT);
+            }
+            case 2 -> {
+                activity.setActivityType(ActivityType.PRIORITY_CHANGED);
+                activity.setEvent(ActivityMessage.PRIORITY_CHANGED, ActivityMessage.code(Priority.MEDIUM),
+                        ActivityMessage.code(Priority.HIGH), ActivityMessage.ABSENT);
+            }
+            default -> {
+                if (taskId % 2 == 0) {
+                    activity.setActivityType(ActivityType.TASK_ASSIGNED);
+                    activity.setEvent(ActivityMessage.REASSIGNED, assignee, assignee + 1, ActivityMessage.ABSENT);
+                } else {
+                    activity.setActivityType(ActivityType.COMMENT_ADDED);
+                    activity.setUserId(assignee);
+                    activity.setEvent(ActivityMessage.COMMENT_ADDED, ActivityMessage.ABSENT,
+                            ActivityMessage.ABSENT, ActivityMessage.ABSENT);
+                }
+            }
+        }
+        return activity;
+    }
+
+    private static long usedHeap() {
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long now = MEMORY.getHeapMemoryUsage().getUsed();
+            if (now >= used) {
+                return now;
+            }
+            used = now;
+        }
+        return used;
+    }
+
+    private record TextActivity(Long id, Long taskId, ActivityType activityType, String description, Long userId,
+                                String oldValue, String newValue, LocalDateTime timestamp) {
+    }
+}
@@ -0,0 +1,97 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Loading one task's history from the per-task activity store versus the previous
+ * implementation, which filtered and sorted every activity in the system.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class ActivityHistoryBenchmark {
+
+    @Param({"10000000"})
+    int activityCount;
+
+    @Param({"10"})
+    int activitiesPerTask;
+
+    private InMemoryTaskActivityRepository indexed;
+    private ScanningActivityStore scanning;
+    private long taskCount;
+
+    @Setup(Level.Trial)
+    public void load() {
+        indexed = new InMemoryTaskActivityRepository();
+        scanning = new ScanningActivityStore();
+        taskCount = Math.max(1, activityCount / activitiesPerTask);
+        LocalDateTime base = LocalDateTime.now().minusYears(1);
+
+        // Interleave tasks so that one task's history is spread across the whole log
+        for (long i = 0; i < activityCount; i++) {
+            TaskActivity activity = new TaskActivity();
+            activity.setId(i + 1);
+            activity.setTaskId(i % taskCount + 1);
+            activity.setActivityType(ActivityType.TASK_STARTED);
+            activity.setUserId(1L);
+            activity.setTimestamp(base.plusSeconds(i));
+            indexed.save(activity);
+            scanning.save(activity);
+        }
+    }
+
+    @Benchmark
+    public List<TaskActivity> perTaskStore() {
+        return indexed.findByTaskIdOrderByTimestamp(randomTaskId());
+    }
+
+    @Benchmark
+    public List<TaskActivity> fullScan() {
+        return scanning.findByTaskIdOrderByTimestamp(randomTaskId());
+    }
+
+    private long randomTaskId() {
+        return ThreadLocalRandom.current().nextLong(taskCount) + 1;
+    }
+
+    /** The activity store as it was before per-task grouping, kept as the baseline. */
+    static class ScanningActivityStore {
+        private final Map<Long, TaskActivity> activityStore = new ConcurrentHashMap<>();
+
+        void save(TaskActivity activity) {
+            activityStore.put(activity.getId(), activity);
+        }
+
+        List<TaskActivity> findByTaskIdOrderByTimestamp(Long taskId) {
+            return activityStore.values().stream()
+                    .filter(activity -> activity.getTaskId().equals(taskId))
+                    .sorted((a1, a2) -> a1.getTimestamp().compareTo(a2.getTimestamp()))
+                    .collect(Collectors.toList());
+        }
+    }
+}
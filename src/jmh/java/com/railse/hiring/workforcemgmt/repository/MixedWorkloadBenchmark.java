@@ -0,0 +1,88 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.BenchmarkDataset;
+import com.railse.hiring.workforcemgmt.common.exception.StaleVersionException;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a mix of reads and writes against one store: 80% reads (a task by id, the tasks of
+ * a reference, a date-range page of two assignees) and 20% writes (every task of a reference
+ * updated, as assignByReference does). Run once per thread count with {@code -PjmhThreads} to see
+ * how each store scales with cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MixedWorkloadBenchmark {
+    private static final int PAGE = 100;
+
+    @Param({"1000000"})
+    int tasks;
+
+    @Param({"objects", "partitioned"})
+    String store;
+
+    private BenchmarkDataset dataset;
+    private TaskRepository repository;
+
+    @Setup(Level.Trial)
+    public void load() {
+        dataset = BenchmarkDataset.load(tasks, store);
+        repository = dataset.taskRepository;
+    }
+
+    @Benchmark
+    public void mixed(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int operation = random.nextInt(10);
+        if (operation < 3) {
+            blackhole.consume(repository.findById(dataset.taskId(random.nextInt(tasks))));
+        } else if (operation < 5) {
+            int reference = random.nextInt(dataset.references);
+            blackhole.consume(repository.findByReferenceIdAndReferenceType(dataset.referenceId(reference),
+                    dataset.referenceType(reference)));
+        } else if (operation < 8) {
+            List<Long> assignees = List.of(dataset.assigneeId(random.nextInt(dataset.assignees)),
+                    dataset.assigneeId(random.nextInt(dataset.assignees)));
+            long start = dataset.now - 7 * BenchmarkDataset.DAY_MILLIS;
+            Iterator<TaskManagement> page = repository.iterateByAssigneeIdInAndDateRange(assignees, start,
+                    dataset.now, null);
+            for (int i = 0; i < PAGE && page.hasNext(); i++) {
+                blackhole.consume(page.next());
+            }
+        } else {
+            int reference = random.nextInt(dataset.references);
+            for (TaskManagement task : repository.findByReferenceIdAndReferenceType(dataset.referenceId(reference),
+                    dataset.referenceType(reference))) {
+                task.setDescription("updated " + random.nextInt(1000));
+                try {
+                    blackhole.consume(repository.save(task));
+                } catch (StaleVersionException e) {
+                    // Another thread updated the same task first
+                    blackhole.consume(e);
+                }
+            }
+        }
+    }
+}
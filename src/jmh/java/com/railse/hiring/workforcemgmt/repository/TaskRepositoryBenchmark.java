@@ -0,0 +1,94 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.BenchmarkDataset;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of the task stores ({@link InMemoryTaskRepository}, {@link ColumnarTaskRepository} and
+ * {@link PartitionedTaskRepository}) at growing store sizes. The listing benchmarks read one
+ * 100-task page, as the endpoints do. 10M tasks needs a heap of about 16 GB with the object store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TaskRepositoryBenchmark {
+    private static final int PAGE = 100;
+
+    @Param({"10000", "1000000", "10000000"})
+    int tasks;
+
+    @Param({"objects", "columnar", "partitioned"})
+    String store;
+
+    private BenchmarkDataset dataset;
+    private TaskRepository repository;
+
+    @Setup(Level.Trial)
+    public void load() {
+        dataset = BenchmarkDataset.load(tasks, store);
+        repository = dataset.taskRepository;
+    }
+
+    @Benchmark
+    public Optional<TaskManagement> findById() {
+        return repository.findById(dataset.taskId(ThreadLocalRandom.current().nextInt(tasks)));
+    }
+
+    @Benchmark
+    public List<TaskManagement> findByReference() {
+        int reference = ThreadLocalRandom.current().nextInt(dataset.references);
+        return repository.findByReferenceIdAndReferenceType(dataset.referenceId(reference),
+                dataset.referenceType(reference));
+    }
+
+    @Benchmark
+    public void dateRangePage(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> assignees = List.of(dataset.assigneeId(random.nextInt(dataset.assignees)),
+                dataset.assigneeId(random.nextInt(dataset.assignees)));
+        long start = dataset.now - 7 * BenchmarkDataset.DAY_MILLIS;
+        drain(repository.iterateByAssigneeIdInAndDateRange(assignees, start, dataset.now, null), blackhole);
+    }
+
+    @Benchmark
+    public void priorityPage(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Priority priority = Priority.values()[random.nextInt(Priority.values().length)];
+        drain(repository.iterateByPriority(priority, dataset.taskId(random.nextInt(tasks))), blackhole);
+    }
+
+    @Benchmark
+    public void workQueueTop(Blackhole blackhole) {
+        long assigneeId = dataset.assigneeId(ThreadLocalRandom.current().nextInt(dataset.assignees));
+        drain(repository.iterateWorkQueue(assigneeId), blackhole);
+    }
+
+    private static void drain(Iterator<TaskManagement> page, Blackhole blackhole) {
+        for (int i = 0; i < PAGE && page.hasNext(); i++) {
+            blackhole.consume(page.next());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.BenchmarkDataset;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+
+/**
+ * Heap per task of each task store, loaded with the benchmark data set. Not a JMH benchmark:
+ * it measures retained heap after full collections, so run it alone in its own JVM with
+ * {@code ./gradlew taskStoreFootprint [-PjmhTasks=1000000]}.
+ *
+ * <p>Both stores keep the same secondary indexes, so those are measured once on their own and
+ * the rest of each store's footprint is its row storage.
+ */
+public final class TaskStoreFootprint {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private TaskStoreFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("%,d tasks%n", tasks);
+
+        long indexBytes = indexes(tasks);
+        System.out.printf("%-10s %,12d bytes  %6.1f bytes/task%n", "indexes", indexBytes, (double) indexBytes / tasks);
+        for (String store : List.of("objects", "columnar")) {
+            report(store, tasks, indexBytes);
+        }
+    }
+
+    // One store per call, so the previous one is unreachable before the next is measured
+    private static void report(String store, int tasks, long indexBytes) {
+        long before = usedHeap();
+        BenchmarkDataset dataset = BenchmarkDataset.load(tasks, store);
+        long total = usedHeap() - before;
+        System.out.printf("%-10s %,12d bytes  %6.1f bytes/task  (%6.1f without indexes)%n",
+                store, total, (double) total / tasks, (double) (total - indexBytes) / tasks);
+        if (dataset.taskRepository instanceof ColumnarTaskRepository columnar) {
+            System.out.printf("%-10s %,12d bytes  %,d distinct descriptions%n",
+                    "  strings", columnar.descriptionBytes(), columnar.distinctDescriptions());
+        }
+        // Keeps the data set reachable until it has been measured
+        if (dataset.taskRepository.count() != tasks) {
+            throw new IllegalStateException("Loaded " + dataset.taskRepository.count() + " tasks");
+        }
+    }
+
+    private static long indexes(int tasks) {
+        List<TaskManagement> all = BenchmarkDataset.load(tasks).taskRepository.findAll();
+        long before = usedHeap();
+        TaskIndexes indexes = new TaskIndexes();
+        indexes.addAll(all);
+        long size = usedHeap() - before;
+        if (indexes.workloads().isEmpty() || all.size() != tasks) {
+            throw new IllegalStateException("Nothing was indexed");
+        }
+        return size;
+    }
+
+    private static long usedHeap() {
+        long used = Long.MAX_VALUE;
+        // Repeated until the heap stops shrinking; a single System.gc() can leave garbage behind
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long now = MEMORY.getHeapMemoryUsage().getUsed();
+            if (now >= used) {
+                return now;
+            }
+            used = now;
+        }
+        return used;
+    }
+}
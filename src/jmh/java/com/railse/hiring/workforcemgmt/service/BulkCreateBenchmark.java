@@ -0,0 +1,148 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.mapper.TaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityMessage;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.persistence.FsyncPolicy;
+import com.railse.hiring.workforcemgmt.persistence.PersistenceManager;
+import com.railse.hiring.workforcemgmt.persistence.PersistenceProperties;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A 10k-item /create request through the bulk service path versus the previous
+ * item-by-item loop (save, then one activity row per task).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BulkCreateBenchmark {
+
+    @Param({"10000"})
+    int batchSize;
+
+    // NONE runs without the write-ahead log
+    @Param({"NONE", "ALWAYS"})
+    String fsyncPolicy;
+
+    private InMemoryTaskRepository taskRepository;
+    private InMemoryTaskActivityRepository activityRepository;
+    private TaskManagementServiceImpl service;
+    private PersistenceManager persistence;
+    private Path directory;
+    private TaskCreateRequest request;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        StoreChangePublisher changes = new StoreChangePublisher();
+        taskRepository = new InMemoryTaskRepository(changes);
+        activityRepository = new InMemoryTaskActivityRepository(changes);
+        InMemoryTaskCommentRepository commentRepository = new InMemoryTaskCommentRepository(changes);
+        service = TaskManagementServiceImpl.builder(taskRepository, ActivityLog.synchronous(activityRepository),
+                commentRepository, new TaskManagementMapperImpl()).build();
+        if (!"NONE".equals(fsyncPolicy)) {
+            directory = Files.createTempDirectory("bulk-bench");
+            PersistenceProperties properties = new PersistenceProperties();
+            properties.setDirectory(directory.toString());
+            properties.setFsyncPolicy(FsyncPolicy.valueOf(fsyncPolicy));
+            properties.setSnapshotOnShutdown(false);
+            persistence = new PersistenceManager(properties, taskRepository, activityRepository,
+                    commentRepository, changes);
+            persistence.start();
+        }
+
+        List<TaskCreateRequest.RequestItem> items = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+            item.setReferenceId((long) i);
+            item.setReferenceType(ReferenceType.ORDER);
+            item.setTask(Task.CREATE_INVOICE);
+            item.setAssigneeId((long) (i % 500));
+            item.setPriority(Priority.values()[i % 3]);
+            items.add(item);
+        }
+        request = new TaskCreateRequest();
+        request.setRequests(items);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        if (persistence != null) {
+            persistence.stop();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<TaskManagementDto> bulkCreate() {
+        return service.createTasks(request);
+    }
+
+    @Benchmark
+    public List<TaskManagement> itemByItemCreate() {
+        List<TaskManagement> created = new ArrayList<>();
+        for (TaskCreateRequest.RequestItem item : request.getRequests()) {
+            TaskManagement newTask = new TaskManagement();
+            newTask.setReferenceId(item.getReferenceId());
+            newTask.setReferenceType(item.getReferenceType());
+            newTask.setTask(item.getTask());
+            newTask.setAssigneeId(item.getAssigneeId());
+            newTask.setPriority(item.getPriority());
+            newTask.setStartDate(System.currentTimeMillis());
+            newTask.setStatus(TaskStatus.ASSIGNED);
+            newTask.setDescription("New task created.");
+            TaskManagement saved = taskRepository.save(newTask);
+
+            TaskActivity activity = new TaskActivity();
+            activity.setTaskId(saved.getId());
+            activity.setActivityType(ActivityType.TASK_CREATED);
+            activity.setUserId(1L);
+            activity.setEvent(ActivityMessage.CREATED_FOR_ASSIGNEE, ActivityMessage.ABSENT,
+                    ActivityMessage.code(TaskStatus.ASSIGNED), item.getAssigneeId());
+            activityRepository.save(activity);
+            created.add(saved);
+        }
+        return created;
+    }
+}
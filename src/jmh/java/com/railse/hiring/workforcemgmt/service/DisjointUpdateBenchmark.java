@@ -0,0 +1,71 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.BenchmarkDataset;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.UpdatePriorityRequest;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of priority updates where every benchmark thread writes its own tasks, so nothing
+ * but shared infrastructure (locks, listeners, the activity log) can make them wait on each
+ * other. Run once with {@code -PjmhThreads=1} and once with the core count: a global lock on
+ * the write path shows up as throughput that stays flat as threads are added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class DisjointUpdateBenchmark {
+    private static final int TASKS_PER_THREAD = 64;
+    // Enough slices for any thread count jmh is likely to be run with
+    private static final int MAX_THREADS = 256;
+
+    @Param({"objects", "partitioned"})
+    String store;
+
+    private BenchmarkDataset dataset;
+    private final AtomicInteger slices = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void load() {
+        dataset = BenchmarkDataset.load(TASKS_PER_THREAD * MAX_THREADS, store);
+    }
+
+    @State(Scope.Thread)
+    public static class Slice {
+        int first;
+        int next;
+
+        @Setup(Level.Trial)
+        public void claim(DisjointUpdateBenchmark benchmark) {
+            first = Math.floorMod(benchmark.slices.getAndIncrement(), MAX_THREADS) * TASKS_PER_THREAD;
+        }
+    }
+
+    @Benchmark
+    public TaskManagementDto updatePriority(Slice slice) {
+        int offset = slice.next++ % TASKS_PER_THREAD;
+        UpdatePriorityRequest request = new UpdatePriorityRequest();
+        request.setTaskId(dataset.taskId(slice.first + offset));
+        request.setPriority(Priority.values()[slice.next % Priority.values().length]);
+        request.setUserId(1L);
+        return dataset.service.updateTaskPriority(request);
+    }
+}
@@ -0,0 +1,101 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.BenchmarkDataset;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskInclude;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskSummaryDto;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service entry points at growing store sizes: one fetch-by-date page for a few assignees,
+ * an assign-by-reference on an existing order, and a 100-item create. The writes grow the store
+ * slightly over a run, which is small next to the loaded size. 10M tasks needs a heap of about 16 GB.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TaskServiceBenchmark {
+    private static final Set<TaskInclude> NO_SECTIONS = EnumSet.noneOf(TaskInclude.class);
+
+    @Param({"10000", "1000000", "10000000"})
+    int tasks;
+
+    private BenchmarkDataset dataset;
+    private TaskManagementService service;
+    private TaskCreateRequest createRequest;
+
+    @Setup(Level.Trial)
+    public void load() {
+        dataset = BenchmarkDataset.load(tasks);
+        service = dataset.service;
+
+        List<TaskCreateRequest.RequestItem> items = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+            item.setReferenceId(dataset.referenceId(i));
+            item.setReferenceType(ReferenceType.ORDER);
+            item.setTask(Task.CREATE_INVOICE);
+            item.setAssigneeId(dataset.assigneeId(i % dataset.assignees));
+            items.add(item);
+        }
+        createRequest = new TaskCreateRequest();
+        createRequest.setRequests(items);
+    }
+
+    @Benchmark
+    public Page<List<TaskSummaryDto>> fetchTasksByDate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> assignees = new ArrayList<>(5);
+        for (int i = 0; i < 5; i++) {
+            assignees.add(dataset.assigneeId(random.nextInt(dataset.assignees)));
+        }
+        TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+        request.setAssigneeIds(assignees);
+        request.setStartDate(dataset.now - 7 * BenchmarkDataset.DAY_MILLIS);
+        request.setEndDate(dataset.now);
+        return service.fetchTasksByDate(request, NO_SECTIONS);
+    }
+
+    @Benchmark
+    public String assignByReference() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        AssignByReferenceRequest request = new AssignByReferenceRequest();
+        int reference = random.nextInt(dataset.references);
+        request.setReferenceId(dataset.referenceId(reference));
+        request.setReferenceType(dataset.referenceType(reference));
+        request.setAssigneeId(dataset.assigneeId(random.nextInt(dataset.assignees)));
+        return service.assignByReference(request);
+    }
+
+    @Benchmark
+    public List<TaskManagementDto> createTasks() {
+        return service.createTasks(createRequest);
+    }
+}
@@ -0,0 +1,355 @@
+package com.railse.hiring.workforcemgmt.activitylog;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.repository.HistoryVersion;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Takes task activity off the request path. Requests stamp each entry with its id and
+ * timestamp, queue it on a bounded ring buffer and return; a single writer thread drains the
+ * ring in batches into the activity repository. Entries that are queued but not yet written
+ * are kept per task so reads through this class still see them.
+ *
+ * <p>Stopping (as a {@link SmartLifecycle}, before any bean is destroyed) writes out everything
+ * accepted so far; entries logged before start or after stop are written synchronously.
+ */
+@Slf4j
+public class ActivityLog implements SmartLifecycle {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long REPORT_EVERY = 10_000;
+
+    private final TaskActivityRepository activityRepository;
+    private final RingBuffer<TaskActivity> ring;
+    private final int batchSize;
+    private final BackpressurePolicy backpressure;
+
+    private final Queue<TaskActivity> spill = new ConcurrentLinkedQueue<>();
+    // Queued but not yet written, by task; each list is only touched inside the map's compute
+    private final Map<Long, List<TaskActivity>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final List<Consumer<TaskActivity>> queueListeners = new CopyOnWriteArrayList<>();
+    // Entries written on the calling thread while the log is not running
+    private final LongAdder writtenDirectly = new LongAdder();
+    // Producers between "is the log running" and "entry is queued"; stop() waits them out
+    private final AtomicInteger producers = new AtomicInteger();
+    private volatile long written;
+    private volatile boolean accepting;
+    private volatile boolean stopping;
+    private volatile boolean writerParked;
+    private Thread writer;
+
+    public ActivityLog(TaskActivityRepository activityRepository, int capacity, int batchSize,
+                       BackpressurePolicy backpressure) {
+        this.activityRepository = activityRepository;
+        this.ring = capacity > 0 ? new RingBuffer<>(capacity) : null;
+        this.batchSize = Math.max(1, batchSize);
+        this.backpressure = backpressure;
+    }
+
+    /** A log that writes every entry on the calling thread; never started as a pipeline. */
+    public static ActivityLog synchronous(TaskActivityRepository activityRepository) {
+        return new ActivityLog(activityRepository, 0, 1, BackpressurePolicy.BLOCK);
+    }
+
+    /**
+     * Called on the producing thread once an entry is queued and visible to reads through this
+     * log, which is before the repository (and its change listeners) sees it.
+     */
+    public void addQueueListener(Consumer<TaskActivity> listener) {
+        queueListeners.add(listener);
+    }
+
+    public void append(TaskActivity activity) {
+        appendAll(List.of(activity));
+    }
+
+    public void appendAll(List<TaskActivity> activities) {
+        if (activities.isEmpty()) {
+            return;
+        }
+        producers.incrementAndGet();
+        try {
+            if (!accepting) {
+                activityRepository.saveAll(activities);
+                writtenDirectly.add(activities.size());
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            long nextId = activityRepository.reserveIds(activities.stream().filter(a -> a.getId() == null).count());
+            List<TaskActivity> queued = new ArrayList<>(activities.size());
+            for (TaskActivity activity : activities) {
+                // Stamped here so history order and keyset cursors reflect when the request ran
+                if (activity.getId() == null) {
+                    activity.setId(nextId++);
+                }
+                if (activity.getTimestamp() == null) {
+                    activity.setTimestamp(now);
+                }
+                if (enqueue(activity)) {
+                    queued.add(activity);
+                }
+            }
+            // A dropped entry never reaches the repository, so listeners never hear of it
+            for (TaskActivity activity : queued) {
+                queueListeners.forEach(listener -> listener.accept(activity));
+            }
+        } finally {
+            producers.decrementAndGet();
+        }
+        wakeWriter();
+    }
+
+    /** A task's full history in (timestamp, id) order, including entries not yet written. */
+    public List<TaskActivity> findByTaskId(Long taskId) {
+        // Pending first: an entry the writer moves in between is then seen at least once
+        List<TaskActivity> queued = pendingFor(taskId);
+        List<TaskActivity> stored = activityRepository.findByTaskIdOrderByTimestamp(taskId);
+        return merge(stored, queued, Integer.MAX_VALUE);
+    }
+
+    /** Keyset page of a task's history, including entries not yet written. */
+    public List<TaskActivity> findByTaskIdAfter(Long taskId, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        List<TaskActivity> queued = pendingFor(taskId);
+        List<TaskActivity> stored = activityRepository.findByTaskIdAfter(taskId, afterTimestamp, afterId, limit);
+        if (afterTimestamp != null && !queued.isEmpty()) {
+            TaskActivity after = new TaskActivity();
+            after.setTimestamp(afterTimestamp);
+            after.setId(afterId);
+            queued.removeIf(activity -> TaskActivity.HISTORY_ORDER.compare(activity, after) <= 0);
+        }
+        return merge(stored, queued, limit);
+    }
+
+    /** Count and highest id of a task's history, including queued entries, without copying it. */
+    public HistoryVersion historyVersion(Long taskId) {
+        // Pending first, as in findByTaskId: an entry moving to the store is counted twice, never missed
+        long[] queued = new long[2];
+        pending.computeIfPresent(taskId, (k, entries) -> {
+            queued[0] = entries.size();
+            for (TaskActivity activity : entries) {
+                queued[1] = Math.max(queued[1], activity.getId());
+            }
+            return entries;
+        });
+        return activityRepository.historyVersion(taskId).plus(queued[0], queued[1]);
+    }
+
+    /** Grows with every entry logged or stored, so it changes whenever any task's history does. */
+    public long version() {
+        return accepted.get() + activityRepository.count();
+    }
+
+    /** Blocks until every entry accepted before the call has been written (or dropped on failure). */
+    public void flush() {
+        long target = accepted.get();
+        while (written < target && writer != null && writer.isAlive()) {
+            wakeWriter();
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+    }
+
+    public long queued() {
+        return ring == null ? 0 : ring.size() + spill.size();
+    }
+
+    public long writtenCount() {
+        return written + writtenDirectly.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public long spilledCount() {
+        return spilled.get();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (ring == null || accepting) {
+            return;
+        }
+        stopping = false;
+        writer = new Thread(this::runWriter, "activity-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        accepting = true;
+        log.info("Activity log writer started (capacity {}, batch {}, {})", ring.capacity(), batchSize, backpressure);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!accepting) {
+            return;
+        }
+        accepting = false;
+        // Producers that saw the log running finish queueing; later ones write synchronously
+        while (producers.get() > 0) {
+            Thread.onSpinWait();
+        }
+        stopping = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Activity log writer stopped after writing {} entries ({} dropped, {} spilled)",
+                written, dropped.get(), spilled.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return accepting;
+    }
+
+    // Started before and stopped after the embedded web server, so no request outlives the writer;
+    // all lifecycles stop before destroy methods run, so persistence still logs the final batches
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    // Returns false if the entry was dropped
+    private boolean enqueue(TaskActivity activity) {
+        pending.compute(activity.getTaskId(), (taskId, entries) -> {
+            List<TaskActivity> list = entries != null ? entries : new ArrayList<>(2);
+            list.add(activity);
+            return list;
+        });
+        if (ring.offer(activity)) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        return switch (backpressure) {
+            case BLOCK -> {
+                do {
+                    wakeWriter();
+                    LockSupport.parkNanos(this, FULL_PARK_NANOS);
+                } while (!ring.offer(activity));
+                accepted.incrementAndGet();
+                yield true;
+            }
+            case SPILL -> {
+                spill.add(activity);
+                accepted.incrementAndGet();
+                report("spilled", spilled.incrementAndGet());
+                yield true;
+            }
+            case DROP -> {
+                forget(activity.getTaskId(), List.of(activity));
+                report("dropped", dropped.incrementAndGet());
+                yield false;
+            }
+        };
+    }
+
+    private void runWriter() {
+        List<TaskActivity> batch = new ArrayList<>(batchSize);
+        while (true) {
+            ring.drainTo(batch, batchSize);
+            while (batch.size() < batchSize) {
+                TaskActivity overflow = spill.poll();
+                if (overflow == null) break;
+                batch.add(overflow);
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+                continue;
+            }
+            if (stopping) {
+                return;
+            }
+            writerParked = true;
+            if (ring.isEmpty() && spill.isEmpty() && !stopping) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+    }
+
+    private void write(List<TaskActivity> batch) {
+        try {
+            activityRepository.saveAll(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} activity entries; they are lost", batch.size(), e);
+        }
+        Map<Long, List<TaskActivity>> byTask = new LinkedHashMap<>();
+        for (TaskActivity activity : batch) {
+            byTask.computeIfAbsent(activity.getTaskId(), k -> new ArrayList<>()).add(activity);
+        }
+        byTask.forEach(this::forget);
+        written += batch.size();
+    }
+
+    private void forget(Long taskId, List<TaskActivity> done) {
+        Set<TaskActivity> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(done);
+        pending.computeIfPresent(taskId, (k, entries) -> {
+            entries.removeIf(gone::contains);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    private List<TaskActivity> pendingFor(Long taskId) {
+        List<TaskActivity> copy = new ArrayList<>();
+        pending.computeIfPresent(taskId, (k, entries) -> {
+            copy.addAll(entries);
+            return entries;
+        });
+        return copy;
+    }
+
+    private static List<TaskActivity> merge(List<TaskActivity> stored, List<TaskActivity> queued, int limit) {
+        if (queued.isEmpty()) {
+            return stored;
+        }
+        Set<TaskActivity> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        seen.addAll(stored);
+        List<TaskActivity> merged = new ArrayList<>(stored);
+        for (TaskActivity activity : queued) {
+            if (!seen.contains(activity)) {
+                merged.add(activity);
+            }
+        }
+        merged.sort(TaskActivity.HISTORY_ORDER);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    private void wakeWriter() {
+        if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private static void report(String what, long count) {
+        if (count == 1 || count % REPORT_EVERY == 0) {
+            log.warn("Activity log ring is full; {} {} entries so far", what, count);
+        }
+    }
+}
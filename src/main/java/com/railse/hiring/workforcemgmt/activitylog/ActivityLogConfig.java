@@ -0,0 +1,20 @@
+package com.railse.hiring.workforcemgmt.activitylog;
+
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ActivityLogProperties.class)
+public class ActivityLogConfig {
+
+    @Bean
+    public ActivityLog activityLog(ActivityLogProperties properties, TaskActivityRepository activityRepository) {
+        if (!properties.isAsync()) {
+            return ActivityLog.synchronous(activityRepository);
+        }
+        return new ActivityLog(activityRepository, properties.getCapacity(), properties.getBatchSize(),
+                properties.getBackpressure());
+    }
+}
@@ -0,0 +1,15 @@
+package com.railse.hiring.workforcemgmt.activitylog;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "workforcemgmt.activity-log")
+public class ActivityLogProperties {
+    // When false every activity is written by the request that produced it
+    private boolean async = true;
+    // Rounded up to a power of two
+    private int capacity = 65_536;
+    private int batchSize = 512;
+    private BackpressurePolicy backpressure = BackpressurePolicy.BLOCK;
+}
@@ -0,0 +1,7 @@
+package com.railse.hiring.workforcemgmt.activitylog;
+
+public enum BackpressurePolicy {
+    BLOCK, // the request waits until the writer has made room
+    DROP,  // the entry is discarded and counted; the request never waits
+    SPILL  // the entry goes to an unbounded overflow queue the writer drains after the ring
+}
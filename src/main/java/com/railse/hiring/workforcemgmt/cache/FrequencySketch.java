@@ -0,0 +1,67 @@
+package com.railse.hiring.workforcemgmt.cache;
+
+/**
+ * Count-min sketch of how often each key was requested recently: four 4-bit counters per key
+ * packed sixteen to a long. Once enough increments have been seen every counter is halved,
+ * so popularity from long ago fades. Not thread-safe; the cache calls it under its lock.
+ */
+class FrequencySketch {
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(long expectedKeys) {
+        int size = Integer.highestOneBit((int) Math.max(16, Math.min(expectedKeys, 1 << 20)) - 1) << 1;
+        this.table = new long[size];
+        this.sampleSize = 10 * size;
+    }
+
+    int frequency(long key) {
+        int min = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            min = Math.min(min, counter(key, i));
+        }
+        return min;
+    }
+
+    void increment(long key) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = index(key, i);
+            int shift = shift(key, i);
+            if (((table[index] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions /= 2;
+        }
+    }
+
+    private int counter(long key, int depth) {
+        return (int) ((table[index(key, depth)] >>> shift(key, depth)) & MAX_COUNT);
+    }
+
+    private int index(long key, int depth) {
+        return (int) (hash(key, depth) >>> 32) & (table.length - 1);
+    }
+
+    // Each depth uses its own quarter of the long's sixteen counters
+    private static int shift(long key, int depth) {
+        return ((depth << 2) + (int) (hash(key, depth) & 3)) << 2;
+    }
+
+    private static long hash(long key, int depth) {
+        long h = (key + SEEDS[depth]) * 0x9e3779b97f4a7c15L;
+        return h ^ (h >>> 29);
+    }
+}
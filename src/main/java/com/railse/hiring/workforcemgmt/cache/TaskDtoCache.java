@@ -0,0 +1,310 @@
+package com.railse.hiring.workforcemgmt.cache;
+
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.StoreChangeListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of fully built task DTOs (task, activities and comments), bounded by
+ * weight: one per task plus one per history entry it carries. Eviction is W-TinyLFU: new
+ * entries pass through a small LRU window, and an entry leaving the window only displaces
+ * the main region's LRU victim if a frequency sketch says it is requested more often.
+ *
+ * <p>Hits are a map lookup; the recency and frequency bookkeeping is skipped when another
+ * thread holds the policy lock. Invalidations do not wait for that lock either: they remove
+ * the entry from the map and queue its unlinking from the window or main region for whoever
+ * next holds the lock. Cached DTOs are shared between readers and must not be modified.
+ *
+ * <p>Staleness: writers invalidate a task only once their change is visible (after the
+ * store's critical section, or once an activity is queued), and bump a stamp for it first.
+ * A load stores its result only if the stamp it read before loading is unchanged, checked
+ * again after the insert, so a load that raced a write is returned to its caller but never
+ * stays cached.
+ */
+public class TaskDtoCache implements StoreChangeListener {
+    private static final int STAMP_STRIPES = 4096;
+
+    private final long maxWeight;
+    private final long windowMax;
+    private final long mainMax;
+    private final Map<Long, Node> data = new ConcurrentHashMap<>();
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+    // Tasks changed by this thread's current store write, invalidated in afterCommit()
+    private final ThreadLocal<List<Long>> changed = ThreadLocal.withInitial(ArrayList::new);
+    // Invalidated entries still linked into a region, unlinked by the next holder of policyLock
+    private final Queue<Node> unlinks = new ConcurrentLinkedQueue<>();
+
+    // Guarded by policyLock
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final LinkedHashMap<Long, Node> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Node> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private long windowWeight;
+    private long mainWeight;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public TaskDtoCache(long maxWeight, int windowPercent) {
+        this.maxWeight = Math.max(0, maxWeight);
+        this.windowMax = Math.max(1, this.maxWeight * windowPercent / 100);
+        this.mainMax = Math.max(0, this.maxWeight - windowMax);
+        this.sketch = new FrequencySketch(this.maxWeight);
+    }
+
+    /** A cache that holds nothing: every read goes to the loader. */
+    public static TaskDtoCache disabled() {
+        return new TaskDtoCache(0, 1);
+    }
+
+    public TaskManagementDto get(Long id, Function<Long, TaskManagementDto> loader) {
+        if (maxWeight == 0) {
+            return loader.apply(id);
+        }
+        Node node = data.get(id);
+        if (node != null) {
+            hits.increment();
+            touch(node);
+            return node.dto;
+        }
+        misses.increment();
+        long stamp = stamps.get(stripe(id));
+        TaskManagementDto dto = loader.apply(id);
+        add(new Node(id, dto, weigh(dto)), stamp);
+        return dto;
+    }
+
+    public void invalidate(Long id) {
+        // Stamp first: a load inserting concurrently either sees it or has its node removed here
+        stamps.incrementAndGet(stripe(id));
+        Node node = data.remove(id);
+        if (node == null) {
+            return;
+        }
+        invalidations.increment();
+        unlinks.add(node);
+        if (policyLock.tryLock()) {
+            try {
+                drainUnlinks();
+            } finally {
+                policyLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void onTaskSaved(TaskManagement task) {
+        changed.get().add(task.getId());
+    }
+
+    @Override
+    public void onActivitySaved(TaskActivity activity) {
+        changed.get().add(activity.getTaskId());
+    }
+
+    @Override
+    public void onCommentSaved(TaskComment comment) {
+        changed.get().add(comment.getTaskId());
+    }
+
+    @Override
+    public void onStoresCleared() {
+        // Every stamp first, so no load that read the old stores stays cached
+        for (int stripe = 0; stripe < STAMP_STRIPES; stripe++) {
+            stamps.incrementAndGet(stripe);
+        }
+        for (Long id : data.keySet()) {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public void afterCommit() {
+        List<Long> ids = changed.get();
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (Long id : ids) {
+            invalidate(id);
+        }
+        ids.clear();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long invalidations() {
+        return invalidations.sum();
+    }
+
+    public long size() {
+        return data.size();
+    }
+
+    public long weight() {
+        policyLock.lock();
+        try {
+            drainUnlinks();
+            return windowWeight + mainWeight;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    private void touch(Node node) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            drainUnlinks();
+            sketch.increment(node.id);
+            // Access-ordered maps move the entry to the most recent end on get
+            if (window.get(node.id) == null) {
+                main.get(node.id);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void add(Node node, long stamp) {
+        policyLock.lock();
+        try {
+            drainUnlinks();
+            sketch.increment(node.id);
+            if (stamps.get(stripe(node.id)) != stamp || data.putIfAbsent(node.id, node) != null) {
+                return;
+            }
+            if (stamps.get(stripe(node.id)) != stamp) {
+                // Invalidated between the check and the insert, maybe before its remove could see it
+                data.remove(node.id, node);
+                return;
+            }
+            windowWeight += link(window, node, Node.WINDOW);
+            while (windowWeight > windowMax) {
+                Node candidate = removeEldest(window);
+                windowWeight -= candidate.weight;
+                admit(candidate);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    // TinyLFU admission: the candidate from the window replaces main-region victims only
+    // while it is more popular than each of them
+    private void admit(Node candidate) {
+        if (data.get(candidate.id) != candidate) {
+            // Invalidated while in the window; its queued unlink finds it unlinked already
+            return;
+        }
+        while (mainWeight + candidate.weight > mainMax) {
+            Node victim = main.isEmpty() ? null : main.values().iterator().next();
+            if (victim == null || sketch.frequency(candidate.id) <= sketch.frequency(victim.id)) {
+                evict(candidate);
+                return;
+            }
+            removeEldest(main);
+            mainWeight -= victim.weight;
+            evict(victim);
+        }
+        mainWeight += link(main, candidate, Node.MAIN);
+    }
+
+    private void evict(Node node) {
+        data.remove(node.id, node);
+        evictions.increment();
+    }
+
+    private void drainUnlinks() {
+        Node node;
+        while ((node = unlinks.poll()) != null) {
+            // Still linked means the region's entry for its id is this node, not a newer one
+            if (node.region == Node.WINDOW) {
+                window.remove(node.id);
+                windowWeight -= node.weight;
+            } else if (node.region == Node.MAIN) {
+                main.remove(node.id);
+                mainWeight -= node.weight;
+            }
+            node.region = Node.UNLINKED;
+        }
+    }
+
+    // Returns the weight the region gains: an invalidated node not yet unlinked may be replaced
+    private long link(LinkedHashMap<Long, Node> region, Node node, byte name) {
+        node.region = name;
+        Node replaced = region.put(node.id, node);
+        if (replaced == null) {
+            return node.weight;
+        }
+        replaced.region = Node.UNLINKED;
+        return node.weight - replaced.weight;
+    }
+
+    private static Node removeEldest(LinkedHashMap<Long, Node> region) {
+        Iterator<Node> eldest = region.values().iterator();
+        Node node = eldest.next();
+        eldest.remove();
+        node.region = Node.UNLINKED;
+        return node;
+    }
+
+    private static long weigh(TaskManagementDto dto) {
+        return 1L + (dto.getActivities() == null ? 0 : dto.getActivities().size())
+                + (dto.getComments() == null ? 0 : dto.getComments().size());
+    }
+
+    private static int stripe(Long id) {
+        return (int) (id ^ (id >>> 32)) & (STAMP_STRIPES - 1);
+    }
+
+    // Identity equality, so removing a stale entry never takes a newer one for the same task
+    private static final class Node {
+        static final byte UNLINKED = 0;
+        static final byte WINDOW = 1;
+        static final byte MAIN = 2;
+
+        final Long id;
+        final TaskManagementDto dto;
+        final long weight;
+        // Guarded by policyLock
+        byte region;
+
+        Node(Long id, TaskManagementDto dto, long weight) {
+            this.id = id;
+            this.dto = dto;
+            this.weight = weight;
+        }
+    }
+}
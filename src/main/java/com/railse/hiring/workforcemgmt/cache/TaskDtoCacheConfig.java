@@ -0,0 +1,25 @@
+package com.railse.hiring.workforcemgmt.cache;
+
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TaskDtoCacheProperties.class)
+public class TaskDtoCacheConfig {
+
+    @Bean
+    public TaskDtoCache taskDtoCache(TaskDtoCacheProperties properties, StoreChangePublisher changes,
+                                     ActivityLog activityLog) {
+        if (!properties.isEnabled()) {
+            return TaskDtoCache.disabled();
+        }
+        TaskDtoCache cache = new TaskDtoCache(properties.getMaxWeight(), properties.getWindowPercent());
+        // Saved tasks, activities and comments; queued activities are visible before they are saved
+        changes.addListener(cache);
+        activityLog.addQueueListener(activity -> cache.invalidate(activity.getTaskId()));
+        return cache;
+    }
+}
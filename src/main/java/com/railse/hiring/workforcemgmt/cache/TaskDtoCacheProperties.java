@@ -0,0 +1,14 @@
+package com.railse.hiring.workforcemgmt.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "workforcemgmt.dto-cache")
+public class TaskDtoCacheProperties {
+    private boolean enabled = true;
+    // Each cached task weighs one plus its number of activities and comments
+    private long maxWeight = 200_000;
+    // Share of the weight given to the admission window
+    private int windowPercent = 1;
+}
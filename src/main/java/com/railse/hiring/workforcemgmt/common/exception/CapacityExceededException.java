@@ -0,0 +1,9 @@
+package com.railse.hiring.workforcemgmt.common.exception;
+
+public class CapacityExceededException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
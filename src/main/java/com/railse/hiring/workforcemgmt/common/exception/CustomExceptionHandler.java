@@ -18,6 +18,34 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public final ResponseEntity<Response<Object>> handleBadRequestException(BadRequestException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.BAD_REQUEST.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(StaleVersionException.class)
+    public final ResponseEntity<Response<Object>> handleStaleVersionException(StaleVersionException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.CONFLICT.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ReadOnlyException.class)
+    public final ResponseEntity<Response<Object>> handleReadOnlyException(ReadOnlyException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.SERVICE_UNAVAILABLE.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(CapacityExceededException.class)
+    public final ResponseEntity<Response<Object>> handleCapacityExceededException(CapacityExceededException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.SERVICE_UNAVAILABLE.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public final ResponseEntity<Response<Object>> handleAllExceptions(Exception ex) {
         ResponseStatus status = new ResponseStatus(StatusCode.INTERNAL_SERVER_ERROR.getCode(),
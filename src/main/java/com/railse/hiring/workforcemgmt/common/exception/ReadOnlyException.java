@@ -0,0 +1,9 @@
+package com.railse.hiring.workforcemgmt.common.exception;
+
+public class ReadOnlyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ReadOnlyException(String message) {
+        super(message);
+    }
+}
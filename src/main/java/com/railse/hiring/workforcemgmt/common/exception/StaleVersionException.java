@@ -0,0 +1,9 @@
+package com.railse.hiring.workforcemgmt.common.exception;
+
+public class StaleVersionException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public StaleVersionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.railse.hiring.workforcemgmt.common.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** A service result together with the pagination the controller puts on the response. */
+@Getter
+@AllArgsConstructor
+public class Page<T> {
+    private final T data;
+    private final Pagination pagination;
+}
@@ -2,10 +2,17 @@ package com.railse.hiring.workforcemgmt.common.model.response;
 
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public class Pagination {
-    // Not implemented for this assignment
+    // Opaque keyset cursor to pass back for the next page; null on the last page
+    private String nextCursor;
+    private Integer pageSize;
+    private Boolean hasMore;
 }
@@ -20,6 +20,10 @@ public class Response<T> {
         this.status = status;
     }
 
+    public Response(T data, Pagination pagination) {
+        this(data, pagination, new ResponseStatus(StatusCode.SUCCESS.getCode(), StatusCode.SUCCESS.getMessage()));
+    }
+
     public Response(T data) {
         this(data, null, new ResponseStatus(StatusCode.SUCCESS.getCode(), StatusCode.SUCCESS.getMessage()));
     }
@@ -0,0 +1,44 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.MetricsReport;
+import com.railse.hiring.workforcemgmt.dto.SeedReport;
+import com.railse.hiring.workforcemgmt.dto.SeedRequest;
+import com.railse.hiring.workforcemgmt.metrics.MetricsService;
+import com.railse.hiring.workforcemgmt.seed.SeedService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final SeedService seedService;
+    private final MetricsService metricsService;
+
+    public AdminController(SeedService seedService, MetricsService metricsService) {
+        this.seedService = seedService;
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Adds a generated data set on top of what the stores already hold
+     * - fields in the body override the configured workforcemgmt.seed.* values; an empty body uses them as-is
+     */
+    @PostMapping("/seed")
+    public Response<SeedReport> seed(@RequestBody(required = false) SeedRequest request) {
+        return new Response<>(seedService.seed(request));
+    }
+
+    /**
+     * Counters since startup: latency quantiles per /task-mgmt endpoint, calls and rows scanned vs. returned
+     * per repository method, activity-log write rate, task DTO cache stats and store sizes
+     */
+    @GetMapping("/metrics")
+    public Response<MetricsReport> metrics() {
+        return new Response<>(metricsService.report());
+    }
+}
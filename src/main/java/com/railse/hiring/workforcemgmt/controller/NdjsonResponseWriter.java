@@ -0,0 +1,54 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+
+/**
+ * Writes rows as newline-delimited JSON while they are pulled from an iterator, so an export
+ * holds one row at a time instead of the whole result and its serialized form.
+ */
+@Component
+public class NdjsonResponseWriter {
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    // The first row is flushed on its own so clients see data as soon as there is any
+    private static final int FLUSH_EVERY_ROWS = 256;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public NdjsonResponseWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // Flushing is batched below rather than done after every row
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Request validation should happen before this is called; the iterator is consumed after
+     * the response status has been sent.
+     */
+    public ResponseEntity<StreamingResponseBody> stream(Iterator<?> rows) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                long written = 0;
+                while (rows.hasNext()) {
+                    rowWriter.writeValue(generator, rows.next());
+                    generator.writeRaw('\n');
+                    if (++written == 1 || written % FLUSH_EVERY_ROWS == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+}
@@ -1,29 +1,54 @@
 package com.railse.hiring.workforcemgmt.controller;
 
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
 import com.railse.hiring.workforcemgmt.common.model.response.Response;
 import com.railse.hiring.workforcemgmt.dto.*;
+import com.railse.hiring.workforcemgmt.events.TaskEventHub;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/task-mgmt")
 public class TaskManagementController {
 
     private final TaskManagementService taskManagementService;
+    private final NdjsonResponseWriter ndjson;
+    private final TaskEventHub taskEvents;
 
-    public TaskManagementController(TaskManagementService taskManagementService) {
+    public TaskManagementController(TaskManagementService taskManagementService, NdjsonResponseWriter ndjson,
+                                    TaskEventHub taskEvents) {
         this.taskManagementService = taskManagementService;
+        this.ndjson = ndjson;
+        this.taskEvents = taskEvents;
     }
 
     /**
      * Get a single task by ID - ENHANCED with complete history and comments (Feature 3)
+     * - history_page_size / history_cursor page the activity history; pagination then describes the history
+     * - Sends an ETag; a matching If-None-Match gets 304 before any history is loaded
      */
     @GetMapping("/{id}")
-    public Response<TaskManagementDto> getTaskById(@PathVariable Long id) {
-        return new Response<>(taskManagementService.findTaskById(id));
+    public Response<TaskManagementDto> getTaskById(@PathVariable Long id,
+                                                   @RequestParam(name = "history_cursor", required = false) String historyCursor,
+                                                   @RequestParam(name = "history_page_size", required = false) Integer historyPageSize,
+                                                   WebRequest webRequest) {
+        if (webRequest.checkNotModified(taskManagementService.taskETag(id))) {
+            return null;
+        }
+        Page<TaskManagementDto> page = taskManagementService.findTaskById(id, historyCursor, historyPageSize);
+        return new Response<>(page.getData(), page.getPagination());
     }
 
     /**
@@ -54,10 +79,24 @@ public class TaskManagementController {
      * Fetch tasks by date range - BUG FIX #2 + FEATURE #1:
      * - Excludes cancelled tasks (Bug Fix #2)
      * - Smart date filtering: tasks in range + ongoing from before range (Feature #1)
+     * - Cursor paged: pass pagination.next_cursor back as "cursor" with the same filters
+     * - Rows are task summaries; include=history,comments,timestamps adds those sections
      */
     @PostMapping("/fetch-by-date/v2")
-    public Response<List<TaskManagementDto>> fetchByDate(@RequestBody TaskFetchByDateRequest request) {
-        return new Response<>(taskManagementService.fetchTasksByDate(request));
+    public Response<List<TaskSummaryDto>> fetchByDate(@RequestBody TaskFetchByDateRequest request,
+                                                      @RequestParam(required = false) String include) {
+        Page<List<TaskSummaryDto>> page = taskManagementService.fetchTasksByDate(request, TaskInclude.parse(include));
+        return new Response<>(page.getData(), page.getPagination());
+    }
+
+    /**
+     * Export variant of fetch-by-date: every match as application/x-ndjson, one task per line,
+     * written while the repository is walked. page_size is ignored; a cursor resumes the export.
+     */
+    @PostMapping("/fetch-by-date/v2/stream")
+    public ResponseEntity<StreamingResponseBody> streamByDate(@RequestBody TaskFetchByDateRequest request,
+                                                              @RequestParam(required = false) String include) {
+        return ndjson.stream(taskManagementService.streamTasksByDate(request, TaskInclude.parse(include)));
     }
 
     // ===============================
@@ -73,11 +112,97 @@ public class TaskManagementController {
     }
 
     /**
-     * FEATURE #2: Get all tasks of a specific priority (excluding cancelled)
+     * FEATURE #2: Get all tasks of a specific priority (excluding cancelled), cursor paged by task id
+     * - ETag versions the whole listing; a matching If-None-Match gets 304 without reading any task
      */
     @GetMapping("/priority/{priority}")
-    public Response<List<TaskManagementDto>> getTasksByPriority(@PathVariable Priority priority) {
-        return new Response<>(taskManagementService.getTasksByPriority(priority));
+    public Response<List<TaskSummaryDto>> getTasksByPriority(@PathVariable Priority priority,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(name = "page_size", required = false) Integer pageSize,
+                                                             @RequestParam(required = false) String include,
+                                                             WebRequest webRequest) {
+        Set<TaskInclude> sections = TaskInclude.parse(include);
+        if (webRequest.checkNotModified(taskManagementService.priorityListingETag(priority, sections))) {
+            return null;
+        }
+        Page<List<TaskSummaryDto>> page = taskManagementService.getTasksByPriority(priority, cursor, pageSize,
+                sections);
+        return new Response<>(page.getData(), page.getPagination());
+    }
+
+    /**
+     * Export variant of the priority listing as application/x-ndjson, one task per line; conditional on the same ETag as the listing
+     */
+    @GetMapping("/priority/{priority}/stream")
+    public ResponseEntity<StreamingResponseBody> streamByPriority(@PathVariable Priority priority,
+                                                                  @RequestParam(required = false) String include,
+                                                                  WebRequest webRequest) {
+        Set<TaskInclude> sections = TaskInclude.parse(include);
+        if (webRequest.checkNotModified(taskManagementService.priorityListingETag(priority, sections))) {
+            return null;
+        }
+        return ndjson.stream(taskManagementService.streamTasksByPriority(priority, sections));
+    }
+
+    /**
+     * Open tasks whose deadline has passed, earliest deadline first, cursor paged by (deadline, id)
+     * - Read from the deadline scheduler's index; no task is scanned to find them
+     */
+    @GetMapping("/overdue")
+    public Response<List<TaskSummaryDto>> getOverdueTasks(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(name = "page_size", required = false) Integer pageSize,
+                                                          @RequestParam(required = false) String include) {
+        Page<List<TaskSummaryDto>> page = taskManagementService.getOverdueTasks(cursor, pageSize,
+                TaskInclude.parse(include));
+        return new Response<>(page.getData(), page.getPagination());
+    }
+
+    /**
+     * "Next task" queue: the assignee's open tasks, highest priority first, then earliest deadline
+     * (none last), then earliest start date; read from an index the repository keeps ordered on every save
+     * - limit (default 10, at most 1000) is how many tasks to return from the top
+     */
+    @GetMapping("/queue/{assigneeId}")
+    public Response<List<TaskSummaryDto>> getWorkQueue(@PathVariable Long assigneeId,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @RequestParam(required = false) String include) {
+        return new Response<>(taskManagementService.getWorkQueue(assigneeId, limit, TaskInclude.parse(include)));
+    }
+
+    /**
+     * The first task of the assignee's queue; 404 when the assignee has no open task
+     */
+    @GetMapping("/queue/{assigneeId}/next")
+    public Response<TaskSummaryDto> getNextTask(@PathVariable Long assigneeId,
+                                                @RequestParam(required = false) String include) {
+        return new Response<>(taskManagementService.getNextTask(assigneeId, TaskInclude.parse(include)));
+    }
+
+    /**
+     * Workload board: task counts per assignee by status, priority and task type, read from
+     * counters the repository keeps on every save (no tasks are scanned)
+     * - assignee_ids=1,2,3 limits the board to those assignees, in that order; omitted for everyone
+     */
+    @GetMapping("/workload")
+    public Response<List<WorkloadDto>> getWorkload(@RequestParam(name = "assignee_ids", required = false)
+                                                   List<Long> assigneeIds) {
+        return new Response<>(taskManagementService.getWorkload(assigneeIds));
+    }
+
+    /**
+     * Server-sent events for task changes, instead of polling fetch-by-date: created, updated,
+     * reassigned and cancelled, each with the task summary as it is after the change
+     * - assignee_ids=1,2 and/or reference_type + reference_id select the tasks; either filter matches
+     * - A reassignment also reaches subscribers of the previous assignee (previous_assignee_id)
+     * - A client that cannot keep up is disconnected, sent "evicted" first if it still reads; re-fetch, then subscribe again
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void subscribeToEvents(@RequestParam(name = "assignee_ids", required = false) List<Long> assigneeIds,
+                                  @RequestParam(name = "reference_type", required = false)
+                                  ReferenceType referenceType,
+                                  @RequestParam(name = "reference_id", required = false) Long referenceId,
+                                  HttpServletRequest request, HttpServletResponse response) throws IOException {
+        taskEvents.subscribe(assigneeIds, referenceType, referenceId, request, response);
     }
 
     /**
@@ -0,0 +1,22 @@
+package com.railse.hiring.workforcemgmt.deadline;
+
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public DeadlineScheduler deadlineScheduler(DeadlineProperties properties, TaskRepository taskRepository,
+                                               ActivityLog activityLog, StoreChangePublisher changes) {
+        if (!properties.isEnabled()) {
+            return DeadlineScheduler.disabled();
+        }
+        return new DeadlineScheduler(properties, taskRepository, activityLog, changes);
+    }
+}
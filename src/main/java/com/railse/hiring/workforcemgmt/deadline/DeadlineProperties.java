@@ -0,0 +1,16 @@
+package com.railse.hiring.workforcemgmt.deadline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "workforcemgmt.deadlines")
+public class DeadlineProperties {
+    private boolean enabled = true;
+    // Resolution of the timing wheel: a task is reported overdue at most this long after its deadline
+    private long tickMs = 1000;
+    // Pending deadlines the wheel has room for before it grows
+    private int initialCapacity = 1 << 16;
+    // Deadline changes queued for the wheel thread; past this, saves spill to an unbounded overflow list
+    private int queueCapacity = 1 << 16;
+}
@@ -0,0 +1,366 @@
+package com.railse.hiring.workforcemgmt.deadline;
+
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.activitylog.RingBuffer;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityMessage;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.StoreChangeListener;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tracks the deadline of every open task on a {@link TimingWheel} and reports the ones that
+ * pass. Every save and restore of a task reaches it as a store change: a new or moved deadline
+ * is (re)scheduled, and a task that is completed, cancelled or loses its deadline is dropped.
+ * Nothing is ever scanned after startup; a wheel thread advances one tick at a time.
+ *
+ * <p>Saves never touch the wheel: they queue the task's deadline on a lock-free ring and
+ * return, and the wheel thread applies queued changes before each tick. That thread is the only
+ * one to touch the wheel and the overdue index, so the write path shares no lock with it. A save
+ * that finds the ring full spills to an overflow list rather than wait for the wheel thread, and
+ * later saves follow it there until the wheel thread has caught up, so a task's changes are still
+ * applied in save order.
+ *
+ * <p>When a deadline passes, the task moves to the overdue index behind {@link #overdue} and a
+ * TASK_OVERDUE activity is logged, once per deadline. A read-only follower keeps the index but
+ * leaves logging to its primary, whose activity it receives through replication.
+ */
+@Slf4j
+public class DeadlineScheduler implements StoreChangeListener {
+    // Queued for a task that no longer has an open deadline
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+    // How long a change can wait in the ring when ticks are further apart
+    private static final long DRAIN_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int DRAIN_BATCH = 4096;
+
+    // recovered: queued by start() for a deadline that had already passed, so possibly logged by an earlier run
+    private record Change(long taskId, long deadline, boolean recovered) {
+    }
+
+    // Queued when the stores were emptied; compared by identity
+    private static final Change CLEAR = new Change(0, NO_DEADLINE, false);
+
+    private final boolean enabled;
+    private final TaskRepository taskRepository;
+    private final ActivityLog activityLog;
+    private final StoreChangePublisher changes;
+    private final RingBuffer<Change> queued;
+    // Changes that found the ring full, in arrival order, and the flag that sends later ones after them
+    private final Object overflowLock = new Object();
+    private List<Change> overflow = new ArrayList<>();
+    private volatile boolean overflowing;
+    private final LongAdder spilled = new LongAdder();
+    // Wheel thread only
+    private final TimingWheel wheel;
+    private final Map<Long, OverdueTask> overdueByTask = new HashMap<>();
+    // Tasks whose deadline had passed when start() queued it, until it fires or changes
+    private final Set<Long> recovered = new HashSet<>();
+    // Written by the wheel thread only, read by anyone
+    private final NavigableSet<OverdueTask> overdue = new ConcurrentSkipListSet<>();
+    private volatile int pending;
+    private volatile int overdueSize;
+    private final LongAdder fired = new LongAdder();
+    private volatile boolean running;
+    private volatile boolean stopping;
+    private volatile boolean tickerParked;
+    private Thread ticker;
+
+    public DeadlineScheduler(DeadlineProperties properties, TaskRepository taskRepository, ActivityLog activityLog,
+                             StoreChangePublisher changes) {
+        this.enabled = true;
+        this.taskRepository = taskRepository;
+        this.activityLog = activityLog;
+        this.changes = changes;
+        this.queued = new RingBuffer<>(properties.getQueueCapacity());
+        this.wheel = new TimingWheel(properties.getTickMs(), System.currentTimeMillis(),
+                properties.getInitialCapacity());
+    }
+
+    private DeadlineScheduler() {
+        this.enabled = false;
+        this.taskRepository = null;
+        this.activityLog = null;
+        this.changes = null;
+        this.queued = null;
+        this.wheel = null;
+    }
+
+    /** A scheduler that tracks nothing; no task is ever reported overdue. */
+    public static DeadlineScheduler disabled() {
+        return new DeadlineScheduler();
+    }
+
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        stopping = false;
+        ticker = new Thread(this::runTicker, "deadline-wheel");
+        ticker.setDaemon(true);
+        ticker.start();
+        running = true;
+        changes.addListener(this);
+        // Tasks already in the stores (recovered before this started); later ones arrive as changes
+        if (taskRepository.count() > 0) {
+            long started = System.nanoTime();
+            long now = System.currentTimeMillis();
+            long tracked = 0;
+            for (TaskStatus status : List.of(TaskStatus.ASSIGNED, TaskStatus.STARTED)) {
+                for (TaskManagement task : taskRepository.findByStatus(status)) {
+                    Long deadline = task.getTaskDeadlineTime();
+                    if (deadline != null) {
+                        enqueue(new Change(task.getId(), deadline, deadline <= now));
+                        tracked++;
+                    }
+                }
+            }
+            log.info("Queued the deadlines of {} stored tasks in {} ms", tracked,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    public void stop() {
+        if (!enabled || !running) {
+            return;
+        }
+        changes.removeListener(this);
+        running = false;
+        stopping = true;
+        LockSupport.unpark(ticker);
+        try {
+            ticker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void onTaskSaved(TaskManagement task) {
+        track(task);
+    }
+
+    @Override
+    public void onTaskRestored(TaskManagement task) {
+        track(task);
+    }
+
+    @Override
+    public void onStoresCleared() {
+        enqueue(CLEAR);
+    }
+
+    // Runs inside the store's critical section for the task, so a task's changes queue in save order
+    private void track(TaskManagement task) {
+        Long deadline = task.getTaskDeadlineTime();
+        TaskStatus status = task.getStatus();
+        boolean open = deadline != null && status != TaskStatus.COMPLETED && status != TaskStatus.CANCELLED;
+        enqueue(new Change(task.getId(), open ? deadline : NO_DEADLINE, false));
+    }
+
+    private void enqueue(Change change) {
+        if (!overflowing && queued.offer(change)) {
+            if (queued.size() > queued.capacity() / 2 && tickerParked) {
+                LockSupport.unpark(ticker);
+            }
+            return;
+        }
+        // Full: the wheel thread is behind. Waiting for it here would hold up the caller's critical
+        // section, so the change goes behind the ring instead, and so does every change after it
+        // until the wheel thread has taken the overflow.
+        synchronized (overflowLock) {
+            overflowing = true;
+            overflow.add(change);
+        }
+        spilled.increment();
+        if (tickerParked) {
+            LockSupport.unpark(ticker);
+        }
+    }
+
+    private void runTicker() {
+        List<Change> batch = new ArrayList<>(DRAIN_BATCH);
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(wheel.tickMillis());
+        long nextTick = System.nanoTime() + tickNanos;
+        while (!stopping) {
+            apply(batch);
+            long now = System.nanoTime();
+            if (now - nextTick >= 0) {
+                tick();
+                nextTick = now + tickNanos;
+            }
+            tickerParked = true;
+            if (queued.size() <= queued.capacity() / 2 && !overflowing && !stopping) {
+                LockSupport.parkNanos(this, Math.min(DRAIN_PARK_NANOS, nextTick - System.nanoTime()));
+            }
+            tickerParked = false;
+        }
+    }
+
+    private void apply(List<Change> batch) {
+        while (true) {
+            if (queued.drainTo(batch, DRAIN_BATCH) > 0) {
+                applyAll(batch);
+                batch.clear();
+            } else if (overflowing) {
+                applyAll(takeOverflow());
+            } else {
+                break;
+            }
+        }
+        pending = wheel.size();
+        overdueSize = overdueByTask.size();
+    }
+
+    // The overflow only holds changes queued after everything on the ring, so it waits for the ring to empty
+    private List<Change> takeOverflow() {
+        synchronized (overflowLock) {
+            if (!queued.isEmpty()) {
+                return List.of();
+            }
+            List<Change> taken = overflow;
+            overflow = new ArrayList<>();
+            overflowing = false;
+            return taken;
+        }
+    }
+
+    private void applyAll(List<Change> batch) {
+        for (Change change : batch) {
+            if (change == CLEAR) {
+                wheel.clear();
+                overdueByTask.clear();
+                overdue.clear();
+                recovered.clear();
+            } else {
+                apply(change);
+            }
+        }
+    }
+
+    private void apply(Change change) {
+        long id = change.taskId();
+        long deadline = change.deadline();
+        recovered.remove(id);
+        if (deadline == NO_DEADLINE) {
+            wheel.cancel(id);
+            removeOverdue(id);
+            return;
+        }
+        OverdueTask current = overdueByTask.get(id);
+        if (current != null) {
+            if (current.deadline() == deadline) {
+                return;
+            }
+            // The deadline moved: overdue again only once the new one passes
+            removeOverdue(id);
+        }
+        if (change.recovered()) {
+            recovered.add(id);
+        }
+        wheel.schedule(id, deadline);
+    }
+
+    private void removeOverdue(long id) {
+        OverdueTask entry = overdueByTask.remove(id);
+        if (entry != null) {
+            overdue.remove(entry);
+        }
+    }
+
+    // Wheel thread only, after the queued changes are applied
+    private void tick() {
+        try {
+            List<OverdueTask> due = new ArrayList<>();
+            wheel.advance(System.currentTimeMillis(), (id, deadline) -> {
+                OverdueTask entry = new OverdueTask(deadline, id);
+                overdueByTask.put(id, entry);
+                overdue.add(entry);
+                due.add(entry);
+            });
+            pending = wheel.size();
+            overdueSize = overdueByTask.size();
+            fired.add(due.size());
+            boolean logging = changes.acceptsWrites();
+            for (OverdueTask entry : due) {
+                boolean recoveredDeadline = recovered.remove(entry.taskId());
+                if (logging) {
+                    logOverdue(entry, recoveredDeadline);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Whatever expired is in the overdue index already; only activity may be missing
+            log.error("Deadline tick failed", e);
+        }
+    }
+
+    private void logOverdue(OverdueTask entry, boolean recovered) {
+        // Within a run a deadline fires once. A restart schedules deadlines that passed before it
+        // again, and the previous run may have logged those already.
+        if (recovered) {
+            for (TaskActivity activity : activityLog.findByTaskId(entry.taskId())) {
+                if (activity.getActivityType() == ActivityType.TASK_OVERDUE
+                        && activity.getNewCode() == entry.deadline()) {
+                    return;
+                }
+            }
+        }
+        TaskActivity activity = new TaskActivity();
+        activity.setTaskId(entry.taskId());
+        activity.setActivityType(ActivityType.TASK_OVERDUE);
+        activity.setEvent(ActivityMessage.DEADLINE_PASSED, ActivityMessage.ABSENT, entry.deadline(),
+                ActivityMessage.ABSENT);
+        activityLog.append(activity);
+    }
+
+    /**
+     * Up to {@code limit} overdue tasks after {@code after} (from the earliest deadline when null).
+     * Saves reach the index with the next drain of the wheel thread, so callers re-check each
+     * task's current deadline and status.
+     */
+    public List<OverdueTask> overdue(OverdueTask after, int limit) {
+        List<OverdueTask> page = new ArrayList<>(Math.min(limit, 1024));
+        if (!enabled) {
+            return page;
+        }
+        for (OverdueTask entry : after == null ? overdue : overdue.tailSet(after, false)) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(entry);
+        }
+        return page;
+    }
+
+    public int pendingCount() {
+        return pending;
+    }
+
+    public int overdueCount() {
+        return overdueSize;
+    }
+
+    public long firedCount() {
+        return fired.sum();
+    }
+
+    /** Changes that found the ring full and waited in the overflow list instead. */
+    public long spilledCount() {
+        return spilled.sum();
+    }
+}
@@ -0,0 +1,14 @@
+package com.railse.hiring.workforcemgmt.deadline;
+
+import java.util.Comparator;
+
+/** A task whose deadline has passed while it was still open; overdue listings are in this order. */
+public record OverdueTask(long deadline, long taskId) implements Comparable<OverdueTask> {
+    private static final Comparator<OverdueTask> ORDER =
+            Comparator.comparingLong(OverdueTask::deadline).thenComparingLong(OverdueTask::taskId);
+
+    @Override
+    public int compareTo(OverdueTask other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,306 @@
+package com.railse.hiring.workforcemgmt.deadline;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel of deadlines keyed by task id. Level 0 has one slot per tick; each
+ * slot of level n covers 64^n ticks. A deadline goes into the lowest level whose span covers it
+ * and moves down a level each time the wheel reaches its slot, so scheduling and cancelling are
+ * O(1) and advancing only touches slots that come due, never every pending deadline.
+ *
+ * <p>Entries are kept in parallel primitive arrays and chained into per-slot doubly linked
+ * lists by index, with an open-addressing table from task id to entry: about 45 bytes per
+ * pending deadline and no objects per entry. Not thread-safe.
+ */
+public class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    // 64^6 ticks: over two thousand years at one-second ticks
+    private static final int LEVELS = 6;
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+    private static final int NIL = -1;
+    // Past-due deadlines, expired by the next advance whatever its time
+    private static final int DUE = LEVELS * SLOTS;
+
+    /** Receives each deadline the wheel has reached. */
+    @FunctionalInterface
+    public interface ExpiryHandler {
+        void expired(long key, long deadlineMillis);
+    }
+
+    private final long tickMillis;
+    // Next tick to expire; every earlier tick has been processed
+    private long currentTick;
+
+    private final int[] slotHeads = new int[LEVELS * SLOTS + 1];
+
+    // Entry columns; a free entry is chained through next
+    private long[] keys;
+    private long[] deadlines;
+    private long[] expiryTicks;
+    private int[] next;
+    private int[] prev;
+    private int[] slotOf;
+    private int freeHead = NIL;
+    private int used;
+    private int size;
+
+    // Entry index by key, linear probing; NIL marks an empty bucket
+    private int[] table;
+
+    public TimingWheel(long tickMillis, long nowMillis, int initialCapacity) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+        Arrays.fill(slotHeads, NIL);
+        int capacity = Math.max(16, initialCapacity);
+        keys = new long[capacity];
+        deadlines = new long[capacity];
+        expiryTicks = new long[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        slotOf = new int[capacity];
+        table = new int[tableSizeFor(capacity)];
+        Arrays.fill(table, NIL);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long tickMillis() {
+        return tickMillis;
+    }
+
+    /** The deadline scheduled for {@code key}, or {@code null}. */
+    public Long deadlineOf(long key) {
+        int entry = find(key);
+        return entry == NIL ? null : deadlines[entry];
+    }
+
+    /**
+     * Schedules or moves the deadline of {@code key}. A deadline that has already passed
+     * expires on the next {@link #advance}.
+     */
+    public void schedule(long key, long deadlineMillis) {
+        int entry = find(key);
+        if (entry != NIL) {
+            if (deadlines[entry] == deadlineMillis) {
+                return;
+            }
+            unlink(entry);
+        } else {
+            entry = allocate(key);
+        }
+        deadlines[entry] = deadlineMillis;
+        // Due once the clock has reached the deadline: the first tick that starts at or after it
+        expiryTicks[entry] = -Math.floorDiv(-deadlineMillis, tickMillis);
+        place(entry);
+    }
+
+    /** Removes the deadline of {@code key}; returns whether there was one. */
+    public boolean cancel(long key) {
+        int entry = find(key);
+        if (entry == NIL) {
+            return false;
+        }
+        unlink(entry);
+        release(entry);
+        return true;
+    }
+
+    /** Removes every deadline; the clock stays where it is. */
+    public void clear() {
+        Arrays.fill(slotHeads, NIL);
+        Arrays.fill(table, NIL);
+        freeHead = NIL;
+        used = 0;
+        size = 0;
+    }
+
+    /**
+     * Expires every deadline up to {@code nowMillis}, in tick order, handing each to
+     * {@code handler} after it has been removed from the wheel. The handler must not call
+     * back into the wheel.
+     */
+    public void advance(long nowMillis, ExpiryHandler handler) {
+        expire(DUE, handler);
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick <= nowTick) {
+            int index = (int) (currentTick & SLOT_MASK);
+            if (index == 0) {
+                cascade(1);
+            }
+            expire(index, handler);
+            currentTick++;
+        }
+    }
+
+    private void expire(int slot, ExpiryHandler handler) {
+        int entry = slotHeads[slot];
+        slotHeads[slot] = NIL;
+        while (entry != NIL) {
+            int following = next[entry];
+            long key = keys[entry];
+            long deadline = deadlines[entry];
+            release(entry);
+            handler.expired(key, deadline);
+            entry = following;
+        }
+    }
+
+    // Moves the entries of the level's current slot down; a slot at index 0 first pulls in the level above
+    private void cascade(int level) {
+        int index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        if (index == 0 && level + 1 < LEVELS) {
+            cascade(level + 1);
+        }
+        int slot = level * SLOTS + index;
+        int entry = slotHeads[slot];
+        slotHeads[slot] = NIL;
+        while (entry != NIL) {
+            int following = next[entry];
+            place(entry);
+            entry = following;
+        }
+    }
+
+    private void place(int entry) {
+        long expiry = expiryTicks[entry];
+        long delta = expiry - currentTick;
+        int slot;
+        if (delta < 0) {
+            slot = DUE;
+        } else if (delta < SLOTS) {
+            slot = (int) (expiry & SLOT_MASK);
+        } else {
+            if (delta > MAX_DELTA) {
+                // Beyond the top level: parked there and placed again when its slot comes round
+                expiry = currentTick + MAX_DELTA;
+                delta = MAX_DELTA;
+            }
+            int level = (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS;
+            slot = level * SLOTS + (int) ((expiry >>> (SLOT_BITS * level)) & SLOT_MASK);
+        }
+        int head = slotHeads[slot];
+        next[entry] = head;
+        prev[entry] = NIL;
+        if (head != NIL) {
+            prev[head] = entry;
+        }
+        slotHeads[slot] = entry;
+        slotOf[entry] = slot;
+    }
+
+    private void unlink(int entry) {
+        int before = prev[entry];
+        int after = next[entry];
+        if (before == NIL) {
+            slotHeads[slotOf[entry]] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after != NIL) {
+            prev[after] = before;
+        }
+    }
+
+    private int allocate(long key) {
+        if ((size + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        int entry;
+        if (freeHead != NIL) {
+            entry = freeHead;
+            freeHead = next[entry];
+        } else {
+            if (used == keys.length) {
+                grow();
+            }
+            entry = used++;
+        }
+        keys[entry] = key;
+        // Live from here on; place() sets the real slot
+        slotOf[entry] = 0;
+        size++;
+        insert(entry);
+        return entry;
+    }
+
+    private void release(int entry) {
+        remove(keys[entry]);
+        slotOf[entry] = NIL;
+        next[entry] = freeHead;
+        freeHead = entry;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        deadlines = Arrays.copyOf(deadlines, capacity);
+        expiryTicks = Arrays.copyOf(expiryTicks, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        slotOf = Arrays.copyOf(slotOf, capacity);
+    }
+
+    private int find(long key) {
+        int mask = table.length - 1;
+        for (int bucket = bucket(key, mask); ; bucket = (bucket + 1) & mask) {
+            int entry = table[bucket];
+            if (entry == NIL || keys[entry] == key) {
+                return entry;
+            }
+        }
+    }
+
+    private void insert(int entry) {
+        int mask = table.length - 1;
+        int bucket = bucket(keys[entry], mask);
+        while (table[bucket] != NIL) {
+            bucket = (bucket + 1) & mask;
+        }
+        table[bucket] = entry;
+    }
+
+    // Backward-shift deletion keeps every probe chain unbroken without tombstones
+    private void remove(long key) {
+        int mask = table.length - 1;
+        int hole = bucket(key, mask);
+        while (keys[table[hole]] != key) {
+            hole = (hole + 1) & mask;
+        }
+        for (int bucket = (hole + 1) & mask; table[bucket] != NIL; bucket = (bucket + 1) & mask) {
+            int home = bucket(keys[table[bucket]], mask);
+            // Move the entry back if the hole lies on its probe path from home to where it is now
+            if (((bucket - home) & mask) >= ((bucket - hole) & mask)) {
+                table[hole] = table[bucket];
+                hole = bucket;
+            }
+        }
+        table[hole] = NIL;
+    }
+
+    private void rehash(int tableSize) {
+        table = new int[tableSize];
+        Arrays.fill(table, NIL);
+        for (int entry = 0; entry < used; entry++) {
+            if (slotOf[entry] != NIL) {
+                insert(entry);
+            }
+        }
+    }
+
+    private static int bucket(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(Math.max(2, capacity * 2 - 1)) << 1;
+    }
+}
@@ -0,0 +1,150 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class MetricsReport {
+    private List<Endpoint> endpoints;
+    private List<RepositoryCall> repository;
+    private ActivityLog activityLog;
+    private DtoCache dtoCache;
+    private Store store;
+    private History history;
+    private Replication replication;
+    private Events events;
+    private Deadlines deadlines;
+
+    // Latencies in microseconds since startup; quantiles are accurate to about 3%
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Endpoint {
+        private String endpoint;
+        private long count;
+        private long errors;
+        private double meanMicros;
+        private double p50Micros;
+        private double p99Micros;
+        private double p999Micros;
+        private double maxMicros;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class RepositoryCall {
+        private String method;
+        private long calls;
+        private long rowsScanned;
+        private long rowsReturned;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class ActivityLog {
+        private long written;
+        private long queued;
+        private long dropped;
+        private long spilled;
+        private double writesPerSecond;
+        private double meanWritesPerSecond;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class DtoCache {
+        private long hits;
+        private long misses;
+        private long evictions;
+        private long invalidations;
+        private long size;
+        private long weight;
+        private long maxWeight;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Store {
+        private long tasks;
+        private long activities;
+        private long comments;
+    }
+
+    // Activities and comments include archived entries; recent ones are those still in memory
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class History {
+        private boolean tiered;
+        private long recentActivities;
+        private long recentComments;
+        private long archivedActivities;
+        private long archivedComments;
+        private int segments;
+        private long segmentBytes;
+        private long uncompressedBytes;
+        private long archiveReads;
+        private long compactions;
+        private long merges;
+        private long lastCompactionEntries;
+        private double lastCompactionMillis;
+    }
+
+    // Positions are LSNs of the primary's change log; connections counts followers on a primary
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Replication {
+        private String role;
+        private long lsn;
+        private long primaryLsn;
+        private long lagRecords;
+        private long lagMillis;
+        private int connections;
+        private long bootstraps;
+        private long records;
+    }
+
+    // Task event streams: published counts changes that matched a subscriber, delivered counts sends
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Events {
+        private int subscribers;
+        private long published;
+        private long delivered;
+        private long evicted;
+    }
+
+    // Deadlines of open tasks: pending on the timing wheel, or passed and in the overdue index
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Deadlines {
+        private long pending;
+        private long overdue;
+        private long fired;
+        private long spilled;
+    }
+}
@@ -0,0 +1,26 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.Data;
+
+import java.util.Map;
+
+// Every field is optional; absent fields keep the configured workforcemgmt.seed.* value
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class SeedRequest {
+    private String generator;
+    private Long randomSeed;
+    private Integer tasks;
+    private Integer assignees;
+    private Integer references;
+    private Double assigneeSkew;
+    private Double referenceSkew;
+    private Map<TaskStatus, Integer> statusMix;
+    private Double activitiesPerTask;
+    private Double commentsPerTask;
+    private Integer historyDays;
+    private Long anchorEpochMillis;
+}
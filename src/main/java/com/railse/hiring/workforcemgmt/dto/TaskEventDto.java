@@ -0,0 +1,22 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.events.TaskEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Data of one event on GET /task-mgmt/events; the task as it is after the change. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskEventDto {
+    private TaskEventType type;
+    private TaskSummaryDto task;
+    // Reassignments only
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long previousAssigneeId;
+}
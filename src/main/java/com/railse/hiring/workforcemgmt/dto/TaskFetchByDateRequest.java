@@ -12,4 +12,6 @@ public class TaskFetchByDateRequest {
     private Long startDate;
     private Long endDate;
     private List<Long> assigneeIds;
+    private String cursor; // next_cursor from the previous page, absent for the first page
+    private Integer pageSize;
 }
\ No newline at end of file
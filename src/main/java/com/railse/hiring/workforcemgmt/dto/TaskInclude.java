@@ -0,0 +1,30 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/** Optional sections of a {@link TaskSummaryDto}, requested with {@code include=history,comments,timestamps}. */
+public enum TaskInclude {
+    HISTORY,
+    COMMENTS,
+    TIMESTAMPS;
+
+    public static Set<TaskInclude> parse(String include) {
+        Set<TaskInclude> sections = EnumSet.noneOf(TaskInclude.class);
+        if (include == null || include.isBlank()) {
+            return sections;
+        }
+        for (String name : include.split(",")) {
+            if (name.isBlank()) continue;
+            try {
+                sections.add(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unknown include '" + name.trim() + "', expected history, comments or timestamps");
+            }
+        }
+        return sections;
+    }
+}
@@ -26,6 +26,7 @@ public class TaskManagementDto {
     private Long startDate; // NEW FIELD
     private LocalDateTime createdAt; // NEW FIELD
     private LocalDateTime updatedAt; // NEW FIELD
+    private Long version;
     private List<TaskActivityDto> activities; // NEW FIELD for Feature 3
     private List<TaskCommentDto> comments; // NEW FIELD for Feature 3
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Row of a task listing. The sections selected with {@link TaskInclude} are only mapped
+ * and serialized when requested.
+ */
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskSummaryDto {
+    private Long id;
+    private Long referenceId;
+    private ReferenceType referenceType;
+    private Task task;
+    private String description;
+    private TaskStatus status;
+    private Long assigneeId;
+    private Long taskDeadlineTime;
+    private Priority priority;
+    private Long startDate;
+    private Long version;
+
+    // include=timestamps
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime createdAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime updatedAt;
+    // include=history
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<TaskActivityDto> activities;
+    // include=comments
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<TaskCommentDto> comments;
+}
@@ -0,0 +1,37 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/** One assignee's row of the workload board; open means ASSIGNED or STARTED. */
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class WorkloadDto {
+    private Long assigneeId;
+    private long open;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<Priority, Long> openByPriority;
+    private Map<Task, Long> openByTask;
+    // Non-zero status x priority x task type counts, open or not
+    private List<Cell> cells;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class Cell {
+        private TaskStatus status;
+        private Priority priority;
+        private Task task;
+        private long count;
+    }
+}
@@ -0,0 +1,21 @@
+package com.railse.hiring.workforcemgmt.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TaskEventProperties.class)
+public class TaskEventConfig {
+
+    @Bean(destroyMethod = "stop")
+    public TaskEventHub taskEventHub(TaskEventProperties properties, ITaskManagementMapper taskMapper,
+                                     ObjectMapper objectMapper) {
+        if (!properties.isEnabled()) {
+            return TaskEventHub.disabled();
+        }
+        return new TaskEventHub(properties, taskMapper, objectMapper);
+    }
+}
@@ -0,0 +1,498 @@
+package com.railse.hiring.workforcemgmt.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.common.exception.CapacityExceededException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskEventDto;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes task changes to subscribers as server-sent events. The service publishes each change
+ * right after saving it. Subscribers are indexed by assignee and by reference, so matching a
+ * change takes a few map lookups however many streams are open, and the event is serialized once
+ * for all of them.
+ *
+ * <p>Each subscriber has a bounded queue that a small pool of dispatch threads drains with
+ * non-blocking servlet writes: when a client's socket stops accepting data the dispatcher moves
+ * on, and the container calls back once it can be written again. No thread ever waits on a
+ * client, so a stalled one cannot hold up delivery to the rest. A subscriber whose queue fills
+ * is evicted right away by the publishing thread: it is unindexed and its stream completed, with
+ * an "evicted" event first if the connection can still take it. Clients are expected to re-fetch
+ * their tasks and subscribe again, as they do after any reconnect.
+ */
+@Slf4j
+public class TaskEventHub {
+    private static final Frame SUBSCRIBED = Frame.comment("subscribed");
+    private static final Frame HEARTBEAT = Frame.comment("heartbeat");
+    private static final Frame EVICTED = Frame.event(0, "evicted", "{\"reason\":\"slow consumer\"}");
+
+    private record ReferenceKey(ReferenceType referenceType, Long referenceId) {
+    }
+
+    // One SSE event, encoded once however many subscribers it goes to
+    private record Frame(long id, byte[] bytes) {
+        static Frame comment(String text) {
+            return new Frame(0, (":" + text + "\n\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        // data is single-line JSON, so it needs no splitting into several data: lines
+        static Frame event(long id, String name, String data) {
+            String idLine = id > 0 ? "id:" + id + "\n" : "";
+            return new Frame(id, (idLine + "event:" + name + "\ndata:" + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private final boolean enabled;
+    private final ITaskManagementMapper taskMapper;
+    private final ObjectWriter eventWriter;
+    private final int maxSubscribers;
+    private final int bufferEvents;
+    private final long timeoutMillis;
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> byAssignee = new ConcurrentHashMap<>();
+    private final Map<ReferenceKey, Set<Subscriber>> byReference = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public TaskEventHub(TaskEventProperties properties, ITaskManagementMapper taskMapper, ObjectMapper objectMapper) {
+        this.enabled = true;
+        this.taskMapper = taskMapper;
+        this.eventWriter = objectMapper.writerFor(TaskEventDto.class);
+        this.maxSubscribers = properties.getMaxSubscribers();
+        this.bufferEvents = Math.max(1, properties.getBufferEvents());
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(properties.getTimeoutMinutes());
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, properties.getDispatchThreads()), r -> {
+            Thread thread = new Thread(r, "task-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "task-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, properties.getHeartbeatIntervalSeconds());
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, interval, interval, TimeUnit.SECONDS);
+    }
+
+    private TaskEventHub() {
+        this.enabled = false;
+        this.taskMapper = null;
+        this.eventWriter = null;
+        this.maxSubscribers = 0;
+        this.bufferEvents = 0;
+        this.timeoutMillis = 0;
+        this.dispatcher = null;
+        this.heartbeat = null;
+    }
+
+    /** A hub that takes no subscribers; publishing is a no-op. */
+    public static TaskEventHub disabled() {
+        return new TaskEventHub();
+    }
+
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        heartbeat.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.shutdown();
+        }
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Turns the request into a stream of the changes to tasks of any of {@code assigneeIds}
+     * (before or after a reassignment) or of the given reference; at least one of the two filters
+     * is required. The response stays open after this returns.
+     */
+    public void subscribe(List<Long> assigneeIds, ReferenceType referenceType, Long referenceId,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!enabled) {
+            throw new CapacityExceededException("Task event streams are disabled");
+        }
+        if ((referenceType == null) != (referenceId == null)) {
+            throw new BadRequestException("reference_type and reference_id go together");
+        }
+        List<Long> assignees = assigneeIds == null ? List.of() : assigneeIds.stream()
+                .filter(Objects::nonNull).distinct().toList();
+        if (assignees.isEmpty() && referenceType == null) {
+            throw new BadRequestException("Subscribe by assignee_ids or by reference_type and reference_id");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new CapacityExceededException("Too many open task event streams; retry later");
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-cache");
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(timeoutMillis);
+        Subscriber subscriber = new Subscriber(async, response.getOutputStream(), assignees,
+                referenceType == null ? null : new ReferenceKey(referenceType, referenceId));
+        async.addListener(subscriber);
+        subscribers.add(subscriber);
+        for (Long assigneeId : assignees) {
+            index(byAssignee, assigneeId, subscriber);
+        }
+        if (subscriber.reference != null) {
+            index(byReference, subscriber.reference, subscriber);
+        }
+        // Sends the response headers now rather than with the first change
+        subscriber.offer(SUBSCRIBED);
+        // Non-blocking from here on; the container's first onWritePossible starts the writes
+        subscriber.out.setWriteListener(subscriber);
+    }
+
+    /** Sends a change to every matching subscriber; {@code task} is read before this returns. */
+    public void publish(TaskEventType type, TaskManagement task, Long previousAssigneeId) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<Subscriber> matched = new HashSet<>();
+        match(byAssignee, task.getAssigneeId(), matched);
+        match(byAssignee, previousAssigneeId, matched);
+        if (task.getReferenceType() != null && task.getReferenceId() != null) {
+            match(byReference, new ReferenceKey(task.getReferenceType(), task.getReferenceId()), matched);
+        }
+        if (matched.isEmpty()) {
+            return;
+        }
+        String data;
+        try {
+            data = eventWriter.writeValueAsString(new TaskEventDto(type,
+                    taskMapper.modelToSummaryDto(task, Set.of()), previousAssigneeId));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize a {} event for task {}", type, task.getId(), e);
+            return;
+        }
+        Frame frame = Frame.event(sequence.incrementAndGet(), type.name().toLowerCase(), data);
+        published.increment();
+        for (Subscriber subscriber : matched) {
+            subscriber.offer(frame);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public long publishedCount() {
+        return published.sum();
+    }
+
+    public long deliveredCount() {
+        return delivered.sum();
+    }
+
+    public long evictedCount() {
+        return evicted.sum();
+    }
+
+    private void sendHeartbeats() {
+        // Finds connections that were dropped without a close, and keeps proxies from timing out idle ones
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offerHeartbeat();
+        }
+    }
+
+    private static <K> void index(Map<K, Set<Subscriber>> index, K key, Subscriber subscriber) {
+        index.compute(key, (k, set) -> {
+            Set<Subscriber> members = set != null ? set : ConcurrentHashMap.newKeySet();
+            members.add(subscriber);
+            return members;
+        });
+    }
+
+    private static <K> void unindex(Map<K, Set<Subscriber>> index, K key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static <K> void match(Map<K, Set<Subscriber>> index, K key, Set<Subscriber> into) {
+        if (key != null) {
+            Set<Subscriber> members = index.get(key);
+            if (members != null) {
+                into.addAll(members);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            for (Long assigneeId : subscriber.assigneeIds) {
+                unindex(byAssignee, assigneeId, subscriber);
+            }
+            if (subscriber.reference != null) {
+                unindex(byReference, subscriber.reference, subscriber);
+            }
+        }
+    }
+
+    /**
+     * One open stream. At most one dispatch thread writes to it at a time: whoever sets
+     * {@code draining}. When the socket stops taking data the writer parks the stream
+     * ({@code waiting}) and returns; the container's onWritePossible hands it back to the pool.
+     */
+    private final class Subscriber implements WriteListener, AsyncListener {
+        private final AsyncContext async;
+        private final ServletOutputStream out;
+        private final List<Long> assigneeIds;
+        private final ReferenceKey reference;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        // Guarded by this
+        private final ArrayDeque<Frame> queue = new ArrayDeque<>();
+        private boolean draining;
+        // Until the first onWritePossible, writes are not allowed at all
+        private boolean waiting = true;
+        // onWritePossible arrived while a writer held the stream
+        private boolean writable;
+        private boolean evicting;
+        private boolean closed;
+        // Written data not yet flushed; only touched by the thread that holds draining
+        private boolean unflushed;
+
+        Subscriber(AsyncContext async, ServletOutputStream out, List<Long> assigneeIds, ReferenceKey reference) {
+            this.async = async;
+            this.out = out;
+            this.assigneeIds = assigneeIds;
+            this.reference = reference;
+        }
+
+        void offer(Frame frame) {
+            boolean start = false;
+            boolean evictedNow = false;
+            boolean evictNow = false;
+            synchronized (this) {
+                if (closed || evicting) {
+                    return;
+                }
+                if (queue.size() >= bufferEvents) {
+                    // What is queued is stale anyway: the client has to re-fetch
+                    evicting = true;
+                    evictedNow = true;
+                    queue.clear();
+                    if (draining) {
+                        // The writer sends the notice if the socket still takes it, then completes
+                        queue.add(EVICTED);
+                    } else {
+                        closed = true;
+                        evictNow = true;
+                    }
+                } else {
+                    queue.add(frame);
+                    start = !draining && !waiting;
+                    draining |= start;
+                }
+            }
+            if (evictedNow) {
+                evicted.increment();
+                remove(this);
+            }
+            if (evictNow) {
+                // Parked on a full socket: nothing is being written, so complete without waiting on it
+                complete();
+            }
+            if (start) {
+                schedule();
+            }
+        }
+
+        void offerHeartbeat() {
+            synchronized (this) {
+                // A queued event already shows whether the connection is alive
+                if (closed || evicting || !queue.isEmpty()) {
+                    return;
+                }
+                queue.add(HEARTBEAT);
+                if (draining || waiting) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onWritePossible() {
+            synchronized (this) {
+                waiting = false;
+                if (draining) {
+                    writable = true;
+                    return;
+                }
+                if (closed || (queue.isEmpty() && !unflushed)) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            try {
+                dispatcher.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    synchronized (this) {
+                        writable = false;
+                    }
+                    if (!out.isReady()) {
+                        boolean finish;
+                        synchronized (this) {
+                            if (writable && !closed) {
+                                // The container said writable after isReady() looked: look again
+                                continue;
+                            }
+                            // An eviction notice that cannot be written now is dropped
+                            closed |= evicting;
+                            draining = false;
+                            waiting = !closed;
+                            finish = closed;
+                        }
+                        if (finish) {
+                            complete();
+                        }
+                        return;
+                    }
+                    Frame frame;
+                    synchronized (this) {
+                        frame = closed ? null : queue.poll();
+                        if (frame == null && (closed || !unflushed)) {
+                            draining = false;
+                            if (closed) {
+                                break;
+                            }
+                            return;
+                        }
+                    }
+                    if (frame == null) {
+                        out.flush();
+                        unflushed = false;
+                        continue;
+                    }
+                    out.write(frame.bytes());
+                    unflushed = true;
+                    if (frame == EVICTED) {
+                        if (out.isReady()) {
+                            out.flush();
+                        }
+                        synchronized (this) {
+                            closed = true;
+                            draining = false;
+                        }
+                        break;
+                    }
+                    if (frame.id() > 0) {
+                        delivered.increment();
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the stream was completed under us
+                synchronized (this) {
+                    closed = true;
+                    draining = false;
+                    queue.clear();
+                }
+                remove(this);
+            }
+            complete();
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            shutdown();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            shutdown();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            shutdown();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            shutdown();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        /** Closes the stream; completed here unless a writer holds it, which then completes it. */
+        void shutdown() {
+            boolean completeNow;
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+                completeNow = !draining;
+            }
+            remove(this);
+            if (completeNow) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            if (completed.compareAndSet(false, true)) {
+                try {
+                    async.complete();
+                } catch (IllegalStateException e) {
+                    // Already completed by the container after an error or timeout
+                }
+            }
+        }
+    }
+}
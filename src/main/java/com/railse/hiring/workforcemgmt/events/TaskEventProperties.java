@@ -0,0 +1,18 @@
+package com.railse.hiring.workforcemgmt.events;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "workforcemgmt.task-events")
+public class TaskEventProperties {
+    private boolean enabled = true;
+    private int maxSubscribers = 50_000;
+    // Events queued for one subscriber; a subscriber that falls further behind is disconnected
+    private int bufferEvents = 64;
+    // Threads writing events to subscribers; writes are non-blocking, so a stalled client holds none
+    private int dispatchThreads = 4;
+    private int heartbeatIntervalSeconds = 15;
+    // Streams are closed after this long and the client reconnects; 0 = never
+    private long timeoutMinutes = 30;
+}
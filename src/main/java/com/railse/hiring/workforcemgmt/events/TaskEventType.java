@@ -0,0 +1,8 @@
+package com.railse.hiring.workforcemgmt.events;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,    // status, description or priority changed
+    REASSIGNED, // assignee changed; the event carries the previous one
+    CANCELLED
+}
@@ -0,0 +1,301 @@
+package com.railse.hiring.workforcemgmt.history;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.repository.ArchivedHistory;
+import com.railse.hiring.workforcemgmt.repository.HistoryVersion;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * The on-disk tier of task history: a directory of immutable {@link HistorySegment}s, newest
+ * last. Compaction adds one segment per run; once there are more than {@code maxSegments}, the
+ * largest run of adjacent segments that fits in {@code maxSegmentBytes} is merged into one, so a
+ * lookup probes a bounded number of files. Readers work on a snapshot of the segment list and
+ * never block; a segment replaced by a merge stays readable through its mapping after its file
+ * is deleted.
+ */
+@Slf4j
+public class HistoryArchive {
+    private static final Comparator<TaskComment> COMMENT_ORDER =
+            Comparator.comparing(TaskComment::getTimestamp).thenComparingLong(TaskComment::getId);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int maxSegments;
+    private final long maxSegmentBytes;
+    // Sequence order; replaced as a whole under the archive's lock
+    private volatile List<HistorySegment> segments = List.of();
+    private long nextSequence = 1;
+
+    private final LongAdder reads = new LongAdder();
+    private final AtomicLong compactions = new AtomicLong();
+    private final AtomicLong merges = new AtomicLong();
+    private volatile long lastCompactionNanos;
+    private volatile long lastCompactedEntries;
+
+    private final ArchivedHistory<TaskActivity> activities = new View<>(HistorySegment::activities,
+            HistorySegment::activityVersion, HistorySegment::activities, HistorySegment::maxActivityId);
+    private final ArchivedHistory<TaskComment> comments = new View<>(HistorySegment::comments,
+            HistorySegment::commentVersion, HistorySegment::comments, HistorySegment::maxCommentId);
+
+    private HistoryArchive(boolean enabled, Path directory, int maxSegments, long maxSegmentBytes) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.maxSegments = maxSegments;
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    public static HistoryArchive disabled() {
+        return new HistoryArchive(false, null, 0, 0);
+    }
+
+    /**
+     * Opens the segments in {@code directory}, dropping leftovers of interrupted writes and any
+     * segment a completed merge already covers. With {@code discardExisting} the directory is
+     * emptied instead, for stores that start empty and would reuse the archived ids.
+     */
+    public static HistoryArchive open(Path directory, int maxSegments, long maxSegmentBytes,
+                                      boolean discardExisting) throws IOException {
+        HistoryArchive archive = new HistoryArchive(true, directory, maxSegments, maxSegmentBytes);
+        Files.createDirectories(directory);
+        List<HistorySegment> found = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                if (file.getFileName().toString().endsWith(HistorySegment.SUFFIX + ".tmp")) {
+                    Files.delete(file);
+                } else if (HistorySegment.isSegment(file)) {
+                    if (discardExisting) {
+                        Files.delete(file);
+                    } else {
+                        found.add(HistorySegment.open(file));
+                    }
+                }
+            }
+        }
+        List<HistorySegment> live = new ArrayList<>();
+        for (HistorySegment segment : found) {
+            if (found.stream().anyMatch(other -> other.covers(segment))) {
+                Files.delete(segment.path());
+            } else {
+                live.add(segment);
+            }
+        }
+        live.sort(Comparator.comparingLong(HistorySegment::firstSequence));
+        archive.segments = List.copyOf(live);
+        archive.nextSequence = live.isEmpty() ? 1 : live.get(live.size() - 1).lastSequence() + 1;
+        log.info("Opened {} history segments holding {} activities and {} comments", live.size(),
+                archive.activities.count(), archive.comments.count());
+        return archive;
+    }
+
+    public ArchivedHistory<TaskActivity> activities() {
+        return activities;
+    }
+
+    public ArchivedHistory<TaskComment> comments() {
+        return comments;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    long maxSegmentBytes() {
+        return maxSegmentBytes;
+    }
+
+    /** Starts the next segment; it becomes visible to readers when passed to {@link #publish}. */
+    synchronized HistorySegment.Writer newSegment() throws IOException {
+        long sequence = nextSequence++;
+        return HistorySegment.create(directory, sequence, sequence);
+    }
+
+    synchronized void publish(HistorySegment.Writer writer) throws IOException {
+        List<HistorySegment> next = new ArrayList<>(segments);
+        next.add(writer.commit());
+        segments = List.copyOf(next);
+    }
+
+    void compacted(long entries, long nanos) {
+        compactions.incrementAndGet();
+        lastCompactedEntries = entries;
+        lastCompactionNanos = nanos;
+    }
+
+    /** Merges adjacent segments until there are at most {@code maxSegments}, or nothing fits. */
+    synchronized void mergeIfNeeded() throws IOException {
+        while (segments.size() > maxSegments) {
+            List<HistorySegment> current = segments;
+            int bestFrom = -1;
+            int bestTo = -1;
+            for (int from = 0; from < current.size(); from++) {
+                long bytes = 0;
+                int to = from;
+                while (to < current.size() && bytes + current.get(to).sizeBytes() <= maxSegmentBytes) {
+                    bytes += current.get(to++).sizeBytes();
+                }
+                if (to - from >= 2 && to - from > bestTo - bestFrom) {
+                    bestFrom = from;
+                    bestTo = to;
+                }
+            }
+            if (bestFrom < 0) {
+                return;
+            }
+            List<HistorySegment> inputs = current.subList(bestFrom, bestTo);
+            HistorySegment merged = merge(inputs);
+            List<HistorySegment> next = new ArrayList<>(current.subList(0, bestFrom));
+            next.add(merged);
+            next.addAll(current.subList(bestTo, current.size()));
+            segments = List.copyOf(next);
+            merges.incrementAndGet();
+            for (HistorySegment input : inputs) {
+                Files.deleteIfExists(input.path());
+            }
+            log.info("Merged {} history segments into {} ({} bytes)", inputs.size(), merged, merged.sizeBytes());
+        }
+    }
+
+    // A k-way merge by task id; a task held by several inputs keeps each entry once
+    private HistorySegment merge(List<HistorySegment> inputs) throws IOException {
+        List<HistorySegment.Cursor> cursors = new ArrayList<>();
+        for (HistorySegment input : inputs) {
+            cursors.add(input.cursor());
+        }
+        try (HistorySegment.Writer writer = HistorySegment.create(directory, inputs.get(0).firstSequence(),
+                inputs.get(inputs.size() - 1).lastSequence())) {
+            while (true) {
+                long taskId = Long.MAX_VALUE;
+                for (HistorySegment.Cursor cursor : cursors) {
+                    if (cursor.valid()) {
+                        taskId = Math.min(taskId, cursor.taskId());
+                    }
+                }
+                if (taskId == Long.MAX_VALUE) {
+                    break;
+                }
+                List<TaskActivity> taskActivities = new ArrayList<>();
+                List<TaskComment> taskComments = new ArrayList<>();
+                int holders = 0;
+                for (HistorySegment.Cursor cursor : cursors) {
+                    if (cursor.valid() && cursor.taskId() == taskId) {
+                        taskActivities.addAll(cursor.activities());
+                        taskComments.addAll(cursor.comments());
+                        cursor.next();
+                        holders++;
+                    }
+                }
+                if (holders > 1) {
+                    taskActivities = distinct(taskActivities, TaskActivity.HISTORY_ORDER, TaskActivity::getId);
+                    taskComments = distinct(taskComments, COMMENT_ORDER, TaskComment::getId);
+                }
+                writer.add(taskId, taskActivities, taskComments);
+            }
+            return writer.commit();
+        }
+    }
+
+    private static <T> List<T> distinct(List<T> entries, Comparator<T> order, ToLongFunction<T> id) {
+        entries.sort(order);
+        List<T> result = new ArrayList<>(entries.size());
+        for (T entry : entries) {
+            if (result.isEmpty() || id.applyAsLong(result.get(result.size() - 1)) != id.applyAsLong(entry)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public long segmentBytes() {
+        return segments.stream().mapToLong(HistorySegment::sizeBytes).sum();
+    }
+
+    // Size of the archived records before compression
+    public long rawBytes() {
+        return segments.stream().mapToLong(HistorySegment::rawBytes).sum();
+    }
+
+    // Lookups that found archived entries
+    public long reads() {
+        return reads.sum();
+    }
+
+    public long compactions() {
+        return compactions.get();
+    }
+
+    public long merges() {
+        return merges.get();
+    }
+
+    public long lastCompactionNanos() {
+        return lastCompactionNanos;
+    }
+
+    public long lastCompactedEntries() {
+        return lastCompactedEntries;
+    }
+
+    private final class View<T> implements ArchivedHistory<T> {
+        private final BiFunction<HistorySegment, Long, List<T>> find;
+        private final BiFunction<HistorySegment, Long, HistoryVersion> version;
+        private final ToLongFunction<HistorySegment> count;
+        private final ToLongFunction<HistorySegment> maxId;
+
+        View(BiFunction<HistorySegment, Long, List<T>> find, BiFunction<HistorySegment, Long, HistoryVersion> version,
+             ToLongFunction<HistorySegment> count, ToLongFunction<HistorySegment> maxId) {
+            this.find = find;
+            this.version = version;
+            this.count = count;
+            this.maxId = maxId;
+        }
+
+        @Override
+        public List<T> find(Long taskId) {
+            List<T> result = new ArrayList<>();
+            for (HistorySegment segment : segments) {
+                result.addAll(find.apply(segment, taskId));
+            }
+            if (!result.isEmpty()) {
+                reads.increment();
+            }
+            return result;
+        }
+
+        @Override
+        public HistoryVersion version(Long taskId) {
+            HistoryVersion total = HistoryVersion.EMPTY;
+            for (HistorySegment segment : segments) {
+                HistoryVersion part = version.apply(segment, taskId);
+                total = total.plus(part.count(), part.maxId());
+            }
+            return total;
+        }
+
+        @Override
+        public long count() {
+            return segments.stream().mapToLong(count).sum();
+        }
+
+        @Override
+        public long maxId() {
+            return segments.stream().mapToLong(maxId).max().orElse(0);
+        }
+    }
+}
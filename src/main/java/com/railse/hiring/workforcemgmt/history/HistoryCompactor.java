@@ -0,0 +1,185 @@
+package com.railse.hiring.workforcemgmt.history;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Periodically moves the history of completed and cancelled tasks that is older than the
+ * retention windows from the in-memory repositories into the {@link HistoryArchive}. Open tasks
+ * keep their whole history in memory, however old.
+ *
+ * <p>A segment is on disk and visible to readers before the entries it holds are dropped from
+ * memory, so a read in between sees them twice (and merges them) rather than not at all.
+ */
+@Slf4j
+public class HistoryCompactor {
+    private final HistoryTierProperties properties;
+    private final TaskRepository taskRepository;
+    private final InMemoryTaskActivityRepository activityRepository;
+    private final InMemoryTaskCommentRepository commentRepository;
+    private final HistoryArchive archive;
+    private ScheduledExecutorService scheduler;
+
+    public HistoryCompactor(HistoryTierProperties properties,
+                            TaskRepository taskRepository,
+                            InMemoryTaskActivityRepository activityRepository,
+                            InMemoryTaskCommentRepository commentRepository,
+                            HistoryArchive archive) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.activityRepository = activityRepository;
+        this.commentRepository = commentRepository;
+        this.archive = archive;
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "history-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getCompactionIntervalSeconds();
+        scheduler.scheduleWithFixedDelay(this::scheduledCompaction, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void scheduledCompaction() {
+        try {
+            compact(LocalDateTime.now());
+        } catch (Exception e) {
+            // Nothing was dropped from memory that is not on disk; the next run retries
+            log.error("History compaction failed", e);
+        }
+    }
+
+    /** Archives what has aged out of the retention windows as of {@code now}; returns the entries moved. */
+    public synchronized long compact(LocalDateTime now) throws IOException {
+        long started = System.nanoTime();
+        LocalDateTime activityCutoff = now.minusHours(properties.getActivityRetentionHours());
+        LocalDateTime commentCutoff = now.minusHours(properties.getCommentRetentionHours());
+
+        long moved = 0;
+        List<Moved> pending = new ArrayList<>();
+        HistorySegment.Writer writer = null;
+        try {
+            for (long taskId : closedTaskIds()) {
+                List<TaskActivity> activities = olderThan(activityRepository.findRecent(taskId),
+                        TaskActivity::getTimestamp, activityCutoff);
+                List<TaskComment> comments = olderThan(commentRepository.findRecent(taskId),
+                        TaskComment::getTimestamp, commentCutoff);
+                if (activities.isEmpty() && comments.isEmpty()) {
+                    continue;
+                }
+                Moved task = new Moved(taskId, ids(activities, TaskActivity::getId), ids(comments, TaskComment::getId));
+                // Entries replayed from the WAL after a restart may be archived already; those are only dropped
+                List<TaskActivity> newActivities = notIn(activities, archive.activities().find(taskId),
+                        TaskActivity::getId);
+                List<TaskComment> newComments = notIn(comments, archive.comments().find(taskId), TaskComment::getId);
+                if (!newActivities.isEmpty() || !newComments.isEmpty()) {
+                    if (writer == null) {
+                        writer = archive.newSegment();
+                    }
+                    writer.add(taskId, newActivities, newComments);
+                }
+                pending.add(task);
+                if (writer != null && writer.size() >= archive.maxSegmentBytes()) {
+                    moved += publish(writer, pending);
+                    writer = null;
+                }
+            }
+            moved += publish(writer, pending);
+            writer = null;
+        } finally {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+        archive.mergeIfNeeded();
+
+        long elapsed = System.nanoTime() - started;
+        archive.compacted(moved, elapsed);
+        if (moved > 0) {
+            log.info("Archived {} history entries in {} ms", moved, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+        return moved;
+    }
+
+    // Makes the segment visible, then drops what it holds from memory
+    private long publish(HistorySegment.Writer writer, List<Moved> pending) throws IOException {
+        if (writer != null) {
+            try (writer) {
+                archive.publish(writer);
+            }
+        }
+        long moved = 0;
+        for (Moved task : pending) {
+            moved += activityRepository.evict(task.taskId(), task.activityIds());
+            moved += commentRepository.evict(task.taskId(), task.commentIds());
+        }
+        pending.clear();
+        return moved;
+    }
+
+    private long[] closedTaskIds() {
+        long[] completed = taskRepository.findIdsByStatus(TaskStatus.COMPLETED);
+        long[] cancelled = taskRepository.findIdsByStatus(TaskStatus.CANCELLED);
+        long[] ids = Arrays.copyOf(completed, completed.length + cancelled.length);
+        System.arraycopy(cancelled, 0, ids, completed.length, cancelled.length);
+        // Segments hold tasks in id order
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private static <T> List<T> olderThan(List<T> entries, Function<T, LocalDateTime> timestamp,
+                                         LocalDateTime cutoff) {
+        List<T> older = new ArrayList<>();
+        for (T entry : entries) {
+            if (timestamp.apply(entry).isBefore(cutoff)) {
+                older.add(entry);
+            }
+        }
+        return older;
+    }
+
+    private static <T> Set<Long> ids(List<T> entries, ToLongFunction<T> id) {
+        Set<Long> ids = new HashSet<>();
+        for (T entry : entries) {
+            ids.add(id.applyAsLong(entry));
+        }
+        return ids;
+    }
+
+    private static <T> List<T> notIn(List<T> entries, List<T> archived, ToLongFunction<T> id) {
+        if (archived.isEmpty()) {
+            return entries;
+        }
+        Set<Long> archivedIds = ids(archived, id);
+        return entries.stream().filter(entry -> !archivedIds.contains(id.applyAsLong(entry))).toList();
+    }
+
+    private record Moved(long taskId, Set<Long> activityIds, Set<Long> commentIds) {
+    }
+}
@@ -0,0 +1,481 @@
+package com.railse.hiring.workforcemgmt.history;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.persistence.RecordCodec;
+import com.railse.hiring.workforcemgmt.repository.HistoryVersion;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One immutable file of archived history, in task id order. Tasks are grouped into chunks of up
+ * to 128 tasks or 32 KiB of records; each chunk is one deflated run of {@link RecordCodec}
+ * records (a task's activities, then its comments) behind an uncompressed directory giving each
+ * task's entry counts, highest ids and where its records start. Compressing whole chunks rather
+ * than single tasks is what makes short histories shrink at all. A sparse index with the first
+ * task id of every chunk and a fixed footer close the file.
+ *
+ * <p>The file is memory-mapped read-only. A lookup binary-searches the index and scans one chunk
+ * directory; versions come from the directory alone, and entries inflate the chunk only as far
+ * as the task's records. Files are named after the range of compaction sequence numbers they
+ * hold, so a merged file shows which inputs it replaced.
+ */
+final class HistorySegment {
+    static final String PREFIX = "history-";
+    static final String SUFFIX = ".seg";
+    private static final int MAGIC = 0x57464853;
+    private static final int FORMAT = 1;
+    private static final int FILE_HEADER = 8;
+    // Tasks, raw bytes, stored bytes
+    private static final int CHUNK_HEADER = 12;
+    // Task id, activity count and highest id, comment count and highest id, raw offset, activity and comment bytes
+    private static final int ENTRY = 8 + 4 + 8 + 4 + 8 + 4 + 4 + 4;
+    private static final int CHUNK_TASKS = 128;
+    private static final int CHUNK_RAW_BYTES = 32 << 10;
+    private static final int INDEX_ENTRY = 16;
+    // Index offset, index entries, tasks, lowest and highest task id, activities, comments, raw bytes,
+    // highest activity and comment id, magic
+    private static final int FOOTER = 8 + 4 + 4 + 8 + 8 + 8 + 8 + 8 + 8 + 8 + 4;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final Path path;
+    private final long firstSequence;
+    private final long lastSequence;
+    private final ByteBuffer map;
+    private final int indexOffset;
+    private final int indexEntries;
+    private final int tasks;
+    private final long minTaskId;
+    private final long maxTaskId;
+    private final long activities;
+    private final long comments;
+    private final long rawBytes;
+    private final long maxActivityId;
+    private final long maxCommentId;
+
+    private HistorySegment(Path path) throws IOException {
+        this.path = path;
+        String name = path.getFileName().toString();
+        String[] range = name.substring(PREFIX.length(), name.length() - SUFFIX.length()).split("-");
+        this.firstSequence = Long.parseLong(range[0]);
+        this.lastSequence = Long.parseLong(range[1]);
+        // The mapping stays valid after the channel is closed, and after the file is deleted
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < FILE_HEADER + FOOTER || size > Integer.MAX_VALUE) {
+                throw corrupt("size " + size);
+            }
+            this.map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        int footer = map.capacity() - FOOTER;
+        if (map.getInt(0) != MAGIC || map.getInt(4) != FORMAT || map.getInt(footer + FOOTER - 4) != MAGIC) {
+            throw corrupt("header");
+        }
+        this.indexOffset = (int) map.getLong(footer);
+        this.indexEntries = map.getInt(footer + 8);
+        this.tasks = map.getInt(footer + 12);
+        this.minTaskId = map.getLong(footer + 16);
+        this.maxTaskId = map.getLong(footer + 24);
+        this.activities = map.getLong(footer + 32);
+        this.comments = map.getLong(footer + 40);
+        this.rawBytes = map.getLong(footer + 48);
+        this.maxActivityId = map.getLong(footer + 56);
+        this.maxCommentId = map.getLong(footer + 64);
+    }
+
+    static HistorySegment open(Path path) throws IOException {
+        return new HistorySegment(path);
+    }
+
+    static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    static Writer create(Path directory, long firstSequence, long lastSequence) throws IOException {
+        return new Writer(directory.resolve(String.format("%s%020d-%020d%s", PREFIX, firstSequence, lastSequence,
+                SUFFIX)));
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    long sizeBytes() {
+        return map.capacity();
+    }
+
+    long activities() {
+        return activities;
+    }
+
+    long comments() {
+        return comments;
+    }
+
+    long rawBytes() {
+        return rawBytes;
+    }
+
+    long maxActivityId() {
+        return maxActivityId;
+    }
+
+    long maxCommentId() {
+        return maxCommentId;
+    }
+
+    boolean covers(HistorySegment other) {
+        return this != other && firstSequence <= other.firstSequence && other.lastSequence <= lastSequence;
+    }
+
+    List<TaskActivity> activities(long taskId) {
+        long found = find(taskId);
+        return found < 0 ? List.of() : activities((int) (found >>> 32), (int) found, null);
+    }
+
+    List<TaskComment> comments(long taskId) {
+        long found = find(taskId);
+        return found < 0 ? List.of() : comments((int) (found >>> 32), (int) found, null);
+    }
+
+    HistoryVersion activityVersion(long taskId) {
+        long found = find(taskId);
+        int entry = (int) found;
+        return found < 0 ? HistoryVersion.EMPTY : new HistoryVersion(map.getInt(entry + 8), map.getLong(entry + 12));
+    }
+
+    HistoryVersion commentVersion(long taskId) {
+        long found = find(taskId);
+        int entry = (int) found;
+        return found < 0 ? HistoryVersion.EMPTY : new HistoryVersion(map.getInt(entry + 20), map.getLong(entry + 24));
+    }
+
+    /** Walks every task in id order, inflating each chunk once; for merges. */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Chunk offset in the high half, directory entry offset in the low half; -1 when absent
+    private long find(long taskId) {
+        if (tasks == 0 || taskId < minTaskId || taskId > maxTaskId) {
+            return -1;
+        }
+        // Last chunk starting at or below the task id
+        int low = 0;
+        int high = indexEntries - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (map.getLong(indexOffset + middle * INDEX_ENTRY) <= taskId) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        int chunk = (int) map.getLong(indexOffset + low * INDEX_ENTRY + 8);
+        int entries = map.getInt(chunk);
+        for (int i = 0; i < entries; i++) {
+            int entry = chunk + CHUNK_HEADER + i * ENTRY;
+            long found = map.getLong(entry);
+            if (found == taskId) {
+                return (long) chunk << 32 | entry;
+            }
+            if (found > taskId) {
+                break;
+            }
+        }
+        return -1;
+    }
+
+    private List<TaskActivity> activities(int chunk, int entry, byte[] raw) {
+        int offset = map.getInt(entry + 32);
+        int length = map.getInt(entry + 36);
+        return decode(chunk, raw, offset, length, map.getInt(entry + 8), RecordCodec::decodeActivity);
+    }
+
+    private List<TaskComment> comments(int chunk, int entry, byte[] raw) {
+        int offset = map.getInt(entry + 32) + map.getInt(entry + 36);
+        int length = map.getInt(entry + 40);
+        return decode(chunk, raw, offset, length, map.getInt(entry + 20), RecordCodec::decodeComment);
+    }
+
+    private <T> List<T> decode(int chunk, byte[] raw, int offset, int length, int count,
+                               Function<ByteBuffer, T> decoder) {
+        List<T> entries = new ArrayList<>(count);
+        if (count == 0) {
+            return entries;
+        }
+        ByteBuffer records = ByteBuffer.wrap(raw != null ? raw : inflate(chunk, offset + length), offset, length);
+        for (int i = 0; i < count; i++) {
+            int size = records.getInt();
+            entries.add(decoder.apply(records.slice(records.position(), size)));
+            records.position(records.position() + size);
+        }
+        return entries;
+    }
+
+    // The chunk's records up to upTo; the rest is never inflated
+    private byte[] inflate(int chunk, int upTo) {
+        int stored = map.getInt(chunk + 8);
+        int start = chunk + CHUNK_HEADER + map.getInt(chunk) * ENTRY;
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(map.slice(start, stored));
+            byte[] out = new byte[upTo];
+            int filled = 0;
+            while (filled < upTo) {
+                int inflated = inflater.inflate(out, filled, upTo - filled);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw corrupt("chunk at " + chunk);
+                }
+                filled += inflated;
+            }
+            return out;
+        } catch (DataFormatException e) {
+            throw corrupt("chunk at " + chunk + ": " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private IllegalStateException corrupt(String what) {
+        return new IllegalStateException("Corrupt history segment " + path + " (" + what + ")");
+    }
+
+    @Override
+    public String toString() {
+        return path.getFileName().toString();
+    }
+
+    final class Cursor {
+        private int chunk = tasks == 0 ? -1 : FILE_HEADER;
+        private int entry;
+        private byte[] raw;
+
+        boolean valid() {
+            return chunk >= 0;
+        }
+
+        long taskId() {
+            return map.getLong(entryOffset());
+        }
+
+        List<TaskActivity> activities() {
+            return HistorySegment.this.activities(chunk, entryOffset(), raw());
+        }
+
+        List<TaskComment> comments() {
+            return HistorySegment.this.comments(chunk, entryOffset(), raw());
+        }
+
+        void next() {
+            if (++entry < map.getInt(chunk)) {
+                return;
+            }
+            chunk += CHUNK_HEADER + map.getInt(chunk) * ENTRY + map.getInt(chunk + 8);
+            entry = 0;
+            raw = null;
+            if (chunk >= indexOffset) {
+                chunk = -1;
+            }
+        }
+
+        private int entryOffset() {
+            return chunk + CHUNK_HEADER + entry * ENTRY;
+        }
+
+        private byte[] raw() {
+            if (raw == null) {
+                raw = inflate(chunk, map.getInt(chunk + 4));
+            }
+            return raw;
+        }
+    }
+
+    /**
+     * Writes a segment to a temporary file, renamed into place once it is on disk. Tasks must be
+     * added in increasing id order.
+     */
+    static final class Writer implements AutoCloseable {
+        private final Path target;
+        private final Path temporary;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        private final Deflater deflater = new Deflater();
+        private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+        // The chunk being filled
+        private final ByteBuffer directory = ByteBuffer.allocate(CHUNK_TASKS * ENTRY);
+        private final ByteArrayOutputStream records = new ByteArrayOutputStream(CHUNK_RAW_BYTES * 2);
+        private int chunkTasks;
+        private long position = FILE_HEADER;
+        private int tasks;
+        private long minTaskId = Long.MAX_VALUE;
+        private long maxTaskId = Long.MIN_VALUE;
+        private long activities;
+        private long comments;
+        private long rawBytes;
+        private long maxActivityId;
+        private long maxCommentId;
+        private boolean committed;
+
+        private Writer(Path target) throws IOException {
+            this.target = target;
+            this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.putInt(MAGIC).putInt(FORMAT);
+        }
+
+        void add(long taskId, List<TaskActivity> taskActivities, List<TaskComment> taskComments) throws IOException {
+            if (tasks > 0 && taskId <= maxTaskId) {
+                throw new IllegalArgumentException("Task " + taskId + " added after task " + maxTaskId);
+            }
+            int offset = records.size();
+            int activityBytes = append(taskActivities, RecordCodec::encodeActivity);
+            int commentBytes = append(taskComments, RecordCodec::encodeComment);
+            long activityMaxId = taskActivities.stream().mapToLong(TaskActivity::getId).max().orElse(0);
+            long commentMaxId = taskComments.stream().mapToLong(TaskComment::getId).max().orElse(0);
+            directory.putLong(taskId)
+                    .putInt(taskActivities.size()).putLong(activityMaxId)
+                    .putInt(taskComments.size()).putLong(commentMaxId)
+                    .putInt(offset).putInt(activityBytes).putInt(commentBytes);
+            chunkTasks++;
+
+            tasks++;
+            minTaskId = Math.min(minTaskId, taskId);
+            maxTaskId = taskId;
+            activities += taskActivities.size();
+            comments += taskComments.size();
+            rawBytes += activityBytes + commentBytes;
+            maxActivityId = Math.max(maxActivityId, activityMaxId);
+            maxCommentId = Math.max(maxCommentId, commentMaxId);
+            if (chunkTasks == CHUNK_TASKS || records.size() >= CHUNK_RAW_BYTES) {
+                flushChunk();
+            }
+        }
+
+        int tasks() {
+            return tasks;
+        }
+
+        // Bytes written so far, not counting the chunk being filled
+        long size() {
+            return position;
+        }
+
+        HistorySegment commit() throws IOException {
+            flushChunk();
+            long indexOffset = position;
+            byte[] indexBytes = index.toByteArray();
+            write(indexBytes);
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER);
+            footer.putLong(indexOffset).putInt(indexBytes.length / INDEX_ENTRY).putInt(tasks)
+                    .putLong(tasks == 0 ? 0 : minTaskId).putLong(tasks == 0 ? 0 : maxTaskId)
+                    .putLong(activities).putLong(comments).putLong(rawBytes)
+                    .putLong(maxActivityId).putLong(maxCommentId).putInt(MAGIC);
+            write(footer.array());
+            if (position > Integer.MAX_VALUE) {
+                throw new IOException("History segment " + target + " exceeds 2 GiB");
+            }
+            flush();
+            channel.force(true);
+            channel.close();
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return HistorySegment.open(target);
+        }
+
+        private <T> int append(List<T> entries, Function<T, byte[]> encoder) {
+            int before = records.size();
+            for (T entry : entries) {
+                byte[] record = encoder.apply(entry);
+                records.writeBytes(ByteBuffer.allocate(4).putInt(record.length).array());
+                records.writeBytes(record);
+            }
+            return records.size() - before;
+        }
+
+        private void flushChunk() throws IOException {
+            if (chunkTasks == 0) {
+                return;
+            }
+            byte[] raw = records.toByteArray();
+            byte[] stored = deflate(raw);
+            index.writeBytes(ByteBuffer.allocate(INDEX_ENTRY).putLong(directory.getLong(0)).putLong(position).array());
+            write(ByteBuffer.allocate(CHUNK_HEADER).putInt(chunkTasks).putInt(raw.length).putInt(stored.length)
+                    .array());
+            write(directory.array(), directory.position());
+            write(stored);
+            directory.clear();
+            records.reset();
+            chunkTasks = 0;
+        }
+
+        private byte[] deflate(byte[] raw) {
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        }
+
+        private void write(byte[] bytes) throws IOException {
+            write(bytes, bytes.length);
+        }
+
+        private void write(byte[] bytes, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int part = Math.min(buffer.remaining(), length - offset);
+                buffer.put(bytes, offset, part);
+                offset += part;
+            }
+            position += length;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            deflater.end();
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+}
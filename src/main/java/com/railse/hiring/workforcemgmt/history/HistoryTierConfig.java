@@ -0,0 +1,49 @@
+package com.railse.hiring.workforcemgmt.history;
+
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+@Configuration
+@EnableConfigurationProperties(HistoryTierProperties.class)
+public class HistoryTierConfig {
+
+    @Bean
+    public HistoryArchive historyArchive(HistoryTierProperties properties,
+                                         InMemoryTaskActivityRepository activityRepository,
+                                         InMemoryTaskCommentRepository commentRepository,
+                                         @Value("${workforcemgmt.persistence.enabled:false}") boolean durable)
+            throws IOException {
+        if (!properties.isEnabled()) {
+            return HistoryArchive.disabled();
+        }
+        if (properties.getMaxSegmentMb() < 1 || properties.getMaxSegmentMb() > 1024) {
+            throw new IllegalArgumentException("workforcemgmt.history-tier.max-segment-mb must be 1-1024");
+        }
+        // Without persistence the stores start empty and hand out the same ids again, so
+        // history archived by an earlier run would show up under unrelated tasks
+        HistoryArchive archive = HistoryArchive.open(Paths.get(properties.getDirectory()),
+                properties.getMaxSegments(), (long) properties.getMaxSegmentMb() << 20, !durable);
+        activityRepository.attachArchive(archive.activities());
+        commentRepository.attachArchive(archive.comments());
+        return archive;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "workforcemgmt.history-tier", name = "enabled", havingValue = "true")
+    public HistoryCompactor historyCompactor(HistoryTierProperties properties,
+                                             TaskRepository taskRepository,
+                                             InMemoryTaskActivityRepository activityRepository,
+                                             InMemoryTaskCommentRepository commentRepository,
+                                             HistoryArchive archive) {
+        return new HistoryCompactor(properties, taskRepository, activityRepository, commentRepository, archive);
+    }
+}
@@ -0,0 +1,19 @@
+package com.railse.hiring.workforcemgmt.history;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "workforcemgmt.history-tier")
+public class HistoryTierProperties {
+    private boolean enabled = false;
+    private String directory = "data/history";
+    // Entries of completed and cancelled tasks older than this are moved to disk
+    private long activityRetentionHours = 168;
+    private long commentRetentionHours = 720;
+    private long compactionIntervalSeconds = 300;
+    // Segments are merged once there are more than this many
+    private int maxSegments = 8;
+    // Neither compaction nor merging writes a segment larger than this
+    private int maxSegmentMb = 256;
+}
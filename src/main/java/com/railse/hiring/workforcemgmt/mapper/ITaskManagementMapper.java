@@ -2,18 +2,25 @@ package com.railse.hiring.workforcemgmt.mapper;
 
 import com.railse.hiring.workforcemgmt.dto.TaskActivityDto;
 import com.railse.hiring.workforcemgmt.dto.TaskCommentDto;
+import com.railse.hiring.workforcemgmt.dto.TaskInclude;
 import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskSummaryDto;
 import com.railse.hiring.workforcemgmt.model.TaskActivity;
 import com.railse.hiring.workforcemgmt.model.TaskComment;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 
 import java.util.List;
+import java.util.Set;
 
 public interface ITaskManagementMapper {
     TaskManagementDto modelToDto(TaskManagement model);
     TaskManagement dtoToModel(TaskManagementDto dto);
     List<TaskManagementDto> modelListToDtoList(List<TaskManagement> models);
 
+    // Sections not in include are left null and omitted from the JSON
+    TaskSummaryDto modelToSummaryDto(TaskManagement model, Set<TaskInclude> include);
+    List<TaskSummaryDto> modelListToSummaryDtoList(List<TaskManagement> models, Set<TaskInclude> include);
+
     TaskActivityDto activityModelToDto(TaskActivity activity);
     TaskActivity activityDtoToModel(TaskActivityDto dto);
     List<TaskActivityDto> activityModelListToDtoList(List<TaskActivity> activities);
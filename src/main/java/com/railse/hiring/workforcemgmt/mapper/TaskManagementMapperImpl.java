@@ -2,13 +2,18 @@ package com.railse.hiring.workforcemgmt.mapper;
 
 import com.railse.hiring.workforcemgmt.dto.TaskActivityDto;
 import com.railse.hiring.workforcemgmt.dto.TaskCommentDto;
+import com.railse.hiring.workforcemgmt.dto.TaskInclude;
 import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.TaskSummaryDto;
 import com.railse.hiring.workforcemgmt.model.TaskActivity;
 import com.railse.hiring.workforcemgmt.model.TaskComment;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityMessage;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -31,6 +36,7 @@ public class TaskManagementMapperImpl implements ITaskManagementMapper {
         dto.setStartDate(model.getStartDate());
         dto.setCreatedAt(model.getCreatedAt());
         dto.setUpdatedAt(model.getUpdatedAt());
+        dto.setVersion(model.getVersion());
         dto.setActivities(activityModelListToDtoList(model.getActivities()));
         dto.setComments(commentModelListToDtoList(model.getComments()));
 
@@ -54,6 +60,7 @@ public class TaskManagementMapperImpl implements ITaskManagementMapper {
         model.setStartDate(dto.getStartDate());
         model.setCreatedAt(dto.getCreatedAt());
         model.setUpdatedAt(dto.getUpdatedAt());
+        model.setVersion(dto.getVersion());
 
         return model;
     }
@@ -64,6 +71,46 @@ public class TaskManagementMapperImpl implements ITaskManagementMapper {
         return models.stream().map(this::modelToDto).collect(Collectors.toList());
     }
 
+    @Override
+    public TaskSummaryDto modelToSummaryDto(TaskManagement model, Set<TaskInclude> include) {
+        if (model == null) return null;
+
+        TaskSummaryDto dto = new TaskSummaryDto();
+        dto.setId(model.getId());
+        dto.setReferenceId(model.getReferenceId());
+        dto.setReferenceType(model.getReferenceType());
+        dto.setTask(model.getTask());
+        dto.setDescription(model.getDescription());
+        dto.setStatus(model.getStatus());
+        dto.setAssigneeId(model.getAssigneeId());
+        dto.setTaskDeadlineTime(model.getTaskDeadlineTime());
+        dto.setPriority(model.getPriority());
+        dto.setStartDate(model.getStartDate());
+        dto.setVersion(model.getVersion());
+        if (include.contains(TaskInclude.TIMESTAMPS)) {
+            dto.setCreatedAt(model.getCreatedAt());
+            dto.setUpdatedAt(model.getUpdatedAt());
+        }
+        if (include.contains(TaskInclude.HISTORY)) {
+            dto.setActivities(activityModelListToDtoList(model.getActivities()));
+        }
+        if (include.contains(TaskInclude.COMMENTS)) {
+            dto.setComments(commentModelListToDtoList(model.getComments()));
+        }
+
+        return dto;
+    }
+
+    @Override
+    public List<TaskSummaryDto> modelListToSummaryDtoList(List<TaskManagement> models, Set<TaskInclude> include) {
+        if (models == null) return null;
+        List<TaskSummaryDto> dtos = new ArrayList<>(models.size());
+        for (TaskManagement model : models) {
+            dtos.add(modelToSummaryDto(model, include));
+        }
+        return dtos;
+    }
+
     @Override
     public TaskActivityDto activityModelToDto(TaskActivity activity) {
         if (activity == null) return null;
@@ -72,7 +119,7 @@ public class TaskManagementMapperImpl implements ITaskManagementMapper {
         dto.setId(activity.getId());
         dto.setTaskId(activity.getTaskId());
         dto.setActivityType(activity.getActivityType());
-        dto.setDescription(activity.getDescription());
+        dto.setDescription(describe(activity));
         dto.setUserId(activity.getUserId());
         dto.setOldValue(activity.getOldValue());
         dto.setNewValue(activity.getNewValue());
@@ -81,6 +128,23 @@ public class TaskManagementMapperImpl implements ITaskManagementMapper {
         return dto;
     }
 
+    // Activities are stored as coded events; their text exists only in responses
+    private static String describe(TaskActivity activity) {
+        return switch (activity.getMessage()) {
+            case TEXT -> activity.getText();
+            case CREATED_FOR_ASSIGNEE -> "Task created and assigned to user "
+                    + ActivityMessage.Value.USER.render(activity.getSubject());
+            case CREATED_BY_REFERENCE -> "Task created and assigned via reference assignment";
+            case STATUS_CHANGED -> "Task status changed from " + activity.getOldValue() + " to " + activity.getNewValue();
+            case CANCELLED_BY_REASSIGNMENT -> "Task cancelled due to reassignment";
+            case REASSIGNED -> "Task reassigned from user " + activity.getOldValue()
+                    + " to user " + activity.getNewValue();
+            case PRIORITY_CHANGED -> "Priority changed from " + activity.getOldValue() + " to " + activity.getNewValue();
+            case COMMENT_ADDED -> "Comment added by user " + activity.getUserId();
+            case DEADLINE_PASSED -> "Task is overdue: its deadline passed at " + activity.getNewValue();
+        };
+    }
+
     @Override
     public TaskActivity activityDtoToModel(TaskActivityDto dto) {
         if (dto == null) return null;
@@ -89,10 +153,8 @@ public class TaskManagementMapperImpl implements ITaskManagementMapper {
         activity.setId(dto.getId());
         activity.setTaskId(dto.getTaskId());
         activity.setActivityType(dto.getActivityType());
-        activity.setDescription(dto.getDescription());
         activity.setUserId(dto.getUserId());
-        activity.setOldValue(dto.getOldValue());
-        activity.setNewValue(dto.getNewValue());
+        activity.setText(dto.getDescription(), dto.getOldValue(), dto.getNewValue());
         activity.setTimestamp(dto.getTimestamp());
 
         return activity;
@@ -0,0 +1,60 @@
+package com.railse.hiring.workforcemgmt.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Latency histogram and error count per controller method, labelled "VERB /path/{pattern}". */
+@Component
+public class EndpointMetrics {
+    // Keyed by the handler's Method, which Spring reuses across requests, so a lookup builds no key
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public Endpoint endpoint(Method handler, String verb, String pattern) {
+        Endpoint endpoint = endpoints.get(handler);
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(handler, k -> new Endpoint(verb + " " + pattern));
+        }
+        return endpoint;
+    }
+
+    public List<Endpoint> endpoints() {
+        List<Endpoint> result = new ArrayList<>(endpoints.values());
+        result.sort((a, b) -> a.name().compareTo(b.name()));
+        return result;
+    }
+
+    public static final class Endpoint {
+        private final String name;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        Endpoint(String name) {
+            this.name = name;
+        }
+
+        public void record(long nanos, boolean failed) {
+            latency.record(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.railse.hiring.workforcemgmt.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times each request from the first dispatch to completion. Streaming exports finish on an
+ * async dispatch; the start time survives it, so they are timed until the last line is written.
+ */
+public class EndpointTimingInterceptor implements AsyncHandlerInterceptor {
+    private static final String STARTED = EndpointTimingInterceptor.class.getName() + ".started";
+
+    private final EndpointMetrics metrics;
+
+    public EndpointTimingInterceptor(EndpointMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(STARTED) == null) {
+            request.setAttribute(STARTED, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(handler instanceof HandlerMethod method) || !(request.getAttribute(STARTED) instanceof Long started)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        metrics.endpoint(method.getMethod(), request.getMethod(), String.valueOf(pattern))
+                .record(System.nanoTime() - started, ex != null || response.getStatus() >= 400);
+    }
+}
@@ -0,0 +1,27 @@
+package com.railse.hiring.workforcemgmt.metrics;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties(MetricsProperties.class)
+public class MetricsConfig implements WebMvcConfigurer {
+    private final MetricsProperties properties;
+    private final EndpointMetrics endpointMetrics;
+
+    public MetricsConfig(MetricsProperties properties, EndpointMetrics endpointMetrics) {
+        this.properties = properties;
+        this.endpointMetrics = endpointMetrics;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.isEndpointTiming()) {
+            // Event streams stay open for as long as the client listens; their duration is not a latency
+            registry.addInterceptor(new EndpointTimingInterceptor(endpointMetrics)).addPathPatterns("/task-mgmt/**")
+                    .excludePathPatterns("/task-mgmt/events");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.railse.hiring.workforcemgmt.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "workforcemgmt.metrics")
+public class MetricsProperties {
+    // Per-endpoint latency histograms; repository counters are always kept
+    private boolean endpointTiming = true;
+    // Window of the moving-average write rates
+    private int rateWindowSeconds = 60;
+}
@@ -0,0 +1,104 @@
+package com.railse.hiring.workforcemgmt.metrics;
+
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.cache.TaskDtoCache;
+import com.railse.hiring.workforcemgmt.deadline.DeadlineScheduler;
+import com.railse.hiring.workforcemgmt.dto.MetricsReport;
+import com.railse.hiring.workforcemgmt.events.TaskEventHub;
+import com.railse.hiring.workforcemgmt.history.HistoryArchive;
+import com.railse.hiring.workforcemgmt.replication.ReplicationNode;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Assembles the metrics report; all the work happens here, on read, rather than on the hot paths. */
+@Service
+public class MetricsService {
+    private final EndpointMetrics endpointMetrics;
+    private final RepositoryMetrics repositoryMetrics;
+    private final ActivityLog activityLog;
+    private final TaskDtoCache taskDtoCache;
+    private final TaskRepository taskRepository;
+    private final TaskActivityRepository activityRepository;
+    private final TaskCommentRepository commentRepository;
+    private final HistoryArchive historyArchive;
+    private final ReplicationNode replicationNode;
+    private final TaskEventHub taskEvents;
+    private final DeadlineScheduler deadlineScheduler;
+    private final RateMeter activityWrites;
+
+    public MetricsService(EndpointMetrics endpointMetrics, RepositoryMetrics repositoryMetrics, ActivityLog activityLog,
+                          TaskDtoCache taskDtoCache, TaskRepository taskRepository, TaskActivityRepository activityRepository,
+                          TaskCommentRepository commentRepository, HistoryArchive historyArchive,
+                          ReplicationNode replicationNode, TaskEventHub taskEvents,
+                          DeadlineScheduler deadlineScheduler, MetricsProperties properties) {
+        this.endpointMetrics = endpointMetrics;
+        this.repositoryMetrics = repositoryMetrics;
+        this.activityLog = activityLog;
+        this.taskDtoCache = taskDtoCache;
+        this.taskRepository = taskRepository;
+        this.activityRepository = activityRepository;
+        this.commentRepository = commentRepository;
+        this.historyArchive = historyArchive;
+        this.replicationNode = replicationNode;
+        this.taskEvents = taskEvents;
+        this.deadlineScheduler = deadlineScheduler;
+        this.activityWrites = new RateMeter(activityLog::writtenCount, properties.getRateWindowSeconds(),
+                TimeUnit.SECONDS);
+    }
+
+    public MetricsReport report() {
+        List<MetricsReport.Endpoint> endpoints = new ArrayList<>();
+        for (EndpointMetrics.Endpoint endpoint : endpointMetrics.endpoints()) {
+            LatencyHistogram latency = endpoint.latency();
+            endpoints.add(new MetricsReport.Endpoint(endpoint.name(), latency.count(), endpoint.errors(),
+                    micros(latency.meanNanos()), micros(latency.valueAtQuantile(0.5)),
+                    micros(latency.valueAtQuantile(0.99)), micros(latency.valueAtQuantile(0.999)),
+                    micros(latency.maxNanos())));
+        }
+        List<MetricsReport.RepositoryCall> calls = new ArrayList<>();
+        for (RepositoryCall call : RepositoryCall.values()) {
+            calls.add(new MetricsReport.RepositoryCall(call.label(), repositoryMetrics.calls(call),
+                    repositoryMetrics.scanned(call), repositoryMetrics.returned(call)));
+        }
+        MetricsReport.ActivityLog log = new MetricsReport.ActivityLog(activityLog.writtenCount(), activityLog.queued(),
+                activityLog.droppedCount(), activityLog.spilledCount(), activityWrites.perSecond(),
+                activityWrites.meanPerSecond());
+        MetricsReport.DtoCache cache = new MetricsReport.DtoCache(taskDtoCache.hits(), taskDtoCache.misses(),
+                taskDtoCache.evictions(), taskDtoCache.invalidations(), taskDtoCache.size(), taskDtoCache.weight(),
+                taskDtoCache.maxWeight());
+        MetricsReport.Store store = new MetricsReport.Store(taskRepository.count(), activityRepository.count(),
+                commentRepository.count());
+        long archivedActivities = historyArchive.activities().count();
+        long archivedComments = historyArchive.comments().count();
+        MetricsReport.History history = new MetricsReport.History(historyArchive.isEnabled(),
+                store.getActivities() - archivedActivities, store.getComments() - archivedComments,
+                archivedActivities, archivedComments, historyArchive.segmentCount(), historyArchive.segmentBytes(),
+                historyArchive.rawBytes(), historyArchive.reads(), historyArchive.compactions(),
+                historyArchive.merges(), historyArchive.lastCompactedEntries(),
+                millis(historyArchive.lastCompactionNanos()));
+        MetricsReport.Replication replication = new MetricsReport.Replication(
+                replicationNode.role().name().toLowerCase(), replicationNode.lsn(), replicationNode.primaryLsn(),
+                replicationNode.lagRecords(), replicationNode.lagMillis(), replicationNode.connections(),
+                replicationNode.bootstraps(), replicationNode.records());
+        MetricsReport.Events events = new MetricsReport.Events(taskEvents.subscriberCount(),
+                taskEvents.publishedCount(), taskEvents.deliveredCount(), taskEvents.evictedCount());
+        MetricsReport.Deadlines deadlines = new MetricsReport.Deadlines(deadlineScheduler.pendingCount(),
+                deadlineScheduler.overdueCount(), deadlineScheduler.firedCount(),
+                deadlineScheduler.spilledCount());
+        return new MetricsReport(endpoints, calls, log, cache, store, history, replication, events, deadlines);
+    }
+
+    private static double micros(double nanos) {
+        return Math.round(nanos / 100.0) / 10.0;
+    }
+
+    private static double millis(double nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+}
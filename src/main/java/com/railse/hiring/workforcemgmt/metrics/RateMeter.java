@@ -0,0 +1,46 @@
+package com.railse.hiring.workforcemgmt.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-second rate of a monotonically growing total, as an exponentially weighted moving
+ * average over a time window. It samples the total when read, so the counter it watches
+ * pays nothing extra; a long gap between reads is averaged over the gap.
+ */
+public class RateMeter {
+    private final LongSupplier total;
+    private final double windowNanos;
+    private final long startNanos;
+    private final long startTotal;
+    private long lastNanos;
+    private long lastTotal;
+    private double rate;
+
+    public RateMeter(LongSupplier total, long window, TimeUnit unit) {
+        this.total = total;
+        this.windowNanos = unit.toNanos(window);
+        this.startNanos = System.nanoTime();
+        this.startTotal = total.getAsLong();
+        this.lastNanos = startNanos;
+        this.lastTotal = startTotal;
+    }
+
+    public synchronized double perSecond() {
+        long now = System.nanoTime();
+        long current = total.getAsLong();
+        long elapsed = now - lastNanos;
+        if (elapsed > 0) {
+            double instant = (current - lastTotal) * 1e9 / elapsed;
+            rate += (1 - Math.exp(-elapsed / windowNanos)) * (instant - rate);
+            lastNanos = now;
+            lastTotal = current;
+        }
+        return rate;
+    }
+
+    public double meanPerSecond() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed <= 0 ? 0 : (total.getAsLong() - startTotal) * 1e9 / elapsed;
+    }
+}
@@ -0,0 +1,37 @@
+package com.railse.hiring.workforcemgmt.metrics;
+
+/** Instrumented repository methods; the ordinal indexes the counters in {@link RepositoryMetrics}. */
+public enum RepositoryCall {
+    TASK_FIND_BY_ID("task.findById"),
+    TASK_FIND_ALL_BY_ID("task.findAllById"),
+    TASK_FIND_ALL("task.findAll"),
+    TASK_FIND_BY_REFERENCE("task.findByReferenceIdAndReferenceType"),
+    TASK_FIND_BY_ASSIGNEES("task.findByAssigneeIdIn"),
+    TASK_FIND_BY_DATE_RANGE("task.findByAssigneeIdInAndDateRange"),
+    TASK_ITERATE_BY_DATE_RANGE("task.iterateByAssigneeIdInAndDateRange"),
+    TASK_FIND_BY_PRIORITY("task.findByPriority"),
+    TASK_ITERATE_BY_PRIORITY("task.iterateByPriority"),
+    TASK_FIND_BY_STATUS("task.findByStatus"),
+    TASK_FIND_IDS_BY_STATUS("task.findIdsByStatus"),
+    TASK_FIND_WORKLOADS("task.findWorkloads"),
+    TASK_ITERATE_WORK_QUEUE("task.iterateWorkQueue"),
+    TASK_SAVE("task.save"),
+    TASK_SAVE_ALL("task.saveAll"),
+    ACTIVITY_FIND_BY_TASK("activity.findByTaskIdOrderByTimestamp"),
+    ACTIVITY_FIND_BY_TASK_AFTER("activity.findByTaskIdAfter"),
+    ACTIVITY_SAVE("activity.save"),
+    ACTIVITY_SAVE_ALL("activity.saveAll"),
+    COMMENT_FIND_BY_TASK("comment.findByTaskIdOrderByTimestamp"),
+    COMMENT_SAVE("comment.save"),
+    COMMENT_SAVE_ALL("comment.saveAll");
+
+    private final String label;
+
+    RepositoryCall(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+}
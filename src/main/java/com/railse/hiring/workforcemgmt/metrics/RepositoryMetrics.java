@@ -0,0 +1,109 @@
+package com.railse.hiring.workforcemgmt.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Call counts and rows scanned vs. rows returned per repository method. Scanned counts every
+ * stored row a call looked at (index hits that are re-checked, rows of a full walk); for saves
+ * both counts are the rows written.
+ *
+ * <p>Each thread counts into its own array, indexed by enum ordinal, with plain stores that
+ * only that thread makes; readers sum the arrays. Recording therefore costs a thread-local
+ * lookup and a few adds, with no CAS, no shared cache lines and no allocation. When a thread
+ * ends, its counts are folded into a shared base the next time a new thread starts counting, so
+ * the arrays readers sum stay as many as the live threads.
+ */
+@Component
+public class RepositoryMetrics {
+    private static final int CALLS = 0;
+    private static final int SCANNED = 1;
+    private static final int RETURNED = 2;
+    private static final int SLOTS = 3;
+
+    private record Cell(WeakReference<Thread> owner, AtomicLongArray counts) {
+    }
+
+    // Guarded by this: the live threads' cells, and the counts of threads that ended
+    private final List<Cell> cells = new ArrayList<>();
+    private final long[] retired = new long[RepositoryCall.values().length * SLOTS];
+    private final ThreadLocal<AtomicLongArray> cell = ThreadLocal.withInitial(this::newCell);
+
+    public void record(RepositoryCall call, long scanned, long returned) {
+        AtomicLongArray counts = cell.get();
+        int base = call.ordinal() * SLOTS;
+        add(counts, base + CALLS, 1);
+        add(counts, base + SCANNED, scanned);
+        add(counts, base + RETURNED, returned);
+    }
+
+    // A call whose rows are counted later, as a lazy iterator is consumed
+    public void call(RepositoryCall call) {
+        add(cell.get(), call.ordinal() * SLOTS + CALLS, 1);
+    }
+
+    public void rows(RepositoryCall call, long scanned, long returned) {
+        AtomicLongArray counts = cell.get();
+        int base = call.ordinal() * SLOTS;
+        add(counts, base + SCANNED, scanned);
+        add(counts, base + RETURNED, returned);
+    }
+
+    public long calls(RepositoryCall call) {
+        return sum(call.ordinal() * SLOTS + CALLS);
+    }
+
+    public long scanned(RepositoryCall call) {
+        return sum(call.ordinal() * SLOTS + SCANNED);
+    }
+
+    public long returned(RepositoryCall call) {
+        return sum(call.ordinal() * SLOTS + RETURNED);
+    }
+
+    // Threads whose counts are still kept apart from the base
+    synchronized int cellCount() {
+        return cells.size();
+    }
+
+    private synchronized AtomicLongArray newCell() {
+        foldRetired();
+        AtomicLongArray counts = new AtomicLongArray(retired.length);
+        cells.add(new Cell(new WeakReference<>(Thread.currentThread()), counts));
+        return counts;
+    }
+
+    // A thread seen to have ended makes no more writes, so its cell can be summed once and dropped
+    private void foldRetired() {
+        for (Iterator<Cell> iterator = cells.iterator(); iterator.hasNext(); ) {
+            Cell retiring = iterator.next();
+            Thread owner = retiring.owner().get();
+            if (owner == null || !owner.isAlive()) {
+                for (int slot = 0; slot < retired.length; slot++) {
+                    retired[slot] += retiring.counts().get(slot);
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    // Single writer per array: a release store is enough for readers to see the new total
+    private static void add(AtomicLongArray counts, int slot, long delta) {
+        if (delta != 0) {
+            counts.lazySet(slot, counts.get(slot) + delta);
+        }
+    }
+
+    private synchronized long sum(int slot) {
+        long total = retired[slot];
+        for (Cell counted : cells) {
+            total += counted.counts().get(slot);
+        }
+        return total;
+    }
+}
@@ -1,25 +1,125 @@
 package com.railse.hiring.workforcemgmt.model;
 
+import com.railse.hiring.workforcemgmt.model.enums.ActivityMessage;
 import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
 
-@Setter
-@Getter
+/**
+ * One entry of a task's history, kept as a structured event rather than text: ids and the
+ * timestamp as primitives, and what changed as an {@link ActivityMessage} plus old/new value
+ * codes whose meaning the message defines. History only grows, so entries hold no strings
+ * unless they were built from free text ({@link ActivityMessage#TEXT}).
+ */
 public class TaskActivity {
-    // Getters and Setters
-    private Long id;
-    private Long taskId;
+    // Timestamp, then id: the order histories are stored, paged and merged in
+    public static final Comparator<TaskActivity> HISTORY_ORDER =
+            Comparator.comparingLong(TaskActivity::getTimestampNanos).thenComparingLong(activity -> activity.id);
+
+    private static final long NONE = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private long id = NONE;
+    private long taskId = NONE;
+    private long userId = NONE;
+    // UTC epoch nanos
+    private long timestamp = NONE;
+    @Getter
+    @Setter
     private ActivityType activityType;
-    private String description;
-    private Long userId;
-    private String oldValue;
-    private String newValue;
-    private LocalDateTime timestamp;
+    @Getter
+    private ActivityMessage message = ActivityMessage.TEXT;
+    @Getter
+    private long oldCode = ActivityMessage.ABSENT;
+    @Getter
+    private long newCode = ActivityMessage.ABSENT;
+    // A third value some messages name, such as the assignee of a new task
+    @Getter
+    private long subject = ActivityMessage.ABSENT;
+    // Only for TEXT entries
+    private Text text;
 
-    // Constructors
     public TaskActivity() {}
 
-}
\ No newline at end of file
+    /** Sets what the entry says; codes are {@link ActivityMessage#code} values or ABSENT. */
+    public void setEvent(ActivityMessage message, long oldCode, long newCode, long subject) {
+        this.message = message;
+        this.oldCode = oldCode;
+        this.newCode = newCode;
+        this.subject = subject;
+        this.text = null;
+    }
+
+    /** Makes this a free-text entry carrying its own description and old/new values. */
+    public void setText(String description, String oldValue, String newValue) {
+        setEvent(ActivityMessage.TEXT, ActivityMessage.ABSENT, ActivityMessage.ABSENT, ActivityMessage.ABSENT);
+        this.text = description == null && oldValue == null && newValue == null
+                ? null : new Text(description, oldValue, newValue);
+    }
+
+    /** The description of a TEXT entry; other entries are described by their message. */
+    public String getText() {
+        return text == null ? null : text.description();
+    }
+
+    public String getOldValue() {
+        if (message == ActivityMessage.TEXT) {
+            return text == null ? null : text.oldValue();
+        }
+        return message.oldValue().render(oldCode);
+    }
+
+    public String getNewValue() {
+        if (message == ActivityMessage.TEXT) {
+            return text == null ? null : text.newValue();
+        }
+        return message.newValue().render(newCode);
+    }
+
+    public Long getId() {
+        return id == NONE ? null : id;
+    }
+
+    public void setId(Long id) {
+        this.id = id == null ? NONE : id;
+    }
+
+    public Long getTaskId() {
+        return taskId == NONE ? null : taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId == null ? NONE : taskId;
+    }
+
+    public Long getUserId() {
+        return userId == NONE ? null : userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId == null ? NONE : userId;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp == NONE ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(timestamp, NANOS_PER_SECOND),
+                (int) Math.floorMod(timestamp, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    // Exact for 1677-2262; a timestamp outside that range is rejected rather than wrapped
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp == null ? NONE : Math.addExact(
+                Math.multiplyExact(timestamp.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), timestamp.getNano());
+    }
+
+    /** The timestamp without building a LocalDateTime; Long.MIN_VALUE when unset. */
+    public long getTimestampNanos() {
+        return timestamp;
+    }
+
+    private record Text(String description, String oldValue, String newValue) {
+    }
+}
@@ -27,10 +27,30 @@ public class TaskManagement {
     private Long startDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Incremented by the repository on every save; a save carrying an older version is rejected
+    private Long version;
     private List<TaskActivity> activities = new ArrayList<>();
     private List<TaskComment> comments = new ArrayList<>();
 
     // Constructors
     public TaskManagement() {}
 
+    /** Copies the task's own fields; activities and comments are not carried over. */
+    public TaskManagement copy() {
+        TaskManagement copy = new TaskManagement();
+        copy.id = id;
+        copy.referenceId = referenceId;
+        copy.referenceType = referenceType;
+        copy.task = task;
+        copy.description = description;
+        copy.status = status;
+        copy.assigneeId = assigneeId;
+        copy.taskDeadlineTime = taskDeadlineTime;
+        copy.priority = priority;
+        copy.startDate = startDate;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        copy.version = version;
+        return copy;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.railse.hiring.workforcemgmt.model.enums;
+
+import java.time.Instant;
+
+/**
+ * What an activity entry says, as a template over its coded values. Entries keep only the
+ * message and the codes; the text is rendered when an entry is sent to a client.
+ * Persisted by ordinal, so new messages go at the end.
+ */
+public enum ActivityMessage {
+    // Free text set by hand or read from an older record; the entry carries its own strings
+    TEXT(Value.NONE, Value.NONE),
+    // Subject: the assignee
+    CREATED_FOR_ASSIGNEE(Value.NONE, Value.STATUS),
+    CREATED_BY_REFERENCE(Value.NONE, Value.STATUS),
+    STATUS_CHANGED(Value.STATUS, Value.STATUS),
+    CANCELLED_BY_REASSIGNMENT(Value.STATUS, Value.STATUS),
+    REASSIGNED(Value.USER, Value.USER),
+    PRIORITY_CHANGED(Value.PRIORITY, Value.PRIORITY),
+    COMMENT_ADDED(Value.NONE, Value.NONE),
+    DEADLINE_PASSED(Value.NONE, Value.TIME);
+
+    /** Code of a missing value, whatever its kind. */
+    public static final long ABSENT = Long.MIN_VALUE;
+
+    private final Value oldValue;
+    private final Value newValue;
+
+    ActivityMessage(Value oldValue, Value newValue) {
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    public Value oldValue() {
+        return oldValue;
+    }
+
+    public Value newValue() {
+        return newValue;
+    }
+
+    public static long code(Enum<?> value) {
+        return value == null ? ABSENT : value.ordinal();
+    }
+
+    public static long code(Long value) {
+        return value == null ? ABSENT : value;
+    }
+
+    /** How a value code reads as the old/new value strings clients see. */
+    public enum Value {
+        NONE,
+        STATUS,
+        PRIORITY,
+        USER,
+        TIME; // epoch millis
+
+        private static final TaskStatus[] STATUSES = TaskStatus.values();
+        private static final Priority[] PRIORITIES = Priority.values();
+
+        public String render(long code) {
+            if (code == ABSENT) {
+                return null;
+            }
+            return switch (this) {
+                case NONE -> null;
+                case STATUS -> STATUSES[(int) code].toString();
+                case PRIORITY -> PRIORITIES[(int) code].toString();
+                case USER -> Long.toString(code);
+                case TIME -> Instant.ofEpochMilli(code).toString();
+            };
+        }
+    }
+}
@@ -7,5 +7,6 @@ public enum ActivityType {
     TASK_COMPLETED,
     TASK_CANCELLED,
     PRIORITY_CHANGED,
-    COMMENT_ADDED
+    COMMENT_ADDED,
+    TASK_OVERDUE
 }
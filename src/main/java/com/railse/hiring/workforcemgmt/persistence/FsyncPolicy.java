@@ -0,0 +1,7 @@
+package com.railse.hiring.workforcemgmt.persistence;
+
+public enum FsyncPolicy {
+    ALWAYS,   // every commit group is forced to disk before its writers return
+    INTERVAL, // forced at most every fsync-interval-ms; writers do not wait
+    NEVER     // left to the OS page cache
+}
@@ -0,0 +1,108 @@
+package com.railse.hiring.workforcemgmt.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Frame layout shared by WAL segments and snapshots:
+ * <pre>
+ * int  payload length
+ * int  CRC32 of (lsn, type, payload)
+ * long lsn
+ * byte record type
+ * ...  payload
+ * </pre>
+ */
+@Slf4j
+final class LogFrames {
+    static final int HEADER_BYTES = 4 + 4 + 8 + 1;
+    // Files are mapped in windows so snapshots larger than 2 GB can be read
+    private static final long MAP_WINDOW_BYTES = 1L << 30;
+
+    interface Visitor {
+        void accept(long lsn, RecordType type, ByteBuffer payload) throws IOException;
+    }
+
+    private LogFrames() {
+    }
+
+    static int frameSize(byte[] payload) {
+        return HEADER_BYTES + payload.length;
+    }
+
+    static void write(ByteBuffer out, long lsn, RecordType type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        ByteBuffer covered = ByteBuffer.allocate(9).putLong(lsn).put(type.getCode()).flip();
+        crc.update(covered);
+        crc.update(payload);
+        out.putInt(payload.length);
+        out.putInt((int) crc.getValue());
+        out.putLong(lsn);
+        out.put(type.getCode());
+        out.put(payload);
+    }
+
+    /**
+     * Memory-maps the file and hands every frame to the visitor. A truncated or corrupt frame is
+     * what a crash in the middle of a write leaves at the end of the file being written: with
+     * {@code tornTailAllowed} reading stops there, otherwise the file is rejected.
+     *
+     * @return the length of the intact frames at the start of the file
+     */
+    static long read(Path file, boolean tornTailAllowed, Visitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long windowStart = 0;
+            while (windowStart < size) {
+                long windowSize = Math.min(MAP_WINDOW_BYTES, size - windowStart);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+                int position = 0;
+                while (true) {
+                    if (window.limit() - position < HEADER_BYTES) break;
+                    int length = window.getInt(position);
+                    if (length < 0 || (long) length + HEADER_BYTES > MAP_WINDOW_BYTES) {
+                        return torn(file, windowStart + position, "corrupt frame length " + length, tornTailAllowed);
+                    }
+                    if (window.limit() - position < HEADER_BYTES + length) break;
+
+                    int expectedCrc = window.getInt(position + 4);
+                    CRC32 crc = new CRC32();
+                    crc.update(window.duplicate().position(position + 8).limit(position + HEADER_BYTES + length));
+                    if ((int) crc.getValue() != expectedCrc) {
+                        return torn(file, windowStart + position, "checksum mismatch", tornTailAllowed);
+                    }
+                    long lsn = window.getLong(position + 8);
+                    RecordType type = RecordType.fromCode(window.get(position + 16));
+                    ByteBuffer payload = window.duplicate()
+                            .position(position + HEADER_BYTES)
+                            .limit(position + HEADER_BYTES + length)
+                            .slice();
+                    visitor.accept(lsn, type, payload);
+                    position += HEADER_BYTES + length;
+                }
+                if (windowStart + position < size && windowStart + windowSize == size) {
+                    // The last window ends inside a frame
+                    return torn(file, windowStart + position, (size - windowStart - position)
+                            + " trailing bytes of a partial frame", tornTailAllowed);
+                }
+                windowStart += position;
+            }
+            return size;
+        }
+    }
+
+    private static long torn(Path file, long offset, String problem, boolean tornTailAllowed) throws IOException {
+        if (!tornTailAllowed) {
+            throw new IOException("Cannot recover from " + file + ": " + problem + " at offset " + offset);
+        }
+        log.warn("Ignoring the torn tail of {} from offset {}: {}", file, offset, problem);
+        return offset;
+    }
+}
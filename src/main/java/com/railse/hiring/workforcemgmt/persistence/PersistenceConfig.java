@@ -0,0 +1,25 @@
+package com.railse.hiring.workforcemgmt.persistence;
+
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "workforcemgmt.persistence", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PersistenceProperties.class)
+public class PersistenceConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public PersistenceManager persistenceManager(PersistenceProperties properties,
+                                                 TaskRepository taskRepository,
+                                                 TaskActivityRepository activityRepository,
+                                                 TaskCommentRepository commentRepository,
+                                                 StoreChangePublisher changes) {
+        return new PersistenceManager(properties, taskRepository, activityRepository, commentRepository, changes);
+    }
+}
@@ -0,0 +1,243 @@
+package com.railse.hiring.workforcemgmt.persistence;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.StoreChangeListener;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Makes the in-memory repositories durable: every published change is appended to the
+ * write-ahead log, snapshots are taken periodically, and on startup the latest snapshot is
+ * memory-mapped and the WAL tail after it is replayed.
+ */
+@Slf4j
+public class PersistenceManager implements StoreChangeListener {
+    private final PersistenceProperties properties;
+    private final TaskRepository taskRepository;
+    private final TaskActivityRepository activityRepository;
+    private final TaskCommentRepository commentRepository;
+    private final StoreChangePublisher changes;
+    private final Path directory;
+
+    // LSN of the last record this thread appended, awaited in afterCommit()
+    private final ThreadLocal<long[]> pendingLsn = ThreadLocal.withInitial(() -> new long[1]);
+    private final AtomicLong recordsSinceSnapshot = new AtomicLong();
+    private WriteAheadLog wal;
+    private ScheduledExecutorService snapshotScheduler;
+
+    public PersistenceManager(PersistenceProperties properties,
+                              TaskRepository taskRepository,
+                              TaskActivityRepository activityRepository,
+                              TaskCommentRepository commentRepository,
+                              StoreChangePublisher changes) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.activityRepository = activityRepository;
+        this.commentRepository = commentRepository;
+        this.changes = changes;
+        this.directory = Paths.get(properties.getDirectory());
+    }
+
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        long started = System.nanoTime();
+        RecoveryStats stats = recover();
+        log.info("Recovered {} snapshot records and {} WAL records up to LSN {} in {} ms",
+                stats.snapshotRecords, stats.walRecords, stats.lastLsn,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        wal = new WriteAheadLog(directory, properties.getFsyncPolicy(), properties.getFsyncIntervalMs(),
+                stats.lastLsn + 1);
+        recordsSinceSnapshot.set(stats.walRecords);
+        changes.addListener(this);
+
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "wal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getSnapshotIntervalSeconds();
+        snapshotScheduler.scheduleWithFixedDelay(this::scheduledSnapshot, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public void stop() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+        if (properties.isSnapshotOnShutdown() && recordsSinceSnapshot.get() > 0) {
+            snapshot();
+        }
+        changes.removeListener(this);
+        wal.close();
+    }
+
+    @Override
+    public void onTaskSaved(TaskManagement task) {
+        record(RecordType.TASK, RecordCodec.encodeTask(task));
+    }
+
+    @Override
+    public void onActivitySaved(TaskActivity activity) {
+        record(RecordType.ACTIVITY, RecordCodec.encodeActivity(activity));
+    }
+
+    @Override
+    public void onCommentSaved(TaskComment comment) {
+        record(RecordType.COMMENT, RecordCodec.encodeComment(comment));
+    }
+
+    @Override
+    public void afterCommit() {
+        long[] lsn = pendingLsn.get();
+        if (lsn[0] != 0) {
+            long awaited = lsn[0];
+            lsn[0] = 0;
+            wal.awaitDurable(awaited);
+        }
+    }
+
+    /**
+     * Writes a compacted snapshot and drops the WAL segments and snapshots it supersedes.
+     * Stores keep taking writes while the snapshot is built; records logged after the
+     * rotation point are replayed on top of it during recovery.
+     */
+    public synchronized void snapshot() throws IOException {
+        long started = System.nanoTime();
+        long[] covered = new long[1];
+        // No write is half-way between "visible in the store" and "appended to the WAL" here
+        changes.barrier(() -> covered[0] = wal.rotate());
+        recordsSinceSnapshot.set(0);
+
+        Path written;
+        long records;
+        try (SnapshotStore.Writer writer = SnapshotStore.open(directory, covered[0])) {
+            for (TaskManagement task : taskRepository.findAll()) {
+                writer.write(RecordType.TASK, RecordCodec.encodeTask(task));
+            }
+            activityRepository.forEach(activity -> write(writer, RecordType.ACTIVITY, RecordCodec.encodeActivity(activity)));
+            commentRepository.forEach(comment -> write(writer, RecordType.COMMENT, RecordCodec.encodeComment(comment)));
+            records = writer.records();
+            written = writer.commit();
+        }
+
+        wal.awaitRotated(covered[0]);
+        for (Path segment : WriteAheadLog.segments(directory)) {
+            if (WriteAheadLog.firstLsn(segment) <= covered[0]) {
+                Files.deleteIfExists(segment);
+            }
+        }
+        for (Path snapshot : SnapshotStore.snapshots(directory)) {
+            if (!snapshot.equals(written)) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+        log.info("Wrote snapshot of {} records at LSN {} in {} ms", records, covered[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private void scheduledSnapshot() {
+        if (recordsSinceSnapshot.get() < properties.getSnapshotMinRecords()) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Scheduled snapshot failed", e);
+        }
+    }
+
+    private void record(RecordType type, byte[] payload) {
+        pendingLsn.get()[0] = wal.append(type, payload);
+        recordsSinceSnapshot.incrementAndGet();
+    }
+
+    private static void write(SnapshotStore.Writer writer, RecordType type, byte[] payload) {
+        try {
+            writer.write(type, payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads the latest snapshot, then replays the WAL records after it in LSN order. Only the end
+     * of the last segment can have been torn by a crash, and is cut off; a damaged snapshot or
+     * earlier segment, or a gap between LSNs, fails startup instead of silently losing records.
+     */
+    private RecoveryStats recover() throws IOException {
+        RecoveryStats stats = new RecoveryStats();
+        List<Path> snapshots = SnapshotStore.snapshots(directory);
+        if (!snapshots.isEmpty()) {
+            Path latest = snapshots.get(snapshots.size() - 1);
+            stats.lastLsn = SnapshotStore.coveredLsn(latest);
+            LogFrames.read(latest, false, (lsn, type, payload) -> {
+                apply(type, payload);
+                stats.snapshotRecords++;
+            });
+        }
+
+        List<Path> segments = WriteAheadLog.segments(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = segments.get(i);
+            boolean lastSegment = i == segments.size() - 1;
+            long[] previous = {WriteAheadLog.firstLsn(segment) - 1};
+            long intact = LogFrames.read(segment, lastSegment, (lsn, type, payload) -> {
+                if (lsn != previous[0] + 1) {
+                    throw new IOException("Cannot recover from " + segment + ": LSN " + lsn + " follows " + previous[0]);
+                }
+                previous[0] = lsn;
+                // Segments a snapshot covers are only left behind by a crash before they were deleted
+                if (lsn > stats.lastLsn) {
+                    if (lsn != stats.lastLsn + 1) {
+                        throw new IOException("Cannot recover from " + segment + ": records " + (stats.lastLsn + 1)
+                                + " to " + (lsn - 1) + " are missing");
+                    }
+                    apply(type, payload);
+                    stats.walRecords++;
+                    stats.lastLsn = lsn;
+                }
+            });
+            if (intact < Files.size(segment)) {
+                // Cut off now: the next segment starts after it, and the tail would no longer be the last one
+                try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                    channel.truncate(intact);
+                    channel.force(true);
+                }
+            }
+        }
+        return stats;
+    }
+
+    private void apply(RecordType type, ByteBuffer payload) {
+        switch (type) {
+            case TASK -> taskRepository.restore(RecordCodec.decodeTask(payload));
+            case ACTIVITY -> activityRepository.restore(RecordCodec.decodeActivity(payload));
+            case COMMENT -> commentRepository.restore(RecordCodec.decodeComment(payload));
+        }
+    }
+
+    private static class RecoveryStats {
+        long snapshotRecords;
+        long walRecords;
+        long lastLsn;
+    }
+}
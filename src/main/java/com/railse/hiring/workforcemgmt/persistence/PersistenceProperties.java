@@ -0,0 +1,17 @@
+package com.railse.hiring.workforcemgmt.persistence;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "workforcemgmt.persistence")
+public class PersistenceProperties {
+    private boolean enabled = false;
+    private String directory = "data";
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.ALWAYS;
+    private long fsyncIntervalMs = 100;
+    private long snapshotIntervalSeconds = 300;
+    // A scheduled snapshot is skipped when fewer records were logged since the last one
+    private long snapshotMinRecords = 100_000;
+    private boolean snapshotOnShutdown = true;
+}
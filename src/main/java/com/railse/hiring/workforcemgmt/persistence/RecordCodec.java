@@ -0,0 +1,192 @@
+package com.railse.hiring.workforcemgmt.persistence;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityMessage;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary encoding of the stored models. Nullable values carry a one-byte presence flag,
+ * enums are written as ordinals and strings as UTF-8 with an int length.
+ */
+public final class RecordCodec {
+
+    private RecordCodec() {
+    }
+
+    public static byte[] encodeTask(TaskManagement task) {
+        return encode(out -> {
+            out.writeLong(task.getId());
+            writeLong(out, task.getReferenceId());
+            writeEnum(out, task.getReferenceType());
+            writeEnum(out, task.getTask());
+            writeString(out, task.getDescription());
+            writeEnum(out, task.getStatus());
+            writeLong(out, task.getAssigneeId());
+            writeLong(out, task.getTaskDeadlineTime());
+            writeEnum(out, task.getPriority());
+            writeLong(out, task.getStartDate());
+            writeTime(out, task.getCreatedAt());
+            writeTime(out, task.getUpdatedAt());
+            writeLong(out, task.getVersion());
+        });
+    }
+
+    public static TaskManagement decodeTask(ByteBuffer in) {
+        TaskManagement task = new TaskManagement();
+        task.setId(in.getLong());
+        task.setReferenceId(readLong(in));
+        task.setReferenceType(readEnum(in, ReferenceType.values()));
+        task.setTask(readEnum(in, Task.values()));
+        task.setDescription(readString(in));
+        task.setStatus(readEnum(in, TaskStatus.values()));
+        task.setAssigneeId(readLong(in));
+        task.setTaskDeadlineTime(readLong(in));
+        task.setPriority(readEnum(in, Priority.values()));
+        task.setStartDate(readLong(in));
+        task.setCreatedAt(readTime(in));
+        task.setUpdatedAt(readTime(in));
+        // Records written before versioning end here
+        task.setVersion(in.hasRemaining() ? readLong(in) : 1L);
+        return task;
+    }
+
+    // Structured entries write the free-text fields as null and their message and codes at the end
+    public static byte[] encodeActivity(TaskActivity activity) {
+        boolean text = activity.getMessage() == ActivityMessage.TEXT;
+        return encode(out -> {
+            out.writeLong(activity.getId());
+            out.writeLong(activity.getTaskId());
+            writeEnum(out, activity.getActivityType());
+            writeString(out, text ? activity.getText() : null);
+            writeLong(out, activity.getUserId());
+            writeString(out, text ? activity.getOldValue() : null);
+            writeString(out, text ? activity.getNewValue() : null);
+            writeTime(out, activity.getTimestamp());
+            writeEnum(out, activity.getMessage());
+            if (!text) {
+                out.writeLong(activity.getOldCode());
+                out.writeLong(activity.getNewCode());
+                out.writeLong(activity.getSubject());
+            }
+        });
+    }
+
+    public static TaskActivity decodeActivity(ByteBuffer in) {
+        TaskActivity activity = new TaskActivity();
+        activity.setId(in.getLong());
+        activity.setTaskId(in.getLong());
+        activity.setActivityType(readEnum(in, ActivityType.values()));
+        String description = readString(in);
+        activity.setUserId(readLong(in));
+        String oldValue = readString(in);
+        String newValue = readString(in);
+        activity.setTimestamp(readTime(in));
+        // Records written before structured activities end here and stay free text
+        ActivityMessage message = in.hasRemaining() ? readEnum(in, ActivityMessage.values()) : ActivityMessage.TEXT;
+        if (message == ActivityMessage.TEXT) {
+            activity.setText(description, oldValue, newValue);
+        } else {
+            activity.setEvent(message, in.getLong(), in.getLong(), in.getLong());
+        }
+        return activity;
+    }
+
+    public static byte[] encodeComment(TaskComment comment) {
+        return encode(out -> {
+            out.writeLong(comment.getId());
+            out.writeLong(comment.getTaskId());
+            writeString(out, comment.getComment());
+            writeLong(out, comment.getUserId());
+            writeTime(out, comment.getTimestamp());
+        });
+    }
+
+    public static TaskComment decodeComment(ByteBuffer in) {
+        TaskComment comment = new TaskComment();
+        comment.setId(in.getLong());
+        comment.setTaskId(in.getLong());
+        comment.setComment(readString(in));
+        comment.setUserId(readLong(in));
+        comment.setTimestamp(readTime(in));
+        return comment;
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeLong(value);
+    }
+
+    private static Long readLong(ByteBuffer in) {
+        return in.get() != 0 ? in.getLong() : null;
+    }
+
+    private static void writeEnum(DataOutputStream out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    private static <E extends Enum<E>> E readEnum(ByteBuffer in, E[] values) {
+        byte ordinal = in.get();
+        return ordinal < 0 ? null : values[ordinal];
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(ByteBuffer in) {
+        if (in.get() == 0) return null;
+        long epochSecond = in.getLong();
+        return LocalDateTime.ofEpochSecond(epochSecond, in.getInt(), ZoneOffset.UTC);
+    }
+}
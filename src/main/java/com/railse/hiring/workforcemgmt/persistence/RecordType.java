@@ -0,0 +1,25 @@
+package com.railse.hiring.workforcemgmt.persistence;
+
+import lombok.Getter;
+
+@Getter
+public enum RecordType {
+    TASK((byte) 1),
+    ACTIVITY((byte) 2),
+    COMMENT((byte) 3);
+
+    private final byte code;
+
+    RecordType(byte code) {
+        this.code = code;
+    }
+
+    public static RecordType fromCode(byte code) {
+        for (RecordType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown record type: " + code);
+    }
+}
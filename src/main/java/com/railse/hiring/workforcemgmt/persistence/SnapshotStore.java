@@ -0,0 +1,102 @@
+package com.railse.hiring.workforcemgmt.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compacted snapshots: one frame per live record, all stamped with the WAL LSN they cover.
+ * A snapshot is written to a temporary file and renamed into place once it is on disk,
+ * so a crash mid-write never leaves a partial snapshot behind.
+ */
+final class SnapshotStore {
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final int BUFFER_BYTES = 4 << 20;
+
+    private SnapshotStore() {
+    }
+
+    static List<Path> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().startsWith(PREFIX)
+                            && f.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static long coveredLsn(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    static Writer open(Path directory, long coveredLsn) throws IOException {
+        return new Writer(directory, coveredLsn);
+    }
+
+    static class Writer implements AutoCloseable {
+        private final Path target;
+        private final Path temporary;
+        private final long coveredLsn;
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private long records;
+        private boolean committed;
+
+        private Writer(Path directory, long coveredLsn) throws IOException {
+            this.coveredLsn = coveredLsn;
+            this.target = directory.resolve(String.format("%s%020d%s", PREFIX, coveredLsn, SUFFIX));
+            this.temporary = directory.resolve(target.getFileName() + ".tmp");
+            this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void write(RecordType type, byte[] payload) throws IOException {
+            int frameSize = LogFrames.frameSize(payload);
+            if (frameSize > buffer.remaining()) {
+                flush();
+                if (frameSize > buffer.capacity()) {
+                    buffer = ByteBuffer.allocateDirect(frameSize);
+                }
+            }
+            LogFrames.write(buffer, coveredLsn, type, payload);
+            records++;
+        }
+
+        long records() {
+            return records;
+        }
+
+        Path commit() throws IOException {
+            flush();
+            channel.force(true);
+            channel.close();
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return target;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+}
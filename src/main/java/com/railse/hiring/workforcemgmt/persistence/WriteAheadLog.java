@@ -0,0 +1,274 @@
+package com.railse.hiring.workforcemgmt.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Append-only binary log split into segments named after their first LSN.
+ * Appends only enqueue; a single writer thread drains everything queued since its last pass
+ * into one write (group commit) and forces it to disk according to the {@link FsyncPolicy}.
+ */
+@Slf4j
+class WriteAheadLog implements Closeable {
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalNanos;
+    private final Thread writer;
+
+    private final Object lock = new Object();
+    // Guarded by lock
+    private List<Entry> pending = new ArrayList<>();
+    private long lastAssignedLsn;
+    private long writtenLsn;
+    private long durableLsn;
+    private long segmentFirstLsn;
+    private boolean closed;
+    private IOException failure;
+
+    // Owned by the writer thread
+    private FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long lastForceNanos = System.nanoTime();
+
+    private record Entry(long lsn, RecordType type, byte[] payload, boolean rotate) {
+    }
+
+    WriteAheadLog(Path directory, FsyncPolicy fsyncPolicy, long fsyncIntervalMs, long firstLsn) throws IOException {
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMs);
+        this.lastAssignedLsn = firstLsn - 1;
+        this.writtenLsn = lastAssignedLsn;
+        this.durableLsn = lastAssignedLsn;
+        openSegment(firstLsn);
+        this.writer = new Thread(this::runWriter, "wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && f.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static long firstLsn(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Queues a record. Never blocks on I/O.
+     *
+     * @return the record's LSN, to be passed to {@link #awaitDurable}
+     */
+    long append(RecordType type, byte[] payload) {
+        synchronized (lock) {
+            checkOpen();
+            long lsn = ++lastAssignedLsn;
+            pending.add(new Entry(lsn, type, payload, false));
+            lock.notifyAll();
+            return lsn;
+        }
+    }
+
+    /**
+     * Blocks until the record is on disk when the policy is {@link FsyncPolicy#ALWAYS};
+     * returns immediately otherwise.
+     */
+    void awaitDurable(long lsn) {
+        if (fsyncPolicy != FsyncPolicy.ALWAYS) {
+            return;
+        }
+        synchronized (lock) {
+            while (durableLsn < lsn) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log failed", failure);
+                }
+                waitOnLock();
+            }
+        }
+    }
+
+    /**
+     * Starts a new segment for every record appended after this call.
+     *
+     * @return the last LSN that belongs to the previous segments
+     */
+    long rotate() {
+        synchronized (lock) {
+            checkOpen();
+            pending.add(new Entry(lastAssignedLsn + 1, null, null, true));
+            lock.notifyAll();
+            return lastAssignedLsn;
+        }
+    }
+
+    /** Waits until the writer has switched to the segment that follows {@code boundaryLsn}. */
+    void awaitRotated(long boundaryLsn) {
+        synchronized (lock) {
+            while (segmentFirstLsn <= boundaryLsn) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log failed", failure);
+                }
+                waitOnLock();
+            }
+        }
+    }
+
+    long lastAssignedLsn() {
+        synchronized (lock) {
+            return lastAssignedLsn;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            List<Entry> batch;
+            synchronized (lock) {
+                while (pending.isEmpty() && !closed && !intervalForceDue()) {
+                    waitOnLock();
+                }
+                if (pending.isEmpty() && closed) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            try {
+                writeBatch(batch);
+            } catch (IOException e) {
+                log.error("Write-ahead log write failed; no further records will be accepted", e);
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) throws IOException {
+        long lastLsn;
+        synchronized (lock) {
+            lastLsn = writtenLsn;
+        }
+        for (Entry entry : batch) {
+            if (entry.rotate()) {
+                flushBuffer();
+                channel.force(false);
+                channel.close();
+                openSegment(entry.lsn());
+                continue;
+            }
+            int frameSize = LogFrames.frameSize(entry.payload());
+            if (frameSize > buffer.remaining()) {
+                flushBuffer();
+                if (frameSize > buffer.capacity()) {
+                    buffer = ByteBuffer.allocateDirect(frameSize);
+                }
+            }
+            LogFrames.write(buffer, entry.lsn(), entry.type(), entry.payload());
+            lastLsn = entry.lsn();
+        }
+        flushBuffer();
+
+        boolean force = fsyncPolicy == FsyncPolicy.ALWAYS
+                || (fsyncPolicy == FsyncPolicy.INTERVAL && System.nanoTime() - lastForceNanos >= fsyncIntervalNanos);
+        if (force) {
+            channel.force(false);
+            lastForceNanos = System.nanoTime();
+        }
+        synchronized (lock) {
+            writtenLsn = lastLsn;
+            if (force) {
+                durableLsn = lastLsn;
+            }
+            lock.notifyAll();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void openSegment(long firstLsn) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+        // Recovery stopped before anything already in a file with this name, so it is garbage
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        synchronized (lock) {
+            segmentFirstLsn = firstLsn;
+            lock.notifyAll();
+        }
+    }
+
+    // Called with lock held. Under INTERVAL an idle writer still has to force what it wrote.
+    private boolean intervalForceDue() {
+        return fsyncPolicy == FsyncPolicy.INTERVAL && writtenLsn > durableLsn
+                && System.nanoTime() - lastForceNanos >= fsyncIntervalNanos;
+    }
+
+    private void waitOnLock() {
+        try {
+            if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+                lock.wait(Math.max(1, TimeUnit.NANOSECONDS.toMillis(fsyncIntervalNanos)));
+            } else {
+                lock.wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting on the write-ahead log", e);
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log failed", failure);
+        }
+    }
+}
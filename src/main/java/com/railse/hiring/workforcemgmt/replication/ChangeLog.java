@@ -0,0 +1,135 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.persistence.RecordCodec;
+import com.railse.hiring.workforcemgmt.persistence.RecordType;
+import com.railse.hiring.workforcemgmt.repository.StoreChangeListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The latest changes published by the stores, numbered (LSN) in the order they were applied and
+ * encoded as in the write-ahead log. Keeps a fixed number of them in a ring; a follower that falls
+ * further behind than that has to start over from a snapshot.
+ *
+ * <p>Appends take no lock: an LSN is claimed with one atomic increment and the entry published into
+ * its slot, unless an entry a full ring newer got there first. Readers stop at the first slot not yet published for the LSN they expect. A reader with
+ * nothing to read parks; an append only wakes readers when one is parked.
+ */
+final class ChangeLog implements StoreChangeListener {
+    record Entry(long lsn, long millis, RecordType type, byte[] payload) {
+    }
+
+    private final AtomicReferenceArray<Entry> ring;
+    // Highest LSN claimed; entries up to it may still be in the middle of being published
+    private final AtomicLong lastLsn = new AtomicLong();
+    private final Set<Thread> parked = ConcurrentHashMap.newKeySet();
+
+    ChangeLog(int capacity) {
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void onTaskSaved(TaskManagement task) {
+        append(RecordType.TASK, RecordCodec.encodeTask(task));
+    }
+
+    @Override
+    public void onActivitySaved(TaskActivity activity) {
+        append(RecordType.ACTIVITY, RecordCodec.encodeActivity(activity));
+    }
+
+    @Override
+    public void onCommentSaved(TaskComment comment) {
+        append(RecordType.COMMENT, RecordCodec.encodeComment(comment));
+    }
+
+    /** Exact under the store's barrier, when no append is in flight. */
+    long lastLsn() {
+        return lastLsn.get();
+    }
+
+    /**
+     * Adds up to {@code max} entries that follow {@code afterLsn} to {@code into}, waiting up to
+     * {@code waitMillis} for the first one.
+     *
+     * @return false if the entry right after {@code afterLsn} is no longer (or not yet) in the log
+     */
+    boolean read(long afterLsn, int max, long waitMillis, List<Entry> into) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        Thread reader = Thread.currentThread();
+        while (!published(afterLsn + 1)) {
+            long remaining = deadline - System.nanoTime();
+            long last = lastLsn.get();
+            if (remaining <= 0 || afterLsn > last || last - afterLsn > ring.length()) {
+                break;
+            }
+            parked.add(reader);
+            // Checked again once registered: an append that missed the registration is seen here
+            if (!published(afterLsn + 1)) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            parked.remove(reader);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        long last = lastLsn.get();
+        if (afterLsn > last || last - afterLsn > ring.length()) {
+            return false;
+        }
+        for (long lsn = afterLsn + 1; lsn <= last && into.size() < max; lsn++) {
+            Entry entry = ring.get(slot(lsn));
+            if (entry == null || entry.lsn() < lsn) {
+                // Claimed but not published yet; the next read picks it up
+                break;
+            }
+            if (entry.lsn() > lsn) {
+                // Overwritten while reading: this reader fell a full ring behind
+                return false;
+            }
+            into.add(entry);
+        }
+        return true;
+    }
+
+    // Called inside the store's critical section for the record, so LSNs follow the order of the stores
+    void append(RecordType type, byte[] payload) {
+        long millis = System.currentTimeMillis();
+        publish(new Entry(lastLsn.incrementAndGet(), millis, type, payload));
+        if (!parked.isEmpty()) {
+            for (Thread reader : parked) {
+                LockSupport.unpark(reader);
+            }
+        }
+    }
+
+    // An appender delayed between claiming its LSN and publishing must not replace the entry a full ring later
+    void publish(Entry entry) {
+        int slot = slot(entry.lsn());
+        Entry current;
+        do {
+            current = ring.get(slot);
+            if (current != null && current.lsn() > entry.lsn()) {
+                return;
+            }
+        } while (!ring.compareAndSet(slot, current, entry));
+    }
+
+    private boolean published(long lsn) {
+        Entry entry = ring.get(slot(lsn));
+        return entry != null && entry.lsn() >= lsn;
+    }
+
+    private int slot(long lsn) {
+        return (int) (lsn % ring.length());
+    }
+}
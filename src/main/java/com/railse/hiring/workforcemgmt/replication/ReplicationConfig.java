@@ -0,0 +1,44 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.cache.TaskDtoCache;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ReplicationProperties.class)
+public class ReplicationConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicationNode replicationNode(ReplicationProperties properties,
+                                           TaskRepository taskRepository,
+                                           TaskActivityRepository activityRepository,
+                                           TaskCommentRepository commentRepository,
+                                           StoreChangePublisher changes,
+                                           TaskDtoCache taskDtoCache,
+                                           @Value("${workforcemgmt.persistence.enabled:false}") boolean durable,
+                                           @Value("${workforcemgmt.history-tier.enabled:false}") boolean tiered) {
+        if (properties.getBacklogRecords() < 1) {
+            throw new IllegalArgumentException("workforcemgmt.replication.backlog-records must be positive");
+        }
+        return switch (properties.getRole()) {
+            case NONE -> ReplicationNode.disabled();
+            case PRIMARY -> new ReplicationPrimary(properties, taskRepository, activityRepository, commentRepository,
+                    changes);
+            case FOLLOWER -> {
+                // Both would write files of their own from state that belongs to the primary
+                if (durable || tiered) {
+                    throw new IllegalStateException("A replication follower takes its data from the primary; "
+                            + "disable workforcemgmt.persistence and workforcemgmt.history-tier on it");
+                }
+                yield new ReplicationFollower(properties, taskRepository, activityRepository, commentRepository,
+                        changes, taskDtoCache);
+            }
+        };
+    }
+}
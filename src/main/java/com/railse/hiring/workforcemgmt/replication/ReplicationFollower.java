@@ -0,0 +1,260 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.cache.TaskDtoCache;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.persistence.RecordCodec;
+import com.railse.hiring.workforcemgmt.persistence.RecordType;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * Keeps this instance's stores a copy of a primary's: connects to it, takes a snapshot when it
+ * has nothing usable, then applies the primary's change log as it streams in. Changes are
+ * applied on one thread with the stores' restore path, in log order, and the task DTO cache is
+ * invalidated for every task touched. Writes through the API are rejected for as long as the
+ * follower runs. When the connection drops, the follower reconnects and resumes from the last
+ * change it applied.
+ *
+ * <p>A snapshot from another run of the primary (a restart) replaces everything the stores
+ * hold: they are emptied first, and reads see them filling up until the snapshot is loaded.
+ */
+@Slf4j
+public class ReplicationFollower extends ReplicationNode {
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final ReplicationProperties properties;
+    private final TaskRepository taskRepository;
+    private final TaskActivityRepository activityRepository;
+    private final TaskCommentRepository commentRepository;
+    private final StoreChangePublisher changes;
+    private final TaskDtoCache taskDtoCache;
+    private Thread applier;
+    private volatile Socket socket;
+    private volatile boolean running;
+
+    // Written by the applier thread only
+    private volatile long streamId;
+    private volatile long appliedLsn;
+    private volatile long appliedMillis;
+    private volatile long primaryLsn;
+    private volatile boolean connected;
+    private volatile long bootstraps;
+    private volatile long applied;
+    // Log records up to this LSN may be older than what the last snapshot held
+    private long snapshotHorizon;
+
+    public ReplicationFollower(ReplicationProperties properties,
+                               TaskRepository taskRepository,
+                               TaskActivityRepository activityRepository,
+                               TaskCommentRepository commentRepository,
+                               StoreChangePublisher changes,
+                               TaskDtoCache taskDtoCache) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.activityRepository = activityRepository;
+        this.commentRepository = commentRepository;
+        this.changes = changes;
+        this.taskDtoCache = taskDtoCache;
+    }
+
+    @Override
+    public void start() {
+        changes.rejectWrites("This instance is a read-only follower of " + properties.getHost() + ":"
+                + properties.getPort() + "; send writes to the primary");
+        running = true;
+        applier = new Thread(this::run, "replication-follower");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // Shutting down
+            }
+        }
+        if (applier != null) {
+            applier.interrupt();
+        }
+    }
+
+    @Override
+    public ReplicationRole role() {
+        return ReplicationRole.FOLLOWER;
+    }
+
+    @Override
+    public long lsn() {
+        return appliedLsn;
+    }
+
+    @Override
+    public long primaryLsn() {
+        return Math.max(primaryLsn, appliedLsn);
+    }
+
+    @Override
+    public long lagRecords() {
+        return primaryLsn() - appliedLsn;
+    }
+
+    @Override
+    public long lagMillis() {
+        return lagRecords() == 0 ? 0 : Math.max(0, System.currentTimeMillis() - appliedMillis);
+    }
+
+    @Override
+    public int connections() {
+        return connected ? 1 : 0;
+    }
+
+    @Override
+    public long bootstraps() {
+        return bootstraps;
+    }
+
+    @Override
+    public long records() {
+        return applied;
+    }
+
+    private void run() {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.connect(new InetSocketAddress(properties.getHost(), properties.getPort()),
+                        CONNECT_TIMEOUT_MS);
+                connection.setTcpNoDelay(true);
+                connected = true;
+                log.info("Following {} from LSN {}", connection.getRemoteSocketAddress(), appliedLsn);
+                follow(connection);
+            } catch (IOException | RuntimeException e) {
+                if (running) {
+                    log.warn("Lost the replication primary at {}:{}: {}; retrying in {} ms", properties.getHost(),
+                            properties.getPort(), e.toString(), properties.getReconnectIntervalMs());
+                }
+            } finally {
+                connected = false;
+            }
+            try {
+                Thread.sleep(properties.getReconnectIntervalMs());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void follow(Socket connection) throws IOException {
+        DataOutputStream out = new DataOutputStream(connection.getOutputStream());
+        out.writeInt(ReplicationProtocol.MAGIC);
+        out.writeInt(ReplicationProtocol.VERSION);
+        out.writeLong(streamId);
+        out.writeLong(appliedLsn);
+        out.flush();
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), BUFFER_BYTES));
+        long bootstrapLsn = 0;
+        long bootstrapMillis = 0;
+        while (running) {
+            byte kind = in.readByte();
+            switch (kind) {
+                case ReplicationProtocol.RECORD -> {
+                    long lsn = in.readLong();
+                    long millis = in.readLong();
+                    apply(in, lsn <= snapshotHorizon);
+                    appliedMillis = millis;
+                    appliedLsn = lsn;
+                    applied++;
+                }
+                case ReplicationProtocol.HEARTBEAT -> {
+                    primaryLsn = in.readLong();
+                    in.readLong();
+                }
+                case ReplicationProtocol.BOOTSTRAP -> {
+                    long stream = in.readLong();
+                    if (stream != streamId) {
+                        clearStores();
+                        streamId = stream;
+                    }
+                    bootstrapLsn = in.readLong();
+                    bootstrapMillis = in.readLong();
+                    log.info("Loading a snapshot of the primary from LSN {}", bootstrapLsn);
+                }
+                case ReplicationProtocol.SNAPSHOT_RECORD -> apply(in, true);
+                case ReplicationProtocol.BOOTSTRAP_END -> {
+                    snapshotHorizon = in.readLong();
+                    appliedMillis = bootstrapMillis;
+                    appliedLsn = bootstrapLsn;
+                    bootstraps++;
+                    log.info("Snapshot loaded; {} tasks", taskRepository.count());
+                }
+                default -> throw new IOException("Unknown replication message " + kind);
+            }
+        }
+    }
+
+    /**
+     * Empties the stores before a snapshot from another run of the primary: its ids and versions
+     * start over, so what is held here could neither be told apart from its records nor replaced by them.
+     */
+    private void clearStores() {
+        taskRepository.clear();
+        activityRepository.clear();
+        commentRepository.clear();
+        snapshotHorizon = 0;
+        // The DTO cache and the deadline index
+        changes.storesCleared();
+    }
+
+    /** Applies one record; with {@code checkVersion}, a task older than the stored one is skipped. */
+    private void apply(DataInputStream in, boolean checkVersion) throws IOException {
+        RecordType type = RecordType.fromCode(in.readByte());
+        byte[] payload = new byte[in.readInt()];
+        in.readFully(payload);
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        switch (type) {
+            case TASK -> {
+                TaskManagement task = RecordCodec.decodeTask(buffer);
+                if (checkVersion) {
+                    Optional<TaskManagement> stored = taskRepository.findById(task.getId());
+                    if (stored.isPresent() && stored.get().getVersion() > task.getVersion()) {
+                        return;
+                    }
+                }
+                taskRepository.restore(task);
+                taskDtoCache.invalidate(task.getId());
+            }
+            // Entries the stores already hold are skipped by restore
+            case ACTIVITY -> {
+                TaskActivity activity = RecordCodec.decodeActivity(buffer);
+                activityRepository.restore(activity);
+                taskDtoCache.invalidate(activity.getTaskId());
+            }
+            case COMMENT -> {
+                TaskComment comment = RecordCodec.decodeComment(buffer);
+                commentRepository.restore(comment);
+                taskDtoCache.invalidate(comment.getTaskId());
+            }
+        }
+    }
+}
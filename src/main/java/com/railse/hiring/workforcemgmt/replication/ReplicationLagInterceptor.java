@@ -0,0 +1,24 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/** Tells clients of a follower how far behind the primary the data they read may be. */
+public class ReplicationLagInterceptor implements HandlerInterceptor {
+    static final String LAG_HEADER = "X-Replication-Lag-Ms";
+    static final String LSN_HEADER = "X-Replication-Lsn";
+
+    private final ReplicationNode node;
+
+    public ReplicationLagInterceptor(ReplicationNode node) {
+        this.node = node;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        response.setHeader(LAG_HEADER, Long.toString(node.lagMillis()));
+        response.setHeader(LSN_HEADER, Long.toString(node.lsn()));
+        return true;
+    }
+}
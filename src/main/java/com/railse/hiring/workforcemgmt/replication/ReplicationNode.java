@@ -0,0 +1,64 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import java.io.IOException;
+
+/**
+ * This instance's side of replication: a {@link ReplicationPrimary}, a {@link ReplicationFollower}
+ * or, standalone, {@link #disabled()}. Positions are LSNs of the primary's change log.
+ */
+public abstract class ReplicationNode {
+
+    public abstract ReplicationRole role();
+
+    public void start() throws IOException {
+    }
+
+    public void stop() {
+    }
+
+    /** The last change logged on a primary, or applied on a follower. */
+    public abstract long lsn();
+
+    /** The primary's last change as far as this instance knows. */
+    public long primaryLsn() {
+        return lsn();
+    }
+
+    public long lagRecords() {
+        return 0;
+    }
+
+    /** How long ago the primary committed the last change applied here, while behind; 0 once caught up. */
+    public long lagMillis() {
+        return 0;
+    }
+
+    /** Followers connected to a primary; 1 while a follower is connected to its primary. */
+    public int connections() {
+        return 0;
+    }
+
+    /** Full snapshots sent by a primary, or received by a follower. */
+    public long bootstraps() {
+        return 0;
+    }
+
+    /** Log records shipped by a primary, or applied by a follower. */
+    public long records() {
+        return 0;
+    }
+
+    public static ReplicationNode disabled() {
+        return new ReplicationNode() {
+            @Override
+            public ReplicationRole role() {
+                return ReplicationRole.NONE;
+            }
+
+            @Override
+            public long lsn() {
+                return 0;
+            }
+        };
+    }
+}
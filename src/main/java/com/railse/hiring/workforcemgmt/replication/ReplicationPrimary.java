@@ -0,0 +1,250 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.persistence.RecordCodec;
+import com.railse.hiring.workforcemgmt.persistence.RecordType;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs every change the stores publish and streams the log to followers, one thread per
+ * follower. A follower that is new, comes from another run of the primary or has fallen out of
+ * the backlog first gets a snapshot of the stores, then the log from where the snapshot began.
+ * The snapshot is read while writes go on, so it may already hold some of the changes that
+ * follow it; followers apply those again idempotently.
+ *
+ * <p>Only the history still held in memory is shipped: entries moved to the history tier's
+ * segments stay on the primary.
+ */
+@Slf4j
+public class ReplicationPrimary extends ReplicationNode {
+    private static final int BATCH = 1024;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final ReplicationProperties properties;
+    private final TaskRepository taskRepository;
+    private final TaskActivityRepository activityRepository;
+    private final TaskCommentRepository commentRepository;
+    private final StoreChangePublisher changes;
+    private final ChangeLog changeLog;
+    // Names this run: LSNs from another run mean nothing here
+    private final long streamId = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+    private final LongAdder bootstraps = new LongAdder();
+    private final LongAdder shipped = new LongAdder();
+    private ServerSocket server;
+    private volatile boolean running;
+
+    public ReplicationPrimary(ReplicationProperties properties,
+                              TaskRepository taskRepository,
+                              TaskActivityRepository activityRepository,
+                              TaskCommentRepository commentRepository,
+                              StoreChangePublisher changes) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.activityRepository = activityRepository;
+        this.commentRepository = commentRepository;
+        this.changes = changes;
+        this.changeLog = new ChangeLog(properties.getBacklogRecords());
+    }
+
+    @Override
+    public void start() throws IOException {
+        server = new ServerSocket();
+        server.bind(new InetSocketAddress(properties.getHost(), properties.getPort()));
+        running = true;
+        changes.addListener(changeLog);
+        Thread acceptor = new Thread(this::acceptFollowers, "replication-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Replication primary listening on {}", server.getLocalSocketAddress());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        changes.removeListener(changeLog);
+        closeQuietly(server);
+        followers.forEach(ReplicationPrimary::closeQuietly);
+    }
+
+    /** The port followers connect to; differs from the configured one when that is 0. */
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    @Override
+    public ReplicationRole role() {
+        return ReplicationRole.PRIMARY;
+    }
+
+    @Override
+    public long lsn() {
+        return changeLog.lastLsn();
+    }
+
+    @Override
+    public int connections() {
+        return followers.size();
+    }
+
+    @Override
+    public long bootstraps() {
+        return bootstraps.sum();
+    }
+
+    @Override
+    public long records() {
+        return shipped.sum();
+    }
+
+    private void acceptFollowers() {
+        while (running) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                followers.add(socket);
+                Thread sender = new Thread(() -> serve(socket), "replication-sender-" + socket.getPort());
+                sender.setDaemon(true);
+                sender.start();
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Accepting a follower failed", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(),
+                    BUFFER_BYTES));
+            if (in.readInt() != ReplicationProtocol.MAGIC || in.readInt() != ReplicationProtocol.VERSION) {
+                log.warn("Closing {}: not a follower of this protocol version",
+                        socket.getRemoteSocketAddress());
+                return;
+            }
+            long followerStream = in.readLong();
+            long appliedLsn = in.readLong();
+            log.info("Follower {} connected at LSN {}", socket.getRemoteSocketAddress(), appliedLsn);
+            stream(out, followerStream == streamId ? appliedLsn : -1);
+        } catch (IOException e) {
+            if (running && !(e instanceof SocketException)) {
+                log.warn("Replication to {} failed", socket.getRemoteSocketAddress(), e);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followers.remove(socket);
+            log.info("Follower {} disconnected", socket.getRemoteSocketAddress());
+        }
+    }
+
+    // Ships the log after sentLsn (-1: nothing usable was sent yet), reporting the position when idle
+    private void stream(DataOutputStream out, long sentLsn) throws IOException, InterruptedException {
+        List<ChangeLog.Entry> batch = new ArrayList<>(BATCH);
+        while (running) {
+            batch.clear();
+            if (sentLsn < 0 || !changeLog.read(sentLsn, BATCH, properties.getHeartbeatIntervalMs(), batch)) {
+                sentLsn = bootstrap(out);
+                continue;
+            }
+            for (ChangeLog.Entry entry : batch) {
+                out.writeByte(ReplicationProtocol.RECORD);
+                out.writeLong(entry.lsn());
+                out.writeLong(entry.millis());
+                writePayload(out, entry.type(), entry.payload());
+                sentLsn = entry.lsn();
+            }
+            shipped.add(batch.size());
+            out.writeByte(ReplicationProtocol.HEARTBEAT);
+            out.writeLong(changeLog.lastLsn());
+            out.writeLong(System.currentTimeMillis());
+            out.flush();
+        }
+    }
+
+    /** Sends everything the stores hold; returns the LSN the log resumes after. */
+    private long bootstrap(DataOutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        long[] covered = new long[1];
+        // Every change up to this LSN is visible in the stores by the time they are read
+        changes.barrier(() -> covered[0] = changeLog.lastLsn());
+        out.writeByte(ReplicationProtocol.BOOTSTRAP);
+        out.writeLong(streamId);
+        out.writeLong(covered[0]);
+        out.writeLong(started);
+        long[] records = new long[1];
+        try {
+            for (TaskManagement task : taskRepository.findAll()) {
+                writeSnapshotRecord(out, RecordType.TASK, RecordCodec.encodeTask(task));
+                records[0]++;
+            }
+            activityRepository.forEach(activity -> {
+                writeSnapshotRecord(out, RecordType.ACTIVITY, RecordCodec.encodeActivity(activity));
+                records[0]++;
+            });
+            commentRepository.forEach(comment -> {
+                writeSnapshotRecord(out, RecordType.COMMENT, RecordCodec.encodeComment(comment));
+                records[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // Log records up to here may be older than what the snapshot holds
+        out.writeByte(ReplicationProtocol.BOOTSTRAP_END);
+        out.writeLong(changeLog.lastLsn());
+        out.flush();
+        bootstraps.increment();
+        log.info("Sent a snapshot of {} records from LSN {} in {} ms", records[0], covered[0],
+                System.currentTimeMillis() - started);
+        return covered[0];
+    }
+
+    private static void writeSnapshotRecord(DataOutputStream out, RecordType type, byte[] payload) {
+        try {
+            out.writeByte(ReplicationProtocol.SNAPSHOT_RECORD);
+            writePayload(out, type, payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writePayload(DataOutputStream out, RecordType type, byte[] payload) throws IOException {
+        out.writeByte(type.getCode());
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (IOException ignored) {
+            // Shutting down
+        }
+    }
+}
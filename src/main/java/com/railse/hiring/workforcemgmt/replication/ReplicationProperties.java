@@ -0,0 +1,18 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "workforcemgmt.replication")
+public class ReplicationProperties {
+    private ReplicationRole role = ReplicationRole.NONE;
+    // Where the primary listens for followers, and where followers connect to
+    private String host = "localhost";
+    private int port = 7400;
+    // Changes the primary keeps for followers that reconnect; one further behind gets a snapshot
+    private int backlogRecords = 262_144;
+    // The primary reports its position at least this often, even when nothing changes
+    private long heartbeatIntervalMs = 100;
+    private long reconnectIntervalMs = 1000;
+}
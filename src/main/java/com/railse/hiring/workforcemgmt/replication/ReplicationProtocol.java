@@ -0,0 +1,30 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+/**
+ * Messages between a follower and its primary over one TCP connection. The follower opens with
+ * {@code int MAGIC, int VERSION, long stream id, long applied LSN}; from then on only the primary
+ * talks, one message after another, each starting with its kind:
+ * <pre>
+ * RECORD          long lsn, long commit millis, byte record type, int length, payload
+ * HEARTBEAT       long primary's last lsn, long primary millis
+ * BOOTSTRAP       long stream id, long lsn the snapshot starts from, long primary millis
+ * SNAPSHOT_RECORD byte record type, int length, payload
+ * BOOTSTRAP_END   long primary's last lsn once the snapshot was read
+ * </pre>
+ * Payloads are {@link com.railse.hiring.workforcemgmt.persistence.RecordCodec} encodings, as in
+ * the write-ahead log. A stream id names one run of the primary; LSNs only mean something
+ * within it, so a follower that presents another one gets a snapshot.
+ */
+final class ReplicationProtocol {
+    static final int MAGIC = 0x57464d52;
+    static final int VERSION = 1;
+
+    static final byte RECORD = 1;
+    static final byte HEARTBEAT = 2;
+    static final byte BOOTSTRAP = 3;
+    static final byte SNAPSHOT_RECORD = 4;
+    static final byte BOOTSTRAP_END = 5;
+
+    private ReplicationProtocol() {
+    }
+}
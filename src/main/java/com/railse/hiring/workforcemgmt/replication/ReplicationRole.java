@@ -0,0 +1,10 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+public enum ReplicationRole {
+    // Standalone: no change log, no follower connections
+    NONE,
+    // Ships every change to the followers that connect to it
+    PRIMARY,
+    // Applies a primary's changes and serves reads only
+    FOLLOWER
+}
@@ -0,0 +1,21 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ReplicationWebConfig implements WebMvcConfigurer {
+    private final ReplicationNode node;
+
+    public ReplicationWebConfig(ReplicationNode node) {
+        this.node = node;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (node.role() == ReplicationRole.FOLLOWER) {
+            registry.addInterceptor(new ReplicationLagInterceptor(node)).addPathPatterns("/task-mgmt/**");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The part of a history store that has been moved out of memory. The in-memory repositories
+ * consult it on every read of a task's history and show its entries merged with their own, so
+ * callers never see which tier an entry lives in.
+ */
+public interface ArchivedHistory<T> {
+
+    /**
+     * The task's archived entries; empty when it has none. Entries are ordered within each part
+     * of the archive, not across parts, and may repeat; readers merge them with what is in memory.
+     */
+    List<T> find(Long taskId);
+
+    /** Count and highest id of the task's archived entries, read without decoding them. */
+    HistoryVersion version(Long taskId);
+
+    long count();
+
+    // Highest id ever archived, so id counters restored from a snapshot never hand it out again
+    long maxId();
+
+    static <T> ArchivedHistory<T> none() {
+        return new ArchivedHistory<>() {
+            @Override
+            public List<T> find(Long taskId) {
+                return new ArrayList<>();
+            }
+
+            @Override
+            public HistoryVersion version(Long taskId) {
+                return HistoryVersion.EMPTY;
+            }
+
+            @Override
+            public long count() {
+                return 0;
+            }
+
+            @Override
+            public long maxId() {
+                return 0;
+            }
+        };
+    }
+}
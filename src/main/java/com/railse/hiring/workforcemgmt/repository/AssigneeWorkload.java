@@ -0,0 +1,32 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+/**
+ * Snapshot of one assignee's task counts by status x priority x task type. Only tasks with
+ * all three set are counted.
+ */
+public record AssigneeWorkload(Long assigneeId, long[] counts) {
+    static final int CELLS = TaskStatus.values().length * Priority.values().length * Task.values().length;
+
+    public long count(TaskStatus status, Priority priority, Task task) {
+        return counts[cell(status, priority, task)];
+    }
+
+    public long count(TaskStatus status) {
+        long total = 0;
+        for (Priority priority : Priority.values()) {
+            for (Task task : Task.values()) {
+                total += count(status, priority, task);
+            }
+        }
+        return total;
+    }
+
+    static int cell(TaskStatus status, Priority priority, Task task) {
+        return (status.ordinal() * Priority.values().length + priority.ordinal()) * Task.values().length
+                + task.ordinal();
+    }
+}
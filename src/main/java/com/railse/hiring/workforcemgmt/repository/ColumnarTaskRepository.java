@@ -0,0 +1,281 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.metrics.RepositoryMetrics;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Task store that keeps each field in its own primitive column instead of one object per task:
+ * ids, dates and timestamps as longs, enums as byte ordinals and descriptions as ids into a
+ * {@link StringTable}. A task costs about 70 bytes plus its description, against several hundred
+ * for the object graph {@link InMemoryTaskRepository} keeps, and the collector has no per-task
+ * objects to trace. Tasks are materialized only when read, so each read allocates a fresh copy.
+ *
+ * <p>Rows are addressed by id in fixed-size chunks. Each row carries a sequence number that is
+ * odd while the row is being written; readers retry until they see the same even number before
+ * and after copying the row out, so they never block and never see a half-written task. Writers
+ * of the same id are serialized by a striped lock.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "workforcemgmt", name = "task-store", havingValue = "columnar")
+public class ColumnarTaskRepository extends IndexedTaskRepository {
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_ROWS = 1 << CHUNK_BITS;
+    // Keeps the chunk directory small: 2^17 entries at most
+    private static final long MAX_ID = Integer.MAX_VALUE;
+    private static final int LOCK_STRIPES = 1024;
+    // Stands for null in the long columns; 0 does the same in the byte and string columns
+    private static final long NONE = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final ReferenceType[] REFERENCE_TYPES = ReferenceType.values();
+    private static final Task[] TASKS = Task.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    // Copied on growth; chunks are only dropped all at once, by clear()
+    private volatile Chunk[] chunks = new Chunk[16];
+    private final Object[] rowLocks = new Object[LOCK_STRIPES];
+    private final StringTable descriptions = new StringTable();
+    private final AtomicLong size = new AtomicLong();
+
+    public ColumnarTaskRepository() {
+        this(new StoreChangePublisher());
+    }
+
+    public ColumnarTaskRepository(StoreChangePublisher changes) {
+        this(changes, new RepositoryMetrics());
+    }
+
+    @Autowired
+    public ColumnarTaskRepository(StoreChangePublisher changes, RepositoryMetrics metrics) {
+        super(changes, metrics);
+        Arrays.setAll(rowLocks, i -> new Object());
+    }
+
+    @Override
+    public long count() {
+        return size.get();
+    }
+
+    @Override
+    TaskManagement stored(Long id) {
+        if (id == null || id <= 0 || id > MAX_ID) {
+            return null;
+        }
+        Chunk[] directory = chunks;
+        int index = (int) (id >>> CHUNK_BITS);
+        Chunk chunk = index < directory.length ? directory[index] : null;
+        return chunk == null ? null : chunk.read((int) (id & (CHUNK_ROWS - 1)), id, descriptions);
+    }
+
+    // Every read already materializes a fresh task
+    @Override
+    TaskManagement detach(TaskManagement stored) {
+        return stored;
+    }
+
+    @Override
+    void replace(Long id, UnaryOperator<TaskManagement> update) {
+        synchronized (rowLocks[(int) (id & (LOCK_STRIPES - 1))]) {
+            write(update.apply(stored(id)));
+        }
+    }
+
+    @Override
+    void storeNew(List<TaskManagement> versions) {
+        for (TaskManagement version : versions) {
+            write(version);
+        }
+    }
+
+    @Override
+    void forEachStored(Consumer<TaskManagement> action) {
+        Chunk[] directory = chunks;
+        for (int index = 0; index < directory.length; index++) {
+            Chunk chunk = directory[index];
+            if (chunk == null) continue;
+            for (int row = 0; row < CHUNK_ROWS; row++) {
+                TaskManagement task = chunk.read(row, ((long) index << CHUNK_BITS) | row, descriptions);
+                if (task != null) {
+                    action.accept(task);
+                }
+            }
+        }
+    }
+
+    // Readers holding the old directory finish on the rows they started on
+    @Override
+    void clearStored() {
+        synchronized (this) {
+            chunks = new Chunk[16];
+        }
+        size.set(0);
+    }
+
+    /** Distinct descriptions held, and the heap they take; for footprint reports. */
+    int distinctDescriptions() {
+        return descriptions.size();
+    }
+
+    long descriptionBytes() {
+        return descriptions.footprintBytes();
+    }
+
+    // Callers hold the row's id exclusively: under its stripe lock, or before the id is published
+    private void write(TaskManagement task) {
+        long id = task.getId();
+        if (id <= 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("Task id " + id + " is outside the columnar store's range");
+        }
+        int description = descriptions.intern(task.getDescription());
+        if (chunk(id).write((int) (id & (CHUNK_ROWS - 1)), task, description)) {
+            size.incrementAndGet();
+        }
+    }
+
+    private Chunk chunk(long id) {
+        int index = (int) (id >>> CHUNK_BITS);
+        Chunk[] directory = chunks;
+        if (index < directory.length && directory[index] != null) {
+            return directory[index];
+        }
+        synchronized (this) {
+            directory = chunks;
+            if (index >= directory.length || directory[index] == null) {
+                directory = Arrays.copyOf(directory, Math.max(directory.length, Integer.highestOneBit(index) * 2));
+                directory[index] = new Chunk();
+                chunks = directory;
+            }
+            return directory[index];
+        }
+    }
+
+    private static long toNanos(LocalDateTime time) {
+        // Exact for 1677-2262; anything outside fails the save instead of wrapping
+        return time == null ? NONE
+                : Math.addExact(Math.multiplyExact(time.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND), time.getNano());
+    }
+
+    private static LocalDateTime fromNanos(long nanos) {
+        return nanos == NONE ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private static long orNone(Long value) {
+        return value == null ? NONE : value;
+    }
+
+    private static Long orNull(long value) {
+        return value == NONE ? null : value;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? 0 : (byte) (value.ordinal() + 1);
+    }
+
+    private static <E> E constant(E[] values, byte ordinal) {
+        return ordinal == 0 ? null : values[ordinal - 1];
+    }
+
+    private static final class Chunk {
+        // Even when the row is stable, odd while a writer is in it
+        final int[] sequence = new int[CHUNK_ROWS];
+        // 0 for a row that holds no task; stored versions start at 1
+        final long[] version = new long[CHUNK_ROWS];
+        final long[] referenceId = new long[CHUNK_ROWS];
+        final long[] assigneeId = new long[CHUNK_ROWS];
+        final long[] deadline = new long[CHUNK_ROWS];
+        final long[] startDate = new long[CHUNK_ROWS];
+        final long[] createdAt = new long[CHUNK_ROWS];
+        final long[] updatedAt = new long[CHUNK_ROWS];
+        final byte[] referenceType = new byte[CHUNK_ROWS];
+        final byte[] task = new byte[CHUNK_ROWS];
+        final byte[] status = new byte[CHUNK_ROWS];
+        final byte[] priority = new byte[CHUNK_ROWS];
+        final int[] description = new int[CHUNK_ROWS];
+
+        /** Returns true if the row held no task before. */
+        boolean write(int row, TaskManagement source, int descriptionId) {
+            int stable = (int) SEQUENCE.getOpaque(sequence, row);
+            SEQUENCE.setOpaque(sequence, row, stable + 1);
+            VarHandle.storeStoreFence();
+            boolean created = version[row] == 0;
+            version[row] = source.getVersion() == null ? 1L : source.getVersion();
+            referenceId[row] = orNone(source.getReferenceId());
+            assigneeId[row] = orNone(source.getAssigneeId());
+            deadline[row] = orNone(source.getTaskDeadlineTime());
+            startDate[row] = orNone(source.getStartDate());
+            createdAt[row] = toNanos(source.getCreatedAt());
+            updatedAt[row] = toNanos(source.getUpdatedAt());
+            referenceType[row] = ordinal(source.getReferenceType());
+            task[row] = ordinal(source.getTask());
+            status[row] = ordinal(source.getStatus());
+            priority[row] = ordinal(source.getPriority());
+            description[row] = descriptionId;
+            SEQUENCE.setRelease(sequence, row, stable + 2);
+            return created;
+        }
+
+        TaskManagement read(int row, long id, StringTable descriptions) {
+            while (true) {
+                int before = (int) SEQUENCE.getAcquire(sequence, row);
+                if ((before & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                long rowVersion = version[row];
+                long rowReferenceId = referenceId[row];
+                long rowAssigneeId = assigneeId[row];
+                long rowDeadline = deadline[row];
+                long rowStartDate = startDate[row];
+                long rowCreatedAt = createdAt[row];
+                long rowUpdatedAt = updatedAt[row];
+                byte rowReferenceType = referenceType[row];
+                byte rowTask = task[row];
+                byte rowStatus = status[row];
+                byte rowPriority = priority[row];
+                int rowDescription = description[row];
+                VarHandle.loadLoadFence();
+                if ((int) SEQUENCE.getOpaque(sequence, row) != before) {
+                    continue;
+                }
+                if (rowVersion == 0) {
+                    return null;
+                }
+                TaskManagement result = new TaskManagement();
+                result.setId(id);
+                result.setVersion(rowVersion);
+                result.setReferenceId(orNull(rowReferenceId));
+                result.setAssigneeId(orNull(rowAssigneeId));
+                result.setTaskDeadlineTime(orNull(rowDeadline));
+                result.setStartDate(orNull(rowStartDate));
+                result.setCreatedAt(fromNanos(rowCreatedAt));
+                result.setUpdatedAt(fromNanos(rowUpdatedAt));
+                result.setReferenceType(constant(REFERENCE_TYPES, rowReferenceType));
+                result.setTask(constant(TASKS, rowTask));
+                result.setStatus(constant(STATUSES, rowStatus));
+                result.setPriority(constant(PRIORITIES, rowPriority));
+                result.setDescription(descriptions.get(rowDescription));
+                return result;
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+/**
+ * Cheap stand-in for a task's history when only "has it changed" matters: how many entries
+ * it holds and the highest id among them. Histories only grow, and every entry gets a fresh
+ * id, so any append changes the count even when it sorts before existing entries.
+ */
+public record HistoryVersion(long count, long maxId) {
+    public static final HistoryVersion EMPTY = new HistoryVersion(0, 0);
+
+    public HistoryVersion plus(long entries, long highestId) {
+        return new HistoryVersion(count + entries, Math.max(maxId, highestId));
+    }
+}
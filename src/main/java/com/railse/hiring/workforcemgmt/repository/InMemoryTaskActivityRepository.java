@@ -1,19 +1,42 @@
 package com.railse.hiring.workforcemgmt.repository;
 
+import com.railse.hiring.workforcemgmt.metrics.RepositoryCall;
+import com.railse.hiring.workforcemgmt.metrics.RepositoryMetrics;
 import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Repository
 public class InMemoryTaskActivityRepository implements TaskActivityRepository {
-    private final Map<Long, TaskActivity> activityStore = new ConcurrentHashMap<>();
+    private final PerTaskLog<TaskActivity> activityStore = new PerTaskLog<>(TaskActivity.HISTORY_ORDER);
     private final AtomicLong idCounter = new AtomicLong(0);
+    private final StoreChangePublisher changes;
+    private final RepositoryMetrics metrics;
+    private volatile ArchivedHistory<TaskActivity> archive = ArchivedHistory.none();
+
+    public InMemoryTaskActivityRepository() {
+        this(new StoreChangePublisher());
+    }
+
+    public InMemoryTaskActivityRepository(StoreChangePublisher changes) {
+        this(changes, new RepositoryMetrics());
+    }
+
+    @Autowired
+    public InMemoryTaskActivityRepository(StoreChangePublisher changes, RepositoryMetrics metrics) {
+        this.changes = changes;
+        this.metrics = metrics;
+    }
 
     @Override
     public TaskActivity save(TaskActivity activity) {
@@ -23,15 +46,119 @@ public class InMemoryTaskActivityRepository implements TaskActivityRepository {
         if (activity.getTimestamp() == null) {
             activity.setTimestamp(LocalDateTime.now());
         }
-        activityStore.put(activity.getId(), activity);
+        boolean gated = changes.beginWrite();
+        try {
+            activityStore.append(activity.getTaskId(), activity, changes::activitySaved);
+        } finally {
+            changes.endWrite(gated);
+        }
+        metrics.record(RepositoryCall.ACTIVITY_SAVE, 1, 1);
         return activity;
     }
 
+    @Override
+    public List<TaskActivity> saveAll(List<TaskActivity> activities) {
+        LocalDateTime now = LocalDateTime.now();
+        long nextId = idCounter.getAndAdd(activities.stream().filter(entry -> entry.getId() == null).count()) + 1;
+        Map<Long, List<TaskActivity>> byTask = new LinkedHashMap<>();
+        for (TaskActivity activity : activities) {
+            if (activity.getId() == null) {
+                activity.setId(nextId++);
+            }
+            if (activity.getTimestamp() == null) {
+                activity.setTimestamp(now);
+            }
+            byTask.computeIfAbsent(activity.getTaskId(), k -> new ArrayList<>()).add(activity);
+        }
+        boolean gated = changes.beginWrite();
+        try {
+            byTask.forEach((taskId, entries) -> activityStore.appendAll(taskId, entries, changes::activitySaved));
+        } finally {
+            changes.endWrite(gated);
+        }
+        metrics.record(RepositoryCall.ACTIVITY_SAVE_ALL, activities.size(), activities.size());
+        return activities;
+    }
+
+    @Override
+    public long reserveIds(long count) {
+        return idCounter.getAndAdd(count) + 1;
+    }
+
+    /** Makes archived history part of every read; entries are moved there with {@link #evict}. */
+    public void attachArchive(ArchivedHistory<TaskActivity> archive) {
+        idCounter.accumulateAndGet(archive.maxId(), Math::max);
+        this.archive = archive;
+    }
+
+    @Override
+    public long count() {
+        return activityStore.size() + archive.count();
+    }
+
+    @Override
+    public HistoryVersion historyVersion(Long taskId) {
+        // Memory first: entries leave it only after the archive holds them
+        HistoryVersion recent = activityStore.version(taskId, TaskActivity::getId);
+        HistoryVersion archived = archive.version(taskId);
+        return recent.plus(archived.count(), archived.maxId());
+    }
+
     @Override
     public List<TaskActivity> findByTaskIdOrderByTimestamp(Long taskId) {
-        return activityStore.values().stream()
-                .filter(activity -> activity.getTaskId().equals(taskId))
-                .sorted((a1, a2) -> a1.getTimestamp().compareTo(a2.getTimestamp()))
-                .collect(Collectors.toList());
+        List<TaskActivity> recent = activityStore.findByTaskId(taskId);
+        List<TaskActivity> result = PerTaskLog.merged(archive.find(taskId), recent,
+                TaskActivity.HISTORY_ORDER, TaskActivity::getId);
+        metrics.record(RepositoryCall.ACTIVITY_FIND_BY_TASK, result.size(), result.size());
+        return result;
+    }
+
+    @Override
+    public List<TaskActivity> findByTaskIdAfter(Long taskId, LocalDateTime afterTimestamp, Long afterId, int limit) {
+        TaskActivity after = null;
+        if (afterTimestamp != null) {
+            after = new TaskActivity();
+            after.setTimestamp(afterTimestamp);
+            after.setId(afterId);
+        }
+        List<TaskActivity> result = activityStore.findByTaskIdAfter(taskId, after, limit);
+        // Nothing archived after the page was read means nothing had left memory before it either
+        if (archive.version(taskId).count() > 0) {
+            List<TaskActivity> recent = activityStore.findByTaskId(taskId);
+            result = PerTaskLog.page(PerTaskLog.merged(archive.find(taskId), recent, TaskActivity.HISTORY_ORDER,
+                    TaskActivity::getId), after, limit, TaskActivity.HISTORY_ORDER);
+        }
+        // Seeks by binary search, so only the returned entries are read
+        metrics.record(RepositoryCall.ACTIVITY_FIND_BY_TASK_AFTER, result.size(), result.size());
+        return result;
+    }
+
+    @Override
+    public void restore(TaskActivity activity) {
+        idCounter.accumulateAndGet(activity.getId(), Math::max);
+        activityStore.appendIfAbsent(activity.getTaskId(), activity,
+                existing -> Objects.equals(existing.getId(), activity.getId()));
+    }
+
+    // In-memory entries only; archived ones are kept by the archive's own files
+    @Override
+    public void forEach(Consumer<TaskActivity> action) {
+        activityStore.forEach(action);
+    }
+
+    @Override
+    public void clear() {
+        activityStore.clear();
+        idCounter.set(archive.maxId());
+    }
+
+    /** The task's entries still held in memory, without its archived ones. */
+    public List<TaskActivity> findRecent(Long taskId) {
+        return activityStore.findByTaskId(taskId);
+    }
+
+    /** Drops in-memory entries that the archive now holds; returns how many were dropped. */
+    public int evict(Long taskId, Set<Long> ids) {
+        return activityStore.removeIf(taskId, activity -> ids.contains(activity.getId()));
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,45 @@
 package com.railse.hiring.workforcemgmt.repository;
 
+import com.railse.hiring.workforcemgmt.metrics.RepositoryCall;
+import com.railse.hiring.workforcemgmt.metrics.RepositoryMetrics;
 import com.railse.hiring.workforcemgmt.model.TaskComment;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Repository
 public class InMemoryTaskCommentRepository implements TaskCommentRepository {
-    private final Map<Long, TaskComment> commentStore = new ConcurrentHashMap<>();
+    private static final Comparator<TaskComment> ORDER = Comparator.comparing(TaskComment::getTimestamp);
+
+    private final PerTaskLog<TaskComment> commentStore = new PerTaskLog<>(ORDER);
     private final AtomicLong idCounter = new AtomicLong(0);
+    private final StoreChangePublisher changes;
+    private final RepositoryMetrics metrics;
+    private volatile ArchivedHistory<TaskComment> archive = ArchivedHistory.none();
+
+    public InMemoryTaskCommentRepository() {
+        this(new StoreChangePublisher());
+    }
+
+    public InMemoryTaskCommentRepository(StoreChangePublisher changes) {
+        this(changes, new RepositoryMetrics());
+    }
+
+    @Autowired
+    public InMemoryTaskCommentRepository(StoreChangePublisher changes, RepositoryMetrics metrics) {
+        this.changes = changes;
+        this.metrics = metrics;
+    }
 
     @Override
     public TaskComment save(TaskComment comment) {
@@ -23,15 +49,99 @@ public class InMemoryTaskCommentRepository implements TaskCommentRepository {
         if (comment.getTimestamp() == null) {
             comment.setTimestamp(LocalDateTime.now());
         }
-        commentStore.put(comment.getId(), comment);
+        boolean gated = changes.beginWrite();
+        try {
+            commentStore.append(comment.getTaskId(), comment, changes::commentSaved);
+        } finally {
+            changes.endWrite(gated);
+        }
+        metrics.record(RepositoryCall.COMMENT_SAVE, 1, 1);
         return comment;
     }
 
+    @Override
+    public List<TaskComment> saveAll(List<TaskComment> comments) {
+        LocalDateTime now = LocalDateTime.now();
+        long nextId = idCounter.getAndAdd(comments.stream().filter(entry -> entry.getId() == null).count()) + 1;
+        Map<Long, List<TaskComment>> byTask = new LinkedHashMap<>();
+        for (TaskComment comment : comments) {
+            if (comment.getId() == null) {
+                comment.setId(nextId++);
+            }
+            if (comment.getTimestamp() == null) {
+                comment.setTimestamp(now);
+            }
+            byTask.computeIfAbsent(comment.getTaskId(), k -> new ArrayList<>()).add(comment);
+        }
+        boolean gated = changes.beginWrite();
+        try {
+            byTask.forEach((taskId, entries) -> commentStore.appendAll(taskId, entries, changes::commentSaved));
+        } finally {
+            changes.endWrite(gated);
+        }
+        metrics.record(RepositoryCall.COMMENT_SAVE_ALL, comments.size(), comments.size());
+        return comments;
+    }
+
+    @Override
+    public long reserveIds(long count) {
+        return idCounter.getAndAdd(count) + 1;
+    }
+
+    /** Makes archived comments part of every read; they are moved there with {@link #evict}. */
+    public void attachArchive(ArchivedHistory<TaskComment> archive) {
+        idCounter.accumulateAndGet(archive.maxId(), Math::max);
+        this.archive = archive;
+    }
+
+    @Override
+    public long count() {
+        return commentStore.size() + archive.count();
+    }
+
+    @Override
+    public HistoryVersion historyVersion(Long taskId) {
+        // Memory first: entries leave it only after the archive holds them
+        HistoryVersion recent = commentStore.version(taskId, TaskComment::getId);
+        HistoryVersion archived = archive.version(taskId);
+        return recent.plus(archived.count(), archived.maxId());
+    }
+
     @Override
     public List<TaskComment> findByTaskIdOrderByTimestamp(Long taskId) {
-        return commentStore.values().stream()
-                .filter(comment -> comment.getTaskId().equals(taskId))
-                .sorted((c1, c2) -> c1.getTimestamp().compareTo(c2.getTimestamp()))
-                .collect(Collectors.toList());
+        List<TaskComment> recent = commentStore.findByTaskId(taskId);
+        List<TaskComment> result = PerTaskLog.merged(archive.find(taskId), recent,
+                ORDER, TaskComment::getId);
+        metrics.record(RepositoryCall.COMMENT_FIND_BY_TASK, result.size(), result.size());
+        return result;
+    }
+
+    @Override
+    public void restore(TaskComment comment) {
+        idCounter.accumulateAndGet(comment.getId(), Math::max);
+        commentStore.appendIfAbsent(comment.getTaskId(), comment,
+                existing -> Objects.equals(existing.getId(), comment.getId()));
+    }
+
+    // In-memory comments only; archived ones are kept by the archive's own files
+    @Override
+    public void forEach(Consumer<TaskComment> action) {
+        commentStore.forEach(action);
+    }
+
+    @Override
+    public void clear() {
+        commentStore.clear();
+        idCounter.set(archive.maxId());
+    }
+
+    /** The task's comments still held in memory, without its archived ones. */
+    public List<TaskComment> findRecent(Long taskId) {
+        return commentStore.findByTaskId(taskId);
+    }
+
+    /** Drops in-memory comments that the archive now holds; returns how many were dropped. */
+    public int evict(Long taskId, Set<Long> ids) {
+        return commentStore.removeIf(taskId, comment -> ids.contains(comment.getId()));
     }
-}
\ No newline at end of file
+}
@@ -1,105 +1,78 @@
 package com.railse.hiring.workforcemgmt.repository;
 
-import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.metrics.RepositoryMetrics;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
-import com.railse.hiring.workforcemgmt.model.enums.Priority;
-import com.railse.hiring.workforcemgmt.model.enums.Task;
-import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
+/**
+ * Copy-on-write task store. Every save publishes a new frozen version of the task that is
+ * never modified afterwards, and every read hands out a private copy, so readers never block
+ * and never see a half-applied update or history attached by another caller.
+ */
 @Repository
-public class InMemoryTaskRepository implements TaskRepository {
+@ConditionalOnProperty(prefix = "workforcemgmt", name = "task-store", havingValue = "objects", matchIfMissing = true)
+public class InMemoryTaskRepository extends IndexedTaskRepository {
     private final Map<Long, TaskManagement> taskStore = new ConcurrentHashMap<>();
-    private final AtomicLong idCounter = new AtomicLong(0);
 
     public InMemoryTaskRepository() {
-        // Seed data with start dates
-        long currentTime = System.currentTimeMillis();
-        long oneDayAgo = currentTime - 86400000L; // 1 day ago
-        long twoDaysAgo = currentTime - (2 * 86400000L); // 2 days ago
+        this(new StoreChangePublisher());
+    }
 
-        createSeedTask(101L, ReferenceType.ORDER, Task.CREATE_INVOICE, 1L, TaskStatus.ASSIGNED, Priority.HIGH, oneDayAgo);
-        createSeedTask(101L, ReferenceType.ORDER, Task.ARRANGE_PICKUP, 1L, TaskStatus.COMPLETED, Priority.HIGH, twoDaysAgo);
-        createSeedTask(102L, ReferenceType.ORDER, Task.CREATE_INVOICE, 2L, TaskStatus.ASSIGNED, Priority.MEDIUM, currentTime);
-        createSeedTask(201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 2L, TaskStatus.ASSIGNED, Priority.LOW, oneDayAgo);
-        createSeedTask(201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 3L, TaskStatus.ASSIGNED, Priority.LOW, oneDayAgo); // Duplicate for Bug #1
-        createSeedTask(103L, ReferenceType.ORDER, Task.COLLECT_PAYMENT, 1L, TaskStatus.CANCELLED, Priority.MEDIUM, twoDaysAgo); // For Bug #2
+    public InMemoryTaskRepository(StoreChangePublisher changes) {
+        this(changes, new RepositoryMetrics());
     }
 
-    private void createSeedTask(Long refId, ReferenceType refType, Task task, Long assigneeId,
-                                TaskStatus status, Priority priority, Long startDate) {
-        long newId = idCounter.incrementAndGet();
-        TaskManagement newTask = new TaskManagement();
-        newTask.setId(newId);
-        newTask.setReferenceId(refId);
-        newTask.setReferenceType(refType);
-        newTask.setTask(task);
-        newTask.setAssigneeId(assigneeId);
-        newTask.setStatus(status);
-        newTask.setPriority(priority);
-        newTask.setDescription("This is a seed task.");
-        newTask.setTaskDeadlineTime(System.currentTimeMillis() + 86400000); // 1 day from now
-        newTask.setStartDate(startDate);
-        newTask.setCreatedAt(LocalDateTime.now());
-        newTask.setUpdatedAt(LocalDateTime.now());
-        taskStore.put(newId, newTask);
+    @Autowired
+    public InMemoryTaskRepository(StoreChangePublisher changes, RepositoryMetrics metrics) {
+        super(changes, metrics);
     }
 
     @Override
-    public Optional<TaskManagement> findById(Long id) {
-        return Optional.ofNullable(taskStore.get(id));
+    public long count() {
+        return taskStore.size();
     }
 
     @Override
-    public TaskManagement save(TaskManagement task) {
-        if (task.getId() == null) {
-            task.setId(idCounter.incrementAndGet());
-            task.setCreatedAt(LocalDateTime.now());
-        }
-        task.setUpdatedAt(LocalDateTime.now());
-        taskStore.put(task.getId(), task);
-        return task;
+    TaskManagement stored(Long id) {
+        return taskStore.get(id);
     }
 
     @Override
-    public List<TaskManagement> findAll() {
-        return List.copyOf(taskStore.values());
+    TaskManagement detach(TaskManagement stored) {
+        return stored.copy();
     }
 
+    // compute() holds the lock for this id
     @Override
-    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
-        return taskStore.values().stream()
-                .filter(task -> task.getReferenceId().equals(referenceId) &&
-                        task.getReferenceType().equals(referenceType))
-                .collect(Collectors.toList());
+    void replace(Long id, UnaryOperator<TaskManagement> update) {
+        taskStore.compute(id, (key, existing) -> update.apply(existing));
     }
 
     @Override
-    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
-        return taskStore.values().stream()
-                .filter(task -> assigneeIds.contains(task.getAssigneeId()))
-                .collect(Collectors.toList());
+    void storeNew(List<TaskManagement> versions) {
+        Map<Long, TaskManagement> byId = new HashMap<>();
+        for (TaskManagement version : versions) {
+            byId.put(version.getId(), version);
+        }
+        taskStore.putAll(byId);
     }
 
     @Override
-    public List<TaskManagement> findByPriority(Priority priority) {
-        return taskStore.values().stream()
-                .filter(task -> task.getPriority() == priority)
-                .collect(Collectors.toList());
+    void forEachStored(Consumer<TaskManagement> action) {
+        taskStore.values().forEach(action);
     }
 
     @Override
-    public List<TaskManagement> findByStatus(TaskStatus status) {
-        return taskStore.values().stream()
-                .filter(task -> task.getStatus() == status)
-                .collect(Collectors.toList());
+    void clearStored() {
+        taskStore.clear();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,459 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.exception.StaleVersionException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.metrics.RepositoryCall;
+import com.railse.hiring.workforcemgmt.metrics.RepositoryMetrics;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Everything the task stores share: id allocation, versioning, the secondary indexes and the
+ * queries answered from them. Subclasses only decide how a task's current version is kept.
+ */
+abstract class IndexedTaskRepository implements TaskRepository {
+    private final AtomicLong idCounter = new AtomicLong(0);
+    // Secondary indexes, updated while the task they describe is held exclusively (see replace)
+    private final TaskIndexes indexes = new TaskIndexes();
+    // Bumped after a save is visible, so a reader that sees the new version also sees the task
+    private final AtomicLongArray priorityVersions = new AtomicLongArray(Priority.values().length);
+    private final StoreChangePublisher changes;
+    private final RepositoryMetrics metrics;
+
+    IndexedTaskRepository(StoreChangePublisher changes, RepositoryMetrics metrics) {
+        this.changes = changes;
+        this.metrics = metrics;
+    }
+
+    /** The current version of the task, or null. Shared with other readers: never modify it. */
+    abstract TaskManagement stored(Long id);
+
+    /** A copy of a {@link #stored} version that the caller may modify. */
+    abstract TaskManagement detach(TaskManagement stored);
+
+    /**
+     * Runs {@code update} on the current version (null if there is none) while no other
+     * replace for the same id can run, and stores the version it returns.
+     */
+    abstract void replace(Long id, UnaryOperator<TaskManagement> update);
+
+    /** Stores versions of tasks whose ids no other thread knows yet. */
+    abstract void storeNew(List<TaskManagement> versions);
+
+    abstract void forEachStored(Consumer<TaskManagement> action);
+
+    /** Drops every stored version; {@link #clear} resets the rest. */
+    abstract void clearStored();
+
+    /** Takes {@code count} consecutive unused ids and returns the first. */
+    long allocateIds(long count) {
+        return idCounter.getAndAdd(count) + 1;
+    }
+
+    /** Makes sure ids allocated from now on are above {@code id}, which is already taken. */
+    void observeId(long id) {
+        idCounter.accumulateAndGet(id, Math::max);
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        TaskManagement task = stored(id);
+        metrics.record(RepositoryCall.TASK_FIND_BY_ID, 1, task == null ? 0 : 1);
+        return Optional.ofNullable(task).map(this::detach);
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        if (task.getId() == null) {
+            task.setId(allocateIds(1));
+            task.setCreatedAt(LocalDateTime.now());
+        }
+        task.setUpdatedAt(LocalDateTime.now());
+        boolean gated = changes.beginWrite();
+        try {
+            put(task, true);
+        } finally {
+            changes.endWrite(gated);
+        }
+        metrics.record(RepositoryCall.TASK_SAVE, 1, 1);
+        return task;
+    }
+
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        checkVersions(tasks);
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskManagement> created = new ArrayList<>();
+        List<TaskManagement> updated = new ArrayList<>();
+        for (TaskManagement task : tasks) {
+            (task.getId() == null ? created : updated).add(task);
+        }
+        // One id block for the whole batch instead of one counter increment per task
+        long nextId = allocateIds(created.size());
+        for (TaskManagement task : created) {
+            task.setId(nextId++);
+            task.setCreatedAt(now);
+            task.setVersion(1L);
+        }
+        for (TaskManagement task : tasks) {
+            task.setUpdatedAt(now);
+        }
+
+        boolean gated = changes.beginWrite();
+        try {
+            // New ids are unknown to every other thread, so they can be stored and indexed in bulk
+            List<TaskManagement> frozen = new ArrayList<>(created.size());
+            for (TaskManagement task : created) {
+                frozen.add(task.copy());
+            }
+            storeNew(frozen);
+            indexes.addAll(frozen);
+            frozen.forEach(changes::taskSaved);
+            frozen.forEach(this::bumpPriorityVersion);
+            for (TaskManagement task : updated) {
+                put(task, true);
+            }
+        } finally {
+            changes.endWrite(gated);
+        }
+        metrics.record(RepositoryCall.TASK_SAVE_ALL, tasks.size(), tasks.size());
+        return tasks;
+    }
+
+    /**
+     * Fails the batch before anything is written if a task in it is already behind its stored
+     * version. A save that slips in between can still fail the batch partway, after the tasks ahead
+     * of it are written; callers that need all or nothing hold the tasks' locks, as the service does.
+     */
+    void checkVersions(List<TaskManagement> tasks) {
+        for (TaskManagement task : tasks) {
+            if (task.getId() == null || task.getVersion() == null) {
+                continue;
+            }
+            TaskManagement existing = stored(task.getId());
+            if (existing != null && !task.getVersion().equals(existing.getVersion())) {
+                throw staleVersion(task, existing);
+            }
+        }
+    }
+
+    private static StaleVersionException staleVersion(TaskManagement task, TaskManagement existing) {
+        return new StaleVersionException("Task " + task.getId() + " was modified concurrently: version "
+                + task.getVersion() + " is behind " + existing.getVersion());
+    }
+
+    @Override
+    public long reserveIds(long count) {
+        return allocateIds(count);
+    }
+
+    @Override
+    public long priorityVersion(Priority priority) {
+        return priorityVersions.get(priority.ordinal());
+    }
+
+    @Override
+    public List<TaskManagement> findAllById(Collection<Long> ids) {
+        List<TaskManagement> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TaskManagement task = stored(id);
+            if (task != null) {
+                result.add(detach(task));
+            }
+        }
+        metrics.record(RepositoryCall.TASK_FIND_ALL_BY_ID, ids.size(), result.size());
+        return result;
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        List<TaskManagement> result = new ArrayList<>((int) Math.min(count(), Integer.MAX_VALUE - 8));
+        forEachStored(task -> result.add(detach(task)));
+        metrics.record(RepositoryCall.TASK_FIND_ALL, result.size(), result.size());
+        return result;
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        metrics.call(RepositoryCall.TASK_FIND_BY_REFERENCE);
+        return lookup(RepositoryCall.TASK_FIND_BY_REFERENCE, indexes.idsByReference(referenceId, referenceType),
+                task -> Objects.equals(task.getReferenceId(), referenceId) &&
+                        task.getReferenceType() == referenceType);
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        metrics.call(RepositoryCall.TASK_FIND_BY_ASSIGNEES);
+        List<TaskManagement> result = new ArrayList<>();
+        for (Long assigneeId : new LinkedHashSet<>(assigneeIds)) {
+            result.addAll(lookup(RepositoryCall.TASK_FIND_BY_ASSIGNEES, indexes.idsByAssignee(assigneeId),
+                    task -> Objects.equals(task.getAssigneeId(), assigneeId)));
+        }
+        return result;
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdInAndDateRange(List<Long> assigneeIds, Long startDate, Long endDate) {
+        return drain(dateRange(RepositoryCall.TASK_FIND_BY_DATE_RANGE, assigneeIds, startDate, endDate, null));
+    }
+
+    @Override
+    public Iterator<TaskManagement> iterateByAssigneeIdInAndDateRange(List<Long> assigneeIds, Long startDate,
+                                                                      Long endDate, TimelinePosition after) {
+        return dateRange(RepositoryCall.TASK_ITERATE_BY_DATE_RANGE, assigneeIds, startDate, endDate, after);
+    }
+
+    private Iterator<TaskManagement> dateRange(RepositoryCall call, List<Long> assigneeIds, Long startDate,
+                                               Long endDate, TimelinePosition after) {
+        List<Segment> segments = new ArrayList<>();
+        boolean resumed = after == null;
+        TaskIndexes.DateKey rangeStart = TaskIndexes.DateKey.first(startDate);
+        for (Long assigneeId : new LinkedHashSet<>(assigneeIds)) {
+            if (!resumed) {
+                // Assignees before the cursor's were fully served by earlier pages
+                if (!Objects.equals(assigneeId, after.assigneeId())) continue;
+                resumed = true;
+            }
+            TaskIndexes.AssigneeTimeline timeline = indexes.timeline(assigneeId);
+            if (timeline == null) continue;
+            TaskIndexes.DateKey from = after != null && Objects.equals(assigneeId, after.assigneeId())
+                    ? new TaskIndexes.DateKey(after.startDate(), after.id()) : null;
+
+            // Open tasks that started before the range, then everything non-cancelled inside it.
+            // Both parts are (start date, id) ordered and the first ends where the second begins.
+            if (from == null || from.compareTo(rangeStart) < 0) {
+                NavigableSet<TaskIndexes.DateKey> before = from == null
+                        ? timeline.open.headSet(rangeStart, false)
+                        : timeline.open.subSet(from, false, rangeStart, false);
+                segments.add(new Segment(ids(before),
+                        task -> Objects.equals(task.getAssigneeId(), assigneeId) && TaskIndexes.isOpen(task.getStatus())
+                                && TaskIndexes.effectiveStartDate(task) < startDate));
+            }
+            if (startDate <= endDate) {
+                TaskIndexes.DateKey rangeEnd = TaskIndexes.DateKey.last(endDate);
+                NavigableSet<TaskIndexes.DateKey> inRange;
+                if (from == null || from.compareTo(rangeStart) < 0) {
+                    inRange = timeline.active.subSet(rangeStart, true, rangeEnd, true);
+                } else if (from.compareTo(rangeEnd) < 0) {
+                    inRange = timeline.active.subSet(from, false, rangeEnd, true);
+                } else {
+                    inRange = Collections.emptyNavigableSet();
+                }
+                segments.add(new Segment(ids(inRange),
+                        task -> Objects.equals(task.getAssigneeId(), assigneeId)
+                                && task.getStatus() != TaskStatus.CANCELLED
+                                && TaskIndexes.effectiveStartDate(task) >= startDate
+                                && TaskIndexes.effectiveStartDate(task) <= endDate));
+            }
+        }
+        return new LazyLookup(call, segments.iterator());
+    }
+
+    @Override
+    public List<TaskManagement> findByPriority(Priority priority) {
+        return drain(byPriority(RepositoryCall.TASK_FIND_BY_PRIORITY, priority, null));
+    }
+
+    @Override
+    public Iterator<TaskManagement> iterateByPriority(Priority priority, Long afterId) {
+        return byPriority(RepositoryCall.TASK_ITERATE_BY_PRIORITY, priority, afterId);
+    }
+
+    private Iterator<TaskManagement> byPriority(RepositoryCall call, Priority priority, Long afterId) {
+        NavigableSet<Long> ids = indexes.idsByPriority(priority);
+        if (afterId != null) {
+            ids = ids.tailSet(afterId, false);
+        }
+        Segment segment = new Segment(ids.iterator(), task -> task.getPriority() == priority);
+        return new LazyLookup(call, List.of(segment).iterator());
+    }
+
+    @Override
+    public List<TaskManagement> findByStatus(TaskStatus status) {
+        metrics.call(RepositoryCall.TASK_FIND_BY_STATUS);
+        return lookup(RepositoryCall.TASK_FIND_BY_STATUS, indexes.idsByStatus(status),
+                task -> task.getStatus() == status);
+    }
+
+    @Override
+    public long[] findIdsByStatus(TaskStatus status) {
+        metrics.call(RepositoryCall.TASK_FIND_IDS_BY_STATUS);
+        return indexes.idsByStatus(status).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Override
+    public List<AssigneeWorkload> findWorkloads(Collection<Long> assigneeIds) {
+        List<AssigneeWorkload> result;
+        if (assigneeIds == null) {
+            result = indexes.workloads();
+        } else {
+            result = new ArrayList<>(assigneeIds.size());
+            for (Long assigneeId : new LinkedHashSet<>(assigneeIds)) {
+                result.add(indexes.workload(assigneeId));
+            }
+        }
+        metrics.record(RepositoryCall.TASK_FIND_WORKLOADS, 0, result.size());
+        return result;
+    }
+
+    @Override
+    public Iterator<TaskManagement> iterateWorkQueue(Long assigneeId) {
+        Iterator<Long> ids = indexes.workQueue(assigneeId).stream().map(TaskIndexes.WorkKey::id).iterator();
+        Segment segment = new Segment(ids,
+                task -> Objects.equals(task.getAssigneeId(), assigneeId) && TaskIndexes.isOpen(task.getStatus()));
+        return new LazyLookup(RepositoryCall.TASK_ITERATE_WORK_QUEUE, List.of(segment).iterator());
+    }
+
+    @Override
+    public void restore(TaskManagement task) {
+        observeId(task.getId());
+        put(task, false);
+    }
+
+    @Override
+    public void clear() {
+        clearStored();
+        indexes.clear();
+        idCounter.set(0);
+        // Listings versioned before the clear must not match what is loaded after it
+        for (Priority priority : Priority.values()) {
+            priorityVersions.incrementAndGet(priority.ordinal());
+        }
+    }
+
+    /**
+     * Publishes a frozen copy of the task as its next version. A regular save is a
+     * compare-and-set: if the caller's copy carries a version, it must still be the current one.
+     * Restores keep the version they were persisted with.
+     */
+    private void put(TaskManagement task, boolean publish) {
+        TaskManagement next = task.copy();
+        TaskManagement[] replaced = new TaskManagement[1];
+        // replace() holds the id exclusively, so index moves and published changes
+        // for one task never interleave
+        replace(next.getId(), existing -> {
+            replaced[0] = existing;
+            if (publish) {
+                if (existing != null && task.getVersion() != null
+                        && !task.getVersion().equals(existing.getVersion())) {
+                    throw staleVersion(task, existing);
+                }
+                next.setVersion(existing == null || existing.getVersion() == null ? 1L : existing.getVersion() + 1);
+            } else if (next.getVersion() == null) {
+                next.setVersion(1L);
+            }
+            // The previous version is frozen, so it still holds the values it was indexed under
+            indexes.update(existing, next);
+            if (publish) {
+                changes.taskSaved(next);
+            } else {
+                changes.taskRestored(next);
+            }
+            return next;
+        });
+        task.setVersion(next.getVersion());
+        if (replaced[0] != null && replaced[0].getPriority() != next.getPriority()) {
+            bumpPriorityVersion(replaced[0]);
+        }
+        bumpPriorityVersion(next);
+    }
+
+    private void bumpPriorityVersion(TaskManagement task) {
+        if (task.getPriority() != null) {
+            priorityVersions.incrementAndGet(task.getPriority().ordinal());
+        }
+    }
+
+    // The predicate re-checks each hit: a reader may observe an index entry just before
+    // the save that moves it completes.
+    private List<TaskManagement> lookup(RepositoryCall call, Collection<Long> ids,
+                                        Predicate<TaskManagement> stillMatches) {
+        List<TaskManagement> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TaskManagement task = stored(id);
+            if (task != null && stillMatches.test(task)) {
+                result.add(detach(task));
+            }
+        }
+        metrics.rows(call, ids.size(), result.size());
+        return result;
+    }
+
+    private static Iterator<Long> ids(Collection<TaskIndexes.DateKey> keys) {
+        return keys.stream().map(TaskIndexes.DateKey::id).iterator();
+    }
+
+    private static List<TaskManagement> drain(Iterator<TaskManagement> tasks) {
+        List<TaskManagement> result = new ArrayList<>();
+        tasks.forEachRemaining(result::add);
+        return result;
+    }
+
+    private record Segment(Iterator<Long> ids, Predicate<TaskManagement> stillMatches) {
+    }
+
+    // Resolves index entries to task copies one at a time, so a caller that stops after a page
+    // never touches the rest of the index. Rows are counted as they are resolved.
+    private class LazyLookup implements Iterator<TaskManagement> {
+        private final RepositoryCall call;
+        private final Iterator<Segment> segments;
+        private Segment current;
+        private TaskManagement next;
+        private long scanned;
+
+        LazyLookup(RepositoryCall call, Iterator<Segment> segments) {
+            this.call = call;
+            this.segments = segments;
+            metrics.call(call);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (current == null || !current.ids().hasNext()) {
+                    if (!segments.hasNext()) {
+                        metrics.rows(call, scanned, 0);
+                        scanned = 0;
+                        return false;
+                    }
+                    current = segments.next();
+                    continue;
+                }
+                TaskManagement task = stored(current.ids().next());
+                scanned++;
+                if (task != null && current.stillMatches().test(task)) {
+                    next = detach(task);
+                    metrics.rows(call, scanned, 1);
+                    scanned = 0;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public TaskManagement next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            TaskManagement result = next;
+            next = null;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.metrics.RepositoryCall;
+import com.railse.hiring.workforcemgmt.metrics.RepositoryMetrics;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.stream.LongStream;
+
+/**
+ * Task store split into partitions that share nothing on the write path: each is an
+ * {@link InMemoryTaskRepository} with its own map, indexes and id range. A task lives in the
+ * partition its (reference type, reference id) hashes to, so everything about one reference -
+ * {@code findByReferenceIdAndReferenceType} and the saves of {@code assignByReference} - stays in
+ * one partition. A task whose reference is changed later stays where it is, and its new reference
+ * is remembered as moved: lookups of a moved reference ask every partition.
+ *
+ * <p>Queries that span references run on every partition in parallel, on a fork-join pool plus
+ * the calling thread, and their results are merged into the order a single store returns. The
+ * lazy walks merge on the caller's thread and pull from each partition only as far as needed.
+ *
+ * <p>Ids stay unique across partitions: each takes ranges of {@value #ID_RANGE} ids from a shared
+ * counter and hands them out locally, and a directory of one byte per id maps ids back to their
+ * partition for lookups by id. Partitions record into the shared metrics, so a fanned-out query
+ * counts as one call per partition. Closing the store stops the fork-join pool.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "workforcemgmt", name = "task-store", havingValue = "partitioned")
+public class PartitionedTaskRepository implements TaskRepository, AutoCloseable {
+    private static final int ID_RANGE = 4096;
+    private static final int MAX_PARTITIONS = 64;
+
+    private final AtomicLong idCounter = new AtomicLong(0);
+    private final Directory directory = new Directory();
+    private final Partition[] partitions;
+    private final ForkJoinPool pool;
+    private final RepositoryMetrics metrics;
+    // References that some task holds outside their home partition; only shrinks on clear(), and stays small
+    private final Set<TaskIndexes.ReferenceKey> movedReferences = ConcurrentHashMap.newKeySet();
+
+    public PartitionedTaskRepository() {
+        this(0);
+    }
+
+    public PartitionedTaskRepository(int partitions) {
+        this(new StoreChangePublisher(), new RepositoryMetrics(), partitions);
+    }
+
+    /** @param partitions number of partitions; 0 for one per available processor */
+    @Autowired
+    public PartitionedTaskRepository(StoreChangePublisher changes, RepositoryMetrics metrics,
+                                     @Value("${workforcemgmt.task-store-partitions:0}") int partitions) {
+        if (partitions < 0 || partitions > MAX_PARTITIONS) {
+            throw new IllegalArgumentException("workforcemgmt.task-store-partitions must be 0-" + MAX_PARTITIONS);
+        }
+        int count = partitions > 0 ? partitions
+                : Math.min(Runtime.getRuntime().availableProcessors(), MAX_PARTITIONS);
+        this.partitions = new Partition[count];
+        Arrays.setAll(this.partitions, index -> new Partition(index, changes, metrics));
+        // The calling thread queries one partition itself
+        this.pool = new ForkJoinPool(Math.max(1, count - 1), PartitionedTaskRepository::newWorker, null, false);
+        this.metrics = metrics;
+    }
+
+    public int partitions() {
+        return partitions.length;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        Partition partition = partitionOf(id);
+        if (partition == null) {
+            metrics.record(RepositoryCall.TASK_FIND_BY_ID, 1, 0);
+            return Optional.empty();
+        }
+        return partition.findById(id);
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        return placed(task).save(task);
+    }
+
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        List<List<TaskManagement>> groups = groups();
+        for (TaskManagement task : tasks) {
+            groups.get(placed(task).index).add(task);
+        }
+        // Every partition checks its share first, so a stale task fails the batch before any partition writes
+        for (int index = 0; index < partitions.length; index++) {
+            partitions[index].checkVersions(groups.get(index));
+        }
+        // Saves update the callers' objects in place
+        fanOut(index -> groups.get(index).isEmpty() ? List.of() : partitions[index].saveAll(groups.get(index)));
+        return tasks;
+    }
+
+    @Override
+    public long reserveIds(long count) {
+        return idCounter.getAndAdd(count) + 1;
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (Partition partition : partitions) {
+            count += partition.count();
+        }
+        return count;
+    }
+
+    // Every partition's version only grows, so their sum does too
+    @Override
+    public long priorityVersion(Priority priority) {
+        long version = 0;
+        for (Partition partition : partitions) {
+            version += partition.priorityVersion(priority);
+        }
+        return version;
+    }
+
+    @Override
+    public List<TaskManagement> findAllById(Collection<Long> ids) {
+        List<List<Long>> groups = groups();
+        for (Long id : ids) {
+            Partition partition = partitionOf(id);
+            if (partition != null) {
+                groups.get(partition.index).add(id);
+            }
+        }
+        Map<Long, TaskManagement> found = new HashMap<>();
+        for (List<TaskManagement> tasks : fanOut(index -> groups.get(index).isEmpty() ? List.<TaskManagement>of()
+                : partitions[index].findAllById(groups.get(index)))) {
+            tasks.forEach(task -> found.put(task.getId(), task));
+        }
+        List<TaskManagement> result = new ArrayList<>(found.size());
+        Map<Long, Boolean> handedOut = new HashMap<>();
+        for (Long id : ids) {
+            TaskManagement task = found.get(id);
+            if (task != null) {
+                // An id asked for twice gets two copies, as from a single store
+                result.add(handedOut.put(id, Boolean.TRUE) == null ? task : task.copy());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        return concat(fanOut(index -> partitions[index].findAll()));
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        TaskIndexes.ReferenceKey key = new TaskIndexes.ReferenceKey(referenceType, referenceId);
+        if (movedReferences.isEmpty() || !movedReferences.contains(key)) {
+            return home(referenceId, referenceType).findByReferenceIdAndReferenceType(referenceId, referenceType);
+        }
+        return concat(fanOut(index -> partitions[index].findByReferenceIdAndReferenceType(referenceId, referenceType)));
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        List<TaskManagement> result = concat(fanOut(index -> partitions[index].findByAssigneeIdIn(assigneeIds)));
+        // Grouped by assignee in request order, like a single store
+        Map<Long, Integer> rank = rank(assigneeIds);
+        result.sort(Comparator.comparingInt(task -> rank.getOrDefault(task.getAssigneeId(), Integer.MAX_VALUE)));
+        return result;
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdInAndDateRange(List<Long> assigneeIds, Long startDate, Long endDate) {
+        List<List<TaskManagement>> parts = fanOut(index ->
+                partitions[index].findByAssigneeIdInAndDateRange(assigneeIds, startDate, endDate));
+        return drain(merge(iterators(parts), timelineOrder(assigneeIds)));
+    }
+
+    @Override
+    public Iterator<TaskManagement> iterateByAssigneeIdInAndDateRange(List<Long> assigneeIds, Long startDate,
+                                                                      Long endDate, TimelinePosition after) {
+        List<Iterator<TaskManagement>> parts = new ArrayList<>(partitions.length);
+        for (Partition partition : partitions) {
+            parts.add(partition.iterateByAssigneeIdInAndDateRange(assigneeIds, startDate, endDate, after));
+        }
+        return merge(parts, timelineOrder(assigneeIds));
+    }
+
+    @Override
+    public List<TaskManagement> findByPriority(Priority priority) {
+        List<List<TaskManagement>> parts = fanOut(index -> partitions[index].findByPriority(priority));
+        return drain(merge(iterators(parts), Comparator.comparingLong(TaskManagement::getId)));
+    }
+
+    @Override
+    public Iterator<TaskManagement> iterateByPriority(Priority priority, Long afterId) {
+        List<Iterator<TaskManagement>> parts = new ArrayList<>(partitions.length);
+        for (Partition partition : partitions) {
+            parts.add(partition.iterateByPriority(priority, afterId));
+        }
+        return merge(parts, Comparator.comparingLong(TaskManagement::getId));
+    }
+
+    @Override
+    public List<TaskManagement> findByStatus(TaskStatus status) {
+        return concat(fanOut(index -> partitions[index].findByStatus(status)));
+    }
+
+    @Override
+    public long[] findIdsByStatus(TaskStatus status) {
+        return fanOut(index -> partitions[index].findIdsByStatus(status)).stream()
+                .flatMapToLong(LongStream::of)
+                .toArray();
+    }
+
+    @Override
+    public List<AssigneeWorkload> findWorkloads(Collection<Long> assigneeIds) {
+        // An assignee's tasks may be spread over every partition; add up their counters
+        Map<Long, long[]> totals = new LinkedHashMap<>();
+        for (List<AssigneeWorkload> workloads : fanOut(index -> partitions[index].findWorkloads(assigneeIds))) {
+            for (AssigneeWorkload workload : workloads) {
+                long[] total = totals.computeIfAbsent(workload.assigneeId(), k -> new long[AssigneeWorkload.CELLS]);
+                for (int cell = 0; cell < total.length; cell++) {
+                    total[cell] += workload.counts()[cell];
+                }
+            }
+        }
+        List<AssigneeWorkload> result = new ArrayList<>(totals.size());
+        totals.forEach((assigneeId, counts) -> result.add(new AssigneeWorkload(assigneeId, counts)));
+        return result;
+    }
+
+    @Override
+    public Iterator<TaskManagement> iterateWorkQueue(Long assigneeId) {
+        // An assignee's tasks may be in every partition; each queue is already in work order
+        List<Iterator<TaskManagement>> parts = new ArrayList<>(partitions.length);
+        for (Partition partition : partitions) {
+            parts.add(partition.iterateWorkQueue(assigneeId));
+        }
+        return merge(parts, TaskIndexes.WorkKey.TASK_ORDER);
+    }
+
+    @Override
+    public void restore(TaskManagement task) {
+        placed(task).restore(task);
+    }
+
+    @Override
+    public void clear() {
+        for (Partition partition : partitions) {
+            partition.clear();
+        }
+        directory.clear();
+        movedReferences.clear();
+        idCounter.set(0);
+    }
+
+    /** The partition that holds the task, or the one it belongs in if it is new. */
+    private Partition target(TaskManagement task) {
+        if (task.getId() == null) {
+            return home(task.getReferenceId(), task.getReferenceType());
+        }
+        Partition partition = partitionOf(task.getId());
+        if (partition == null) {
+            // A reserved or restored id seen for the first time
+            partition = home(task.getReferenceId(), task.getReferenceType());
+            directory.assign(task.getId(), task.getId() + 1, partition.index);
+        }
+        return partition;
+    }
+
+    /** {@link #target}, noting a reference the task holds away from its home before the save shows it. */
+    private Partition placed(TaskManagement task) {
+        Partition partition = target(task);
+        if (partition != home(task.getReferenceId(), task.getReferenceType())) {
+            movedReferences.add(new TaskIndexes.ReferenceKey(task.getReferenceType(), task.getReferenceId()));
+        }
+        return partition;
+    }
+
+    private Partition partitionOf(Long id) {
+        int index = directory.get(id);
+        return index < 0 ? null : partitions[index];
+    }
+
+    private Partition home(Long referenceId, ReferenceType referenceType) {
+        // Ordinals rather than enum hash codes, so placement is the same in every run
+        long key = (referenceId == null ? 0 : referenceId) * 31 + (referenceType == null ? -1 : referenceType.ordinal());
+        return partitions[Math.floorMod(Long.hashCode(key * 0x9E3779B97F4A7C15L), partitions.length)];
+    }
+
+    /** Runs the query on every partition, one of them on the calling thread; results in partition order. */
+    private <R> List<R> fanOut(IntFunction<R> query) {
+        if (partitions.length == 1) {
+            return List.of(query.apply(0));
+        }
+        List<ForkJoinTask<R>> forked = new ArrayList<>(partitions.length - 1);
+        for (int i = 1; i < partitions.length; i++) {
+            int index = i;
+            forked.add(pool.submit(() -> query.apply(index)));
+        }
+        List<R> results = new ArrayList<>(partitions.length);
+        results.add(query.apply(0));
+        for (ForkJoinTask<R> task : forked) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    private <T> List<List<T>> groups() {
+        List<List<T>> groups = new ArrayList<>(partitions.length);
+        for (int i = 0; i < partitions.length; i++) {
+            groups.add(new ArrayList<>());
+        }
+        return groups;
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("task-partition-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    private static Map<Long, Integer> rank(List<Long> assigneeIds) {
+        Map<Long, Integer> rank = new HashMap<>();
+        for (Long assigneeId : new LinkedHashSet<>(assigneeIds)) {
+            rank.put(assigneeId, rank.size());
+        }
+        return rank;
+    }
+
+    // Assignee in request order, then (start date, id): how each partition walks the timelines
+    private static Comparator<TaskManagement> timelineOrder(List<Long> assigneeIds) {
+        Map<Long, Integer> rank = rank(assigneeIds);
+        return Comparator.<TaskManagement>comparingInt(task -> rank.getOrDefault(task.getAssigneeId(), Integer.MAX_VALUE))
+                .thenComparingLong(TaskIndexes::effectiveStartDate)
+                .thenComparingLong(TaskManagement::getId);
+    }
+
+    private static List<TaskManagement> concat(List<List<TaskManagement>> parts) {
+        List<TaskManagement> result = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+        parts.forEach(result::addAll);
+        return result;
+    }
+
+    private static List<Iterator<TaskManagement>> iterators(List<List<TaskManagement>> parts) {
+        return parts.stream().map(List::iterator).toList();
+    }
+
+    private static Iterator<TaskManagement> merge(List<Iterator<TaskManagement>> parts,
+                                                  Comparator<TaskManagement> order) {
+        return parts.size() == 1 ? parts.get(0) : new MergedIterator(parts, order);
+    }
+
+    private static List<TaskManagement> drain(Iterator<TaskManagement> tasks) {
+        List<TaskManagement> result = new ArrayList<>();
+        tasks.forEachRemaining(result::add);
+        return result;
+    }
+
+    private final class Partition extends InMemoryTaskRepository {
+        private final int index;
+        // The rest of the range this partition took last: [nextId, rangeEnd)
+        private long nextId;
+        private long rangeEnd;
+
+        Partition(int index, StoreChangePublisher changes, RepositoryMetrics metrics) {
+            super(changes, metrics);
+            this.index = index;
+        }
+
+        @Override
+        synchronized long allocateIds(long count) {
+            if (nextId + count > rangeEnd) {
+                long size = Math.max(ID_RANGE, count);
+                nextId = idCounter.getAndAdd(size) + 1;
+                rangeEnd = nextId + size;
+                // Before any id of the range is handed out, so a task is never stored unlisted
+                directory.assign(nextId, rangeEnd, index);
+            }
+            long first = nextId;
+            nextId += count;
+            return first;
+        }
+
+        @Override
+        public void clear() {
+            super.clear();
+            synchronized (this) {
+                nextId = 0;
+                rangeEnd = 0;
+            }
+        }
+
+        @Override
+        void observeId(long id) {
+            idCounter.accumulateAndGet(id, Math::max);
+            synchronized (this) {
+                if (id >= nextId && id < rangeEnd) {
+                    nextId = id + 1;
+                }
+            }
+        }
+    }
+
+    /** Partition of every id that has been allocated or stored; one byte per id, in chunks. */
+    private static final class Directory {
+        private static final int CHUNK_BITS = 16;
+        private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+        private static final long MAX_ID = Integer.MAX_VALUE;
+        private static final VarHandle ENTRY = MethodHandles.arrayElementVarHandle(byte[].class);
+
+        // Copied on growth; chunks are only dropped all at once, by clear()
+        private volatile byte[][] chunks = new byte[16][];
+
+        /** The partition index, or -1 for an id no partition has seen. */
+        int get(Long id) {
+            if (id == null || id <= 0 || id > MAX_ID) {
+                return -1;
+            }
+            byte[][] directory = chunks;
+            int index = (int) (id >>> CHUNK_BITS);
+            byte[] chunk = index < directory.length ? directory[index] : null;
+            // Entries hold the partition index plus one, so an unset entry reads as -1
+            return chunk == null ? -1 : (byte) ENTRY.getAcquire(chunk, (int) (id & (CHUNK_SIZE - 1))) - 1;
+        }
+
+        synchronized void clear() {
+            chunks = new byte[16][];
+        }
+
+        /** Records {@code partition} for the ids in [from, to). */
+        void assign(long from, long to, int partition) {
+            if (from <= 0 || to - 1 > MAX_ID) {
+                throw new IllegalStateException("Task ids " + from + "-" + (to - 1)
+                        + " are outside what the partitioned store can address");
+            }
+            for (long id = from; id < to; id++) {
+                ENTRY.setRelease(chunk(id), (int) (id & (CHUNK_SIZE - 1)), (byte) (partition + 1));
+            }
+        }
+
+        private byte[] chunk(long id) {
+            int index = (int) (id >>> CHUNK_BITS);
+            byte[][] directory = chunks;
+            if (index < directory.length && directory[index] != null) {
+                return directory[index];
+            }
+            synchronized (this) {
+                directory = chunks;
+                if (index >= directory.length || directory[index] == null) {
+                    directory = Arrays.copyOf(directory, Math.max(directory.length, Integer.highestOneBit(index) * 2));
+                    directory[index] = new byte[CHUNK_SIZE];
+                    chunks = directory;
+                }
+                return directory[index];
+            }
+        }
+    }
+
+    // Merges iterators that are each ordered by the same comparator into one ordered walk
+    private static final class MergedIterator implements Iterator<TaskManagement> {
+        private final PriorityQueue<Head> heads;
+        private List<Iterator<TaskManagement>> unstarted;
+
+        MergedIterator(List<Iterator<TaskManagement>> parts, Comparator<TaskManagement> order) {
+            this.heads = new PriorityQueue<>(Math.max(1, parts.size()), (a, b) -> order.compare(a.task(), b.task()));
+            this.unstarted = parts;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (unstarted != null) {
+                unstarted.forEach(this::advance);
+                unstarted = null;
+            }
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public TaskManagement next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Head head = heads.poll();
+            advance(head.rest());
+            return head.task();
+        }
+
+        private void advance(Iterator<TaskManagement> part) {
+            if (part.hasNext()) {
+                heads.add(new Head(part.next(), part));
+            }
+        }
+
+        private record Head(TaskManagement task, Iterator<TaskManagement> rest) {
+        }
+    }
+}
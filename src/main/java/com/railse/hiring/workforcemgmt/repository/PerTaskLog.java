@@ -0,0 +1,194 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Append-only history entries grouped by task id, each group kept in timestamp order,
+ * so reading one task's history never touches the history of any other task.
+ */
+class PerTaskLog<T> {
+    private final Map<Long, List<T>> byTask = new ConcurrentHashMap<>();
+    private final Comparator<T> order;
+    private final LongAdder size = new LongAdder();
+
+    PerTaskLog(Comparator<T> order) {
+        this.order = order;
+    }
+
+    void append(Long taskId, T entry, Consumer<T> inOrder) {
+        withEntries(taskId, entries -> {
+            insert(entries, entry);
+            inOrder.accept(entry);
+        });
+    }
+
+    void appendAll(Long taskId, List<T> added, Consumer<T> inOrder) {
+        withEntries(taskId, entries -> {
+            for (T entry : added) {
+                insert(entries, entry);
+                inOrder.accept(entry);
+            }
+        });
+    }
+
+    /**
+     * Appends unless an entry matching {@code duplicate} is already present. Used when
+     * replaying logs that may overlap a snapshot; costs one pass over the task's history.
+     */
+    void appendIfAbsent(Long taskId, T entry, Predicate<T> duplicate) {
+        withEntries(taskId, entries -> {
+            for (T existing : entries) {
+                if (duplicate.test(existing)) {
+                    return;
+                }
+            }
+            insert(entries, entry);
+        });
+    }
+
+    // Runs under the lock of the task's list; retries if removeIf dropped the list meanwhile
+    private void withEntries(Long taskId, Consumer<List<T>> action) {
+        while (true) {
+            List<T> entries = byTask.computeIfAbsent(taskId, k -> new ArrayList<>());
+            synchronized (entries) {
+                if (byTask.get(taskId) == entries) {
+                    action.accept(entries);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the task's entries matching {@code filter} and returns how many were removed.
+     * A task left without entries is dropped from the map rather than kept as an empty list.
+     */
+    int removeIf(Long taskId, Predicate<T> filter) {
+        List<T> entries = byTask.get(taskId);
+        if (entries == null) {
+            return 0;
+        }
+        synchronized (entries) {
+            int before = entries.size();
+            entries.removeIf(filter);
+            int removed = before - entries.size();
+            size.add(-removed);
+            if (entries.isEmpty()) {
+                byTask.remove(taskId, entries);
+            } else if (removed > 0) {
+                ((ArrayList<T>) entries).trimToSize();
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * Archived and in-memory entries of one task as a single history in {@code order}. An entry
+     * is briefly in both tiers while it is being archived, so equal ids are kept once.
+     */
+    static <T> List<T> merged(List<T> archived, List<T> recent, Comparator<T> order, ToLongFunction<T> id) {
+        if (archived.isEmpty()) {
+            return recent;
+        }
+        List<T> all = new ArrayList<>(archived.size() + recent.size());
+        all.addAll(archived);
+        all.addAll(recent);
+        all.sort(order.thenComparingLong(id));
+        List<T> result = new ArrayList<>(all.size());
+        for (T entry : all) {
+            if (result.isEmpty() || id.applyAsLong(result.get(result.size() - 1)) != id.applyAsLong(entry)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private void insert(List<T> entries, T entry) {
+        // Timestamps are taken before the lock, so a concurrent writer can be a few
+        // entries ahead; walk back from the tail instead of sorting on every read
+        int position = entries.size();
+        while (position > 0 && order.compare(entries.get(position - 1), entry) > 0) {
+            position--;
+        }
+        entries.add(position, entry);
+        size.increment();
+    }
+
+    long size() {
+        return size.sum();
+    }
+
+    // Appends racing this land in a list it no longer holds and retry (see withEntries)
+    void clear() {
+        byTask.clear();
+        size.reset();
+    }
+
+    List<T> findByTaskId(Long taskId) {
+        List<T> entries = byTask.get(taskId);
+        if (entries == null) {
+            return new ArrayList<>();
+        }
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    /**
+     * Up to {@code limit} entries that sort after {@code after} (from the start when null),
+     * found by binary search rather than by skipping over the earlier entries.
+     */
+    List<T> findByTaskIdAfter(Long taskId, T after, int limit) {
+        List<T> entries = byTask.get(taskId);
+        if (entries == null) {
+            return new ArrayList<>();
+        }
+        synchronized (entries) {
+            return page(entries, after, limit, order);
+        }
+    }
+
+    static <T> List<T> page(List<T> entries, T after, int limit, Comparator<T> order) {
+        int from = 0;
+        if (after != null) {
+            int found = Collections.binarySearch(entries, after, order);
+            from = found >= 0 ? found + 1 : -(found + 1);
+        }
+        int to = (int) Math.min(entries.size(), (long) from + limit);
+        return new ArrayList<>(entries.subList(from, to));
+    }
+
+    // Reads the task's entries in place under its lock, without copying them
+    HistoryVersion version(Long taskId, ToLongFunction<T> id) {
+        List<T> entries = byTask.get(taskId);
+        if (entries == null) {
+            return HistoryVersion.EMPTY;
+        }
+        synchronized (entries) {
+            long maxId = 0;
+            for (T entry : entries) {
+                maxId = Math.max(maxId, id.applyAsLong(entry));
+            }
+            return new HistoryVersion(entries.size(), maxId);
+        }
+    }
+
+    void forEach(Consumer<T> action) {
+        for (List<T> entries : byTask.values()) {
+            List<T> copy;
+            synchronized (entries) {
+                copy = new ArrayList<>(entries);
+            }
+            copy.forEach(action);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+/**
+ * Receives every mutation applied to the in-memory repositories.
+ * The on*Saved callbacks run inside the store's critical section for the record, in the
+ * order the store applied them, and must not block. {@link #afterCommit()} runs on the
+ * same thread once the critical section is left and may wait (e.g. for an fsync).
+ */
+public interface StoreChangeListener {
+    default void onTaskSaved(TaskManagement task) {}
+
+    // A task loaded as-is by a restore (recovery, replication); not a change to log again
+    default void onTaskRestored(TaskManagement task) {}
+
+    default void onActivitySaved(TaskActivity activity) {}
+
+    default void onCommentSaved(TaskComment comment) {}
+
+    // Every store was emptied, to be loaded again from scratch; forget whatever was derived from them
+    default void onStoresCleared() {}
+
+    default void afterCommit() {}
+}
@@ -0,0 +1,131 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.exception.ReadOnlyException;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fans repository mutations out to registered {@link StoreChangeListener}s.
+ * Writes run between {@link #beginWrite()} and {@link #endWrite(boolean)}; {@link #barrier}
+ * waits for in-flight writes and holds new ones back, which lets a checkpoint pick a point
+ * where every published change is also visible in the stores. The gate is striped by thread, so
+ * writers only share a lock word with the few threads on their stripe; a barrier takes every
+ * stripe. Once {@link #rejectWrites} is called, every write fails before it changes anything;
+ * restores still go through.
+ */
+@Component
+public class StoreChangePublisher {
+    private final List<StoreChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantReadWriteLock[] writeGates;
+    private final int gateMask;
+    private volatile String readOnlyReason;
+
+    public StoreChangePublisher() {
+        // At least two stripes per core, so concurrent writers rarely share one
+        int stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1);
+        this.writeGates = new ReentrantReadWriteLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            writeGates[i] = new ReentrantReadWriteLock();
+        }
+        this.gateMask = stripes - 1;
+    }
+
+    public void addListener(StoreChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(StoreChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void rejectWrites(String reason) {
+        readOnlyReason = reason;
+    }
+
+    public boolean acceptsWrites() {
+        return readOnlyReason == null;
+    }
+
+    /**
+     * @return whether the write gate was taken; pass the value back to {@link #endWrite}
+     * @throws ReadOnlyException once writes are rejected
+     */
+    public boolean beginWrite() {
+        String reason = readOnlyReason;
+        if (reason != null) {
+            throw new ReadOnlyException(reason);
+        }
+        if (listeners.isEmpty()) {
+            return false;
+        }
+        gate().readLock().lock();
+        return true;
+    }
+
+    public void endWrite(boolean gated) {
+        if (!gated) {
+            return;
+        }
+        gate().readLock().unlock();
+        for (StoreChangeListener listener : listeners) {
+            listener.afterCommit();
+        }
+    }
+
+    public void barrier(Runnable action) {
+        // Always in stripe order, so concurrent barriers cannot deadlock
+        for (ReentrantReadWriteLock gate : writeGates) {
+            gate.writeLock().lock();
+        }
+        try {
+            action.run();
+        } finally {
+            for (int i = writeGates.length - 1; i >= 0; i--) {
+                writeGates[i].writeLock().unlock();
+            }
+        }
+    }
+
+    // Begin and end of a write run on the same thread, so both find the same stripe
+    private ReentrantReadWriteLock gate() {
+        long id = Thread.currentThread().getId();
+        return writeGates[(int) (id ^ (id >>> 32)) & gateMask];
+    }
+
+    /** Tells every listener that the stores were just emptied. */
+    public void storesCleared() {
+        for (StoreChangeListener listener : listeners) {
+            listener.onStoresCleared();
+        }
+    }
+
+    void taskSaved(TaskManagement task) {
+        for (StoreChangeListener listener : listeners) {
+            listener.onTaskSaved(task);
+        }
+    }
+
+    void taskRestored(TaskManagement task) {
+        for (StoreChangeListener listener : listeners) {
+            listener.onTaskRestored(task);
+        }
+    }
+
+    void activitySaved(TaskActivity activity) {
+        for (StoreChangeListener listener : listeners) {
+            listener.onActivitySaved(activity);
+        }
+    }
+
+    void commentSaved(TaskComment comment) {
+        for (StoreChangeListener listener : listeners) {
+            listener.onCommentSaved(comment);
+        }
+    }
+}
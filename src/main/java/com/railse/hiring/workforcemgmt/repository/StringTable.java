@@ -0,0 +1,141 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only table of distinct strings, kept as length-prefixed UTF-8 in one byte arena.
+ * A string's id is its offset, so ids stay valid for the life of the table; strings that are
+ * no longer referenced are not reclaimed. Id 0 stands for null.
+ *
+ * <p>Interning is serialized; {@link #get} takes no lock. A reader must have learned the id
+ * through a happens-before edge with the {@link #intern} that returned it.
+ */
+final class StringTable {
+    private static final int NULL_ID = 0;
+
+    private volatile byte[] arena = new byte[1 << 16];
+    // Offset 0 is the null id
+    private int used = 1;
+    // Open addressing over string offsets, at most half full; 0 is an empty slot
+    private int[] slots = new int[1 << 12];
+    private int count;
+
+    synchronized int intern(String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int mask = slots.length - 1;
+        int slot = hash(bytes) & mask;
+        for (int id; (id = slots[slot]) != NULL_ID; slot = (slot + 1) & mask) {
+            if (matches(id, bytes)) {
+                return id;
+            }
+        }
+        int id = append(bytes);
+        slots[slot] = id;
+        if (++count * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    String get(int id) {
+        if (id == NULL_ID) {
+            return null;
+        }
+        byte[] bytes = arena;
+        int length = lengthAt(bytes, id);
+        return new String(bytes, id + headerSize(length), length, StandardCharsets.UTF_8);
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    /** Heap held by the arena and the dedup slots. */
+    synchronized long footprintBytes() {
+        return (long) arena.length + 4L * slots.length;
+    }
+
+    private boolean matches(int id, byte[] bytes) {
+        byte[] stored = arena;
+        int length = lengthAt(stored, id);
+        int offset = id + headerSize(length);
+        return length == bytes.length
+                && Arrays.equals(stored, offset, offset + length, bytes, 0, bytes.length);
+    }
+
+    private int append(byte[] bytes) {
+        int needed = used + headerSize(bytes.length) + bytes.length;
+        if (needed < 0 || needed > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("String table is full");
+        }
+        byte[] stored = arena;
+        if (needed > stored.length) {
+            long grown = Math.max(needed, 2L * stored.length);
+            stored = Arrays.copyOf(stored, (int) Math.min(grown, Integer.MAX_VALUE - 8));
+        }
+        int id = used;
+        int offset = id;
+        int length = bytes.length;
+        while (length >= 0x80) {
+            stored[offset++] = (byte) (length | 0x80);
+            length >>>= 7;
+        }
+        stored[offset++] = (byte) length;
+        System.arraycopy(bytes, 0, stored, offset, bytes.length);
+        used = offset + bytes.length;
+        // Published after the bytes are in place, so a reader of the new arena sees them
+        arena = stored;
+        return id;
+    }
+
+    private void rehash() {
+        int[] grown = new int[slots.length * 2];
+        int mask = grown.length - 1;
+        byte[] stored = arena;
+        for (int id : slots) {
+            if (id == NULL_ID) continue;
+            int length = lengthAt(stored, id);
+            int slot = hash(stored, id + headerSize(length), length) & mask;
+            while (grown[slot] != NULL_ID) {
+                slot = (slot + 1) & mask;
+            }
+            grown[slot] = id;
+        }
+        slots = grown;
+    }
+
+    // Lengths are stored as base-128 varints, one byte for anything shorter than 128 bytes
+    private static int lengthAt(byte[] bytes, int id) {
+        int length = 0;
+        for (int offset = id, shift = 0; ; shift += 7) {
+            byte b = bytes[offset++];
+            length |= (b & 0x7f) << shift;
+            if (b >= 0) return length;
+        }
+    }
+
+    private static int headerSize(int length) {
+        int size = 1;
+        while ((length >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    private static int hash(byte[] bytes) {
+        return hash(bytes, 0, bytes.length);
+    }
+
+    private static int hash(byte[] bytes, int from, int length) {
+        int h = 1;
+        for (int i = from; i < from + length; i++) {
+            h = 31 * h + bytes[i];
+        }
+        // Spread the low bits used for the slot index
+        return h ^ (h >>> 16);
+    }
+}
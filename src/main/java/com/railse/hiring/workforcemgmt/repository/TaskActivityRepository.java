@@ -1,9 +1,28 @@
 package com.railse.hiring.workforcemgmt.repository;
 
 import com.railse.hiring.workforcemgmt.model.TaskActivity;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskActivityRepository {
     TaskActivity save(TaskActivity activity);
+    List<TaskActivity> saveAll(List<TaskActivity> activities);
+
+    // Hands out a block of ids ahead of the save and returns the first; saves keep ids already set
+    long reserveIds(long count);
+    long count();
+    HistoryVersion historyVersion(Long taskId);
     List<TaskActivity> findByTaskIdOrderByTimestamp(Long taskId);
+
+    // Keyset page of a task's history in (timestamp, id) order, after the given entry (null for the first page)
+    List<TaskActivity> findByTaskIdAfter(Long taskId, LocalDateTime afterTimestamp, Long afterId, int limit);
+
+    // Loads a persisted activity as-is (id and timestamp kept), without publishing a change
+    void restore(TaskActivity activity);
+    void forEach(Consumer<TaskActivity> action);
+
+    // Drops every in-memory entry and starts ids over, without publishing a change (see TaskRepository.clear)
+    void clear();
 }
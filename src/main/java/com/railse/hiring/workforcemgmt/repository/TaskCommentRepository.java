@@ -2,8 +2,22 @@ package com.railse.hiring.workforcemgmt.repository;
 
 import com.railse.hiring.workforcemgmt.model.TaskComment;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskCommentRepository {
     TaskComment save(TaskComment comment);
+    List<TaskComment> saveAll(List<TaskComment> comments);
+
+    // Hands out a block of ids ahead of the save and returns the first; saves keep ids already set
+    long reserveIds(long count);
+    long count();
+    HistoryVersion historyVersion(Long taskId);
     List<TaskComment> findByTaskIdOrderByTimestamp(Long taskId);
-}
\ No newline at end of file
+
+    // Loads a persisted comment as-is (id and timestamp kept), without publishing a change
+    void restore(TaskComment comment);
+    void forEach(Consumer<TaskComment> action);
+
+    // Drops every in-memory entry and starts ids over, without publishing a change (see TaskRepository.clear)
+    void clear();
+}
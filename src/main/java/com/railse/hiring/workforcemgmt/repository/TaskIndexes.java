@@ -0,0 +1,335 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Secondary indexes (field value -> task ids) kept next to a task store.
+ * Callers must serialize {@link #update} calls for the same task id.
+ */
+class TaskIndexes {
+    private final Map<Long, Set<Long>> byAssignee = new ConcurrentHashMap<>();
+    private final Map<ReferenceKey, Set<Long>> byReference = new ConcurrentHashMap<>();
+    // Ordered by id so listings by priority can be paged by keyset
+    private final Map<Priority, NavigableSet<Long>> byPriority = new EnumMap<>(Priority.class);
+    private final Map<TaskStatus, Set<Long>> byStatus = new EnumMap<>(TaskStatus.class);
+    private final Map<Long, AssigneeTimeline> timelines = new ConcurrentHashMap<>();
+    // Per assignee, task counts by status x priority x task type (see AssigneeWorkload.cell)
+    private final Map<Long, AtomicLongArray> workloads = new ConcurrentHashMap<>();
+    // Per assignee, open tasks in work order (see WorkKey)
+    private final Map<Long, NavigableSet<WorkKey>> workQueues = new ConcurrentHashMap<>();
+
+    TaskIndexes() {
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, new ConcurrentSkipListSet<>());
+        }
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    void clear() {
+        byAssignee.clear();
+        byReference.clear();
+        byPriority.values().forEach(Set::clear);
+        byStatus.values().forEach(Set::clear);
+        timelines.clear();
+        workloads.clear();
+        workQueues.clear();
+    }
+
+    /**
+     * Moves the task between index buckets for every indexed field that changed.
+     *
+     * @param previousVersion the stored version being replaced, or null for a new task
+     */
+    void update(TaskManagement previousVersion, TaskManagement task) {
+        IndexedFields previous = previousVersion == null ? null : IndexedFields.of(previousVersion);
+        IndexedFields current = IndexedFields.of(task);
+        Long id = task.getId();
+
+        if (previous == null || !Objects.equals(previous.assigneeId(), current.assigneeId())) {
+            if (previous != null) remove(byAssignee, previous.assigneeId(), id);
+            add(byAssignee, current.assigneeId(), id);
+        }
+        if (previous == null || !Objects.equals(previous.reference(), current.reference())) {
+            if (previous != null) remove(byReference, previous.reference(), id);
+            add(byReference, current.reference(), id);
+        }
+        if (previous == null || previous.priority() != current.priority()) {
+            if (previous != null && previous.priority() != null) byPriority.get(previous.priority()).remove(id);
+            if (current.priority() != null) byPriority.get(current.priority()).add(id);
+        }
+        if (previous == null || previous.status() != current.status()) {
+            if (previous != null && previous.status() != null) byStatus.get(previous.status()).remove(id);
+            if (current.status() != null) byStatus.get(current.status()).add(id);
+        }
+        if (previous == null || !Objects.equals(previous.assigneeId(), current.assigneeId())
+                || previous.startDate() != current.startDate() || previous.status() != current.status()) {
+            if (previous != null) unlink(previous, id);
+            link(current, id);
+        }
+        if (previous == null || !previous.sameWorkloadCell(current)) {
+            if (previous != null) count(previous, -1);
+            count(current, 1);
+        }
+        if (previous == null || !previous.sameWorkKey(current)) {
+            if (previous != null) dequeue(previous, id);
+            enqueue(current, id);
+        }
+    }
+
+    /**
+     * Indexes tasks that were never indexed and are not yet visible to other writers,
+     * grouping ids by bucket so every bucket is touched once per batch.
+     */
+    void addAll(List<TaskManagement> tasks) {
+        List<IndexedFields> fields = new ArrayList<>(tasks.size());
+        Map<Long, List<Long>> assignees = new HashMap<>();
+        Map<ReferenceKey, List<Long>> references = new HashMap<>();
+        Map<Priority, List<Long>> priorities = new EnumMap<>(Priority.class);
+        Map<TaskStatus, List<Long>> statuses = new EnumMap<>(TaskStatus.class);
+        Map<Long, List<Integer>> timelineEntries = new HashMap<>();
+        for (TaskManagement task : tasks) {
+            IndexedFields current = IndexedFields.of(task);
+            fields.add(current);
+            count(current, 1);
+            Long id = task.getId();
+            enqueue(current, id);
+            if (current.assigneeId() != null) assignees.computeIfAbsent(current.assigneeId(), k -> new ArrayList<>()).add(id);
+            if (current.reference() != null) references.computeIfAbsent(current.reference(), k -> new ArrayList<>()).add(id);
+            if (current.priority() != null) priorities.computeIfAbsent(current.priority(), k -> new ArrayList<>()).add(id);
+            if (current.status() != null) statuses.computeIfAbsent(current.status(), k -> new ArrayList<>()).add(id);
+            if (current.assigneeId() != null && current.status() != TaskStatus.CANCELLED) {
+                timelineEntries.computeIfAbsent(current.assigneeId(), k -> new ArrayList<>()).add(fields.size() - 1);
+            }
+        }
+        assignees.forEach((key, ids) -> add(byAssignee, key, ids));
+        references.forEach((key, ids) -> add(byReference, key, ids));
+        priorities.forEach((key, ids) -> byPriority.get(key).addAll(ids));
+        statuses.forEach((key, ids) -> byStatus.get(key).addAll(ids));
+        timelineEntries.forEach((assigneeId, positions) -> {
+            AssigneeTimeline timeline = timelines.computeIfAbsent(assigneeId, k -> new AssigneeTimeline());
+            for (int position : positions) {
+                IndexedFields current = fields.get(position);
+                DateKey key = new DateKey(current.startDate(), tasks.get(position).getId());
+                timeline.active.add(key);
+                if (isOpen(current.status())) timeline.open.add(key);
+            }
+        });
+    }
+
+    Set<Long> idsByAssignee(Long assigneeId) {
+        return assigneeId == null ? Collections.emptySet() : view(byAssignee.get(assigneeId));
+    }
+
+    Set<Long> idsByReference(Long referenceId, ReferenceType referenceType) {
+        return view(byReference.get(new ReferenceKey(referenceType, referenceId)));
+    }
+
+    NavigableSet<Long> idsByPriority(Priority priority) {
+        return priority == null ? Collections.emptyNavigableSet() : byPriority.get(priority);
+    }
+
+    Set<Long> idsByStatus(TaskStatus status) {
+        return status == null ? Collections.emptySet() : byStatus.get(status);
+    }
+
+    /**
+     * Non-cancelled tasks of the assignee ordered by (start date, id). Only ASSIGNED and
+     * STARTED tasks appear in the open set, so cancelled history is never visited.
+     */
+    AssigneeTimeline timeline(Long assigneeId) {
+        return assigneeId == null ? null : timelines.get(assigneeId);
+    }
+
+    /** Counts of every assignee that has ever had a countable task, in no particular order. */
+    List<AssigneeWorkload> workloads() {
+        List<AssigneeWorkload> result = new ArrayList<>(workloads.size());
+        workloads.forEach((assigneeId, counts) -> result.add(snapshot(assigneeId, counts)));
+        return result;
+    }
+
+    AssigneeWorkload workload(Long assigneeId) {
+        AtomicLongArray counts = assigneeId == null ? null : workloads.get(assigneeId);
+        return counts == null ? new AssigneeWorkload(assigneeId, new long[AssigneeWorkload.CELLS])
+                : snapshot(assigneeId, counts);
+    }
+
+    /** Open tasks of the assignee, next to work on first. */
+    NavigableSet<WorkKey> workQueue(Long assigneeId) {
+        NavigableSet<WorkKey> queue = assigneeId == null ? null : workQueues.get(assigneeId);
+        return queue == null ? Collections.emptyNavigableSet() : queue;
+    }
+
+    private void enqueue(IndexedFields fields, Long id) {
+        if (fields.assigneeId() == null || !isOpen(fields.status())) return;
+        workQueues.computeIfAbsent(fields.assigneeId(), k -> new ConcurrentSkipListSet<>()).add(fields.workKey(id));
+    }
+
+    private void dequeue(IndexedFields fields, Long id) {
+        if (fields.assigneeId() == null || !isOpen(fields.status())) return;
+        workQueue(fields.assigneeId()).remove(fields.workKey(id));
+    }
+
+    private void count(IndexedFields fields, int delta) {
+        if (fields.assigneeId() == null || fields.status() == null || fields.priority() == null
+                || fields.task() == null) return;
+        workloads.computeIfAbsent(fields.assigneeId(), k -> new AtomicLongArray(AssigneeWorkload.CELLS))
+                .addAndGet(AssigneeWorkload.cell(fields.status(), fields.priority(), fields.task()), delta);
+    }
+
+    private static AssigneeWorkload snapshot(Long assigneeId, AtomicLongArray counts) {
+        long[] copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new AssigneeWorkload(assigneeId, copy);
+    }
+
+    private void link(IndexedFields fields, Long id) {
+        if (fields.assigneeId() == null || fields.status() == TaskStatus.CANCELLED) return;
+        AssigneeTimeline timeline = timelines.computeIfAbsent(fields.assigneeId(), k -> new AssigneeTimeline());
+        DateKey key = new DateKey(fields.startDate(), id);
+        timeline.active.add(key);
+        if (isOpen(fields.status())) timeline.open.add(key);
+    }
+
+    private void unlink(IndexedFields fields, Long id) {
+        AssigneeTimeline timeline = timeline(fields.assigneeId());
+        if (timeline == null) return;
+        DateKey key = new DateKey(fields.startDate(), id);
+        timeline.active.remove(key);
+        timeline.open.remove(key);
+    }
+
+    static boolean isOpen(TaskStatus status) {
+        return status == TaskStatus.ASSIGNED || status == TaskStatus.STARTED;
+    }
+
+    /** Start date used by the date view: startDate, falling back to createdAt (UTC). */
+    static long effectiveStartDate(TaskManagement task) {
+        if (task.getStartDate() != null) return task.getStartDate();
+        return task.getCreatedAt() == null ? 0L : task.getCreatedAt().toEpochSecond(ZoneOffset.UTC) * 1000;
+    }
+
+    private static <K> void add(Map<K, Set<Long>> index, K key, Long id) {
+        add(index, key, List.of(id));
+    }
+
+    private static <K> void add(Map<K, Set<Long>> index, K key, Collection<Long> added) {
+        if (key == null) return;
+        index.compute(key, (k, ids) -> {
+            Set<Long> bucket = ids != null ? ids : ConcurrentHashMap.<Long>newKeySet();
+            bucket.addAll(added);
+            return bucket;
+        });
+    }
+
+    private static <K> void remove(Map<K, Set<Long>> index, K key, Long id) {
+        if (key == null) return;
+        // Both add and remove run inside compute, so an emptied bucket is never dropped
+        // while another thread is adding to it
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static Set<Long> view(Set<Long> ids) {
+        return ids == null ? Collections.emptySet() : ids;
+    }
+
+    record ReferenceKey(ReferenceType referenceType, Long referenceId) {
+    }
+
+    record DateKey(long startDate, long id) implements Comparable<DateKey> {
+        static DateKey first(long startDate) {
+            return new DateKey(startDate, Long.MIN_VALUE);
+        }
+
+        static DateKey last(long startDate) {
+            return new DateKey(startDate, Long.MAX_VALUE);
+        }
+
+        @Override
+        public int compareTo(DateKey other) {
+            int byDate = Long.compare(startDate, other.startDate);
+            return byDate != 0 ? byDate : Long.compare(id, other.id);
+        }
+    }
+
+    /**
+     * Position of an open task in its assignee's work queue: highest priority first, then the
+     * earliest deadline (tasks without one last), then the earliest start date, then id.
+     */
+    record WorkKey(int priorityRank, long deadline, long startDate, long id) implements Comparable<WorkKey> {
+        static final Comparator<TaskManagement> TASK_ORDER = Comparator.comparing(WorkKey::of);
+
+        static WorkKey of(TaskManagement task) {
+            return IndexedFields.of(task).workKey(task.getId());
+        }
+
+        @Override
+        public int compareTo(WorkKey other) {
+            int byPriority = Integer.compare(priorityRank, other.priorityRank);
+            if (byPriority != 0) return byPriority;
+            int byDeadline = Long.compare(deadline, other.deadline);
+            if (byDeadline != 0) return byDeadline;
+            int byDate = Long.compare(startDate, other.startDate);
+            return byDate != 0 ? byDate : Long.compare(id, other.id);
+        }
+    }
+
+    static class AssigneeTimeline {
+        final NavigableSet<DateKey> active = new ConcurrentSkipListSet<>();
+        final NavigableSet<DateKey> open = new ConcurrentSkipListSet<>();
+    }
+
+    /** Values of the indexed fields of one task version. */
+    record IndexedFields(Long assigneeId, ReferenceKey reference, Priority priority, TaskStatus status,
+                         long startDate, Task task, Long deadline) {
+        static IndexedFields of(TaskManagement task) {
+            ReferenceKey reference = task.getReferenceId() == null && task.getReferenceType() == null
+                    ? null : new ReferenceKey(task.getReferenceType(), task.getReferenceId());
+            return new IndexedFields(task.getAssigneeId(), reference, task.getPriority(), task.getStatus(),
+                    effectiveStartDate(task), task.getTask(), task.getTaskDeadlineTime());
+        }
+
+        WorkKey workKey(Long id) {
+            // Unprioritised tasks rank after LOW
+            int rank = priority == null ? Priority.values().length : Priority.values().length - 1 - priority.ordinal();
+            return new WorkKey(rank, deadline == null ? Long.MAX_VALUE : deadline, startDate, id);
+        }
+
+        boolean sameWorkKey(IndexedFields other) {
+            return Objects.equals(assigneeId, other.assigneeId) && status == other.status
+                    && priority == other.priority && Objects.equals(deadline, other.deadline)
+                    && startDate == other.startDate;
+        }
+
+        boolean sameWorkloadCell(IndexedFields other) {
+            return Objects.equals(assigneeId, other.assigneeId) && status == other.status
+                    && priority == other.priority && task == other.task;
+        }
+    }
+}
@@ -5,15 +5,66 @@ import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
 public interface TaskRepository {
     Optional<TaskManagement> findById(Long id);
     TaskManagement save(TaskManagement task);
+
+    // Checks every task's version before the first write; at most one copy of a task per batch
+    List<TaskManagement> saveAll(List<TaskManagement> tasks);
+
+    // Hands out a block of ids ahead of the save and returns the first; saves keep ids already set
+    long reserveIds(long count);
+    long count();
+
+    // Grows whenever a task of the priority is saved or moves to another one; versions listings by priority
+    long priorityVersion(Priority priority);
+    List<TaskManagement> findAllById(Collection<Long> ids);
     List<TaskManagement> findAll();
     List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType);
     List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds);
+
+    /**
+     * Non-cancelled tasks of the assignees that start within [startDate, endDate], plus
+     * ASSIGNED/STARTED tasks that started before startDate. Start date falls back to createdAt.
+     */
+    List<TaskManagement> findByAssigneeIdInAndDateRange(List<Long> assigneeIds, Long startDate, Long endDate);
+
+    /**
+     * Lazily walks the same tasks as {@link #findByAssigneeIdInAndDateRange}, assignee by assignee
+     * in request order and by (start date, id) within an assignee, resuming right after
+     * {@code after} (null to start at the beginning). Resuming is a seek, not a scan.
+     */
+    Iterator<TaskManagement> iterateByAssigneeIdInAndDateRange(List<Long> assigneeIds, Long startDate, Long endDate,
+                                                               TimelinePosition after);
+
+    // Ordered by id
     List<TaskManagement> findByPriority(Priority priority);
+
+    // Lazily walks tasks of the priority in id order, starting after afterId (null to start at the beginning)
+    Iterator<TaskManagement> iterateByPriority(Priority priority, Long afterId);
     List<TaskManagement> findByStatus(TaskStatus status);
+
+    // Ids only, read off the status index without copying a task; in no particular order
+    long[] findIdsByStatus(TaskStatus status);
+
+    // Counters kept up to date by every save, so this reads no tasks; null assigneeIds for every assignee
+    List<AssigneeWorkload> findWorkloads(Collection<Long> assigneeIds);
+
+    /**
+     * Lazily walks the assignee's open (ASSIGNED/STARTED) tasks in work order: highest priority
+     * first, then the earliest deadline (tasks without one last), then the earliest start date,
+     * then id. Served from a per-assignee ordered index, so the first task is a seek, not a sort.
+     */
+    Iterator<TaskManagement> iterateWorkQueue(Long assigneeId);
+
+    // Loads a persisted task as-is (id and timestamps kept), without publishing a change
+    void restore(TaskManagement task);
+
+    // Drops every task and starts ids over, without publishing a change; for a follower about to load another run's snapshot
+    void clear();
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+/**
+ * Position of a task in an assignee's date-ordered timeline; used as a keyset cursor by
+ * {@link TaskRepository#iterateByAssigneeIdInAndDateRange}.
+ */
+public record TimelinePosition(Long assigneeId, long startDate, long id) {
+
+    public static TimelinePosition of(TaskManagement task) {
+        return new TimelinePosition(task.getAssigneeId(), TaskIndexes.effectiveStartDate(task), task.getId());
+    }
+}
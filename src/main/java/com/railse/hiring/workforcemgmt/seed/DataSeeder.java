@@ -0,0 +1,13 @@
+package com.railse.hiring.workforcemgmt.seed;
+
+import com.railse.hiring.workforcemgmt.dto.SeedReport;
+
+/**
+ * Fills the task, activity and comment repositories with a data set. Implementations are
+ * Spring beans picked by {@link #name()} through {@code workforcemgmt.seed.generator}.
+ */
+public interface DataSeeder {
+    String name();
+
+    SeedReport seed(SeedProperties plan);
+}
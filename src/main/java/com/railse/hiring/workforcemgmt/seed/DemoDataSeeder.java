@@ -0,0 +1,63 @@
+package com.railse.hiring.workforcemgmt.seed;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.SeedReport;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** The six hand-written sample tasks the repository used to start with. */
+@Component
+public class DemoDataSeeder implements DataSeeder {
+    private final TaskRepository taskRepository;
+
+    public DemoDataSeeder(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    public String name() {
+        return "demo";
+    }
+
+    @Override
+    public SeedReport seed(SeedProperties plan) {
+        long started = System.currentTimeMillis();
+        // Seed data with start dates
+        long currentTime = System.currentTimeMillis();
+        long oneDayAgo = currentTime - 86400000L; // 1 day ago
+        long twoDaysAgo = currentTime - (2 * 86400000L); // 2 days ago
+
+        List<TaskManagement> tasks = new ArrayList<>();
+        tasks.add(seedTask(101L, ReferenceType.ORDER, Task.CREATE_INVOICE, 1L, TaskStatus.ASSIGNED, Priority.HIGH, oneDayAgo));
+        tasks.add(seedTask(101L, ReferenceType.ORDER, Task.ARRANGE_PICKUP, 1L, TaskStatus.COMPLETED, Priority.HIGH, twoDaysAgo));
+        tasks.add(seedTask(102L, ReferenceType.ORDER, Task.CREATE_INVOICE, 2L, TaskStatus.ASSIGNED, Priority.MEDIUM, currentTime));
+        tasks.add(seedTask(201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 2L, TaskStatus.ASSIGNED, Priority.LOW, oneDayAgo));
+        tasks.add(seedTask(201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 3L, TaskStatus.ASSIGNED, Priority.LOW, oneDayAgo)); // Duplicate for Bug #1
+        tasks.add(seedTask(103L, ReferenceType.ORDER, Task.COLLECT_PAYMENT, 1L, TaskStatus.CANCELLED, Priority.MEDIUM, twoDaysAgo)); // For Bug #2
+        taskRepository.saveAll(tasks);
+
+        return new SeedReport(name(), tasks.size(), 0, 0, System.currentTimeMillis() - started);
+    }
+
+    private static TaskManagement seedTask(Long refId, ReferenceType refType, Task task, Long assigneeId,
+                                           TaskStatus status, Priority priority, Long startDate) {
+        TaskManagement newTask = new TaskManagement();
+        newTask.setReferenceId(refId);
+        newTask.setReferenceType(refType);
+        newTask.setTask(task);
+        newTask.setAssigneeId(assigneeId);
+        newTask.setStatus(status);
+        newTask.setPriority(priority);
+        newTask.setDescription("This is a seed task.");
+        newTask.setTaskDeadlineTime(System.currentTimeMillis() + 86400000); // 1 day from now
+        newTask.setStartDate(startDate);
+        return newTask;
+    }
+}
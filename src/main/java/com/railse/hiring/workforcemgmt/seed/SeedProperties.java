@@ -0,0 +1,65 @@
+package com.railse.hiring.workforcemgmt.seed;
+
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "workforcemgmt.seed")
+public class SeedProperties {
+    // demo (the six sample tasks), synthetic, or none
+    private String generator = "demo";
+    // Seeds at startup unless the task store already holds data (e.g. recovered from disk)
+    private boolean onStartup = true;
+
+    // Everything below is read by the synthetic generator; the same values give the same data
+    private long randomSeed = 42;
+    private int tasks = 100_000;
+    private int assignees = 1_000;
+    private int references = 30_000;
+    // Zipf exponents: 0 spreads tasks evenly, around 1 concentrates them on a few assignees/references
+    private double assigneeSkew = 1.0;
+    private double referenceSkew = 0.8;
+    // Relative weights
+    private Map<TaskStatus, Integer> statusMix = defaultStatusMix();
+    // Averages; the per-task counts are geometrically distributed
+    private double activitiesPerTask = 3.0;
+    private double commentsPerTask = 0.5;
+    // Start dates fall within this many days before the anchor
+    private int historyDays = 30;
+    // Epoch millis that dates are generated back from; 0 means the time of seeding
+    private long anchorEpochMillis = 0;
+    // 0 means one per available processor
+    private int threads = 0;
+
+    private static Map<TaskStatus, Integer> defaultStatusMix() {
+        Map<TaskStatus, Integer> mix = new EnumMap<>(TaskStatus.class);
+        mix.put(TaskStatus.ASSIGNED, 60);
+        mix.put(TaskStatus.STARTED, 20);
+        mix.put(TaskStatus.COMPLETED, 15);
+        mix.put(TaskStatus.CANCELLED, 5);
+        return mix;
+    }
+
+    public SeedProperties copy() {
+        SeedProperties copy = new SeedProperties();
+        copy.setGenerator(generator);
+        copy.setOnStartup(onStartup);
+        copy.setRandomSeed(randomSeed);
+        copy.setTasks(tasks);
+        copy.setAssignees(assignees);
+        copy.setReferences(references);
+        copy.setAssigneeSkew(assigneeSkew);
+        copy.setReferenceSkew(referenceSkew);
+        copy.setStatusMix(new EnumMap<>(statusMix));
+        copy.setActivitiesPerTask(activitiesPerTask);
+        copy.setCommentsPerTask(commentsPerTask);
+        copy.setHistoryDays(historyDays);
+        copy.setAnchorEpochMillis(anchorEpochMillis);
+        copy.setThreads(threads);
+        return copy;
+    }
+}
@@ -0,0 +1,90 @@
+package com.railse.hiring.workforcemgmt.seed;
+
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.dto.SeedReport;
+import com.railse.hiring.workforcemgmt.dto.SeedRequest;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the configured {@link DataSeeder} once the application is up, and on demand for the
+ * admin endpoint with per-request overrides of the workforcemgmt.seed.* settings.
+ */
+@Slf4j
+@Service
+public class SeedService {
+    private static final String NONE = "none";
+
+    private final SeedProperties properties;
+    private final TaskRepository taskRepository;
+    private final StoreChangePublisher changes;
+    private final Map<String, DataSeeder> seeders = new LinkedHashMap<>();
+
+    public SeedService(SeedProperties properties, TaskRepository taskRepository, StoreChangePublisher changes,
+                       List<DataSeeder> seeders) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.changes = changes;
+        for (DataSeeder seeder : seeders) {
+            this.seeders.put(seeder.name(), seeder);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
+        if (!properties.isOnStartup() || NONE.equals(properties.getGenerator())) {
+            return;
+        }
+        // A read-only follower gets its data from the primary
+        if (!changes.acceptsWrites()) {
+            log.info("Skipping startup seeding: the stores are read-only");
+            return;
+        }
+        // Data recovered from the write-ahead log wins over generated data
+        if (taskRepository.count() > 0) {
+            log.info("Skipping startup seeding: the task store already holds {} tasks", taskRepository.count());
+            return;
+        }
+        SeedReport report = run(properties);
+        log.info("Seeded {} tasks, {} activities and {} comments with the {} generator in {} ms",
+                report.getTasks(), report.getActivities(), report.getComments(), report.getGenerator(),
+                report.getMillis());
+    }
+
+    public SeedReport seed(SeedRequest request) {
+        SeedProperties plan = properties.copy();
+        if (request != null) {
+            if (request.getGenerator() != null) plan.setGenerator(request.getGenerator());
+            if (request.getRandomSeed() != null) plan.setRandomSeed(request.getRandomSeed());
+            if (request.getTasks() != null) plan.setTasks(request.getTasks());
+            if (request.getAssignees() != null) plan.setAssignees(request.getAssignees());
+            if (request.getReferences() != null) plan.setReferences(request.getReferences());
+            if (request.getAssigneeSkew() != null) plan.setAssigneeSkew(request.getAssigneeSkew());
+            if (request.getReferenceSkew() != null) plan.setReferenceSkew(request.getReferenceSkew());
+            if (request.getStatusMix() != null) plan.setStatusMix(new EnumMap<>(request.getStatusMix()));
+            if (request.getActivitiesPerTask() != null) plan.setActivitiesPerTask(request.getActivitiesPerTask());
+            if (request.getCommentsPerTask() != null) plan.setCommentsPerTask(request.getCommentsPerTask());
+            if (request.getHistoryDays() != null) plan.setHistoryDays(request.getHistoryDays());
+            if (request.getAnchorEpochMillis() != null) plan.setAnchorEpochMillis(request.getAnchorEpochMillis());
+        }
+        return run(plan);
+    }
+
+    private SeedReport run(SeedProperties plan) {
+        DataSeeder seeder = seeders.get(plan.getGenerator());
+        if (seeder == null) {
+            throw new BadRequestException("Unknown seed generator '" + plan.getGenerator()
+                    + "'; expected one of " + seeders.keySet());
+        }
+        return seeder.seed(plan);
+    }
+}
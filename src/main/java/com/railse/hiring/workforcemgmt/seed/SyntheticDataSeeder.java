@@ -0,0 +1,318 @@
+package com.railse.hiring.workforcemgmt.seed;
+
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.SeedReport;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityMessage;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Generates a production-shaped data set from a seed. Tasks are cut into fixed chunks, each
+ * with its own random stream, and the chunks are generated and saved on a thread pool; since
+ * the streams and the id blocks only depend on the chunk number, the same plan gives the same
+ * data no matter how many threads run it.
+ *
+ * <p>Assignee ids are {@link #ASSIGNEE_BASE} + rank and reference ids {@link #REFERENCE_BASE} +
+ * rank, rank 0 being the busiest under a skewed distribution.
+ */
+@Slf4j
+@Component
+public class SyntheticDataSeeder implements DataSeeder {
+    public static final long ASSIGNEE_BASE = 10_000L;
+    public static final long REFERENCE_BASE = 1_000_000L;
+
+    private static final int CHUNK = 10_000;
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    // Keeps the per-task history counts on their own stream so they can be summed up front
+    private static final long COUNT_STREAM = 0x632BE59BD9B4E019L;
+    private static final Map<ReferenceType, List<Task>> TASKS_BY_REFERENCE = new EnumMap<>(ReferenceType.class);
+    private static final ActivityType[] FOLLOW_UPS = {ActivityType.TASK_ASSIGNED, ActivityType.TASK_STARTED,
+            ActivityType.PRIORITY_CHANGED, ActivityType.COMMENT_ADDED};
+
+    static {
+        for (ReferenceType type : ReferenceType.values()) {
+            TASKS_BY_REFERENCE.put(type, Task.getTasksByReferenceType(type));
+        }
+    }
+
+    private final TaskRepository taskRepository;
+    private final TaskActivityRepository activityRepository;
+    private final TaskCommentRepository commentRepository;
+
+    public SyntheticDataSeeder(TaskRepository taskRepository, TaskActivityRepository activityRepository,
+                               TaskCommentRepository commentRepository) {
+        this.taskRepository = taskRepository;
+        this.activityRepository = activityRepository;
+        this.commentRepository = commentRepository;
+    }
+
+    @Override
+    public String name() {
+        return "synthetic";
+    }
+
+    /** One in four references is an ENTITY, the rest are ORDERs. */
+    public static ReferenceType referenceType(long rank) {
+        return rank % 4 == 3 ? ReferenceType.ENTITY : ReferenceType.ORDER;
+    }
+
+    @Override
+    public SeedReport seed(SeedProperties plan) {
+        validate(plan);
+        long started = System.currentTimeMillis();
+        long anchor = plan.getAnchorEpochMillis() > 0 ? plan.getAnchorEpochMillis() : started;
+        int chunks = (plan.getTasks() + CHUNK - 1) / CHUNK;
+        int threads = plan.getThreads() > 0 ? plan.getThreads() : Runtime.getRuntime().availableProcessors();
+
+        // Pass 1: history sizes per chunk, so every chunk knows its id blocks before it starts
+        long[] activityOffsets = new long[chunks + 1];
+        long[] commentOffsets = new long[chunks + 1];
+        inParallel(chunks, threads, chunk -> {
+            SplittableRandom counts = stream(plan.getRandomSeed() ^ COUNT_STREAM, chunk);
+            long activities = 0;
+            long comments = 0;
+            for (int i = chunkStart(chunk); i < chunkEnd(chunk, plan); i++) {
+                activities += activityCount(counts, plan);
+                comments += geometric(counts, plan.getCommentsPerTask());
+            }
+            activityOffsets[chunk + 1] = activities;
+            commentOffsets[chunk + 1] = comments;
+        });
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            activityOffsets[chunk + 1] += activityOffsets[chunk];
+            commentOffsets[chunk + 1] += commentOffsets[chunk];
+        }
+        long firstTaskId = taskRepository.reserveIds(plan.getTasks());
+        long firstActivityId = activityRepository.reserveIds(activityOffsets[chunks]);
+        long firstCommentId = commentRepository.reserveIds(commentOffsets[chunks]);
+
+        // Pass 2: generate and save
+        Generator generator = new Generator(plan, anchor);
+        AtomicInteger done = new AtomicInteger();
+        inParallel(chunks, threads, chunk -> {
+            generator.chunk(chunk, firstTaskId, firstActivityId + activityOffsets[chunk],
+                    firstCommentId + commentOffsets[chunk]);
+            int finished = done.incrementAndGet();
+            if (finished % 100 == 0) {
+                log.info("Seeded {} of {} tasks", (long) finished * CHUNK, plan.getTasks());
+            }
+        });
+
+        return new SeedReport(name(), plan.getTasks(), activityOffsets[chunks], commentOffsets[chunks],
+                System.currentTimeMillis() - started);
+    }
+
+    private class Generator {
+        private final SeedProperties plan;
+        private final long anchor;
+        private final ZipfSampler assignees;
+        private final ZipfSampler references;
+        private final TaskStatus[] statuses;
+        private final int[] cumulativeWeights;
+
+        Generator(SeedProperties plan, long anchor) {
+            this.plan = plan;
+            this.anchor = anchor;
+            this.assignees = new ZipfSampler(plan.getAssignees(), plan.getAssigneeSkew());
+            this.references = new ZipfSampler(plan.getReferences(), plan.getReferenceSkew());
+            this.statuses = TaskStatus.values();
+            this.cumulativeWeights = new int[statuses.length];
+            int total = 0;
+            for (int i = 0; i < statuses.length; i++) {
+                total += plan.getStatusMix().getOrDefault(statuses[i], 0);
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        void chunk(int chunk, long firstTaskId, long nextActivityId, long nextCommentId) {
+            SplittableRandom random = stream(plan.getRandomSeed(), chunk);
+            SplittableRandom counts = stream(plan.getRandomSeed() ^ COUNT_STREAM, chunk);
+            long historyMillis = Math.max(1, plan.getHistoryDays() * DAY_MILLIS);
+            List<TaskManagement> tasks = new ArrayList<>(CHUNK);
+            List<TaskActivity> activities = new ArrayList<>();
+            List<TaskComment> comments = new ArrayList<>();
+
+            for (int i = chunkStart(chunk); i < chunkEnd(chunk, plan); i++) {
+                long reference = references.sample(random);
+                List<Task> applicable = TASKS_BY_REFERENCE.get(referenceType(reference));
+                long start = anchor - random.nextLong(historyMillis);
+
+                TaskManagement task = new TaskManagement();
+                task.setId(firstTaskId + i);
+                task.setReferenceId(REFERENCE_BASE + reference);
+                task.setReferenceType(referenceType(reference));
+                task.setTask(applicable.get(random.nextInt(applicable.size())));
+                task.setAssigneeId(ASSIGNEE_BASE + assignees.sample(random));
+                task.setStatus(status(random));
+                task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+                task.setStartDate(start);
+                task.setTaskDeadlineTime(start + (1 + random.nextInt(3)) * DAY_MILLIS);
+                task.setDescription("Synthetic task " + i);
+                task.setCreatedAt(toDateTime(start));
+                tasks.add(task);
+
+                long activityCount = activityCount(counts, plan);
+                long commentCount = geometric(counts, plan.getCommentsPerTask());
+                long at = start;
+                if (activityCount > 0) {
+                    activities.add(activity(nextActivityId++, task, ActivityType.TASK_CREATED, at));
+                }
+                for (long a = 1; a < activityCount; a++) {
+                    at += 1 + random.nextLong(DAY_MILLIS / 4);
+                    activities.add(activity(nextActivityId++, task,
+                            FOLLOW_UPS[random.nextInt(FOLLOW_UPS.length)], at));
+                }
+                for (long c = 0; c < commentCount; c++) {
+                    TaskComment comment = new TaskComment();
+                    comment.setId(nextCommentId++);
+                    comment.setTaskId(task.getId());
+                    comment.setUserId(ASSIGNEE_BASE + assignees.sample(random));
+                    comment.setComment("Synthetic comment " + c + " on task " + i);
+                    comment.setTimestamp(toDateTime(start + 1 + random.nextLong(DAY_MILLIS)));
+                    comments.add(comment);
+                }
+            }
+
+            taskRepository.saveAll(tasks);
+            activityRepository.saveAll(activities);
+            commentRepository.saveAll(comments);
+        }
+
+        private TaskStatus status(SplittableRandom random) {
+            int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return statuses[i];
+                }
+            }
+            return statuses[statuses.length - 1];
+        }
+
+        private TaskActivity activity(long id, TaskManagement task, ActivityType type, long at) {
+            TaskActivity activity = new TaskActivity();
+            activity.setId(id);
+            activity.setTaskId(task.getId());
+            activity.setActivityType(type);
+            activity.setUserId(task.getAssigneeId());
+            // The events the service logs for each type, so histories render as they would in use
+            switch (type) {
+                case TASK_CREATED -> activity.setEvent(ActivityMessage.CREATED_FOR_ASSIGNEE, ActivityMessage.ABSENT,
+                        ActivityMessage.code(TaskStatus.ASSIGNED), task.getAssigneeId());
+                case TASK_ASSIGNED -> activity.setEvent(ActivityMessage.STATUS_CHANGED,
+                        ActivityMessage.code(TaskStatus.STARTED), ActivityMessage.code(TaskStatus.ASSIGNED),
+                        ActivityMessage.ABSENT);
+                case TASK_STARTED -> activity.setEvent(ActivityMessage.STATUS_CHANGED,
+                        ActivityMessage.code(TaskStatus.ASSIGNED), ActivityMessage.code(TaskStatus.STARTED),
+                        ActivityMessage.ABSENT);
+                case PRIORITY_CHANGED -> activity.setEvent(ActivityMessage.PRIORITY_CHANGED,
+                        (task.getPriority().ordinal() + 1) % Priority.values().length,
+                        ActivityMessage.code(task.getPriority()), ActivityMessage.ABSENT);
+                case COMMENT_ADDED -> activity.setEvent(ActivityMessage.COMMENT_ADDED, ActivityMessage.ABSENT,
+                        ActivityMessage.ABSENT, ActivityMessage.ABSENT);
+                default -> activity.setText("Synthetic " + type, null, null);
+            }
+            activity.setTimestamp(toDateTime(at));
+            return activity;
+        }
+    }
+
+    private static void validate(SeedProperties plan) {
+        if (plan.getTasks() < 0 || plan.getAssignees() < 1 || plan.getReferences() < 1) {
+            throw new BadRequestException("tasks must be >= 0, assignees and references >= 1");
+        }
+        if (plan.getAssigneeSkew() < 0 || plan.getReferenceSkew() < 0) {
+            throw new BadRequestException("Skew exponents must be >= 0");
+        }
+        if (plan.getActivitiesPerTask() < 0 || plan.getCommentsPerTask() < 0 || plan.getHistoryDays() < 0) {
+            throw new BadRequestException("History densities and history_days must be >= 0");
+        }
+        if (plan.getStatusMix().values().stream().anyMatch(weight -> weight < 0)
+                || plan.getStatusMix().values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new BadRequestException("status_mix needs non-negative weights with a positive total");
+        }
+    }
+
+    private static SplittableRandom stream(long seed, int chunk) {
+        return new SplittableRandom(seed + GOLDEN * (chunk + 1));
+    }
+
+    private static int chunkStart(int chunk) {
+        return chunk * CHUNK;
+    }
+
+    private static int chunkEnd(int chunk, SeedProperties plan) {
+        return (int) Math.min(plan.getTasks(), (long) (chunk + 1) * CHUNK);
+    }
+
+    // A creation entry plus geometrically many follow-ups, averaging activities-per-task (none when it is 0)
+    private static long activityCount(SplittableRandom counts, SeedProperties plan) {
+        long followUps = geometric(counts, Math.max(0, plan.getActivitiesPerTask() - 1));
+        return plan.getActivitiesPerTask() > 0 ? 1 + followUps : 0;
+    }
+
+    // Geometric count with the given mean; one draw per call
+    private static long geometric(SplittableRandom random, double mean) {
+        double u = random.nextDouble();
+        if (mean <= 0) {
+            return 0;
+        }
+        return (long) Math.floor(Math.log1p(-u) / Math.log1p(-1 / (1 + mean)));
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static void inParallel(int chunks, int threads, IntConsumer work) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, chunks)), r -> {
+            Thread thread = new Thread(r, "data-seeder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int current = chunk;
+                futures.add(pool.submit(() -> work.accept(current)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime
+                    : new IllegalStateException("Seeding failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
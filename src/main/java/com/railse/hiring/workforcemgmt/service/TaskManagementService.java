@@ -1,20 +1,39 @@
 package com.railse.hiring.workforcemgmt.service;
 
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 public interface TaskManagementService {
     // Original methods
     List<TaskManagementDto> createTasks(TaskCreateRequest request);
     List<TaskManagementDto> updateTasks(UpdateTaskRequest request);
     String assignByReference(AssignByReferenceRequest request);
-    List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request);
-    TaskManagementDto findTaskById(Long id);
+    Page<List<TaskSummaryDto>> fetchTasksByDate(TaskFetchByDateRequest request, Set<TaskInclude> include);
+    // Every match from the cursor on (if given) in page order, mapped lazily as the iterator is consumed
+    Iterator<TaskSummaryDto> streamTasksByDate(TaskFetchByDateRequest request, Set<TaskInclude> include);
+    // Full history unless a history page size or cursor is given; then the pagination describes the history
+    Page<TaskManagementDto> findTaskById(Long id, String historyCursor, Integer historyPageSize);
+
+    // Strong validators built from versions alone, before any history is loaded or mapped
+    String taskETag(Long id);
+    String priorityListingETag(Priority priority, Set<TaskInclude> include);
 
     // NEW FEATURE METHODS
     TaskManagementDto updateTaskPriority(UpdatePriorityRequest request);
-    List<TaskManagementDto> getTasksByPriority(Priority priority);
+    Page<List<TaskSummaryDto>> getTasksByPriority(Priority priority, String cursor, Integer pageSize,
+                                                  Set<TaskInclude> include);
+    Iterator<TaskSummaryDto> streamTasksByPriority(Priority priority, Set<TaskInclude> include);
+    // Open tasks whose deadline has passed, earliest deadline first
+    Page<List<TaskSummaryDto>> getOverdueTasks(String cursor, Integer pageSize, Set<TaskInclude> include);
+    // The assignee's open tasks by priority, then deadline, then start date; the first `limit` of them
+    List<TaskSummaryDto> getWorkQueue(Long assigneeId, Integer limit, Set<TaskInclude> include);
+    TaskSummaryDto getNextTask(Long assigneeId, Set<TaskInclude> include);
     TaskCommentDto addComment(AddCommentRequest request);
+    // Workload board from the repository's counters; null assigneeIds for every assignee
+    List<WorkloadDto> getWorkload(List<Long> assigneeIds);
 }
\ No newline at end of file
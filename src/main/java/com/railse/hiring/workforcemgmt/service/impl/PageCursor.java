@@ -0,0 +1,68 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset cursors for paged listings. A cursor holds the sort key of the last item served,
+ * prefixed with the listing it belongs to, and is handed to clients as URL-safe base64 so
+ * they treat it as opaque.
+ */
+final class PageCursor {
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private PageCursor() {
+    }
+
+    static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (requested < 1 || requested > MAX_PAGE_SIZE) {
+            throw new BadRequestException("page_size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return requested;
+    }
+
+    static String encode(String listing, long... key) {
+        StringBuilder plain = new StringBuilder(listing);
+        for (long part : key) {
+            plain.append(':').append(part);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 64-bit FNV-1a digest of the given values, for binding a cursor to the filters it was
+     * issued for without carrying the filters themselves.
+     */
+    static long digest(long... values) {
+        long hash = 0xcbf29ce484222325L;
+        for (long value : values) {
+            for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+                hash ^= (value >>> shift) & 0xff;
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    static long[] decode(String cursor, String listing, int keyLength) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != keyLength + 1 || !parts[0].equals(listing)) {
+                throw new BadRequestException("Cursor does not belong to this listing");
+            }
+            long[] key = new long[keyLength];
+            for (int i = 0; i < keyLength; i++) {
+                key[i] = Long.parseLong(parts[i + 1]);
+            }
+            return key;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
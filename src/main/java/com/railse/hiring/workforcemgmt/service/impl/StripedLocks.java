@@ -0,0 +1,71 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed array of locks that keys are hashed onto. Writers on the same key are serialized,
+ * writers on keys in different stripes run in parallel, and memory stays bounded no matter
+ * how many keys there are. Several keys are always locked in ascending stripe order so two
+ * multi-key writers cannot deadlock.
+ */
+final class StripedLocks {
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    StripedLocks(int minStripes) {
+        int size = Integer.highestOneBit(Math.min(Math.max(2, minStripes), MAX_STRIPES) - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /** A held set of stripes; release it in a finally block. */
+    @FunctionalInterface
+    interface Held {
+        void release();
+    }
+
+    Held lock(Object key) {
+        ReentrantLock lock = stripes[stripe(key)];
+        lock.lock();
+        return lock::unlock;
+    }
+
+    Held lockAll(Collection<?> keys) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Object key : keys) {
+            indexes.add(stripe(key));
+        }
+        int[] locked = new int[indexes.size()];
+        int count = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                locked[count++] = index;
+            }
+        } catch (RuntimeException | Error e) {
+            unlock(locked, count);
+            throw e;
+        }
+        int held = count;
+        return () -> unlock(locked, held);
+    }
+
+    int stripe(Object key) {
+        int h = key.hashCode();
+        // Spread the high bits down so sequential ids and hashed records both distribute
+        return (h ^ (h >>> 16)) * 0x9E3779B9 >>> 16 & mask;
+    }
+
+    private void unlock(int[] locked, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[locked[i]].unlock();
+        }
+    }
+}
@@ -1,56 +1,245 @@
 package com.railse.hiring.workforcemgmt.service.impl;
 
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.cache.TaskDtoCache;
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
 import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
+import com.railse.hiring.workforcemgmt.common.model.response.Pagination;
+import com.railse.hiring.workforcemgmt.deadline.DeadlineScheduler;
+import com.railse.hiring.workforcemgmt.deadline.OverdueTask;
 import com.railse.hiring.workforcemgmt.dto.*;
+import com.railse.hiring.workforcemgmt.events.TaskEventHub;
+import com.railse.hiring.workforcemgmt.events.TaskEventType;
 import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
 import com.railse.hiring.workforcemgmt.model.TaskActivity;
 import com.railse.hiring.workforcemgmt.model.TaskComment;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import com.railse.hiring.workforcemgmt.model.enums.*;
-import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.AssigneeWorkload;
+import com.railse.hiring.workforcemgmt.repository.HistoryVersion;
 import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
 import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.TimelinePosition;
 import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 public class TaskManagementServiceImpl implements TaskManagementService {
 
     private final TaskRepository taskRepository;
-    private final TaskActivityRepository activityRepository;
+    // Activity is queued and written off the request path; reads through it include queued entries
+    private final ActivityLog activityLog;
     private final TaskCommentRepository commentRepository;
     private final ITaskManagementMapper taskMapper;
+    // Full-history task DTOs; invalidated by the stores and the activity log, not by this class
+    private final TaskDtoCache taskDtoCache;
+    // Subscribers of GET /task-mgmt/events; every save below is published once it is done
+    private final TaskEventHub taskEvents;
+    // Keeps the overdue index itself, fed by the store's changes
+    private final DeadlineScheduler deadlineScheduler;
+
+    // Read-modify-write on a task happens under its id's stripe; assign-by-reference also takes
+    // the reference's stripe first so two assignments cannot both create the missing tasks
+    private final StripedLocks taskLocks;
+    private final StripedLocks referenceLocks;
+
+    private static final int LOCK_STRIPES = 1024;
+    private static final int DEFAULT_QUEUE_LIMIT = 10;
+
+    private record ReferenceKey(ReferenceType referenceType, Long referenceId) {
+    }
 
+    @Autowired
     public TaskManagementServiceImpl(TaskRepository taskRepository,
-                                     TaskActivityRepository activityRepository,
+                                     ActivityLog activityLog,
                                      TaskCommentRepository commentRepository,
-                                     ITaskManagementMapper taskMapper) {
+                                     ITaskManagementMapper taskMapper,
+                                     TaskDtoCache taskDtoCache,
+                                     TaskEventHub taskEvents,
+                                     DeadlineScheduler deadlineScheduler) {
+        this(taskRepository, activityLog, commentRepository, taskMapper, taskDtoCache, taskEvents,
+                deadlineScheduler, new StripedLocks(LOCK_STRIPES), new StripedLocks(LOCK_STRIPES));
+    }
+
+    private TaskManagementServiceImpl(TaskRepository taskRepository,
+                                      ActivityLog activityLog,
+                                      TaskCommentRepository commentRepository,
+                                      ITaskManagementMapper taskMapper,
+                                      TaskDtoCache taskDtoCache,
+                                      TaskEventHub taskEvents,
+                                      DeadlineScheduler deadlineScheduler,
+                                      StripedLocks taskLocks,
+                                      StripedLocks referenceLocks) {
         this.taskRepository = taskRepository;
-        this.activityRepository = activityRepository;
+        this.activityLog = activityLog;
         this.commentRepository = commentRepository;
         this.taskMapper = taskMapper;
+        this.taskDtoCache = taskDtoCache;
+        this.taskEvents = taskEvents;
+        this.deadlineScheduler = deadlineScheduler;
+        this.taskLocks = taskLocks;
+        this.referenceLocks = referenceLocks;
     }
 
-    @Override
-    public TaskManagementDto findTaskById(Long id) {
-        TaskManagement task = taskRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    /**
+     * For wiring the service by hand (tests, benchmarks): whatever is not set is disabled, and
+     * the lock stripes are the service's own.
+     */
+    public static Builder builder(TaskRepository taskRepository, ActivityLog activityLog,
+                                  TaskCommentRepository commentRepository, ITaskManagementMapper taskMapper) {
+        return new Builder(taskRepository, activityLog, commentRepository, taskMapper);
+    }
+
+    public static final class Builder {
+        private final TaskRepository taskRepository;
+        private final ActivityLog activityLog;
+        private final TaskCommentRepository commentRepository;
+        private final ITaskManagementMapper taskMapper;
+        private TaskDtoCache taskDtoCache = TaskDtoCache.disabled();
+        private TaskEventHub taskEvents = TaskEventHub.disabled();
+        private DeadlineScheduler deadlineScheduler = DeadlineScheduler.disabled();
+        private StripedLocks taskLocks;
+        private StripedLocks referenceLocks;
+
+        private Builder(TaskRepository taskRepository, ActivityLog activityLog,
+                        TaskCommentRepository commentRepository, ITaskManagementMapper taskMapper) {
+            this.taskRepository = taskRepository;
+            this.activityLog = activityLog;
+            this.commentRepository = commentRepository;
+            this.taskMapper = taskMapper;
+        }
+
+        public Builder taskDtoCache(TaskDtoCache taskDtoCache) {
+            this.taskDtoCache = taskDtoCache;
+            return this;
+        }
+
+        public Builder taskEvents(TaskEventHub taskEvents) {
+            this.taskEvents = taskEvents;
+            return this;
+        }
+
+        public Builder deadlineScheduler(DeadlineScheduler deadlineScheduler) {
+            this.deadlineScheduler = deadlineScheduler;
+            return this;
+        }
+
+        // Package-private: lets tests see which stripes writers hold
+        Builder locks(StripedLocks taskLocks, StripedLocks referenceLocks) {
+            this.taskLocks = taskLocks;
+            this.referenceLocks = referenceLocks;
+            return this;
+        }
+
+        public TaskManagementServiceImpl build() {
+            return new TaskManagementServiceImpl(taskRepository, activityLog, commentRepository, taskMapper,
+                    taskDtoCache, taskEvents, deadlineScheduler,
+                    taskLocks != null ? taskLocks : new StripedLocks(LOCK_STRIPES),
+                    referenceLocks != null ? referenceLocks : new StripedLocks(LOCK_STRIPES));
+        }
+    }
 
-        // FEATURE 3: Load activities and comments for complete history
-        task.setActivities(activityRepository.findByTaskIdOrderByTimestamp(id));
+    @Override
+    public Page<TaskManagementDto> findTaskById(Long id, String historyCursor, Integer historyPageSize) {
+        if (historyCursor == null && historyPageSize == null) {
+            return new Page<>(taskDtoCache.get(id, this::loadTaskWithHistory), null);
+        }
+        TaskManagement task = findTask(id);
         task.setComments(commentRepository.findByTaskIdOrderByTimestamp(id));
 
+        // Paged history: seek past the last activity of the previous page by (timestamp, id)
+        int pageSize = PageCursor.pageSize(historyPageSize);
+        String listing = "history-" + id;
+        LocalDateTime afterTimestamp = null;
+        Long afterId = null;
+        if (historyCursor != null) {
+            long[] key = PageCursor.decode(historyCursor, listing, 3);
+            afterTimestamp = LocalDateTime.ofEpochSecond(key[0], (int) key[1], ZoneOffset.UTC);
+            afterId = key[2];
+        }
+        List<TaskActivity> activities = activityLog.findByTaskIdAfter(id, afterTimestamp, afterId, pageSize + 1);
+        boolean hasMore = activities.size() > pageSize;
+        if (hasMore) {
+            activities = activities.subList(0, pageSize);
+        }
+        task.setActivities(activities);
+        String nextCursor = null;
+        if (hasMore) {
+            TaskActivity last = activities.get(activities.size() - 1);
+            nextCursor = PageCursor.encode(listing, last.getTimestamp().toEpochSecond(ZoneOffset.UTC),
+                    last.getTimestamp().getNano(), last.getId());
+        }
+        return new Page<>(taskMapper.modelToDto(task), new Pagination(nextCursor, pageSize, hasMore));
+    }
+
+    // FEATURE 3: Load activities and comments for complete history. The repository returns a
+    // private copy, so attaching history here never grows the stored task
+    private TaskManagementDto loadTaskWithHistory(Long id) {
+        TaskManagement task = findTask(id);
+        task.setComments(commentRepository.findByTaskIdOrderByTimestamp(id));
+        task.setActivities(activityLog.findByTaskId(id));
         return taskMapper.modelToDto(task);
     }
 
+    private TaskManagement findTask(Long id) {
+        return taskRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
+    }
+
+    // Any save bumps the task version and any new activity or comment changes its history
+    // version, so the tag changes whenever the full response would. It is read before the
+    // response is built: a change in between leaves an older tag on newer content, never the reverse.
+    @Override
+    public String taskETag(Long id) {
+        TaskManagement task = findTask(id);
+        HistoryVersion activities = activityLog.historyVersion(id);
+        HistoryVersion comments = commentRepository.historyVersion(id);
+        return "task-" + id + "-" + task.getVersion()
+                + "-a" + activities.count() + "." + activities.maxId()
+                + "-c" + comments.count() + "." + comments.maxId();
+    }
+
+    // Collection-level: the priority's version, plus store-wide history versions when the
+    // listing includes history or comments
+    @Override
+    public String priorityListingETag(Priority priority, Set<TaskInclude> include) {
+        StringBuilder tag = new StringBuilder("priority-").append(priority)
+                .append('-').append(taskRepository.priorityVersion(priority));
+        if (include.contains(TaskInclude.HISTORY)) {
+            tag.append("-a").append(activityLog.version());
+        }
+        if (include.contains(TaskInclude.COMMENTS)) {
+            tag.append("-c").append(commentRepository.count());
+        }
+        return tag.toString();
+    }
+
     @Override
     public List<TaskManagementDto> createTasks(TaskCreateRequest createRequest) {
-        List<TaskManagement> createdTasks = new ArrayList<>();
+        List<TaskManagement> newTasks = new ArrayList<>(createRequest.getRequests().size());
+        long now = System.currentTimeMillis();
 
         for (TaskCreateRequest.RequestItem item : createRequest.getRequests()) {
             TaskManagement newTask = new TaskManagement();
@@ -60,18 +249,25 @@ public class TaskManagementServiceImpl implements TaskManagementService {
             newTask.setAssigneeId(item.getAssigneeId());
             newTask.setPriority(item.getPriority() != null ? item.getPriority() : Priority.MEDIUM);
             newTask.setTaskDeadlineTime(item.getTaskDeadlineTime());
-            newTask.setStartDate(item.getStartDate() != null ? item.getStartDate() : System.currentTimeMillis());
+            newTask.setStartDate(item.getStartDate() != null ? item.getStartDate() : now);
             newTask.setStatus(TaskStatus.ASSIGNED);
             newTask.setDescription("New task created.");
+            newTasks.add(newTask);
+        }
 
-            TaskManagement savedTask = taskRepository.save(newTask);
-
-            // FEATURE 3: Log activity
-            logActivity(savedTask.getId(), ActivityType.TASK_CREATED,
-                    "Task created and assigned to user " + item.getAssigneeId(),
-                    1L, null, TaskStatus.ASSIGNED.toString());
+        // Bulk path: one id block, one index pass and one activity-log write per request
+        List<TaskManagement> createdTasks = taskRepository.saveAll(newTasks);
 
-            createdTasks.add(savedTask);
+        // FEATURE 3: Log activity
+        List<TaskActivity> activities = new ArrayList<>(createdTasks.size());
+        for (TaskManagement savedTask : createdTasks) {
+            activities.add(newActivity(savedTask.getId(), ActivityType.TASK_CREATED,
+                    ActivityMessage.CREATED_FOR_ASSIGNEE, 1L, ActivityMessage.ABSENT,
+                    ActivityMessage.code(TaskStatus.ASSIGNED), ActivityMessage.code(savedTask.getAssigneeId())));
+        }
+        activityLog.appendAll(activities);
+        for (TaskManagement savedTask : createdTasks) {
+            taskEvents.publish(TaskEventType.CREATED, savedTask, null);
         }
 
         return taskMapper.modelListToDtoList(createdTasks);
@@ -79,12 +275,34 @@ public class TaskManagementServiceImpl implements TaskManagementService {
 
     @Override
     public List<TaskManagementDto> updateTasks(UpdateTaskRequest updateRequest) {
-        List<TaskManagement> updatedTasks = new ArrayList<>();
+        List<UpdateTaskRequest.RequestItem> items = updateRequest.getRequests();
+        Set<Long> taskIds = items.stream().map(UpdateTaskRequest.RequestItem::getTaskId).collect(Collectors.toSet());
+        StripedLocks.Held held = taskLocks.lockAll(taskIds);
+        try {
+            return applyUpdates(items, taskIds);
+        } finally {
+            held.release();
+        }
+    }
+
+    private List<TaskManagementDto> applyUpdates(List<UpdateTaskRequest.RequestItem> items, Set<Long> taskIds) {
+        Map<Long, TaskManagement> tasksById = new HashMap<>();
+        for (TaskManagement task : taskRepository.findAllById(taskIds)) {
+            tasksById.put(task.getId(), task);
+        }
 
-        for (UpdateTaskRequest.RequestItem item : updateRequest.getRequests()) {
-            TaskManagement task = taskRepository.findById(item.getTaskId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + item.getTaskId()));
+        // Fail before changing anything if any task in the batch is missing
+        for (UpdateTaskRequest.RequestItem item : items) {
+            if (!tasksById.containsKey(item.getTaskId())) {
+                throw new ResourceNotFoundException("Task not found with id: " + item.getTaskId());
+            }
+        }
 
+        List<TaskManagement> updatedTasks = new ArrayList<>(items.size());
+        List<TaskActivity> activities = new ArrayList<>();
+        Set<Long> cancelled = new HashSet<>();
+        for (UpdateTaskRequest.RequestItem item : items) {
+            TaskManagement task = tasksById.get(item.getTaskId());
             TaskStatus oldStatus = task.getStatus();
 
             if (item.getTaskStatus() != null) {
@@ -92,16 +310,26 @@ public class TaskManagementServiceImpl implements TaskManagementService {
 
                 // FEATURE 3: Log status change activity
                 ActivityType activityType = getActivityTypeForStatus(item.getTaskStatus());
-                logActivity(task.getId(), activityType,
-                        "Task status changed from " + oldStatus + " to " + item.getTaskStatus(),
-                        1L, oldStatus.toString(), item.getTaskStatus().toString());
+                activities.add(newActivity(task.getId(), activityType, ActivityMessage.STATUS_CHANGED, 1L,
+                        ActivityMessage.code(oldStatus), ActivityMessage.code(item.getTaskStatus()),
+                        ActivityMessage.ABSENT));
+                if (item.getTaskStatus() == TaskStatus.CANCELLED && oldStatus != TaskStatus.CANCELLED) {
+                    cancelled.add(task.getId());
+                }
             }
 
             if (item.getDescription() != null) {
                 task.setDescription(item.getDescription());
             }
 
-            updatedTasks.add(taskRepository.save(task));
+            updatedTasks.add(task);
+        }
+
+        List<TaskManagement> savedTasks = taskRepository.saveAll(new ArrayList<>(new LinkedHashSet<>(updatedTasks)));
+        activityLog.appendAll(activities);
+        for (TaskManagement task : savedTasks) {
+            boolean nowCancelled = cancelled.contains(task.getId()) && task.getStatus() == TaskStatus.CANCELLED;
+            taskEvents.publish(nowCancelled ? TaskEventType.CANCELLED : TaskEventType.UPDATED, task, null);
         }
 
         return taskMapper.modelListToDtoList(updatedTasks);
@@ -109,9 +337,28 @@ public class TaskManagementServiceImpl implements TaskManagementService {
 
     @Override
     public String assignByReference(AssignByReferenceRequest request) {
+        ReferenceKey reference = new ReferenceKey(request.getReferenceType(), request.getReferenceId());
+        StripedLocks.Held referenceHeld = referenceLocks.lock(reference);
+        try {
+            List<Long> taskIds = taskRepository.findByReferenceIdAndReferenceType(
+                    request.getReferenceId(), request.getReferenceType()).stream().map(TaskManagement::getId).toList();
+            StripedLocks.Held tasksHeld = taskLocks.lockAll(taskIds);
+            try {
+                // Read again under the task stripes: a writer that held one of them may have saved
+                // since the lookup, and assigning from the older copy would fail its version check
+                List<TaskManagement> existingTasks = taskRepository.findAllById(taskIds);
+                applyAssignment(request, existingTasks);
+            } finally {
+                tasksHeld.release();
+            }
+        } finally {
+            referenceHeld.release();
+        }
+        return "Tasks assigned successfully for reference " + request.getReferenceId();
+    }
+
+    private void applyAssignment(AssignByReferenceRequest request, List<TaskManagement> existingTasks) {
         List<Task> applicableTasks = Task.getTasksByReferenceType(request.getReferenceType());
-        List<TaskManagement> existingTasks = taskRepository.findByReferenceIdAndReferenceType(
-                request.getReferenceId(), request.getReferenceType());
 
         for (Task taskType : applicableTasks) {
             List<TaskManagement> tasksOfType = existingTasks.stream()
@@ -125,11 +372,11 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                 Long oldAssigneeId = taskToAssign.getAssigneeId();
                 taskToAssign.setAssigneeId(request.getAssigneeId());
                 taskRepository.save(taskToAssign);
+                taskEvents.publish(TaskEventType.REASSIGNED, taskToAssign, oldAssigneeId);
 
                 // FEATURE 3: Log reassignment activity
-                logActivity(taskToAssign.getId(), ActivityType.TASK_ASSIGNED,
-                        "Task reassigned from user " + oldAssigneeId + " to user " + request.getAssigneeId(),
-                        1L, oldAssigneeId.toString(), request.getAssigneeId().toString());
+                logActivity(taskToAssign.getId(), ActivityType.TASK_ASSIGNED, ActivityMessage.REASSIGNED, 1L,
+                        ActivityMessage.code(oldAssigneeId), ActivityMessage.code(request.getAssigneeId()));
 
                 // BUG FIX #1: Cancel all other tasks of the same type
                 for (int i = 1; i < tasksOfType.size(); i++) {
@@ -137,11 +384,12 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                     TaskStatus oldStatus = taskToCancel.getStatus();
                     taskToCancel.setStatus(TaskStatus.CANCELLED);
                     taskRepository.save(taskToCancel);
+                    taskEvents.publish(TaskEventType.CANCELLED, taskToCancel, null);
 
                     // FEATURE 3: Log cancellation activity
                     logActivity(taskToCancel.getId(), ActivityType.TASK_CANCELLED,
-                            "Task cancelled due to reassignment", 1L,
-                            oldStatus.toString(), TaskStatus.CANCELLED.toString());
+                            ActivityMessage.CANCELLED_BY_REASSIGNMENT, 1L,
+                            ActivityMessage.code(oldStatus), ActivityMessage.code(TaskStatus.CANCELLED));
                 }
             } else {
                 // Create a new task if none exist
@@ -156,81 +404,227 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                 newTask.setDescription("Task created via assign-by-reference");
 
                 TaskManagement savedTask = taskRepository.save(newTask);
+                taskEvents.publish(TaskEventType.CREATED, savedTask, null);
 
                 // FEATURE 3: Log creation activity
-                logActivity(savedTask.getId(), ActivityType.TASK_CREATED,
-                        "Task created and assigned via reference assignment", 1L,
-                        null, TaskStatus.ASSIGNED.toString());
+                logActivity(savedTask.getId(), ActivityType.TASK_CREATED, ActivityMessage.CREATED_BY_REFERENCE, 1L,
+                        ActivityMessage.ABSENT, ActivityMessage.code(TaskStatus.ASSIGNED));
             }
         }
-
-        return "Tasks assigned successfully for reference " + request.getReferenceId();
     }
 
     @Override
-    public List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request) {
-        List<TaskManagement> tasks = taskRepository.findByAssigneeIdIn(request.getAssigneeIds());
-
-        // BUG FIX #2 + FEATURE 1: Filter out CANCELLED tasks and implement smart date filtering
-        List<TaskManagement> filteredTasks = tasks.stream()
-                .filter(task -> {
-                    // BUG FIX #2: Exclude cancelled tasks
-                    if (task.getStatus() == TaskStatus.CANCELLED) {
-                        return false;
-                    }
-
-                    // FEATURE 1: Smart daily task view
-                    // Include tasks that:
-                    // 1. Started within the date range AND are active
-                    // 2. Started before the range but are still active/assigned (not completed)
-
-                    Long taskStartDate = task.getStartDate() != null ? task.getStartDate() :
-                            task.getCreatedAt().toEpochSecond(java.time.ZoneOffset.UTC) * 1000;
+    public Page<List<TaskSummaryDto>> fetchTasksByDate(TaskFetchByDateRequest request, Set<TaskInclude> include) {
+        int pageSize = PageCursor.pageSize(request.getPageSize());
+        long filters = dateFilters(request);
+        return page(iterateByDate(request), task -> true, include, pageSize, last -> {
+            TimelinePosition position = TimelinePosition.of(last);
+            return PageCursor.encode("date", position.assigneeId(), position.startDate(), position.id(), filters);
+        });
+    }
 
-                    // Tasks that started within the range
-                    boolean startedInRange = taskStartDate >= request.getStartDate() &&
-                            taskStartDate <= request.getEndDate();
+    @Override
+    public Iterator<TaskSummaryDto> streamTasksByDate(TaskFetchByDateRequest request, Set<TaskInclude> include) {
+        return mapLazily(iterateByDate(request), task -> true, include);
+    }
 
-                    // Tasks that started before the range but are still open
-                    boolean startedBeforeButOpen = taskStartDate < request.getStartDate() &&
-                            (task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED);
+    private Iterator<TaskManagement> iterateByDate(TaskFetchByDateRequest request) {
+        TimelinePosition after = null;
+        if (request.getCursor() != null) {
+            long[] key = PageCursor.decode(request.getCursor(), "date", 4);
+            // A cursor is only valid for the filters it was issued for
+            if (key[3] != dateFilters(request)) {
+                throw new BadRequestException("Cursor was issued for different filters");
+            }
+            after = new TimelinePosition(key[0], key[1], key[2]);
+        }
 
-                    return startedInRange || startedBeforeButOpen;
-                })
-                .collect(Collectors.toList());
+        // BUG FIX #2 + FEATURE 1: The repository's per-assignee timeline only holds non-cancelled
+        // tasks, so this is a range scan over [start, end] merged with the open tasks that
+        // started before the range (ASSIGNED/STARTED). Resuming seeks to the cursor's position.
+        return taskRepository.iterateByAssigneeIdInAndDateRange(
+                request.getAssigneeIds(), request.getStartDate(), request.getEndDate(), after);
+    }
 
-        return taskMapper.modelListToDtoList(filteredTasks);
+    // Digest of the distinct assignee ids in request order (pages follow it, so a reordered
+    // request is a different listing), their count, then each date behind a presence flag. A
+    // 32-bit list hash collided for requests as close as [1, 32] and [2, 1].
+    private static long dateFilters(TaskFetchByDateRequest request) {
+        long[] ids = request.getAssigneeIds() == null ? new long[0] : request.getAssigneeIds().stream()
+                .filter(Objects::nonNull).distinct().mapToLong(Long::longValue).toArray();
+        long[] filters = Arrays.copyOf(ids, ids.length + 5);
+        filters[ids.length] = ids.length;
+        filters[ids.length + 1] = request.getStartDate() == null ? 0 : 1;
+        filters[ids.length + 2] = request.getStartDate() == null ? 0 : request.getStartDate();
+        filters[ids.length + 3] = request.getEndDate() == null ? 0 : 1;
+        filters[ids.length + 4] = request.getEndDate() == null ? 0 : request.getEndDate();
+        return PageCursor.digest(filters);
     }
 
     // NEW FEATURE 2: Update task priority
     @Override
     public TaskManagementDto updateTaskPriority(UpdatePriorityRequest request) {
+        StripedLocks.Held held = taskLocks.lock(request.getTaskId());
+        try {
+            return applyPriority(request);
+        } finally {
+            held.release();
+        }
+    }
+
+    private TaskManagementDto applyPriority(UpdatePriorityRequest request) {
         TaskManagement task = taskRepository.findById(request.getTaskId())
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + request.getTaskId()));
 
         Priority oldPriority = task.getPriority();
         task.setPriority(request.getPriority());
         TaskManagement updatedTask = taskRepository.save(task);
+        taskEvents.publish(TaskEventType.UPDATED, updatedTask, null);
 
         // FEATURE 3: Log priority change activity
-        logActivity(task.getId(), ActivityType.PRIORITY_CHANGED,
-                "Priority changed from " + oldPriority + " to " + request.getPriority(),
-                request.getUserId(), oldPriority.toString(), request.getPriority().toString());
+        logActivity(task.getId(), ActivityType.PRIORITY_CHANGED, ActivityMessage.PRIORITY_CHANGED,
+                request.getUserId(), ActivityMessage.code(oldPriority), ActivityMessage.code(request.getPriority()));
 
         return taskMapper.modelToDto(updatedTask);
     }
 
     // NEW FEATURE 2: Get tasks by priority
     @Override
-    public List<TaskManagementDto> getTasksByPriority(Priority priority) {
-        List<TaskManagement> tasks = taskRepository.findByPriority(priority);
+    public Page<List<TaskSummaryDto>> getTasksByPriority(Priority priority, String cursor, Integer pageSize,
+                                                         Set<TaskInclude> include) {
+        int size = PageCursor.pageSize(pageSize);
+        Long afterId = cursor == null ? null : PageCursor.decode(cursor, "priority-" + priority, 1)[0];
+        Iterator<TaskManagement> tasks = taskRepository.iterateByPriority(priority, afterId);
 
         // Filter out cancelled tasks
-        List<TaskManagement> activeTasks = tasks.stream()
-                .filter(task -> task.getStatus() != TaskStatus.CANCELLED)
-                .collect(Collectors.toList());
+        return page(tasks, task -> task.getStatus() != TaskStatus.CANCELLED, include, size,
+                last -> PageCursor.encode("priority-" + priority, last.getId()));
+    }
+
+    @Override
+    public Iterator<TaskSummaryDto> streamTasksByPriority(Priority priority, Set<TaskInclude> include) {
+        return mapLazily(taskRepository.iterateByPriority(priority, null),
+                task -> task.getStatus() != TaskStatus.CANCELLED, include);
+    }
+
+    @Override
+    public Page<List<TaskSummaryDto>> getOverdueTasks(String cursor, Integer pageSize, Set<TaskInclude> include) {
+        int size = PageCursor.pageSize(pageSize);
+        OverdueTask after = null;
+        if (cursor != null) {
+            long[] key = PageCursor.decode(cursor, "overdue", 2);
+            after = new OverdueTask(key[0], key[1]);
+        }
+        // Served from the scheduler's index; only the page's tasks are read
+        List<OverdueTask> entries = deadlineScheduler.overdue(after, size + 1);
+        boolean hasMore = entries.size() > size;
+        if (hasMore) {
+            entries = entries.subList(0, size);
+        }
+        Map<Long, TaskManagement> tasksById = new HashMap<>();
+        for (TaskManagement task : taskRepository.findAllById(entries.stream().map(OverdueTask::taskId).toList())) {
+            tasksById.put(task.getId(), task);
+        }
+        List<TaskManagement> items = new ArrayList<>(entries.size());
+        for (OverdueTask entry : entries) {
+            TaskManagement task = tasksById.get(entry.taskId());
+            // The index catches up with saves a moment later; skip tasks closed or moved since
+            if (task != null && isStillOverdue(task, entry)) {
+                items.add(loadSections(task, include));
+            }
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            OverdueTask last = entries.get(entries.size() - 1);
+            nextCursor = PageCursor.encode("overdue", last.deadline(), last.taskId());
+        }
+        return new Page<>(taskMapper.modelListToSummaryDtoList(items, include),
+                new Pagination(nextCursor, size, hasMore));
+    }
+
+    private static boolean isStillOverdue(TaskManagement task, OverdueTask entry) {
+        return task.getStatus() != TaskStatus.COMPLETED && task.getStatus() != TaskStatus.CANCELLED
+                && task.getTaskDeadlineTime() != null && task.getTaskDeadlineTime() == entry.deadline();
+    }
+
+    @Override
+    public List<TaskSummaryDto> getWorkQueue(Long assigneeId, Integer limit, Set<TaskInclude> include) {
+        int size = limit == null ? DEFAULT_QUEUE_LIMIT : limit;
+        if (size < 1 || size > PageCursor.MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + PageCursor.MAX_PAGE_SIZE);
+        }
+        // The index is already in work order: reads stop after the first `size` tasks
+        Iterator<TaskManagement> queue = taskRepository.iterateWorkQueue(assigneeId);
+        List<TaskManagement> items = new ArrayList<>(size);
+        while (items.size() < size && queue.hasNext()) {
+            items.add(loadSections(queue.next(), include));
+        }
+        return taskMapper.modelListToSummaryDtoList(items, include);
+    }
+
+    @Override
+    public TaskSummaryDto getNextTask(Long assigneeId, Set<TaskInclude> include) {
+        Iterator<TaskManagement> queue = taskRepository.iterateWorkQueue(assigneeId);
+        if (!queue.hasNext()) {
+            throw new ResourceNotFoundException("No open tasks for assignee: " + assigneeId);
+        }
+        return taskMapper.modelToSummaryDto(loadSections(queue.next(), include), include);
+    }
+
+    private Iterator<TaskSummaryDto> mapLazily(Iterator<TaskManagement> tasks, Predicate<TaskManagement> matches,
+                                               Set<TaskInclude> include) {
+        return new Iterator<>() {
+            private TaskManagement next;
 
-        return taskMapper.modelListToDtoList(activeTasks);
+            @Override
+            public boolean hasNext() {
+                while (next == null && tasks.hasNext()) {
+                    TaskManagement task = tasks.next();
+                    if (matches.test(task)) next = task;
+                }
+                return next != null;
+            }
+
+            @Override
+            public TaskSummaryDto next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                TaskManagement task = next;
+                next = null;
+                return taskMapper.modelToSummaryDto(loadSections(task, include), include);
+            }
+        };
+    }
+
+    // Takes one page from a keyset-ordered iterator; one extra match is read to tell whether more remain
+    private Page<List<TaskSummaryDto>> page(Iterator<TaskManagement> tasks, Predicate<TaskManagement> matches,
+                                            Set<TaskInclude> include, int pageSize,
+                                            Function<TaskManagement, String> cursorAfter) {
+        List<TaskManagement> items = new ArrayList<>();
+        boolean hasMore = false;
+        while (tasks.hasNext()) {
+            TaskManagement task = tasks.next();
+            if (!matches.test(task)) continue;
+            if (items.size() == pageSize) {
+                hasMore = true;
+                break;
+            }
+            items.add(task);
+        }
+        String nextCursor = hasMore ? cursorAfter.apply(items.get(items.size() - 1)) : null;
+        items.forEach(task -> loadSections(task, include));
+        return new Page<>(taskMapper.modelListToSummaryDtoList(items, include),
+                new Pagination(nextCursor, pageSize, hasMore));
+    }
+
+    // Only the history a listing asked for is read from the activity and comment stores
+    private TaskManagement loadSections(TaskManagement task, Set<TaskInclude> include) {
+        if (include.contains(TaskInclude.HISTORY)) {
+            task.setActivities(activityLog.findByTaskId(task.getId()));
+        }
+        if (include.contains(TaskInclude.COMMENTS)) {
+            task.setComments(commentRepository.findByTaskIdOrderByTimestamp(task.getId()));
+        }
+        return task;
     }
 
     // NEW FEATURE 3: Add comment to task
@@ -248,24 +642,75 @@ public class TaskManagementServiceImpl implements TaskManagementService {
         TaskComment savedComment = commentRepository.save(comment);
 
         // FEATURE 3: Log comment activity
-        logActivity(request.getTaskId(), ActivityType.COMMENT_ADDED,
-                "Comment added by user " + request.getUserId(),
-                request.getUserId(), null, null);
+        logActivity(request.getTaskId(), ActivityType.COMMENT_ADDED, ActivityMessage.COMMENT_ADDED,
+                request.getUserId(), ActivityMessage.ABSENT, ActivityMessage.ABSENT);
 
         return taskMapper.commentModelToDto(savedComment);
     }
 
+    @Override
+    public List<WorkloadDto> getWorkload(List<Long> assigneeIds) {
+        List<AssigneeWorkload> workloads = taskRepository.findWorkloads(assigneeIds);
+        if (assigneeIds == null) {
+            workloads.sort(Comparator.comparing(AssigneeWorkload::assigneeId));
+        }
+        List<WorkloadDto> board = new ArrayList<>(workloads.size());
+        for (AssigneeWorkload workload : workloads) {
+            board.add(toWorkloadDto(workload));
+        }
+        return board;
+    }
+
+    private static WorkloadDto toWorkloadDto(AssigneeWorkload workload) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<Priority, Long> openByPriority = new EnumMap<>(Priority.class);
+        Map<Task, Long> openByTask = new EnumMap<>(Task.class);
+        List<WorkloadDto.Cell> cells = new ArrayList<>();
+        long open = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (TaskStatus status : TaskStatus.values()) {
+            boolean isOpen = status == TaskStatus.ASSIGNED || status == TaskStatus.STARTED;
+            for (Priority priority : Priority.values()) {
+                for (Task task : Task.values()) {
+                    long count = workload.count(status, priority, task);
+                    if (count == 0) continue;
+                    cells.add(new WorkloadDto.Cell(status, priority, task, count));
+                    byStatus.merge(status, count, Long::sum);
+                    if (isOpen) {
+                        open += count;
+                        openByPriority.merge(priority, count, Long::sum);
+                        openByTask.merge(task, count, Long::sum);
+                    }
+                }
+            }
+        }
+        WorkloadDto dto = new WorkloadDto();
+        dto.setAssigneeId(workload.assigneeId());
+        dto.setOpen(open);
+        dto.setByStatus(byStatus);
+        dto.setOpenByPriority(openByPriority);
+        dto.setOpenByTask(openByTask);
+        dto.setCells(cells);
+        return dto;
+    }
+
     // FEATURE 3: Helper method to log activities
-    private void logActivity(Long taskId, ActivityType activityType, String description,
-                             Long userId, String oldValue, String newValue) {
+    private void logActivity(Long taskId, ActivityType activityType, ActivityMessage message,
+                             Long userId, long oldCode, long newCode) {
+        activityLog.append(newActivity(taskId, activityType, message, userId, oldCode, newCode, ActivityMessage.ABSENT));
+    }
+
+    // Values are ActivityMessage codes; the description is rendered by the mapper when read
+    private TaskActivity newActivity(Long taskId, ActivityType activityType, ActivityMessage message,
+                                     Long userId, long oldCode, long newCode, long subject) {
         TaskActivity activity = new TaskActivity();
         activity.setTaskId(taskId);
         activity.setActivityType(activityType);
-        activity.setDescription(description);
         activity.setUserId(userId);
-        activity.setOldValue(oldValue);
-        activity.setNewValue(newValue);
-        activityRepository.save(activity);
+        activity.setEvent(message, oldCode, newCode, subject);
+        return activity;
     }
 
     private ActivityType getActivityTypeForStatus(TaskStatus status) {
@@ -0,0 +1,247 @@
+package com.railse.hiring.workforcemgmt.activitylog;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.repository.HistoryVersion;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A full ring under each backpressure policy, stop() writing out everything accepted, and reads
+ * that see queued entries merged with stored ones. A repository that holds the writer in its
+ * first write keeps entries queued for as long as a test needs.
+ */
+class ActivityLogTest {
+    private static final long TASK = 7;
+
+    private final HeldRepository repository = new HeldRepository();
+
+    @Test
+    void blockMakesTheProducerWaitForRoomAndLosesNothing() throws Exception {
+        ActivityLog activityLog = start(BackpressurePolicy.BLOCK);
+        repository.hold();
+        try {
+            activityLog.append(activity("first"));
+            assertTrue(repository.held.await(10, TimeUnit.SECONDS));
+
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < 20; i++) {
+                    activityLog.append(activity("entry " + i));
+                }
+            });
+            producer.start();
+            producer.join(200);
+            // Four fit on the ring; the producer waits with the fifth, which reads already see
+            assertTrue(producer.isAlive());
+            assertEquals(texts(6), texts(activityLog.findByTaskId(TASK)));
+
+            repository.release();
+            producer.join();
+            activityLog.flush();
+        } finally {
+            repository.release();
+            activityLog.stop();
+        }
+        assertEquals(texts(21), texts(repository.findByTaskIdOrderByTimestamp(TASK)));
+        assertEquals(0, activityLog.droppedCount());
+    }
+
+    @Test
+    void dropDiscardsWhatDoesNotFitWithoutWaiting() throws Exception {
+        ActivityLog activityLog = start(BackpressurePolicy.DROP);
+        repository.hold();
+        List<String> kept;
+        try {
+            activityLog.append(activity("first"));
+            assertTrue(repository.held.await(10, TimeUnit.SECONDS));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                for (int i = 0; i < 20; i++) {
+                    activityLog.append(activity("entry " + i));
+                }
+            });
+            // The held entry and a full ring; the rest were never visible
+            assertEquals(16, activityLog.droppedCount());
+            kept = texts(activityLog.findByTaskId(TASK));
+            assertEquals(List.of("first", "entry 0", "entry 1", "entry 2", "entry 3"), kept);
+        } finally {
+            repository.release();
+            activityLog.stop();
+        }
+        assertEquals(kept, texts(repository.findByTaskIdOrderByTimestamp(TASK)));
+        assertEquals(kept.size(), activityLog.writtenCount());
+    }
+
+    @Test
+    void spillQueuesWhatDoesNotFitWithoutWaiting() throws Exception {
+        ActivityLog activityLog = start(BackpressurePolicy.SPILL);
+        repository.hold();
+        try {
+            activityLog.append(activity("first"));
+            assertTrue(repository.held.await(10, TimeUnit.SECONDS));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                for (int i = 0; i < 20; i++) {
+                    activityLog.append(activity("entry " + i));
+                }
+            });
+            assertEquals(16, activityLog.spilledCount());
+            assertEquals(texts(21), texts(activityLog.findByTaskId(TASK)));
+        } finally {
+            repository.release();
+            activityLog.stop();
+        }
+        assertEquals(texts(21), texts(repository.findByTaskIdOrderByTimestamp(TASK)));
+        assertEquals(0, activityLog.droppedCount());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BackpressurePolicy.class, names = {"BLOCK", "SPILL"})
+    void stopWritesEveryAcceptedEntry(BackpressurePolicy backpressure) throws Exception {
+        ActivityLog activityLog = start(backpressure);
+        // Producers keep logging across stop(): entries after it are written on their own thread
+        Thread[] producers = new Thread[4];
+        for (int p = 0; p < producers.length; p++) {
+            long taskId = 100 + p;
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    TaskActivity activity = activity("entry " + i);
+                    activity.setTaskId(taskId);
+                    activityLog.append(activity);
+                }
+            });
+            producers[p].start();
+        }
+        Thread.sleep(5);
+        activityLog.stop();
+        long writtenByWriter = repository.count();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertTrue(writtenByWriter > 0);
+        assertEquals(0, activityLog.queued());
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            expected.add("entry " + i);
+        }
+        for (int p = 0; p < producers.length; p++) {
+            assertEquals(expected, texts(repository.findByTaskIdOrderByTimestamp(100L + p)));
+        }
+        assertEquals(4 * 20_000, activityLog.writtenCount());
+    }
+
+    @Test
+    void readsMergeQueuedEntriesWithStoredOnes() throws Exception {
+        ActivityLog activityLog = start(BackpressurePolicy.SPILL);
+        List<TaskActivity> all = new ArrayList<>();
+        try {
+            for (int i = 0; i < 6; i++) {
+                all.add(append(activityLog, "stored " + i));
+            }
+            activityLog.flush();
+            repository.hold();
+            all.add(append(activityLog, "held"));
+            assertTrue(repository.held.await(10, TimeUnit.SECONDS));
+            for (int i = 0; i < 6; i++) {
+                all.add(append(activityLog, "queued " + i));
+            }
+            assertEquals(6, repository.count());
+
+            // The whole history, pages across the stored/queued boundary, and its version
+            assertEquals(texts(all), texts(activityLog.findByTaskId(TASK)));
+            TaskActivity after = all.get(3);
+            assertEquals(texts(all.subList(4, 9)),
+                    texts(activityLog.findByTaskIdAfter(TASK, after.getTimestamp(), after.getId(), 5)));
+            after = all.get(8);
+            assertEquals(texts(all.subList(9, 13)),
+                    texts(activityLog.findByTaskIdAfter(TASK, after.getTimestamp(), after.getId(), 10)));
+            TaskActivity last = all.get(all.size() - 1);
+            assertEquals(new HistoryVersion(13, last.getId()), activityLog.historyVersion(TASK));
+
+            // Writing out what was queued does not change what reads see
+            repository.release();
+            activityLog.flush();
+            assertEquals(7 + 6, repository.count());
+            assertEquals(texts(all), texts(activityLog.findByTaskId(TASK)));
+            assertEquals(new HistoryVersion(13, last.getId()), activityLog.historyVersion(TASK));
+        } finally {
+            repository.release();
+            activityLog.stop();
+        }
+    }
+
+    private ActivityLog start(BackpressurePolicy backpressure) {
+        ActivityLog activityLog = new ActivityLog(repository, 4, 1, backpressure);
+        activityLog.start();
+        return activityLog;
+    }
+
+    private static TaskActivity append(ActivityLog activityLog, String text) {
+        TaskActivity activity = activity(text);
+        activityLog.append(activity);
+        return activity;
+    }
+
+    private static TaskActivity activity(String text) {
+        TaskActivity activity = new TaskActivity();
+        activity.setTaskId(TASK);
+        activity.setUserId(1L);
+        activity.setActivityType(ActivityType.TASK_STARTED);
+        activity.setText(text, null, null);
+        return activity;
+    }
+
+    // "first" and then "entry 0" up to the given count less one
+    private static List<String> texts(int count) {
+        List<String> texts = new ArrayList<>(List.of("first"));
+        for (int i = 0; i < count - 1; i++) {
+            texts.add("entry " + i);
+        }
+        return texts;
+    }
+
+    private static List<String> texts(List<TaskActivity> activities) {
+        return activities.stream().map(TaskActivity::getText).toList();
+    }
+
+    // Once held, the next write waits until released
+    private static final class HeldRepository extends InMemoryTaskActivityRepository {
+        volatile CountDownLatch held = new CountDownLatch(0);
+        private volatile CountDownLatch release = new CountDownLatch(0);
+
+        void hold() {
+            held = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+        }
+
+        void release() {
+            release.countDown();
+        }
+
+        @Override
+        public List<TaskActivity> saveAll(List<TaskActivity> activities) {
+            if (held.getCount() > 0) {
+                held.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.saveAll(activities);
+        }
+    }
+}
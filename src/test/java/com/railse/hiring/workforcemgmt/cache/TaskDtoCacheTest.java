@@ -0,0 +1,96 @@
+package com.railse.hiring.workforcemgmt.cache;
+
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Races loads against invalidations of the same few tasks and checks that no load that
+ * overlapped a write stays cached, and that the policy's weight still matches what is cached
+ * once all queued unlinks are applied.
+ */
+class TaskDtoCacheTest {
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int TASKS = 32;
+    private static final int WRITES_PER_WRITER = 20_000;
+
+    @Test
+    void loadsRacingInvalidationsAreNeverCached() throws Exception {
+        // Smaller than the task count, so admission and eviction run alongside the invalidations
+        TaskDtoCache cache = new TaskDtoCache(TASKS / 2, 25);
+        AtomicLongArray versions = new AtomicLongArray(TASKS);
+        Function<Long, TaskManagementDto> loader = id -> {
+            TaskManagementDto dto = new TaskManagementDto();
+            dto.setId(id);
+            dto.setVersion(versions.get(id.intValue()));
+            // Widens the window between reading the source and caching the result
+            Thread.yield();
+            return dto;
+        };
+
+        // Cached before any write, so the writers have entries to invalidate however they are scheduled
+        for (long id = 0; id < TASKS; id++) {
+            cache.get(id, loader);
+        }
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch readersStarted = new CountDownLatch(THREADS / 2);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                if (t % 2 == 0) {
+                    writers.add(pool.submit(() -> {
+                        readersStarted.await();
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        for (int i = 0; i < WRITES_PER_WRITER; i++) {
+                            int id = random.nextInt(TASKS);
+                            // As the service does: the change is visible before the invalidation
+                            versions.incrementAndGet(id);
+                            cache.invalidate((long) id);
+                        }
+                        return null;
+                    }));
+                } else {
+                    readers.add(pool.submit(() -> {
+                        readersStarted.countDown();
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (writing.get()) {
+                            cache.get((long) random.nextInt(TASKS), loader);
+                        }
+                    }));
+                }
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(cache.invalidations() > 0);
+        // Every cached entry weighs 1 here, so the regions must hold exactly what the map holds
+        assertEquals(cache.size(), cache.weight());
+        assertTrue(cache.weight() <= cache.maxWeight());
+        for (int id = 0; id < TASKS; id++) {
+            assertEquals(versions.get(id), cache.get((long) id, loader).getVersion(), "task " + id);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.activitylog.BackpressurePolicy;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.UpdatePriorityRequest;
+import com.railse.hiring.workforcemgmt.events.TaskEventHub;
+import com.railse.hiring.workforcemgmt.mapper.TaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.metrics.RepositoryCall;
+import com.railse.hiring.workforcemgmt.metrics.RepositoryMetrics;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Conditional GETs on a task and on a priority listing: a matching If-None-Match is answered
+ * with 304 before any history or task is read, and the tag moves with every change the full
+ * response would show, including activity still queued in the log and new comments.
+ */
+class TaskManagementControllerTest {
+    private final RepositoryMetrics metrics = new RepositoryMetrics();
+    private final StoreChangePublisher changes = new StoreChangePublisher();
+    private final InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(changes, metrics);
+    private final HeldActivityRepository activityRepository = new HeldActivityRepository(changes, metrics);
+    private final InMemoryTaskCommentRepository commentRepository = new InMemoryTaskCommentRepository(changes, metrics);
+    private ActivityLog activityLog;
+    private TaskManagementServiceImpl service;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        activityLog = new ActivityLog(activityRepository, 1024, 64, BackpressurePolicy.BLOCK);
+        activityLog.start();
+        service = TaskManagementServiceImpl.builder(taskRepository, activityLog, commentRepository,
+                new TaskManagementMapperImpl()).build();
+        mvc = MockMvcBuilders.standaloneSetup(new TaskManagementController(service,
+                new NdjsonResponseWriter(new ObjectMapper()), TaskEventHub.disabled())).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        activityRepository.release();
+        activityLog.stop();
+    }
+
+    @Test
+    void matchingTaskTagIsAnsweredWithoutLoadingHistory() throws Exception {
+        long id = createTask();
+        String tag = taskTag(id);
+
+        long[] before = historyReads();
+        long taskReads = metrics.calls(RepositoryCall.TASK_FIND_BY_ID);
+        mvc.perform(get("/task-mgmt/{id}", id).header("If-None-Match", tag))
+                .andExpect(result -> assertEquals(304, result.getResponse().getStatus()));
+        // Only the task itself, for its version
+        assertEquals(taskReads + 1, metrics.calls(RepositoryCall.TASK_FIND_BY_ID));
+        assertArrayEquals(before, historyReads());
+
+        // A stale tag gets the full task
+        String other = taskTag(createTask());
+        mvc.perform(get("/task-mgmt/{id}", id).header("If-None-Match", other))
+                .andExpect(result -> assertEquals(200, result.getResponse().getStatus()));
+        assertTrue(historyReads()[0] > before[0]);
+    }
+
+    @Test
+    void activityStillQueuedInTheLogChangesTheTaskTag() throws Exception {
+        long id = createTask();
+        activityLog.flush();
+        String tag = taskTag(id);
+
+        // The writer is held, so the new entry stays queued
+        activityRepository.hold();
+        activityLog.append(activity(id, "held"));
+        assertTrue(activityRepository.held.await(10, TimeUnit.SECONDS));
+        activityLog.append(activity(id, "queued"));
+        long stored = activityRepository.findByTaskIdOrderByTimestamp(id).size();
+
+        String queuedTag = taskTag(id);
+        assertNotEquals(tag, queuedTag);
+        mvc.perform(get("/task-mgmt/{id}", id).header("If-None-Match", tag))
+                .andExpect(result -> assertEquals(200, result.getResponse().getStatus()));
+
+        // Writing it out changes nothing the response shows
+        activityRepository.release();
+        activityLog.flush();
+        assertEquals(stored + 2, activityRepository.findByTaskIdOrderByTimestamp(id).size());
+        assertEquals(queuedTag, taskTag(id));
+    }
+
+    @Test
+    void commentChangesTheTaskTag() throws Exception {
+        long id = createTask();
+        String tag = taskTag(id);
+
+        // Stored on its own, without the activity the service would log with it
+        TaskComment comment = new TaskComment();
+        comment.setTaskId(id);
+        comment.setUserId(1L);
+        comment.setComment("looks done");
+        commentRepository.save(comment);
+
+        assertNotEquals(tag, taskTag(id));
+        mvc.perform(get("/task-mgmt/{id}", id).header("If-None-Match", tag))
+                .andExpect(result -> assertEquals(200, result.getResponse().getStatus()));
+    }
+
+    @Test
+    void matchingPriorityTagIsAnsweredWithoutReadingTasks() throws Exception {
+        long id = createTask();
+        createTask();
+        String tag = priorityTag(Priority.MEDIUM, null);
+
+        long listings = metrics.calls(RepositoryCall.TASK_ITERATE_BY_PRIORITY);
+        long[] before = historyReads();
+        mvc.perform(get("/task-mgmt/priority/{priority}", Priority.MEDIUM).header("If-None-Match", tag))
+                .andExpect(result -> assertEquals(304, result.getResponse().getStatus()));
+        assertEquals(listings, metrics.calls(RepositoryCall.TASK_ITERATE_BY_PRIORITY));
+        assertArrayEquals(before, historyReads());
+
+        // A task leaving the priority changes the tag; so does queued activity once history is included
+        String withHistory = priorityTag(Priority.MEDIUM, "history");
+        activityRepository.hold();
+        activityLog.append(activity(id, "held"));
+        assertTrue(activityRepository.held.await(10, TimeUnit.SECONDS));
+        activityLog.append(activity(id, "queued"));
+        assertNotEquals(withHistory, priorityTag(Priority.MEDIUM, "history"));
+        assertEquals(tag, priorityTag(Priority.MEDIUM, null));
+
+        UpdatePriorityRequest request = new UpdatePriorityRequest();
+        request.setTaskId(id);
+        request.setPriority(Priority.HIGH);
+        request.setUserId(1L);
+        service.updateTaskPriority(request);
+        assertNotEquals(tag, priorityTag(Priority.MEDIUM, null));
+        mvc.perform(get("/task-mgmt/priority/{priority}", Priority.MEDIUM).header("If-None-Match", tag))
+                .andExpect(result -> assertEquals(200, result.getResponse().getStatus()));
+    }
+
+    private String taskTag(long id) throws Exception {
+        String tag = mvc.perform(get("/task-mgmt/{id}", id))
+                .andExpect(result -> assertEquals(200, result.getResponse().getStatus()))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(tag);
+        return tag;
+    }
+
+    private String priorityTag(Priority priority, String include) throws Exception {
+        String tag = mvc.perform(get("/task-mgmt/priority/{priority}", priority).param("include", include))
+                .andExpect(result -> assertEquals(200, result.getResponse().getStatus()))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotNull(tag);
+        return tag;
+    }
+
+    // Activity history, activity history pages and comments read from the stores so far
+    private long[] historyReads() {
+        return new long[] {metrics.calls(RepositoryCall.ACTIVITY_FIND_BY_TASK),
+                metrics.calls(RepositoryCall.ACTIVITY_FIND_BY_TASK_AFTER),
+                metrics.calls(RepositoryCall.COMMENT_FIND_BY_TASK)};
+    }
+
+    private long createTask() {
+        TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+        item.setReferenceId(1L);
+        item.setReferenceType(ReferenceType.ORDER);
+        item.setTask(Task.CREATE_INVOICE);
+        item.setAssigneeId(1L);
+        item.setPriority(Priority.MEDIUM);
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setRequests(List.of(item));
+        return service.createTasks(request).stream().map(TaskManagementDto::getId).findFirst().orElseThrow();
+    }
+
+    private static TaskActivity activity(long taskId, String text) {
+        TaskActivity activity = new TaskActivity();
+        activity.setTaskId(taskId);
+        activity.setUserId(1L);
+        activity.setActivityType(ActivityType.TASK_STARTED);
+        activity.setText(text, null, null);
+        return activity;
+    }
+
+    // Once held, the next write waits until released
+    private static final class HeldActivityRepository extends InMemoryTaskActivityRepository {
+        volatile CountDownLatch held = new CountDownLatch(0);
+        private volatile CountDownLatch release = new CountDownLatch(0);
+
+        HeldActivityRepository(StoreChangePublisher changes, RepositoryMetrics metrics) {
+            super(changes, metrics);
+        }
+
+        void hold() {
+            held = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+        }
+
+        void release() {
+            release.countDown();
+        }
+
+        @Override
+        public List<TaskActivity> saveAll(List<TaskActivity> activities) {
+            if (held.getCount() > 0) {
+                held.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.saveAll(activities);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.railse.hiring.workforcemgmt.deadline;
+
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityMessage;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.StoreChangePublisher;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Saves queue deadline changes without ever waiting for the wheel thread, each task's changes
+ * still apply in save order, and a passed deadline is logged once even across a restart.
+ */
+class DeadlineSchedulerTest {
+    private final InMemoryTaskRepository tasks = new InMemoryTaskRepository();
+    private final StoreChangePublisher changes = new StoreChangePublisher();
+
+    @Test
+    void savesDoNotWaitForAStalledWheelThread() throws Exception {
+        // Logging the first overdue task holds the wheel thread until released
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryTaskActivityRepository activities = new InMemoryTaskActivityRepository() {
+            @Override
+            public List<TaskActivity> saveAll(List<TaskActivity> entries) {
+                stalled.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.saveAll(entries);
+            }
+        };
+        DeadlineScheduler scheduler = scheduler(activities);
+        scheduler.start();
+        try {
+            long now = System.currentTimeMillis();
+            scheduler.onTaskSaved(task(0L, now - 1000, TaskStatus.ASSIGNED));
+            assertTrue(stalled.await(10, TimeUnit.SECONDS));
+
+            // Far more changes than the ring holds; a task's later changes must not overtake its earlier ones
+            List<OverdueTask> expected = new ArrayList<>(List.of(new OverdueTask(now - 1000, 0)));
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                for (long id = 1; id <= 2000; id++) {
+                    scheduler.onTaskSaved(task(id, now - 2000, TaskStatus.ASSIGNED));
+                    scheduler.onTaskSaved(task(id, now + 3_600_000, TaskStatus.STARTED));
+                    if (id % 2 == 0) {
+                        scheduler.onTaskSaved(task(id, now - 500 - id, TaskStatus.STARTED));
+                        expected.add(new OverdueTask(now - 500 - id, id));
+                    } else {
+                        scheduler.onTaskSaved(task(id, now - 500, TaskStatus.COMPLETED));
+                    }
+                }
+            });
+            assertTrue(scheduler.spilledCount() > 0);
+            release.countDown();
+
+            expected.sort(null);
+            await(() -> scheduler.overdue(null, Integer.MAX_VALUE).equals(expected));
+            assertEquals(0, scheduler.pendingCount());
+        } finally {
+            release.countDown();
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void concurrentSavesApplyInSaveOrderAcrossTheOverflow() throws Exception {
+        DeadlineScheduler scheduler = scheduler(new InMemoryTaskActivityRepository(), 2);
+        scheduler.start();
+        try {
+            long now = System.currentTimeMillis();
+            // Each writer moves its own tasks' deadlines around; the ring keeps filling and emptying
+            Thread[] writers = new Thread[8];
+            List<OverdueTask> expected = new ArrayList<>();
+            for (int w = 0; w < writers.length; w++) {
+                long first = 1 + w * 5000L;
+                writers[w] = new Thread(() -> {
+                    for (long id = first; id < first + 5000; id++) {
+                        for (int move = 5; move >= 1; move--) {
+                            scheduler.onTaskSaved(task(id, now - move * 1000L - id, TaskStatus.STARTED));
+                        }
+                    }
+                });
+                for (long id = first; id < first + 5000; id++) {
+                    expected.add(new OverdueTask(now - 1000 - id, id));
+                }
+            }
+            for (Thread writer : writers) {
+                writer.start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            assertTrue(scheduler.spilledCount() > 0);
+
+            expected.sort(null);
+            await(() -> scheduler.pendingCount() == 0 && scheduler.overdueCount() == expected.size());
+            assertEquals(expected, scheduler.overdue(null, Integer.MAX_VALUE));
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void deadlineLoggedBeforeARestartIsNotLoggedAgain() throws Exception {
+        InMemoryTaskActivityRepository activities = new InMemoryTaskActivityRepository();
+        long now = System.currentTimeMillis();
+        long logged = tasks.save(task(null, now - 2000, TaskStatus.ASSIGNED)).getId();
+        long missed = tasks.save(task(null, now - 1000, TaskStatus.STARTED)).getId();
+        long upcoming = tasks.save(task(null, now + 200, TaskStatus.ASSIGNED)).getId();
+        // The previous run logged the first deadline and stopped before the second one's tick
+        TaskActivity previous = new TaskActivity();
+        previous.setTaskId(logged);
+        previous.setActivityType(ActivityType.TASK_OVERDUE);
+        previous.setEvent(ActivityMessage.DEADLINE_PASSED, ActivityMessage.ABSENT, now - 2000, ActivityMessage.ABSENT);
+        activities.save(previous);
+
+        DeadlineScheduler scheduler = scheduler(activities);
+        scheduler.start();
+        try {
+            await(() -> scheduler.firedCount() == 3 && overdueLogged(activities, upcoming) == 1);
+            assertEquals(1, overdueLogged(activities, logged));
+            assertEquals(1, overdueLogged(activities, missed));
+
+            // Moved and moved back within the run: the same deadline passes again
+            scheduler.onTaskSaved(task(missed, now + 3_600_000, TaskStatus.STARTED));
+            scheduler.onTaskSaved(task(missed, now - 1000, TaskStatus.STARTED));
+            await(() -> overdueLogged(activities, missed) == 2);
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    private DeadlineScheduler scheduler(InMemoryTaskActivityRepository activities) {
+        return scheduler(activities, 16);
+    }
+
+    private DeadlineScheduler scheduler(InMemoryTaskActivityRepository activities, int queueCapacity) {
+        DeadlineProperties properties = new DeadlineProperties();
+        properties.setTickMs(10);
+        properties.setInitialCapacity(16);
+        properties.setQueueCapacity(queueCapacity);
+        return new DeadlineScheduler(properties, tasks, ActivityLog.synchronous(activities), changes);
+    }
+
+    private static TaskManagement task(Long id, long deadline, TaskStatus status) {
+        TaskManagement task = new TaskManagement();
+        task.setId(id);
+        task.setStatus(status);
+        task.setTaskDeadlineTime(deadline);
+        return task;
+    }
+
+    private static long overdueLogged(InMemoryTaskActivityRepository activities, long taskId) {
+        return activities.findByTaskIdOrderByTimestamp(taskId).stream()
+                .filter(activity -> activity.getActivityType() == ActivityType.TASK_OVERDUE)
+                .count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.railse.hiring.workforcemgmt.deadline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that deadlines on every level cascade down and expire on the tick they are due, no
+ * earlier and no later, that cancelled and moved deadlines never fire, and that past-due
+ * deadlines expire on the next advance.
+ */
+class TimingWheelTest {
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void deadlinesOnEveryLevelExpireOnTheirTick() {
+        TimingWheel wheel = new TimingWheel(1, NOW, 16);
+        // One slot past each level boundary, so each has to cascade through every level below
+        long[] offsets = {5, 64 + 5, 64 * 64 + 5, 64 * 64 * 64 + 5, 64L * 64 * 64 * 64 + 5};
+        for (int i = 0; i < offsets.length; i++) {
+            wheel.schedule(i, NOW + offsets[i]);
+        }
+        for (int i = 0; i < offsets.length; i++) {
+            long deadline = NOW + offsets[i];
+            assertEquals(List.of(), expire(wheel, deadline - 1), "before deadline " + i);
+            assertEquals(List.of((long) i), expire(wheel, deadline), "at deadline " + i);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlineBetweenTicksExpiresOnTheTickAfterIt() {
+        TimingWheel wheel = new TimingWheel(1000, NOW, 16);
+        wheel.schedule(1, NOW + 1500);
+        assertEquals(List.of(), expire(wheel, NOW + 1999));
+        assertEquals(List.of(1L), expire(wheel, NOW + 2000));
+    }
+
+    @Test
+    void cancelledAndMovedDeadlinesDoNotFire() {
+        TimingWheel wheel = new TimingWheel(1, NOW, 16);
+        wheel.schedule(1, NOW + 100);
+        wheel.schedule(2, NOW + 100);
+        wheel.schedule(3, NOW + 100);
+        assertTrue(wheel.cancel(2));
+        assertFalse(wheel.cancel(2));
+        assertNull(wheel.deadlineOf(2));
+        wheel.schedule(3, NOW + 10_000);
+        assertEquals(NOW + 10_000, wheel.deadlineOf(3));
+
+        assertEquals(List.of(1L), expire(wheel, NOW + 100));
+        assertEquals(List.of(3L), expire(wheel, NOW + 10_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancellingKeepsEveryOtherKeyFindable() {
+        // Enough keys to grow the table and form long probe chains that deletion must repair
+        TimingWheel wheel = new TimingWheel(1, NOW, 16);
+        int keys = 10_000;
+        for (int key = 0; key < keys; key++) {
+            wheel.schedule(key, NOW + 1 + key);
+        }
+        for (int key = 0; key < keys; key += 3) {
+            assertTrue(wheel.cancel(key));
+        }
+        for (int key = 0; key < keys; key++) {
+            assertEquals(key % 3 == 0 ? null : NOW + 1 + key, wheel.deadlineOf(key), "key " + key);
+        }
+        assertEquals(keys - (keys + 2) / 3, wheel.size());
+        assertEquals(wheel.size(), expire(wheel, NOW + keys).size());
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextAdvance() {
+        TimingWheel wheel = new TimingWheel(1000, NOW, 16);
+        wheel.schedule(1, NOW - 60_000);
+        wheel.schedule(2, NOW + 60_000);
+        // Whatever time the advance is for, even one behind the wheel's clock
+        assertEquals(List.of(1L), expire(wheel, NOW - 120_000));
+        assertEquals(1, wheel.size());
+
+        expire(wheel, NOW + 10_000);
+        wheel.schedule(3, NOW + 5_000);
+        assertEquals(List.of(3L), expire(wheel, NOW + 10_000));
+    }
+
+    @Test
+    void randomOperationsMatchAMap() {
+        for (long tick : new long[] {1, 7, 1000}) {
+            Random random = new Random(tick);
+            long now = NOW;
+            TimingWheel wheel = new TimingWheel(tick, now, 4);
+            Map<Long, Long> pending = new HashMap<>();
+            for (int round = 0; round < 10_000; round++) {
+                int op = random.nextInt(10);
+                long key = random.nextInt(3000);
+                if (op < 5) {
+                    long span = new long[] {100, 100_000, 100_000_000L, 10_000_000_000L}[random.nextInt(4)];
+                    // A tenth of them already past
+                    long deadline = now + (long) (random.nextDouble() * span) - span / 10;
+                    wheel.schedule(key, deadline);
+                    pending.put(key, deadline);
+                } else if (op < 7) {
+                    assertEquals(pending.remove(key) != null, wheel.cancel(key));
+                } else {
+                    // Advancing walks every tick, so steps are counted in ticks
+                    now += tick * new long[] {1, 50, 5_000, 200_000}[random.nextInt(4)] + random.nextInt((int) tick);
+                    long reached = now;
+                    wheel.advance(now, (expired, deadline) -> {
+                        assertEquals(pending.remove(expired), deadline, "key " + expired);
+                        assertTrue(deadline <= reached, "expired early");
+                    });
+                    for (long deadline : pending.values()) {
+                        // Due on the first tick starting at or after the deadline
+                        assertTrue(-Math.floorDiv(-deadline, tick) > Math.floorDiv(now, tick), "expired late");
+                    }
+                }
+                assertEquals(pending.size(), wheel.size());
+            }
+            for (Map.Entry<Long, Long> entry : pending.entrySet()) {
+                assertEquals(entry.getValue(), wheel.deadlineOf(entry.getKey()));
+            }
+        }
+    }
+
+    private static List<Long> expire(TimingWheel wheel, long nowMillis) {
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(nowMillis, (key, deadline) -> expired.add(key));
+        return expired;
+    }
+}
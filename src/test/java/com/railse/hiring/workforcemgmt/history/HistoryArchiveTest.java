@@ -0,0 +1,213 @@
+package com.railse.hiring.workforcemgmt.history;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.HistoryVersion;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static com.railse.hiring.workforcemgmt.history.HistorySegmentTest.START;
+import static com.railse.hiring.workforcemgmt.history.HistorySegmentTest.activity;
+import static com.railse.hiring.workforcemgmt.history.HistorySegmentTest.comment;
+import static com.railse.hiring.workforcemgmt.history.HistorySegmentTest.describeActivities;
+import static com.railse.hiring.workforcemgmt.history.HistorySegmentTest.describeComments;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Merging segments keeps every entry once, a restart drops what an interrupted write or merge
+ * left behind, and compaction moves closed tasks' old history to disk without changing a read.
+ */
+class HistoryArchiveTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void mergeKeepsEveryEntryOnceInHistoryOrder() throws IOException {
+        HistoryArchive archive = HistoryArchive.open(directory, 1, 1 << 20, false);
+        // Tasks spread over the segments, some in several of them, some entries archived twice
+        Random random = new Random(1);
+        Map<Long, List<TaskActivity>> expected = new HashMap<>();
+        long nextId = 1;
+        for (int round = 1; round <= 9; round++) {
+            try (HistorySegment.Writer writer = archive.newSegment()) {
+                for (long taskId = round; taskId <= 300; taskId += 1 + random.nextInt(4)) {
+                    List<TaskActivity> taskActivities = new ArrayList<>();
+                    List<TaskActivity> known = expected.computeIfAbsent(taskId, k -> new ArrayList<>());
+                    if (!known.isEmpty() && random.nextBoolean()) {
+                        taskActivities.add(known.get(random.nextInt(known.size())));
+                    }
+                    TaskActivity added = activity(nextId++, taskId, 1000 - round * 10);
+                    taskActivities.add(added);
+                    known.add(added);
+                    taskActivities.sort(TaskActivity.HISTORY_ORDER);
+                    writer.add(taskId, taskActivities, List.of());
+                }
+                archive.publish(writer);
+            }
+            // Three inputs at a time
+            if (round % 3 == 0) {
+                archive.mergeIfNeeded();
+                assertEquals(1, archive.segmentCount());
+                assertReads(archive, expected);
+            }
+        }
+        assertEquals(3, archive.merges());
+
+        // The merged file is named after the sequence range it replaced
+        HistoryArchive reopened = HistoryArchive.open(directory, 1, 1 << 20, false);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("history-00000000000000000001-00000000000000000009.seg"),
+                    files.map(file -> file.getFileName().toString()).toList());
+        }
+        assertReads(reopened, expected);
+    }
+
+    @Test
+    void openDropsLeftoversOfInterruptedWritesAndMerges() throws IOException {
+        HistoryArchive archive = HistoryArchive.open(directory, 8, 1 << 20, false);
+        for (long sequence = 1; sequence <= 2; sequence++) {
+            try (HistorySegment.Writer writer = archive.newSegment()) {
+                writer.add(sequence, List.of(activity(sequence, sequence, 0)), List.of());
+                archive.publish(writer);
+            }
+        }
+        // A merge that committed but crashed before deleting its inputs, and a write that never committed
+        try (HistorySegment.Writer merged = HistorySegment.create(directory, 1, 2)) {
+            merged.add(1, List.of(activity(1, 1, 0)), List.of());
+            merged.add(2, List.of(activity(2, 2, 0)), List.of());
+            merged.commit();
+        }
+        Files.write(directory.resolve("history-00000000000000000003-00000000000000000003.seg.tmp"), new byte[100]);
+
+        HistoryArchive reopened = HistoryArchive.open(directory, 8, 1 << 20, false);
+        assertEquals(1, reopened.segmentCount());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("history-00000000000000000001-00000000000000000002.seg"),
+                    files.map(file -> file.getFileName().toString()).toList());
+        }
+        assertEquals(1, reopened.activities().find(2L).size());
+        // The next segment follows the merged range
+        try (HistorySegment.Writer writer = reopened.newSegment()) {
+            assertTrue(writer.commit().path().getFileName().toString().startsWith("history-00000000000000000003-"));
+        }
+
+        assertEquals(0, HistoryArchive.open(directory, 8, 1 << 20, true).segmentCount());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void compactedHistoryReadsTheSameAfterEviction() throws IOException {
+        InMemoryTaskRepository tasks = new InMemoryTaskRepository();
+        InMemoryTaskActivityRepository activities = new InMemoryTaskActivityRepository();
+        InMemoryTaskCommentRepository comments = new InMemoryTaskCommentRepository();
+        HistoryArchive archive = HistoryArchive.open(directory, 2, 1 << 20, false);
+        activities.attachArchive(archive.activities());
+        comments.attachArchive(archive.comments());
+        HistoryTierProperties properties = new HistoryTierProperties();
+        HistoryCompactor compactor = new HistoryCompactor(properties, tasks, activities, comments, archive);
+
+        Random random = new Random(2);
+        TaskStatus[] statuses = {TaskStatus.ASSIGNED, TaskStatus.STARTED, TaskStatus.COMPLETED, TaskStatus.CANCELLED};
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            taskIds.add(tasks.save(task(statuses[i % statuses.length])).getId());
+        }
+        LocalDateTime now = START.plusDays(100);
+        for (int round = 0; round < 5; round++) {
+            // Some entries old enough to archive, some not
+            for (int i = 0; i < 2000; i++) {
+                long taskId = taskIds.get(random.nextInt(taskIds.size()));
+                LocalDateTime at = now.minusHours(random.nextInt(2 * (int) properties.getCommentRetentionHours()));
+                TaskActivity activity = activity(0, taskId, 0);
+                activity.setId(null);
+                activity.setTimestamp(at);
+                activities.save(activity);
+                if (random.nextInt(3) == 0) {
+                    TaskComment comment = comment(0, taskId, 0);
+                    comment.setId(null);
+                    comment.setTimestamp(at);
+                    comments.save(comment);
+                }
+            }
+            Map<Long, String> before = reads(taskIds, activities, comments);
+            long moved = compactor.compact(now);
+
+            assertTrue(moved > 0);
+            assertEquals(before, reads(taskIds, activities, comments));
+            for (long taskId : taskIds) {
+                TaskStatus status = tasks.findById(taskId).orElseThrow().getStatus();
+                boolean closed = status == TaskStatus.COMPLETED || status == TaskStatus.CANCELLED;
+                LocalDateTime cutoff = now.minusHours(properties.getActivityRetentionHours());
+                boolean keptOld = activities.findRecent(taskId).stream()
+                        .anyMatch(activity -> activity.getTimestamp().isBefore(cutoff));
+                if (closed) {
+                    assertFalse(keptOld, "task " + taskId + " kept old activities in memory");
+                } else {
+                    assertEquals(List.of(), archive.activities().find(taskId), "open task " + taskId);
+                }
+            }
+            assertEquals(0, compactor.compact(now));
+            now = now.plusDays(10);
+        }
+        assertTrue(archive.merges() > 0);
+    }
+
+    private static void assertReads(HistoryArchive archive, Map<Long, List<TaskActivity>> expected) {
+        for (Map.Entry<Long, List<TaskActivity>> entry : expected.entrySet()) {
+            List<TaskActivity> sorted = new ArrayList<>(entry.getValue());
+            sorted.sort(TaskActivity.HISTORY_ORDER);
+            // History order, each entry once
+            assertEquals(describeActivities(sorted), describeActivities(archive.activities().find(entry.getKey())),
+                    "task " + entry.getKey());
+            long maxId = sorted.stream().mapToLong(TaskActivity::getId).max().orElseThrow();
+            assertEquals(new HistoryVersion(sorted.size(), maxId), archive.activities().version(entry.getKey()));
+        }
+    }
+
+    // What the API reads for each task: its whole history, memory and archive merged, and its versions
+    private static Map<Long, String> reads(List<Long> taskIds, InMemoryTaskActivityRepository activities,
+                                           InMemoryTaskCommentRepository comments) {
+        Map<Long, String> reads = new HashMap<>();
+        for (long taskId : taskIds) {
+            reads.put(taskId, describeActivities(activities.findByTaskIdOrderByTimestamp(taskId)) + " "
+                    + describeComments(comments.findByTaskIdOrderByTimestamp(taskId)) + " "
+                    + activities.historyVersion(taskId) + " " + comments.historyVersion(taskId));
+        }
+        return reads;
+    }
+
+    private static TaskManagement task(TaskStatus status) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(1L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setStatus(status);
+        task.setPriority(Priority.MEDIUM);
+        task.setAssigneeId(1L);
+        task.setStartDate(1L);
+        return task;
+    }
+}
@@ -0,0 +1,194 @@
+package com.railse.hiring.workforcemgmt.history;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.repository.HistoryVersion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Writes segments and reads them back: every task's entries and versions, whichever chunk holds
+ * it and whether its history is short or spills a chunk on its own, through lookups and a cursor.
+ */
+class HistorySegmentTest {
+    static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyTaskReadsBackAsWritten() throws IOException {
+        // Ids with gaps, many more tasks than a chunk holds, and a few histories larger than a chunk
+        Random random = new Random(1);
+        Map<Long, History> written = new TreeMap<>();
+        long nextEntryId = 1;
+        for (long taskId = 3; written.size() < 1000; taskId += 1 + random.nextInt(3)) {
+            int activities = random.nextInt(50) == 0 ? 2000 : random.nextInt(6);
+            int comments = random.nextInt(3);
+            History history = new History(new ArrayList<>(), new ArrayList<>());
+            for (int i = 0; i < activities; i++) {
+                history.activities().add(activity(nextEntryId++, taskId, i));
+            }
+            for (int i = 0; i < comments; i++) {
+                history.comments().add(comment(nextEntryId++, taskId, i));
+            }
+            written.put(taskId, history);
+        }
+        HistorySegment segment = write(1, written);
+
+        long lastTaskId = 0;
+        for (Map.Entry<Long, History> entry : written.entrySet()) {
+            long taskId = entry.getKey();
+            History expected = entry.getValue();
+            assertEquals(describeActivities(expected.activities()), describeActivities(segment.activities(taskId)));
+            assertEquals(describeComments(expected.comments()), describeComments(segment.comments(taskId)));
+            assertEquals(version(expected.activities().stream().mapToLong(TaskActivity::getId).toArray()),
+                    segment.activityVersion(taskId));
+            assertEquals(version(expected.comments().stream().mapToLong(TaskComment::getId).toArray()),
+                    segment.commentVersion(taskId));
+            // The gaps between tasks, and either side of the range
+            for (long absent = lastTaskId + 1; absent < taskId; absent++) {
+                assertEquals(List.of(), segment.activities(absent), "task " + absent);
+                assertEquals(HistoryVersion.EMPTY, segment.commentVersion(absent));
+            }
+            lastTaskId = taskId;
+        }
+        assertEquals(List.of(), segment.activities(lastTaskId + 1));
+        assertEquals(written.values().stream().mapToLong(history -> history.activities().size()).sum(),
+                segment.activities());
+        assertEquals(nextEntryId - 1, Math.max(segment.maxActivityId(), segment.maxCommentId()));
+
+        HistorySegment.Cursor cursor = segment.cursor();
+        for (Map.Entry<Long, History> entry : written.entrySet()) {
+            assertEquals(entry.getKey(), cursor.taskId());
+            assertEquals(describeActivities(entry.getValue().activities()), describeActivities(cursor.activities()));
+            assertEquals(describeComments(entry.getValue().comments()), describeComments(cursor.comments()));
+            cursor.next();
+        }
+        assertFalse(cursor.valid());
+    }
+
+    @Test
+    void emptySegmentHasNoTasks() throws IOException {
+        HistorySegment segment = write(1, Map.of());
+        assertEquals(List.of(), segment.activities(1));
+        assertEquals(HistoryVersion.EMPTY, segment.activityVersion(1));
+        assertFalse(segment.cursor().valid());
+    }
+
+    @Test
+    void tasksMustBeAddedInIdOrder() throws IOException {
+        try (HistorySegment.Writer writer = HistorySegment.create(directory, 1, 1)) {
+            writer.add(5, List.of(activity(1, 5, 0)), List.of());
+            assertThrows(IllegalArgumentException.class, () -> writer.add(5, List.of(activity(2, 5, 1)), List.of()));
+            assertThrows(IllegalArgumentException.class, () -> writer.add(4, List.of(activity(3, 4, 0)), List.of()));
+        }
+    }
+
+    @Test
+    void segmentIsOnlyVisibleUnderItsNameOnceCommitted() throws IOException {
+        Path committed;
+        try (HistorySegment.Writer writer = HistorySegment.create(directory, 7, 9)) {
+            writer.add(1, List.of(activity(1, 1, 0)), List.of());
+            // Written under a temporary name until then, which open() treats as left over from a crash
+            try (var files = Files.list(directory)) {
+                assertEquals(List.of("history-00000000000000000007-00000000000000000009.seg.tmp"),
+                        files.map(file -> file.getFileName().toString()).toList());
+            }
+            HistorySegment segment = writer.commit();
+            committed = segment.path();
+            assertEquals(7, segment.firstSequence());
+            assertEquals(9, segment.lastSequence());
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(committed), files.toList());
+        }
+        // Abandoned writes leave nothing behind
+        HistorySegment.create(directory, 10, 10).close();
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(committed), files.toList());
+        }
+    }
+
+    @Test
+    void damagedFileIsRejected() throws IOException {
+        Path path = write(1, Map.of(1L, new History(List.of(activity(1, 1, 0)), List.of()))).path();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(path, bytes);
+        assertThrows(IllegalStateException.class, () -> HistorySegment.open(path));
+
+        Files.write(path, new byte[10]);
+        assertThrows(IllegalStateException.class, () -> HistorySegment.open(path));
+    }
+
+    private HistorySegment write(long sequence, Map<Long, History> histories) throws IOException {
+        try (HistorySegment.Writer writer = HistorySegment.create(directory, sequence, sequence)) {
+            for (Map.Entry<Long, History> entry : histories.entrySet()) {
+                writer.add(entry.getKey(), entry.getValue().activities(), entry.getValue().comments());
+            }
+            return writer.commit();
+        }
+    }
+
+    static TaskActivity activity(long id, long taskId, int minute) {
+        TaskActivity activity = new TaskActivity();
+        activity.setId(id);
+        activity.setTaskId(taskId);
+        activity.setUserId(1L);
+        activity.setActivityType(ActivityType.TASK_STARTED);
+        activity.setText("activity " + id + " of task " + taskId, null, null);
+        activity.setTimestamp(START.plusMinutes(minute));
+        return activity;
+    }
+
+    static TaskComment comment(long id, long taskId, int minute) {
+        TaskComment comment = new TaskComment();
+        comment.setId(id);
+        comment.setTaskId(taskId);
+        comment.setUserId(1L);
+        comment.setComment("comment " + id + " on task " + taskId);
+        comment.setTimestamp(START.plusMinutes(minute));
+        return comment;
+    }
+
+    static List<String> describeActivities(List<TaskActivity> activities) {
+        return activities.stream()
+                .map(activity -> activity.getId() + " " + activity.getTaskId() + " " + activity.getText() + " "
+                        + activity.getTimestamp())
+                .toList();
+    }
+
+    static List<String> describeComments(List<TaskComment> comments) {
+        return comments.stream()
+                .map(comment -> comment.getId() + " " + comment.getTaskId() + " " + comment.getComment() + " "
+                        + comment.getTimestamp())
+                .toList();
+    }
+
+    private static HistoryVersion version(long[] ids) {
+        HistoryVersion version = HistoryVersion.EMPTY;
+        for (long id : ids) {
+            version = version.plus(1, id);
+        }
+        return version;
+    }
+
+    record History(List<TaskActivity> activities, List<TaskComment> comments) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.railse.hiring.workforcemgmt.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts from every thread add up, including threads that have ended, and ended threads do not
+ * leave a cell behind for readers to sum.
+ */
+class RepositoryMetricsTest {
+    @Test
+    void endedThreadsAreFoldedIntoTheTotals() throws InterruptedException {
+        RepositoryMetrics metrics = new RepositoryMetrics();
+        metrics.record(RepositoryCall.TASK_FIND_BY_ID, 1, 1);
+        for (int round = 0; round < 50; round++) {
+            Thread[] threads = new Thread[8];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> {
+                    for (int call = 0; call < 100; call++) {
+                        metrics.record(RepositoryCall.TASK_FIND_BY_ID, 3, 1);
+                        metrics.call(RepositoryCall.TASK_FIND_ALL);
+                        metrics.rows(RepositoryCall.TASK_FIND_ALL, 10, 2);
+                    }
+                });
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        long calls = 50 * 8 * 100;
+        assertEquals(calls + 1, metrics.calls(RepositoryCall.TASK_FIND_BY_ID));
+        assertEquals(3 * calls + 1, metrics.scanned(RepositoryCall.TASK_FIND_BY_ID));
+        assertEquals(calls + 1, metrics.returned(RepositoryCall.TASK_FIND_BY_ID));
+        assertEquals(calls, metrics.calls(RepositoryCall.TASK_FIND_ALL));
+        assertEquals(10 * calls, metrics.scanned(RepositoryCall.TASK_FIND_ALL));
+        assertEquals(2 * calls, metrics.returned(RepositoryCall.TASK_FIND_ALL));
+        // This thread, and the last round's threads: none has started counting since they ended
+        assertTrue(metrics.cellCount() <= 1 + 8, "cells: " + metrics.cellCount());
+
+        // The next thread to count folds whatever ended before it
+        Thread next = new Thread(() -> metrics.call(RepositoryCall.TASK_FIND_BY_ID));
+        next.start();
+        next.join();
+        assertEquals(calls + 2, metrics.calls(RepositoryCall.TASK_FIND_BY_ID));
+        assertEquals(2, metrics.cellCount());
+    }
+}
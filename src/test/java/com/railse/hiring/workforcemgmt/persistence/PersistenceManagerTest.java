@@ -0,0 +1,174 @@
+package com.railse.hiring.workforcemgmt.persistence;
+
+import com.railse.hiring.workforcemgmt.repository.NodeStores;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Restarts on the files a previous run left behind: the stores come back from the snapshot and
+ * the WAL after it, a torn end of the last segment is cut off, and damage anywhere else fails
+ * startup.
+ */
+class PersistenceManagerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void snapshotAndTheWalAfterItAreRecovered() throws Exception {
+        NodeStores stores = new NodeStores();
+        PersistenceManager manager = start(stores);
+        stores.write(new Random(1), 2000);
+        manager.snapshot();
+        stores.write(new Random(2), 1000);
+        manager.stop();
+
+        assertEquals(stores.dump(), recovered().dump());
+    }
+
+    @Test
+    void partialFrameAtTheEndOfTheLastSegmentIsCutOff() throws Exception {
+        NodeStores stores = new NodeStores();
+        PersistenceManager manager = start(stores);
+        stores.write(new Random(1), 1000);
+        manager.stop();
+        Path last = lastSegment();
+        // The header of a frame whose payload never made it to disk
+        Files.write(last, new byte[] {0, 0, 1, 0, 7, 7, 7, 7, 0, 0}, StandardOpenOption.APPEND);
+
+        NodeStores restarted = new NodeStores();
+        manager = start(restarted);
+        assertEquals(stores.dump(), restarted.dump());
+        // The torn segment is no longer the last one on the next restart
+        restarted.write(new Random(2), 500);
+        manager.stop();
+        assertTrue(WriteAheadLog.segments(directory).size() > 1);
+        assertEquals(restarted.dump(), recovered().dump());
+    }
+
+    @Test
+    void corruptionBeforeTheLastSegmentFailsStartup() throws Exception {
+        writeTwoSegments();
+        corrupt(WriteAheadLog.segments(directory).get(0));
+
+        assertThrows(IOException.class, () -> start(new NodeStores()));
+    }
+
+    @Test
+    void missingSegmentFailsStartup() throws Exception {
+        writeTwoSegments();
+        Files.delete(WriteAheadLog.segments(directory).get(0));
+
+        IOException failure = assertThrows(IOException.class, () -> start(new NodeStores()));
+        assertTrue(failure.getMessage().contains("missing"), failure.getMessage());
+    }
+
+    @Test
+    void corruptSnapshotFailsStartup() throws Exception {
+        NodeStores stores = new NodeStores();
+        PersistenceManager manager = start(stores);
+        stores.write(new Random(1), 1000);
+        manager.snapshot();
+        manager.stop();
+        corrupt(SnapshotStore.snapshots(directory).get(0));
+
+        assertThrows(IOException.class, () -> start(new NodeStores()));
+    }
+
+    @Test
+    void snapshotsTakenDuringWritesLoseNothing() throws Exception {
+        NodeStores stores = new NodeStores();
+        PersistenceManager manager = start(stores);
+        stores.write(new Random(1), 500);
+        Thread[] writers = new Thread[3];
+        for (int i = 0; i < writers.length; i++) {
+            Random random = new Random(10 + i);
+            writers[i] = new Thread(() -> stores.write(random, 3000));
+            writers[i].start();
+        }
+        for (Thread writer : writers) {
+            while (writer.isAlive()) {
+                manager.snapshot();
+            }
+        }
+        manager.stop();
+
+        NodeStores restarted = recovered();
+        assertEquals(stores.dump(), restarted.dump());
+        assertEquals(stores.workloads(), restarted.workloads());
+    }
+
+    @Test
+    void snapshotDeletesTheSegmentsAndSnapshotsItCovers() throws Exception {
+        NodeStores stores = new NodeStores();
+        PersistenceManager manager = start(stores);
+        for (int round = 0; round < 3; round++) {
+            stores.write(new Random(round), 500);
+            manager.snapshot();
+        }
+        stores.write(new Random(3), 500);
+        manager.stop();
+
+        List<Path> snapshots = SnapshotStore.snapshots(directory);
+        assertEquals(1, snapshots.size());
+        long covered = SnapshotStore.coveredLsn(snapshots.get(0));
+        List<Path> segments = WriteAheadLog.segments(directory);
+        assertEquals(1, segments.size());
+        assertEquals(covered + 1, WriteAheadLog.firstLsn(segments.get(0)));
+        assertEquals(stores.dump(), recovered().dump());
+    }
+
+    // Two runs without a snapshot, each logging into its own segment
+    private void writeTwoSegments() throws IOException {
+        NodeStores stores = new NodeStores();
+        PersistenceManager manager = start(stores);
+        stores.write(new Random(1), 500);
+        manager.stop();
+        NodeStores restarted = new NodeStores();
+        manager = start(restarted);
+        restarted.write(new Random(2), 500);
+        manager.stop();
+        assertEquals(2, WriteAheadLog.segments(directory).size());
+    }
+
+    private NodeStores recovered() throws IOException {
+        NodeStores stores = new NodeStores();
+        start(stores).stop();
+        return stores;
+    }
+
+    private PersistenceManager start(NodeStores stores) throws IOException {
+        PersistenceProperties properties = new PersistenceProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setFsyncPolicy(FsyncPolicy.NEVER);
+        properties.setSnapshotIntervalSeconds(3600);
+        properties.setSnapshotOnShutdown(false);
+        PersistenceManager manager = new PersistenceManager(properties, stores.tasks, stores.activities,
+                stores.comments, stores.changes);
+        manager.start();
+        return manager;
+    }
+
+    private Path lastSegment() throws IOException {
+        List<Path> segments = WriteAheadLog.segments(directory);
+        return segments.get(segments.size() - 1);
+    }
+
+    // Flips a byte halfway through the file
+    private static void corrupt(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5a;
+        Files.write(file, bytes);
+    }
+}
@@ -0,0 +1,107 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.persistence.RecordType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Reads from the change log come back in LSN order without gaps, and a reader that fell a full
+ * ring behind is told to start over rather than handed newer or older entries.
+ */
+class ChangeLogTest {
+
+    @Test
+    void readsFollowTheLastLsnSeen() throws Exception {
+        ChangeLog log = new ChangeLog(8);
+        for (int i = 1; i <= 5; i++) {
+            log.append(RecordType.TASK, payload(i));
+        }
+        assertEquals(List.of(1L, 2L, 3L), lsns(read(log, 0, 3)));
+        assertEquals(List.of(4L, 5L), lsns(read(log, 3, 10)));
+        assertEquals(List.of(), read(log, 5, 10));
+        assertEquals(5, log.lastLsn());
+    }
+
+    @Test
+    void readerAFullRingBehindMustStartOver() throws Exception {
+        ChangeLog log = new ChangeLog(4);
+        for (int i = 1; i <= 10; i++) {
+            log.append(RecordType.TASK, payload(i));
+        }
+        assertFalse(log.read(5, 10, 0, new ArrayList<>()));
+        assertEquals(List.of(7L, 8L, 9L, 10L), lsns(read(log, 6, 10)));
+        // Nor ahead of the log
+        assertFalse(log.read(11, 10, 0, new ArrayList<>()));
+    }
+
+    @Test
+    void lateEntryDoesNotReplaceOneAFullRingNewer() throws Exception {
+        ChangeLog log = new ChangeLog(4);
+        for (int i = 1; i <= 8; i++) {
+            log.append(RecordType.TASK, payload(i));
+        }
+        // What an appender delayed since claiming LSN 2 would publish into LSN 6's slot
+        log.publish(new ChangeLog.Entry(2, 0, RecordType.TASK, payload(2)));
+
+        List<ChangeLog.Entry> entries = read(log, 4, 10);
+        assertEquals(List.of(5L, 6L, 7L, 8L), lsns(entries));
+        assertEquals(6, ByteBuffer.wrap(entries.get(1).payload()).getLong());
+    }
+
+    @Test
+    void concurrentAppendsAreReadInOrderWithoutGaps() throws Exception {
+        int threads = 4;
+        int perThread = 20_000;
+        ChangeLog log = new ChangeLog(threads * perThread);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        log.append(RecordType.COMMENT, payload(i));
+                    }
+                }));
+            }
+            // Reads while the writers run, waiting for entries not published yet
+            long last = 0;
+            while (last < (long) threads * perThread) {
+                List<ChangeLog.Entry> batch = new ArrayList<>();
+                assertTrue(log.read(last, 1000, 1000, batch));
+                for (ChangeLog.Entry entry : batch) {
+                    assertEquals(++last, entry.lsn());
+                }
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals((long) threads * perThread, log.lastLsn());
+    }
+
+    private static List<ChangeLog.Entry> read(ChangeLog log, long afterLsn, int max) throws InterruptedException {
+        List<ChangeLog.Entry> entries = new ArrayList<>();
+        assertTrue(log.read(afterLsn, max, 0, entries));
+        return entries;
+    }
+
+    private static List<Long> lsns(List<ChangeLog.Entry> entries) {
+        return entries.stream().map(ChangeLog.Entry::lsn).toList();
+    }
+
+    private static byte[] payload(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+}
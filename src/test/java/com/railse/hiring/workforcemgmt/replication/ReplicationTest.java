@@ -0,0 +1,187 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.cache.TaskDtoCache;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.NodeStores;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * A primary and a follower in one JVM, talking over a loopback socket: the follower must end up
+ * holding exactly what the primary holds, however it joined.
+ */
+class ReplicationTest {
+    private static final long TIMEOUT_MS = 20_000;
+
+    private final List<ReplicationNode> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ReplicationNode::stop);
+    }
+
+    @Test
+    void followerCatchesUpWithWritesDuringAndAfterItsSnapshot() throws Exception {
+        NodeStores primaryStores = new NodeStores();
+        primaryStores.write(new Random(1), 2000);
+        ReplicationPrimary primary = primary(primaryStores, 0, 100_000);
+        NodeStores followerStores = new NodeStores();
+        ReplicationFollower follower = follower(followerStores, primary.port(), TaskDtoCache.disabled());
+        primaryStores.write(new Random(2), 2000);
+        awaitCaughtUp(primary, follower);
+        assertEquals(primaryStores.dump(), followerStores.dump());
+
+        Thread[] writers = new Thread[3];
+        for (int i = 0; i < writers.length; i++) {
+            Random random = new Random(10 + i);
+            writers[i] = new Thread(() -> primaryStores.write(random, 1000));
+            writers[i].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        awaitCaughtUp(primary, follower);
+        assertEquals(primaryStores.dump(), followerStores.dump());
+        assertEquals(primaryStores.workloads(), followerStores.workloads());
+        assertEquals(1, follower.bootstraps());
+    }
+
+    @Test
+    void reconnectingFollowerResumesFromItsLsnWithoutASnapshot() throws Exception {
+        NodeStores primaryStores = new NodeStores();
+        primaryStores.write(new Random(1), 500);
+        ReplicationPrimary primary = primary(primaryStores, 0, 100_000);
+        NodeStores followerStores = new NodeStores();
+        ReplicationFollower follower = follower(followerStores, primary.port(), TaskDtoCache.disabled());
+        awaitCaughtUp(primary, follower);
+        long applied = follower.records();
+
+        reconnect(follower, () -> primaryStores.write(new Random(2), 500));
+        awaitCaughtUp(primary, follower);
+        assertEquals(primaryStores.dump(), followerStores.dump());
+        assertEquals(1, follower.bootstraps());
+        assertTrue(follower.records() > applied);
+    }
+
+    @Test
+    void followerFurtherBehindThanTheBacklogTakesAnotherSnapshot() throws Exception {
+        NodeStores primaryStores = new NodeStores();
+        primaryStores.write(new Random(1), 500);
+        ReplicationPrimary primary = primary(primaryStores, 0, 100);
+        NodeStores followerStores = new NodeStores();
+        ReplicationFollower follower = follower(followerStores, primary.port(), TaskDtoCache.disabled());
+        awaitCaughtUp(primary, follower);
+
+        reconnect(follower, () -> primaryStores.write(new Random(2), 1000));
+        awaitBootstraps(follower, 2);
+        awaitCaughtUp(primary, follower);
+        assertEquals(primaryStores.dump(), followerStores.dump());
+        assertEquals(primaryStores.workloads(), followerStores.workloads());
+    }
+
+    @Test
+    void followerOfARestartedPrimaryHoldsOnlyTheNewRun() throws Exception {
+        NodeStores primaryStores = new NodeStores();
+        primaryStores.write(new Random(1), 2000);
+        ReplicationPrimary primary = primary(primaryStores, 0, 100_000);
+        NodeStores followerStores = new NodeStores();
+        TaskDtoCache cache = new TaskDtoCache(10_000, 1);
+        followerStores.changes.addListener(cache);
+        ReplicationFollower follower = follower(followerStores, primary.port(), cache);
+        awaitCaughtUp(primary, follower);
+        Function<Long, TaskManagementDto> loader = id -> {
+            TaskManagementDto dto = new TaskManagementDto();
+            dto.setDescription(followerStores.tasks.findById(id).map(TaskManagement::getDescription).orElse(null));
+            return dto;
+        };
+        String cachedBefore = cache.get(1L, loader).getDescription();
+
+        // Restarted without persistence: ids and versions start over, with fewer tasks than before
+        int port = primary.port();
+        primary.stop();
+        NodeStores restartedStores = new NodeStores();
+        restartedStores.write(new Random(2), 300);
+        ReplicationPrimary restarted = primary(restartedStores, port, 100_000);
+        awaitBootstraps(follower, 2);
+        awaitCaughtUp(restarted, follower);
+
+        assertEquals(restartedStores.dump(), followerStores.dump());
+        assertEquals(restartedStores.workloads(), followerStores.workloads());
+        String expected = restartedStores.tasks.findById(1L).orElseThrow().getDescription();
+        assertEquals(expected, cache.get(1L, loader).getDescription(), "cached before: " + cachedBefore);
+    }
+
+    private ReplicationPrimary primary(NodeStores stores, int port, int backlogRecords) throws Exception {
+        ReplicationPrimary primary = new ReplicationPrimary(properties(port, backlogRecords), stores.tasks, stores.activities,
+                stores.comments, stores.changes);
+        primary.start();
+        nodes.add(primary);
+        return primary;
+    }
+
+    private ReplicationFollower follower(NodeStores stores, int port, TaskDtoCache cache) {
+        ReplicationFollower follower = new ReplicationFollower(properties(port, 100_000), stores.tasks, stores.activities,
+                stores.comments, stores.changes, cache);
+        follower.start();
+        nodes.add(follower);
+        return follower;
+    }
+
+    // Stops the follower, runs the writes while it is away, then starts it again with what it had applied
+    private static void reconnect(ReplicationFollower follower, Runnable whileAway) throws InterruptedException {
+        follower.stop();
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (follower.connections() != 0) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("follower did not disconnect");
+            }
+            Thread.sleep(10);
+        }
+        whileAway.run();
+        // Lets the stopped applier thread exit before another one starts
+        Thread.sleep(100);
+        follower.start();
+    }
+
+    private static ReplicationProperties properties(int port, int backlogRecords) {
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setPort(port);
+        properties.setBacklogRecords(backlogRecords);
+        properties.setHeartbeatIntervalMs(20);
+        properties.setReconnectIntervalMs(50);
+        return properties;
+    }
+
+    private static void awaitBootstraps(ReplicationFollower follower, long bootstraps) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (follower.bootstraps() < bootstraps) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("follower took " + follower.bootstraps() + " snapshots, expected " + bootstraps);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    // After the first snapshot, until the follower has applied everything the primary logged
+    private static void awaitCaughtUp(ReplicationPrimary primary, ReplicationFollower follower)
+            throws InterruptedException {
+        awaitBootstraps(follower, 1);
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (follower.lsn() != primary.lsn() || follower.lagRecords() != 0) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("follower at LSN " + follower.lsn() + ", primary at " + primary.lsn());
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * One instance's task, activity and comment stores, wired to its own change publisher, for tests
+ * that copy stores to another instance or to disk and compare them afterwards.
+ */
+public final class NodeStores {
+    public final StoreChangePublisher changes = new StoreChangePublisher();
+    public final InMemoryTaskRepository tasks = new InMemoryTaskRepository(changes);
+    public final InMemoryTaskActivityRepository activities = new InMemoryTaskActivityRepository(changes);
+    public final InMemoryTaskCommentRepository comments = new InMemoryTaskCommentRepository(changes);
+
+    /** Creates tasks and updates them, each update with an activity and some with a comment. */
+    public void write(Random random, int operations) {
+        for (int i = 0; i < operations; i++) {
+            if (tasks.count() == 0 || random.nextInt(3) == 0) {
+                TaskManagement task = new TaskManagement();
+                task.setReferenceId((long) random.nextInt(100));
+                task.setReferenceType(ReferenceType.ORDER);
+                task.setTask(Task.CREATE_INVOICE);
+                task.setStatus(TaskStatus.ASSIGNED);
+                task.setPriority(Priority.LOW);
+                task.setAssigneeId(1L + random.nextInt(5));
+                task.setStartDate(1L);
+                tasks.save(task);
+                continue;
+            }
+            long id = 1 + random.nextInt((int) tasks.count());
+            // Another writer may have taken the id without having stored its task yet
+            TaskManagement task = tasks.findById(id).orElse(null);
+            if (task == null) {
+                continue;
+            }
+            // Unversioned, so concurrent writers overwrite each other rather than conflict
+            task.setVersion(null);
+            task.setDescription("d" + random.nextInt(1000));
+            task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+            tasks.save(task);
+            TaskActivity activity = new TaskActivity();
+            activity.setTaskId(id);
+            activity.setActivityType(ActivityType.TASK_STARTED);
+            activity.setText("update " + i, null, null);
+            activity.setTimestamp(LocalDateTime.now());
+            activities.save(activity);
+            if (random.nextInt(4) == 0) {
+                TaskComment comment = new TaskComment();
+                comment.setTaskId(id);
+                comment.setComment("comment " + i);
+                comment.setUserId(1L);
+                comment.setTimestamp(LocalDateTime.now());
+                comments.save(comment);
+            }
+        }
+    }
+
+    /** Every task with its version and its history, in id order. */
+    public String dump() {
+        StringBuilder dump = new StringBuilder();
+        tasks.findAll().stream().sorted(Comparator.comparing(TaskManagement::getId)).forEach(task -> dump
+                .append(task.getId()).append(' ').append(task.getStatus()).append(' ').append(task.getPriority())
+                .append(' ').append(task.getDescription()).append(" v").append(task.getVersion()).append(" a")
+                .append(activities.findByTaskIdOrderByTimestamp(task.getId()).stream()
+                        .map(activity -> activity.getId() + ":" + activity.getText())
+                        .collect(Collectors.joining(",")))
+                .append(" c")
+                .append(comments.findByTaskIdOrderByTimestamp(task.getId()).stream()
+                        .map(comment -> comment.getId() + ":" + comment.getComment())
+                        .collect(Collectors.joining(",")))
+                .append('\n'));
+        return dump.toString();
+    }
+
+    /** The non-empty workload counters, by assignee. */
+    public String workloads() {
+        return tasks.findWorkloads(null).stream()
+                .filter(workload -> Arrays.stream(workload.counts()).sum() > 0)
+                .sorted(Comparator.comparing(AssigneeWorkload::assigneeId))
+                .map(workload -> workload.assigneeId() + "=" + Arrays.toString(workload.counts()))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tasks stay in the partition they were created in, so a task whose reference changes must
+ * still be found under the new reference, not only in that reference's home partition.
+ */
+class PartitionedTaskRepositoryTest {
+    private static final int REFERENCES = 64;
+
+    private PartitionedTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new PartitionedTaskRepository(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void taskMovedToAnotherReferenceIsFoundUnderIt() {
+        for (long reference = 1; reference <= REFERENCES; reference++) {
+            repository.save(StoreUnderTest.newTask(reference));
+        }
+        // With eight partitions, most of these moves leave the task outside its new reference's home
+        for (long reference = 1; reference <= REFERENCES; reference++) {
+            TaskManagement task = repository.findByReferenceIdAndReferenceType(reference, ReferenceType.ORDER).get(0);
+            task.setReferenceId(reference + 1000);
+            repository.save(task);
+        }
+        for (long reference = 1; reference <= REFERENCES; reference++) {
+            assertTrue(repository.findByReferenceIdAndReferenceType(reference, ReferenceType.ORDER).isEmpty());
+            List<TaskManagement> moved = repository.findByReferenceIdAndReferenceType(reference + 1000, ReferenceType.ORDER);
+            assertEquals(1, moved.size(), "reference " + (reference + 1000));
+        }
+        // New tasks of a moved reference land in its home partition; lookups see both
+        repository.save(StoreUnderTest.newTask(1001));
+        Set<Long> references = repository.findByReferenceIdAndReferenceType(1001L, ReferenceType.ORDER).stream()
+                .map(TaskManagement::getReferenceId).collect(Collectors.toSet());
+        assertEquals(Set.of(1001L), references);
+        assertEquals(2, repository.findByReferenceIdAndReferenceType(1001L, ReferenceType.ORDER).size());
+    }
+}
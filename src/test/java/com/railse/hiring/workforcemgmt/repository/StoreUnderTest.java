@@ -0,0 +1,53 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Named;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * One of the task store implementations, for tests that must hold for all of them. Closing it
+ * stops whatever threads the implementation runs.
+ */
+final class StoreUnderTest implements AutoCloseable {
+    /** Source for {@code @MethodSource}: opens a fresh store of each implementation. */
+    static final String ALL = "com.railse.hiring.workforcemgmt.repository.StoreUnderTest#all";
+
+    final TaskRepository repository;
+
+    private StoreUnderTest(TaskRepository repository) {
+        this.repository = repository;
+    }
+
+    static Stream<Named<Supplier<StoreUnderTest>>> all() {
+        return Stream.of(
+                Named.of("object store", () -> new StoreUnderTest(new InMemoryTaskRepository())),
+                Named.of("columnar store", () -> new StoreUnderTest(new ColumnarTaskRepository())),
+                Named.of("partitioned store", () -> new StoreUnderTest(new PartitionedTaskRepository(4))));
+    }
+
+    /** An assigned, medium-priority task; tests change whatever they vary. */
+    static TaskManagement newTask(long referenceId) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(referenceId);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.MEDIUM);
+        task.setAssigneeId(1L);
+        task.setStartDate(1L);
+        return task;
+    }
+
+    @Override
+    public void close() {
+        if (repository instanceof PartitionedTaskRepository partitioned) {
+            partitioned.close();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.common.exception.StaleVersionException;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A batch with one task behind its stored version fails as a whole: no task in it is written,
+ * whichever store (or partition) holds them.
+ */
+class TaskRepositorySaveAllTest {
+    private static final int TASKS = 16;
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource(StoreUnderTest.ALL)
+    void staleTaskFailsTheBatchBeforeAnyWrite(Supplier<StoreUnderTest> stores) {
+        try (StoreUnderTest store = stores.get()) {
+            assertStaleBatchWritesNothing(store.repository);
+        }
+    }
+
+    private static void assertStaleBatchWritesNothing(TaskRepository repository) {
+        List<TaskManagement> created = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            // One reference each, so the partitioned store spreads them over its partitions
+            TaskManagement task = StoreUnderTest.newTask(i);
+            task.setDescription("task " + i);
+            created.add(repository.save(task));
+        }
+        List<TaskManagement> batch = new ArrayList<>();
+        for (TaskManagement task : created) {
+            TaskManagement copy = repository.findById(task.getId()).orElseThrow();
+            copy.setDescription("batch");
+            batch.add(copy);
+        }
+        // Someone else saves the last task of the batch first
+        TaskManagement last = repository.findById(created.get(TASKS - 1).getId()).orElseThrow();
+        last.setDescription("concurrent");
+        repository.save(last);
+
+        assertThrows(StaleVersionException.class, () -> repository.saveAll(batch));
+
+        for (TaskManagement task : created) {
+            TaskManagement stored = repository.findById(task.getId()).orElseThrow();
+            boolean concurrent = task.getId().equals(last.getId());
+            assertEquals(concurrent ? "concurrent" : "task " + task.getReferenceId(), stored.getDescription());
+            assertEquals(concurrent ? 2L : 1L, stored.getVersion());
+        }
+    }
+}
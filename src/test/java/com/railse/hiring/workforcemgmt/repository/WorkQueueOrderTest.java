@@ -0,0 +1,118 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * The work queue is an assignee's open tasks by priority (highest first), then deadline
+ * (tasks without one last), then start date, then id, and stays in that order as tasks change.
+ */
+class WorkQueueOrderTest {
+    private static final Comparator<TaskManagement> WORK_ORDER = Comparator
+            .comparing(TaskManagement::getPriority, Comparator.nullsLast(Comparator.<Priority>reverseOrder()))
+            .thenComparing(TaskManagement::getTaskDeadlineTime, Comparator.nullsLast(Comparator.<Long>naturalOrder()))
+            .thenComparing(TaskManagement::getStartDate)
+            .thenComparing(TaskManagement::getId);
+    private static final int ASSIGNEES = 6;
+
+    @Test
+    void eachKeyBreaksTheTiesOfTheOneBefore() {
+        TaskRepository repository = new InMemoryTaskRepository();
+        long lowEarly = save(repository, Priority.LOW, 100L, 1L);
+        long highNoDeadline = save(repository, Priority.HIGH, null, 1L);
+        long highLateStart = save(repository, Priority.HIGH, 200L, 5L);
+        long highEarlyStart = save(repository, Priority.HIGH, 200L, 1L);
+        long highEarlyStartAgain = save(repository, Priority.HIGH, 200L, 1L);
+        long highEarliest = save(repository, Priority.HIGH, 150L, 9L);
+        long medium = save(repository, Priority.MEDIUM, 50L, 1L);
+
+        assertEquals(List.of(highEarliest, highEarlyStart, highEarlyStartAgain, highLateStart, highNoDeadline,
+                medium, lowEarly), queue(repository, 1L));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource(StoreUnderTest.ALL)
+    void queueFollowsChanges(Supplier<StoreUnderTest> stores) {
+        try (StoreUnderTest store = stores.get()) {
+            assertQueuesMatchSort(store.repository);
+        }
+    }
+
+    private static void assertQueuesMatchSort(TaskRepository repository) {
+        Random random = new Random(5);
+        List<TaskManagement> batch = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            batch.add(randomize(random, StoreUnderTest.newTask(random.nextInt(200)), -1));
+        }
+        List<Long> ids = new ArrayList<>(repository.saveAll(batch).stream().map(TaskManagement::getId).toList());
+        for (int i = 0; i < 500; i++) {
+            ids.add(repository.save(randomize(random, StoreUnderTest.newTask(random.nextInt(200)), -1)).getId());
+        }
+        // Moves tasks between assignees, in and out of the queue and along it
+        for (int i = 0; i < 5000; i++) {
+            TaskManagement task = repository.findById(ids.get(random.nextInt(ids.size()))).orElseThrow();
+            repository.save(randomize(random, task, random.nextInt(5)));
+        }
+
+        List<TaskManagement> all = repository.findAll();
+        for (long assignee = 1; assignee <= ASSIGNEES; assignee++) {
+            long assigneeId = assignee;
+            List<Long> expected = all.stream()
+                    .filter(task -> task.getAssigneeId() == assigneeId)
+                    .filter(task -> task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED)
+                    .sorted(WORK_ORDER)
+                    .map(TaskManagement::getId)
+                    .toList();
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, queue(repository, assigneeId), "assignee " + assigneeId);
+        }
+    }
+
+    // Sets every field that orders the queue for a new task (field < 0), or just the given one
+    private static TaskManagement randomize(Random random, TaskManagement task, int field) {
+        // Narrow ranges, so many tasks tie on the leading keys
+        if (field < 0 || field == 0) {
+            task.setAssigneeId(1L + random.nextInt(ASSIGNEES));
+        }
+        if (field < 0 || field == 1) {
+            task.setPriority(random.nextInt(8) == 0 ? null : Priority.values()[random.nextInt(3)]);
+        }
+        if (field < 0 || field == 2) {
+            task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+        }
+        if (field < 0 || field == 3) {
+            task.setTaskDeadlineTime(random.nextInt(4) == 0 ? null : 5_000_000L + random.nextInt(20));
+        }
+        if (field < 0 || field == 4) {
+            task.setStartDate(1_000_000L + random.nextInt(50));
+        }
+        return task;
+    }
+
+    private static long save(TaskRepository repository, Priority priority, Long deadline, Long startDate) {
+        TaskManagement task = StoreUnderTest.newTask(1L);
+        task.setPriority(priority);
+        task.setTaskDeadlineTime(deadline);
+        task.setStartDate(startDate);
+        return repository.save(task).getId();
+    }
+
+    private static List<Long> queue(TaskRepository repository, Long assigneeId) {
+        List<Long> ids = new ArrayList<>();
+        repository.iterateWorkQueue(assigneeId).forEachRemaining(task -> ids.add(task.getId()));
+        return ids;
+    }
+}
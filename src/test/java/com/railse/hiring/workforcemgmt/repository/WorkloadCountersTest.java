@@ -0,0 +1,101 @@
+package com.railse.hiring.workforcemgmt.repository;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reassigns tasks and changes their status and priority from several threads, then checks the
+ * workload counters against a full recount of the stored tasks, cell by cell.
+ */
+class WorkloadCountersTest {
+    private static final int TASKS = 2000;
+    private static final int ASSIGNEES = 50;
+    private static final int THREADS = 4;
+    private static final int CHANGES_PER_THREAD = 5000;
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource(StoreUnderTest.ALL)
+    void countersMatchARecount(Supplier<StoreUnderTest> stores) throws Exception {
+        try (StoreUnderTest store = stores.get()) {
+            assertCountersMatchRecount(store.repository);
+        }
+    }
+
+    private static void assertCountersMatchRecount(TaskRepository repository) throws Exception {
+        Random random = new Random(5);
+        List<TaskManagement> batch = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            batch.add(newTask(random, i));
+        }
+        List<Long> ids = repository.saveAll(batch).stream().map(TaskManagement::getId).toList();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long seed = t;
+                writers.add(pool.submit(() -> {
+                    Random changes = new Random(seed);
+                    for (int i = 0; i < CHANGES_PER_THREAD; i++) {
+                        TaskManagement task = repository.findById(ids.get(changes.nextInt(TASKS))).orElseThrow();
+                        // Unversioned, so writers on the same task overwrite each other's changes
+                        task.setVersion(null);
+                        switch (changes.nextInt(3)) {
+                            // Some go to assignees that had no tasks yet
+                            case 0 -> task.setAssigneeId((long) changes.nextInt(ASSIGNEES + 10));
+                            case 1 -> task.setStatus(TaskStatus.values()[changes.nextInt(TaskStatus.values().length)]);
+                            default -> task.setPriority(Priority.values()[changes.nextInt(Priority.values().length)]);
+                        }
+                        repository.save(task);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<Long, long[]> recount = new HashMap<>();
+        for (TaskManagement task : repository.findAll()) {
+            recount.computeIfAbsent(task.getAssigneeId(), k -> new long[AssigneeWorkload.CELLS])
+                    [AssigneeWorkload.cell(task.getStatus(), task.getPriority(), task.getTask())]++;
+        }
+        long counted = 0;
+        for (AssigneeWorkload workload : repository.findWorkloads(null)) {
+            long[] expected = recount.getOrDefault(workload.assigneeId(), new long[AssigneeWorkload.CELLS]);
+            assertArrayEquals(expected, workload.counts(), "assignee " + workload.assigneeId());
+            for (long count : workload.counts()) {
+                counted += count;
+            }
+        }
+        assertEquals(TASKS, counted);
+    }
+
+    private static TaskManagement newTask(Random random, int i) {
+        TaskManagement task = StoreUnderTest.newTask(i);
+        task.setTask(Task.values()[random.nextInt(Task.values().length)]);
+        task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+        task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+        task.setAssigneeId((long) random.nextInt(ASSIGNEES));
+        return task;
+    }
+}
@@ -0,0 +1,96 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskSummaryDto;
+import com.railse.hiring.workforcemgmt.mapper.TaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A fetch-by-date cursor resumes only the listing it was issued for: the same assignees in the
+ * same order over the same dates.
+ */
+class DatePagingCursorTest {
+    private TaskManagementServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryTaskRepository taskRepository = new InMemoryTaskRepository();
+        service = TaskManagementServiceImpl.builder(taskRepository,
+                        ActivityLog.synchronous(new InMemoryTaskActivityRepository()),
+                        new InMemoryTaskCommentRepository(), new TaskManagementMapperImpl())
+                .build();
+        for (long assignee : new long[] {1, 2, 32}) {
+            for (long day = 1; day <= 3; day++) {
+                taskRepository.save(newTask(assignee, day));
+            }
+        }
+    }
+
+    @Test
+    void cursorResumesTheListingItWasIssuedFor() {
+        List<TaskSummaryDto> served = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<List<TaskSummaryDto>> page = service.fetchTasksByDate(request(cursor, 1L, 32L), Set.of());
+            served.addAll(page.getData());
+            cursor = page.getPagination().getNextCursor();
+        } while (cursor != null);
+        assertEquals(6, served.size());
+        assertEquals(6, served.stream().map(TaskSummaryDto::getId).distinct().count());
+    }
+
+    @Test
+    void cursorIsRejectedForOtherFilters() {
+        String cursor = service.fetchTasksByDate(request(null, 1L, 32L), Set.of()).getPagination().getNextCursor();
+        assertNotNull(cursor);
+        // Same 32-bit list hash as [1, 32]
+        assertThrows(BadRequestException.class, () -> service.fetchTasksByDate(request(cursor, 2L, 1L), Set.of()));
+        // Pages follow the request's assignee order, so a reordered request is another listing
+        assertThrows(BadRequestException.class, () -> service.fetchTasksByDate(request(cursor, 32L, 1L), Set.of()));
+        TaskFetchByDateRequest otherDates = request(cursor, 1L, 32L);
+        otherDates.setEndDate(2L);
+        assertThrows(BadRequestException.class, () -> service.fetchTasksByDate(otherDates, Set.of()));
+    }
+
+    private static TaskFetchByDateRequest request(String cursor, Long... assigneeIds) {
+        TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+        request.setAssigneeIds(List.of(assigneeIds));
+        request.setStartDate(1L);
+        request.setEndDate(3L);
+        request.setPageSize(2);
+        request.setCursor(cursor);
+        return request;
+    }
+
+    private static TaskManagement newTask(long assignee, long startDate) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(assignee * 10 + startDate);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.MEDIUM);
+        task.setAssigneeId(assignee);
+        task.setStartDate(startDate);
+        return task;
+    }
+}
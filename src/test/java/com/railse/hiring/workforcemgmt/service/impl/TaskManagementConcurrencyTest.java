@@ -0,0 +1,290 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.activitylog.ActivityLog;
+import com.railse.hiring.workforcemgmt.activitylog.BackpressurePolicy;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.dto.UpdatePriorityRequest;
+import com.railse.hiring.workforcemgmt.dto.UpdateTaskRequest;
+import com.railse.hiring.workforcemgmt.mapper.TaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.InMemoryTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Hammers the service's read-modify-write paths from many threads and checks that writers on
+ * the same task or reference are serialized while writers on different tasks are not.
+ * How disjoint writers scale with cores is measured by DisjointUpdateBenchmark, not asserted here.
+ */
+class TaskManagementConcurrencyTest {
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    private InMemoryTaskRepository taskRepository;
+    private InMemoryTaskActivityRepository activityRepository;
+    private ActivityLog activityLog;
+    private StripedLocks taskLocks;
+    private TaskManagementServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = new InMemoryTaskRepository();
+        activityRepository = new InMemoryTaskActivityRepository();
+        // A small ring so the writers also run into backpressure
+        activityLog = new ActivityLog(activityRepository, 256, 64, BackpressurePolicy.BLOCK);
+        activityLog.start();
+        taskLocks = new StripedLocks(1024);
+        service = TaskManagementServiceImpl.builder(taskRepository, activityLog,
+                        new InMemoryTaskCommentRepository(), new TaskManagementMapperImpl())
+                .locks(taskLocks, new StripedLocks(1024))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        activityLog.stop();
+    }
+
+    @Test
+    void sameTaskPriorityChangesFormOneUnbrokenChain() throws Exception {
+        long taskId = createTasks(1).get(0);
+        int perThread = 500;
+
+        runConcurrently(THREADS, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                UpdatePriorityRequest request = new UpdatePriorityRequest();
+                request.setTaskId(taskId);
+                request.setPriority(Priority.values()[(thread + i) % Priority.values().length]);
+                request.setUserId((long) thread);
+                service.updateTaskPriority(request);
+            }
+        });
+
+        // Every change must start from the value the previous change left behind
+        activityLog.flush();
+        List<TaskActivity> changes = activityRepository.findByTaskIdOrderByTimestamp(taskId).stream()
+                .filter(a -> a.getActivityType() == ActivityType.PRIORITY_CHANGED)
+                .sorted(Comparator.comparing(TaskActivity::getId))
+                .toList();
+        assertEquals(THREADS * perThread, changes.size());
+        for (int i = 1; i < changes.size(); i++) {
+            assertEquals(changes.get(i - 1).getNewValue(), changes.get(i).getOldValue(), "lost update at change " + i);
+        }
+        assertEquals(changes.get(changes.size() - 1).getNewValue(),
+                taskRepository.findById(taskId).orElseThrow().getPriority().toString());
+    }
+
+    @Test
+    void sameTaskStatusUpdatesFormOneUnbrokenChain() throws Exception {
+        List<Long> taskIds = createTasks(4);
+        int perThread = 300;
+        TaskStatus[] cycle = {TaskStatus.STARTED, TaskStatus.ASSIGNED};
+
+        runConcurrently(THREADS, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                // Overlapping multi-task batches in varying order exercise the ordered multi-stripe lock
+                List<UpdateTaskRequest.RequestItem> items = new ArrayList<>();
+                for (int k = 0; k < taskIds.size(); k++) {
+                    UpdateTaskRequest.RequestItem item = new UpdateTaskRequest.RequestItem();
+                    item.setTaskId(taskIds.get((thread + k) % taskIds.size()));
+                    item.setTaskStatus(cycle[(thread + i) % cycle.length]);
+                    items.add(item);
+                }
+                UpdateTaskRequest request = new UpdateTaskRequest();
+                request.setRequests(items);
+                service.updateTasks(request);
+            }
+        });
+
+        activityLog.flush();
+        for (Long taskId : taskIds) {
+            List<TaskActivity> changes = activityRepository.findByTaskIdOrderByTimestamp(taskId).stream()
+                    .filter(a -> a.getActivityType() != ActivityType.TASK_CREATED)
+                    .sorted(Comparator.comparing(TaskActivity::getId))
+                    .toList();
+            assertEquals(THREADS * perThread, changes.size());
+            for (int i = 1; i < changes.size(); i++) {
+                assertEquals(changes.get(i - 1).getNewValue(), changes.get(i).getOldValue(),
+                        "lost update on task " + taskId + " at change " + i);
+            }
+        }
+    }
+
+    @Test
+    void concurrentAssignByReferenceLeavesOneLiveTaskPerType() throws Exception {
+        long referenceId = 9_000_001L;
+        int perThread = 50;
+
+        runConcurrently(THREADS, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                AssignByReferenceRequest request = new AssignByReferenceRequest();
+                request.setReferenceId(referenceId);
+                request.setReferenceType(ReferenceType.ORDER);
+                request.setAssigneeId((long) (thread * perThread + i));
+                service.assignByReference(request);
+            }
+        });
+
+        List<TaskManagement> tasks = taskRepository.findByReferenceIdAndReferenceType(referenceId, ReferenceType.ORDER);
+        for (Task type : Task.getTasksByReferenceType(ReferenceType.ORDER)) {
+            long created = tasks.stream().filter(t -> t.getTask() == type).count();
+            long live = tasks.stream()
+                    .filter(t -> t.getTask() == type && t.getStatus() != TaskStatus.CANCELLED)
+                    .count();
+            assertEquals(1, created, "duplicate " + type + " tasks were created");
+            assertEquals(1, live, type + " should have exactly one live task");
+        }
+    }
+
+    @Test
+    void assignByReferenceRacingPriorityUpdatesLosesNothing() throws Exception {
+        long referenceId = 9_000_002L;
+        AssignByReferenceRequest first = new AssignByReferenceRequest();
+        first.setReferenceId(referenceId);
+        first.setReferenceType(ReferenceType.ORDER);
+        first.setAssigneeId(0L);
+        service.assignByReference(first);
+        List<Long> taskIds = taskRepository.findByReferenceIdAndReferenceType(referenceId, ReferenceType.ORDER)
+                .stream().map(TaskManagement::getId).toList();
+        int perThread = 200;
+
+        // Half the threads reassign the reference, the other half change the priority of its tasks;
+        // a stale read in either path would surface as a StaleVersionException or a broken chain
+        runConcurrently(THREADS, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                if (thread % 2 == 0) {
+                    AssignByReferenceRequest request = new AssignByReferenceRequest();
+                    request.setReferenceId(referenceId);
+                    request.setReferenceType(ReferenceType.ORDER);
+                    request.setAssigneeId((long) (thread * perThread + i));
+                    service.assignByReference(request);
+                } else {
+                    long taskId = taskIds.get(i % taskIds.size());
+                    service.updateTaskPriority(priority(taskId, Priority.values()[(thread + i) % 3]));
+                }
+            }
+        });
+
+        activityLog.flush();
+        for (Long taskId : taskIds) {
+            List<TaskActivity> changes = activityRepository.findByTaskIdOrderByTimestamp(taskId).stream()
+                    .filter(a -> a.getActivityType() == ActivityType.PRIORITY_CHANGED)
+                    .sorted(Comparator.comparing(TaskActivity::getId))
+                    .toList();
+            for (int i = 1; i < changes.size(); i++) {
+                assertEquals(changes.get(i - 1).getNewValue(), changes.get(i).getOldValue(),
+                        "lost priority update on task " + taskId + " at change " + i);
+            }
+            TaskManagement task = taskRepository.findById(taskId).orElseThrow();
+            if (!changes.isEmpty()) {
+                assertEquals(changes.get(changes.size() - 1).getNewValue(), task.getPriority().toString());
+            }
+            List<TaskActivity> assignments = activityRepository.findByTaskIdOrderByTimestamp(taskId).stream()
+                    .filter(a -> a.getActivityType() == ActivityType.TASK_ASSIGNED)
+                    .sorted(Comparator.comparing(TaskActivity::getId))
+                    .toList();
+            assertEquals(assignments.get(assignments.size() - 1).getNewValue(), task.getAssigneeId().toString(),
+                    "a reassignment of task " + taskId + " was lost");
+        }
+    }
+
+    @Test
+    void writersOnOtherStripesAreNotBlockedByAHeldTask() throws Exception {
+        List<Long> taskIds = createTasks(64);
+        long heldTask = taskIds.get(0);
+        long otherTask = taskIds.stream()
+                .filter(id -> taskLocks.stripe(id) != taskLocks.stripe(heldTask))
+                .findFirst().orElseThrow();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        StripedLocks.Held held = taskLocks.lock(heldTask);
+        try {
+            executor.submit(() -> service.updateTaskPriority(priority(otherTask, Priority.HIGH)))
+                    .get(5, TimeUnit.SECONDS);
+
+            Future<?> contended = executor.submit(() -> service.updateTaskPriority(priority(heldTask, Priority.HIGH)));
+            Thread.sleep(200);
+            assertFalse(contended.isDone(), "a writer on the held task must wait");
+            held.release();
+            held = null;
+            contended.get(5, TimeUnit.SECONDS);
+        } finally {
+            if (held != null) {
+                held.release();
+            }
+            executor.shutdownNow();
+        }
+    }
+
+    private static UpdatePriorityRequest priority(long taskId, Priority priority) {
+        UpdatePriorityRequest request = new UpdatePriorityRequest();
+        request.setTaskId(taskId);
+        request.setPriority(priority);
+        request.setUserId(1L);
+        return request;
+    }
+
+    private List<Long> createTasks(int count) {
+        List<TaskCreateRequest.RequestItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+            item.setReferenceId(1_000_000L + i);
+            item.setReferenceType(ReferenceType.ORDER);
+            item.setTask(Task.CREATE_INVOICE);
+            item.setAssigneeId((long) i);
+            item.setPriority(Priority.MEDIUM);
+            items.add(item);
+        }
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setRequests(items);
+        return service.createTasks(request).stream().map(TaskManagementDto::getId).toList();
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(int threads, Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}